@@ -40,6 +40,19 @@ public interface InputConfigMonitor {
    * @throws Exception error during loading the input configurations
    */
   void loadInputConfigs(String serviceName, InputConfig inputConfig) throws Exception;
+
+  /**
+   * Notification of a changed input configuration. By default the inputs of the service are removed and loaded again,
+   * implementations can apply only the differences between the old and the new configuration.
+   *
+   * @param serviceName The name of the service for which the input configuration was updated.
+   * @param inputConfig The new input configuration.
+   * @throws Exception error during updating the input configurations
+   */
+  default void updateInputConfigs(String serviceName, InputConfig inputConfig) throws Exception {
+    removeInputs(serviceName);
+    loadInputConfigs(serviceName, inputConfig);
+  }
   
   /**
    * Notification of the removal of an input configuration.
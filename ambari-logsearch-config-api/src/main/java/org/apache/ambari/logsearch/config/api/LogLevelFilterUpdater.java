@@ -21,13 +21,19 @@ package org.apache.ambari.logsearch.config.api;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Used for connect a remote source periodically to get / set log level filters.
+ * The interval between checks is randomized (+/- {@value #INTERVAL_JITTER_PERCENT}%), so the updaters of many
+ * processes started at the same time do not hit the source at the same moments.
  */
 public abstract class LogLevelFilterUpdater extends Thread {
 
   private static final Logger LOG = LogManager.getLogger(LogLevelFilterUpdater.class);
 
+  private static final int INTERVAL_JITTER_PERCENT = 20;
+
   private final LogLevelFilterMonitor logLevelFilterMonitor;
   private final int interval;
   private boolean stop = false;
@@ -51,7 +57,7 @@ public abstract class LogLevelFilterUpdater extends Thread {
   public void run() {
     while (!Thread.currentThread().isInterrupted() || !stop) {
       try {
-        Thread.sleep(1000 * interval);
+        Thread.sleep(getJitteredIntervalMillis());
         checkFilters(logLevelFilterMonitor);
       } catch (Exception e) {
         LOG.error("Exception happened during log level filter check: {}", e);
@@ -59,6 +65,12 @@ public abstract class LogLevelFilterUpdater extends Thread {
     }
   }
 
+  private long getJitteredIntervalMillis() {
+    long intervalMillis = 1000L * interval;
+    long jitter = intervalMillis * INTERVAL_JITTER_PERCENT / 100;
+    return Math.max(1L, intervalMillis + ThreadLocalRandom.current().nextLong(-jitter, jitter + 1));
+  }
+
   /**
    * Periodically check filters from a source (and use log level filter monitor to create/update/delete it)
    * @param logLevelFilterMonitor log level filter monitor (as input) which can be used to change state
@@ -116,10 +116,9 @@ public class LogSearchConfigLocalUpdater implements Runnable {
                   String oldContent = inputFileContentsMap.get(absPath);
                   String inputConfig = new String(Files.readAllBytes(monitoredInput));
                   if (!inputConfig.equals(oldContent)) {
-                    inputConfigMonitor.removeInputs(serviceName);
                     inputFileContentsMap.remove(absPath);
                     JsonElement inputConfigJson = JsonHelper.mergeGlobalConfigWithInputConfig(parser, inputConfig, globalConfigNode);
-                    inputConfigMonitor.loadInputConfigs(serviceName, InputConfigGson.gson.fromJson(inputConfigJson, InputConfigImpl.class));
+                    inputConfigMonitor.updateInputConfigs(serviceName, InputConfigGson.gson.fromJson(inputConfigJson, InputConfigImpl.class));
                     inputFileContentsMap.put(absPath, inputConfig);
                   }
                 }
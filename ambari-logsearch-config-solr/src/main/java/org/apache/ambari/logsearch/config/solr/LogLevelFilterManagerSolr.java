@@ -27,12 +27,17 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.SolrPingResponse;
 import org.apache.solr.common.SolrDocument;
-import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -44,9 +49,15 @@ public class LogLevelFilterManagerSolr implements LogLevelFilterManager {
   private static final Logger logger = LogManager.getLogger(LogLevelFilterManagerSolr.class);
 
   private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSS";
+  private static final String VERSION_FIELD = "_version_";
+  private static final String FILTERS_VERSION_TYPE = "log_level_filter_version";
+  private static final int MAX_FILTERS_VERSION_UPDATE_ATTEMPTS = 10;
+  private static final int DEFAULT_COMMIT_WITHIN_MS = 1000;
+  private static final int PAGE_SIZE = 500;
   private final SolrClient solrClient;
   private Gson gson;
   private boolean useClusterParam = true;
+  private int commitWithinMs = DEFAULT_COMMIT_WITHIN_MS;
 
   public LogLevelFilterManagerSolr(SolrClient solrClient) {
     this.solrClient = solrClient;
@@ -56,79 +67,100 @@ public class LogLevelFilterManagerSolr implements LogLevelFilterManager {
 
   @Override
   public void createLogLevelFilter(String clusterName, String logId, LogLevelFilter filter) throws Exception {
-    final SolrInputDocument doc = new SolrInputDocument();
-    int hashCode = useClusterParam ? (clusterName + logId).hashCode() : logId.hashCode();
-    doc.addField("id", String.valueOf(hashCode));
-    if (useClusterParam) {
-      doc.addField("cluster_string", clusterName);
-    }
-    doc.addField("name", logId);
-    doc.addField("type", "log_level_filter");
-    doc.addField("value", gson.toJson(filter));
-    doc.addField("username", "none");
     logger.debug("Creating log level filter - logid: {}, cluster: {}", logId, clusterName);
-    solrClient.add(doc);
+    solrClient.add(createDocument(clusterName, logId, filter), commitWithinMs);
   }
 
+  /**
+   * Stores only the new and the changed filters, all of them in one update request, then increments the filters
+   * version of the cluster. The update is soft committed before the version changes, so a reader that sees the new
+   * version can also query the changed filters. If the version can't be incremented the filters stay stored, the
+   * readers pick them up with their next full sync.
+   */
   @Override
   public void setLogLevelFilters(String clusterName, LogLevelFilterMap filters) throws Exception {
-    TreeMap<String, LogLevelFilter> logLevelFilterTreeMap = filters.getFilter();
-    if (!logLevelFilterTreeMap.isEmpty()) {
-      LogLevelFilterMap actualFiltersMap = getLogLevelFilters(clusterName);
-      if (actualFiltersMap.getFilter().isEmpty()) {
-        if (!filters.getFilter().isEmpty()) {
-          for (Map.Entry<String, LogLevelFilter> entry : filters.getFilter().entrySet()) {
-            createLogLevelFilter(clusterName, entry.getKey(), entry.getValue());
-          }
-        }
-      } else {
-        TreeMap<String, LogLevelFilter> mapToSet = filters.getFilter();
-        TreeMap<String, LogLevelFilter> finalMapToSet = new TreeMap<>();
-        for (Map.Entry<String, LogLevelFilter> entry : actualFiltersMap.getFilter().entrySet()) {
-          if (mapToSet.containsKey(entry.getKey())) {
-            String actualValue = gson.toJson(entry.getValue());
-            String newValue = gson.toJson(mapToSet.get(entry.getKey()));
-            if (!newValue.equals(actualValue)) {
-              finalMapToSet.put(entry.getKey(), mapToSet.get(entry.getKey()));
-            }
-          } else {
-            finalMapToSet.put(entry.getKey(), mapToSet.get(entry.getKey()));
-          }
-        }
-        for (Map.Entry<String, LogLevelFilter> entry : finalMapToSet.entrySet()) {
-          createLogLevelFilter(clusterName, entry.getKey(), entry.getValue());
+    TreeMap<String, LogLevelFilter> mapToSet = filters.getFilter();
+    if (mapToSet.isEmpty()) {
+      return;
+    }
+    TreeMap<String, LogLevelFilter> actualFilters = getLogLevelFilters(clusterName).getFilter();
+    List<SolrInputDocument> docs = new ArrayList<>();
+    for (Map.Entry<String, LogLevelFilter> entry : mapToSet.entrySet()) {
+      LogLevelFilter actualFilter = actualFilters.get(entry.getKey());
+      if (actualFilter == null || !gson.toJson(actualFilter).equals(gson.toJson(entry.getValue()))) {
+        docs.add(createDocument(clusterName, entry.getKey(), entry.getValue()));
+      }
+    }
+    if (!docs.isEmpty()) {
+      logger.debug("Updating {} log level filters of cluster {}", docs.size(), clusterName);
+      UpdateRequest updateRequest = new UpdateRequest();
+      updateRequest.add(docs);
+      updateRequest.setAction(AbstractUpdateRequest.ACTION.COMMIT, false, true, true);
+      updateRequest.process(solrClient);
+      try {
+        incrementLogLevelFiltersVersion(clusterName);
+      } catch (Exception e) {
+        logger.warn("Log level filters of cluster {} are stored, but their version could not be incremented: {}",
+          clusterName, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Returns the change counter of the log level filters of a cluster (0 if no change has been recorded yet).
+   * It is a real-time get by id, so it is cheap enough to be called frequently by every Log Feeder of the cluster.
+   *
+   * @param clusterName The name of the cluster.
+   * @return The filters version of the cluster.
+   * @throws Exception error during querying Solr
+   */
+  public long getLogLevelFiltersVersion(String clusterName) throws Exception {
+    SolrDocument versionDocument = solrClient.getById(getFiltersVersionId(clusterName));
+    return versionDocument != null ? Long.parseLong((String) versionDocument.getFieldValue("value")) : 0L;
+  }
+
+  /**
+   * Increments the filters version with optimistic concurrency (the update is rejected if someone else has changed the
+   * version document since it was read), retrying on conflicts.
+   */
+  private void incrementLogLevelFiltersVersion(String clusterName) throws Exception {
+    String id = getFiltersVersionId(clusterName);
+    for (int attempt = 1; ; attempt++) {
+      SolrDocument actual = solrClient.getById(id);
+      long filtersVersion = actual != null ? Long.parseLong((String) actual.getFieldValue("value")) : 0L;
+      SolrInputDocument doc = new SolrInputDocument();
+      doc.addField("id", id);
+      if (useClusterParam) {
+        doc.addField("cluster_string", clusterName);
+      }
+      doc.addField("name", useClusterParam ? clusterName : "none");
+      doc.addField("type", FILTERS_VERSION_TYPE);
+      doc.addField("value", String.valueOf(filtersVersion + 1));
+      doc.addField("username", "none");
+      doc.addField(VERSION_FIELD, actual != null ? actual.getFieldValue(VERSION_FIELD) : -1L);
+      try {
+        solrClient.add(doc, commitWithinMs);
+        logger.debug("Log level filters version of cluster {} is {}", clusterName, filtersVersion + 1);
+        return;
+      } catch (SolrException e) {
+        if (e.code() != SolrException.ErrorCode.CONFLICT.code || attempt >= MAX_FILTERS_VERSION_UPDATE_ATTEMPTS) {
+          throw e;
         }
+        logger.debug("Concurrent log level filters version update, retrying ...");
       }
     }
   }
 
+  private String getFiltersVersionId(String clusterName) {
+    return useClusterParam ? FILTERS_VERSION_TYPE + "_" + clusterName : FILTERS_VERSION_TYPE;
+  }
+
   @Override
   public LogLevelFilterMap getLogLevelFilters(String clusterName) {
     LogLevelFilterMap logLevelFilterMap = new LogLevelFilterMap();
     TreeMap<String, LogLevelFilter> logLevelFilterTreeMap = new TreeMap<>();
     try {
-      SolrQuery solrQuery = new SolrQuery();
-      solrQuery.setQuery("*:*");
-      if (useClusterParam) {
-        solrQuery.addFilterQuery("cluster_string:" + clusterName);
-      }
-      solrQuery.addFilterQuery("type:log_level_filter");
-      solrQuery.setFields("value", "name");
-
-      final QueryResponse response = solrClient.query(solrQuery);
-      if (response != null) {
-        final SolrDocumentList documents = response.getResults();
-        if (documents != null && !documents.isEmpty()) {
-          for(SolrDocument document : documents) {
-            String jsons = (String) document.getFieldValue("value");
-            String logId = (String) document.getFieldValue("name");
-            if (jsons != null) {
-              LogLevelFilter logLevelFilter = gson.fromJson(jsons, LogLevelFilter.class);
-              logLevelFilterTreeMap.put(logId,logLevelFilter);
-            }
-          }
-        }
-      }
+      logLevelFilterTreeMap = getVersionedLogLevelFilters(clusterName, null).getFilters();
     } catch (Exception e) {
       logger.error("Error during getting log level filters: {}", e.getMessage());
     }
@@ -136,6 +168,80 @@ public class LogLevelFilterManagerSolr implements LogLevelFilterManager {
     return logLevelFilterMap;
   }
 
+  /**
+   * Returns the log level filters of a cluster (paging through all of them) together with the highest version stamp
+   * (Solr _version_) of the filters.
+   *
+   * @param clusterName The name of the cluster which's log level filters are required.
+   * @param minVersion if not null only the filters stored with a version stamp at least this are returned
+   * @return The (changed) log level filters of the cluster.
+   * @throws Exception error during querying Solr
+   */
+  public VersionedLogLevelFilters getVersionedLogLevelFilters(String clusterName, Long minVersion) throws Exception {
+    SolrQuery solrQuery = new SolrQuery();
+    solrQuery.setQuery("*:*");
+    if (useClusterParam) {
+      solrQuery.addFilterQuery("cluster_string:" + clusterName);
+    }
+    solrQuery.addFilterQuery("type:log_level_filter");
+    if (minVersion != null) {
+      solrQuery.addFilterQuery(String.format("%s:[%d TO *]", VERSION_FIELD, minVersion));
+    }
+    solrQuery.setFields("value", "name", VERSION_FIELD);
+    solrQuery.setRows(PAGE_SIZE);
+    solrQuery.setSort("id", SolrQuery.ORDER.asc);
+
+    TreeMap<String, LogLevelFilter> logLevelFilterTreeMap = new TreeMap<>();
+    long maxVersion = minVersion != null ? minVersion : 0L;
+    String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+    while (true) {
+      solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+      QueryResponse response = solrClient.query(solrQuery);
+      if (response == null || response.getResults() == null) {
+        break;
+      }
+      for (SolrDocument document : response.getResults()) {
+        String jsons = (String) document.getFieldValue("value");
+        String logId = (String) document.getFieldValue("name");
+        if (jsons != null) {
+          logLevelFilterTreeMap.put(logId, gson.fromJson(jsons, LogLevelFilter.class));
+        }
+        Object version = document.getFieldValue(VERSION_FIELD);
+        if (version instanceof Number) {
+          maxVersion = Math.max(maxVersion, ((Number) version).longValue());
+        }
+      }
+      String nextCursorMark = response.getNextCursorMark();
+      if (nextCursorMark == null || nextCursorMark.equals(cursorMark)) {
+        break;
+      }
+      cursorMark = nextCursorMark;
+    }
+    return new VersionedLogLevelFilters(logLevelFilterTreeMap, maxVersion);
+  }
+
+  private SolrInputDocument createDocument(String clusterName, String logId, LogLevelFilter filter) {
+    final SolrInputDocument doc = new SolrInputDocument();
+    int hashCode = useClusterParam ? (clusterName + logId).hashCode() : logId.hashCode();
+    doc.addField("id", String.valueOf(hashCode));
+    if (useClusterParam) {
+      doc.addField("cluster_string", clusterName);
+    }
+    doc.addField("name", logId);
+    doc.addField("type", "log_level_filter");
+    doc.addField("value", gson.toJson(filter));
+    doc.addField("username", "none");
+    return doc;
+  }
+
+  public int getCommitWithinMs() {
+    return commitWithinMs;
+  }
+
+  public void setCommitWithinMs(int commitWithinMs) {
+    this.commitWithinMs = commitWithinMs;
+  }
+
   public boolean isUseClusterParam() {
     return useClusterParam;
   }
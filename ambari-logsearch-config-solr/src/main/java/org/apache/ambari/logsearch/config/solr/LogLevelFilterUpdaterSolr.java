@@ -22,7 +22,6 @@ import com.google.gson.Gson;
 import org.apache.ambari.logsearch.config.api.LogLevelFilterMonitor;
 import org.apache.ambari.logsearch.config.api.LogLevelFilterUpdater;
 import org.apache.ambari.logsearch.config.api.model.loglevelfilter.LogLevelFilter;
-import org.apache.ambari.logsearch.config.api.model.loglevelfilter.LogLevelFilterMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -31,13 +30,27 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Periodically checks log level filters in Solr, and send a notification about any change to a log level filter monitor.
+ * A check only reads the filters version of the cluster (real-time get of one document), the filters are queried only
+ * if the version has changed since the last check, and only the filters stored since the last check are pulled (based
+ * on the Solr version stamp of the documents). Every {@value #FULL_SYNC_CHECKS}th check pulls every filter to notice
+ * the removed ones.
  */
 public class LogLevelFilterUpdaterSolr extends LogLevelFilterUpdater {
 
   private static final Logger logger = LogManager.getLogger(LogLevelFilterUpdaterSolr.class);
 
+  /**
+   * Solr _version_ values are based on the clock of the shard leader (milliseconds shifted by 20 bits), the versions
+   * of this time window before the last seen version are pulled again so clock skew between leaders can't hide a change.
+   */
+  private static final long VERSION_OVERLAP = 60_000L << 20;
+  private static final int FULL_SYNC_CHECKS = 60;
+
   private final LogLevelFilterManagerSolr logLevelFilterManagerSolr;
   private final String cluster;
+  private Long lastVersion;
+  private Long lastFiltersVersion;
+  private int checksSinceFullSync;
 
   public LogLevelFilterUpdaterSolr(String threadName, LogLevelFilterMonitor logLevelFilterMonitor, Integer interval,
                                    LogLevelFilterManagerSolr logLevelFilterManagerSolr, String cluster) {
@@ -50,8 +63,15 @@ public class LogLevelFilterUpdaterSolr extends LogLevelFilterUpdater {
   protected void checkFilters(LogLevelFilterMonitor logLevelFilterMonitor) {
     try {
       logger.debug("Start checking log level filters in Solr ...");
-      LogLevelFilterMap logLevelFilterMap = logLevelFilterManagerSolr.getLogLevelFilters(cluster);
-      Map<String, LogLevelFilter> filters = logLevelFilterMap.getFilter();
+      long filtersVersion = logLevelFilterManagerSolr.getLogLevelFiltersVersion(cluster);
+      boolean fullSync = lastVersion == null || ++checksSinceFullSync >= FULL_SYNC_CHECKS;
+      if (!fullSync && lastFiltersVersion != null && lastFiltersVersion == filtersVersion) {
+        logger.debug("Log level filters have not changed (version: {})", filtersVersion);
+        return;
+      }
+      VersionedLogLevelFilters versionedFilters = logLevelFilterManagerSolr.getVersionedLogLevelFilters(cluster,
+        fullSync ? null : lastVersion - VERSION_OVERLAP);
+      Map<String, LogLevelFilter> filters = versionedFilters.getFilters();
       Map<String, LogLevelFilter> copiedStoredFilters = new ConcurrentHashMap<>(logLevelFilterMonitor.getLogLevelFilters());
       final Gson gson = logLevelFilterManagerSolr.getGson();
       for (Map.Entry<String, LogLevelFilter> logFilterEntry : filters.entrySet()){
@@ -67,12 +87,17 @@ public class LogLevelFilterUpdaterSolr extends LogLevelFilterUpdater {
           logLevelFilterMonitor.setLogLevelFilter(logFilterEntry.getKey(), logFilterEntry.getValue());
         }
       }
-      for (Map.Entry<String, LogLevelFilter> storedLogFilterEntry : copiedStoredFilters.entrySet()) {
-        if (!filters.containsKey(storedLogFilterEntry.getKey())) {
-          logger.info("Removing log level filter: {}", storedLogFilterEntry.getKey());
-          logLevelFilterMonitor.removeLogLevelFilter(storedLogFilterEntry.getKey());
+      if (fullSync) {
+        for (Map.Entry<String, LogLevelFilter> storedLogFilterEntry : copiedStoredFilters.entrySet()) {
+          if (!filters.containsKey(storedLogFilterEntry.getKey())) {
+            logger.info("Removing log level filter: {}", storedLogFilterEntry.getKey());
+            logLevelFilterMonitor.removeLogLevelFilter(storedLogFilterEntry.getKey());
+          }
         }
+        checksSinceFullSync = 0;
       }
+      lastVersion = lastVersion == null ? versionedFilters.getMaxVersion() : Math.max(lastVersion, versionedFilters.getMaxVersion());
+      lastFiltersVersion = filtersVersion;
     } catch (Exception e) {
       logger.error("Error during filter Solr check: {}",e);
     }
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.config.solr;
+
+import org.apache.ambari.logsearch.config.api.model.loglevelfilter.LogLevelFilter;
+
+import java.util.TreeMap;
+
+/**
+ * Log level filters read from Solr, with the highest version stamp (Solr _version_) of the returned documents.
+ */
+public class VersionedLogLevelFilters {
+
+  private final TreeMap<String, LogLevelFilter> filters;
+  private final long maxVersion;
+
+  public VersionedLogLevelFilters(TreeMap<String, LogLevelFilter> filters, long maxVersion) {
+    this.filters = filters;
+    this.maxVersion = maxVersion;
+  }
+
+  public TreeMap<String, LogLevelFilter> getFilters() {
+    return filters;
+  }
+
+  public long getMaxVersion() {
+    return maxVersion;
+  }
+}
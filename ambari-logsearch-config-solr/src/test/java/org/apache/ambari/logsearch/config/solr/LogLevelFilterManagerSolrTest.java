@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.config.solr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.apache.ambari.logsearch.config.api.model.loglevelfilter.LogLevelFilter;
+import org.apache.ambari.logsearch.config.api.model.loglevelfilter.LogLevelFilterMap;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.response.SolrPingResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.params.UpdateParams;
+import org.apache.solr.common.util.NamedList;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogLevelFilterManagerSolrTest {
+
+  private static final String CLUSTER = "cl1";
+
+  private SolrClient solrClient;
+  private LogLevelFilterManagerSolr underTest;
+
+  @Before
+  public void setUp() throws Exception {
+    solrClient = EasyMock.createMock(SolrClient.class);
+    EasyMock.expect(solrClient.ping()).andReturn(pingResponse());
+    EasyMock.replay(solrClient);
+    underTest = new LogLevelFilterManagerSolr(solrClient);
+    EasyMock.verify(solrClient);
+    EasyMock.reset(solrClient);
+  }
+
+  @Test
+  public void testSetLogLevelFiltersWritesOnlyTheChangedFiltersInOneCommittedRequest() throws Exception {
+    Capture<SolrRequest> updateRequest = EasyMock.newCapture();
+    Capture<SolrInputDocument> versionDocument = EasyMock.newCapture();
+    EasyMock.expect(solrClient.query(EasyMock.anyObject(SolrParams.class)))
+      .andReturn(queryResponse(CursorMarkParams.CURSOR_MARK_START, filterDoc("unchanged", "INFO", 10L), filterDoc("changed", "INFO", 11L)));
+    EasyMock.expect(solrClient.request(EasyMock.capture(updateRequest), EasyMock.isNull())).andReturn(updateResponse());
+    EasyMock.expect(solrClient.getById("log_level_filter_version_" + CLUSTER)).andReturn(null);
+    EasyMock.expect(solrClient.add(EasyMock.capture(versionDocument), EasyMock.eq(1000))).andReturn(null);
+    EasyMock.replay(solrClient);
+
+    underTest.setLogLevelFilters(CLUSTER, filterMap("unchanged", "INFO", "changed", "DEBUG", "new", "WARN"));
+
+    EasyMock.verify(solrClient);
+    UpdateRequest request = (UpdateRequest) updateRequest.getValue();
+    Assert.assertEquals(2, request.getDocuments().size());
+    Assert.assertEquals("changed", request.getDocuments().get(0).getFieldValue("name"));
+    Assert.assertEquals("new", request.getDocuments().get(1).getFieldValue("name"));
+    Assert.assertEquals("true", request.getParams().get(UpdateParams.COMMIT));
+    Assert.assertEquals("true", request.getParams().get(UpdateParams.SOFT_COMMIT));
+    Assert.assertEquals("1", versionDocument.getValue().getFieldValue("value"));
+  }
+
+  @Test
+  public void testSetLogLevelFiltersRetriesTheVersionIncrementOnConflict() throws Exception {
+    Capture<SolrInputDocument> versionDocument = EasyMock.newCapture(CaptureType.ALL);
+    EasyMock.expect(solrClient.query(EasyMock.anyObject(SolrParams.class))).andReturn(queryResponse(CursorMarkParams.CURSOR_MARK_START));
+    EasyMock.expect(solrClient.request(EasyMock.anyObject(SolrRequest.class), EasyMock.isNull())).andReturn(updateResponse());
+    EasyMock.expect(solrClient.getById("log_level_filter_version_" + CLUSTER))
+      .andReturn(versionDoc("4", 100L)).andReturn(versionDoc("5", 200L));
+    EasyMock.expect(solrClient.add(EasyMock.capture(versionDocument), EasyMock.eq(1000)))
+      .andThrow(new SolrException(SolrException.ErrorCode.CONFLICT, "version conflict")).andReturn(null);
+    EasyMock.replay(solrClient);
+
+    underTest.setLogLevelFilters(CLUSTER, filterMap("new", "WARN"));
+
+    EasyMock.verify(solrClient);
+    Assert.assertEquals("5", versionDocument.getValues().get(0).getFieldValue("value"));
+    Assert.assertEquals(100L, versionDocument.getValues().get(0).getFieldValue("_version_"));
+    Assert.assertEquals("6", versionDocument.getValues().get(1).getFieldValue("value"));
+    Assert.assertEquals(200L, versionDocument.getValues().get(1).getFieldValue("_version_"));
+  }
+
+  @Test
+  public void testSetLogLevelFiltersToleratesAFailedVersionIncrement() throws Exception {
+    EasyMock.expect(solrClient.query(EasyMock.anyObject(SolrParams.class))).andReturn(queryResponse(CursorMarkParams.CURSOR_MARK_START));
+    EasyMock.expect(solrClient.request(EasyMock.anyObject(SolrRequest.class), EasyMock.isNull())).andReturn(updateResponse());
+    EasyMock.expect(solrClient.getById("log_level_filter_version_" + CLUSTER)).andReturn(versionDoc("4", 100L));
+    EasyMock.expect(solrClient.add(EasyMock.anyObject(SolrInputDocument.class), EasyMock.eq(1000)))
+      .andThrow(new SolrException(SolrException.ErrorCode.SERVER_ERROR, "unavailable"));
+    EasyMock.replay(solrClient);
+
+    underTest.setLogLevelFilters(CLUSTER, filterMap("new", "WARN"));
+
+    EasyMock.verify(solrClient);
+  }
+
+  @Test
+  public void testGetLogLevelFiltersVersion() throws Exception {
+    EasyMock.expect(solrClient.getById("log_level_filter_version_" + CLUSTER)).andReturn(versionDoc("7", 100L)).andReturn(null);
+    EasyMock.replay(solrClient);
+
+    Assert.assertEquals(7L, underTest.getLogLevelFiltersVersion(CLUSTER));
+    Assert.assertEquals(0L, underTest.getLogLevelFiltersVersion(CLUSTER));
+
+    EasyMock.verify(solrClient);
+  }
+
+  @Test
+  public void testSetLogLevelFiltersDoesNotWriteUnchangedFilters() throws Exception {
+    EasyMock.expect(solrClient.query(EasyMock.anyObject(SolrParams.class)))
+      .andReturn(queryResponse(CursorMarkParams.CURSOR_MARK_START, filterDoc("unchanged", "INFO", 10L)));
+    EasyMock.replay(solrClient);
+
+    underTest.setLogLevelFilters(CLUSTER, filterMap("unchanged", "INFO"));
+
+    EasyMock.verify(solrClient);
+  }
+
+  @Test
+  public void testGetVersionedLogLevelFiltersPagesWithCursorMark() throws Exception {
+    // the same query object is sent with the next cursor mark, so the marks are recorded when the query is sent
+    List<String> cursorMarks = new ArrayList<>();
+    Capture<SolrParams> query = EasyMock.newCapture();
+    EasyMock.expect(solrClient.query(EasyMock.capture(query)))
+      .andAnswer(() -> queryResponse(cursorMarks, "mark1", filterDoc("log1", "INFO", 10L), filterDoc("log2", "INFO", 30L)))
+      .andAnswer(() -> queryResponse(cursorMarks, "mark2", filterDoc("log3", "INFO", 20L)))
+      .andAnswer(() -> queryResponse(cursorMarks, "mark2"));
+    EasyMock.replay(solrClient);
+
+    VersionedLogLevelFilters filters = underTest.getVersionedLogLevelFilters(CLUSTER, null);
+
+    EasyMock.verify(solrClient);
+    Assert.assertEquals(Arrays.asList("log1", "log2", "log3"), new ArrayList<>(filters.getFilters().keySet()));
+    Assert.assertEquals(30L, filters.getMaxVersion());
+    Assert.assertEquals(Arrays.asList(CursorMarkParams.CURSOR_MARK_START, "mark1", "mark2"), cursorMarks);
+    Assert.assertEquals(Arrays.asList("cluster_string:" + CLUSTER, "type:log_level_filter"),
+      Arrays.asList(query.getValue().getParams("fq")));
+  }
+
+  @Test
+  public void testGetVersionedLogLevelFiltersQueriesTheFiltersStoredSinceTheGivenVersion() throws Exception {
+    Capture<SolrParams> query = EasyMock.newCapture();
+    EasyMock.expect(solrClient.query(EasyMock.capture(query))).andReturn(queryResponse(CursorMarkParams.CURSOR_MARK_START));
+    EasyMock.replay(solrClient);
+
+    VersionedLogLevelFilters filters = underTest.getVersionedLogLevelFilters(CLUSTER, 123L);
+
+    EasyMock.verify(solrClient);
+    Assert.assertTrue(filters.getFilters().isEmpty());
+    Assert.assertEquals(123L, filters.getMaxVersion());
+    Assert.assertTrue(Arrays.asList(query.getValue().getParams("fq")).contains("_version_:[123 TO *]"));
+  }
+
+  private static SolrDocument versionDoc(String value, long version) {
+    SolrDocument document = new SolrDocument();
+    document.setField("value", value);
+    document.setField("_version_", version);
+    return document;
+  }
+
+  private SolrDocument filterDoc(String logId, String level, long version) {
+    SolrDocument document = new SolrDocument();
+    document.setField("name", logId);
+    document.setField("value", underTest.getGson().toJson(filter(level)));
+    document.setField("_version_", version);
+    return document;
+  }
+
+  private static LogLevelFilterMap filterMap(String... logIdsAndLevels) {
+    TreeMap<String, LogLevelFilter> filters = new TreeMap<>();
+    for (int i = 0; i < logIdsAndLevels.length; i += 2) {
+      filters.put(logIdsAndLevels[i], filter(logIdsAndLevels[i + 1]));
+    }
+    LogLevelFilterMap filterMap = new LogLevelFilterMap();
+    filterMap.setFilter(filters);
+    return filterMap;
+  }
+
+  private static LogLevelFilter filter(String level) {
+    LogLevelFilter filter = new LogLevelFilter();
+    filter.setLabel("label");
+    filter.setHosts(Collections.emptyList());
+    filter.setDefaultLevels(Collections.singletonList(level));
+    filter.setOverrideLevels(Collections.emptyList());
+    return filter;
+  }
+
+  private static QueryResponse queryResponse(List<String> cursorMarks, String nextCursorMark, SolrDocument... documents) {
+    cursorMarks.add(((SolrParams) EasyMock.getCurrentArguments()[0]).get(CursorMarkParams.CURSOR_MARK_PARAM));
+    return queryResponse(nextCursorMark, documents);
+  }
+
+  private static QueryResponse queryResponse(String nextCursorMark, SolrDocument... documents) {
+    SolrDocumentList documentList = new SolrDocumentList();
+    documentList.addAll(Arrays.asList(documents));
+    documentList.setNumFound(documents.length);
+    NamedList<Object> namedList = new NamedList<>();
+    namedList.add("response", documentList);
+    namedList.add(CursorMarkParams.CURSOR_MARK_NEXT, nextCursorMark);
+    QueryResponse response = new QueryResponse();
+    response.setResponse(namedList);
+    return response;
+  }
+
+  private static SolrPingResponse pingResponse() {
+    SolrPingResponse response = new SolrPingResponse();
+    response.setResponse(updateResponse());
+    return response;
+  }
+
+  private static NamedList<Object> updateResponse() {
+    NamedList<Object> responseHeader = new NamedList<>();
+    responseHeader.add("status", 0);
+    responseHeader.add("QTime", 1);
+    NamedList<Object> response = new NamedList<>();
+    response.add("responseHeader", responseHeader);
+    return response;
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.config.solr;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.ambari.logsearch.config.api.LogLevelFilterMonitor;
+import org.apache.ambari.logsearch.config.api.model.loglevelfilter.LogLevelFilter;
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+
+public class LogLevelFilterUpdaterSolrTest {
+
+  private static final String CLUSTER = "cl1";
+  private static final long VERSION_OVERLAP = 60_000L << 20;
+
+  private LogLevelFilterManagerSolr logLevelFilterManagerSolr;
+  private TestLogLevelFilterMonitor monitor;
+  private LogLevelFilterUpdaterSolr underTest;
+
+  @Before
+  public void setUp() {
+    logLevelFilterManagerSolr = EasyMock.createMock(LogLevelFilterManagerSolr.class);
+    EasyMock.expect(logLevelFilterManagerSolr.getGson()).andReturn(new Gson()).anyTimes();
+    monitor = new TestLogLevelFilterMonitor();
+    underTest = new LogLevelFilterUpdaterSolr("test", monitor, 1, logLevelFilterManagerSolr, CLUSTER);
+  }
+
+  @Test
+  public void testFirstCheckIsAFullSyncWhichRemovesTheMissingFilters() throws Exception {
+    monitor.filters.put("removed", filter("INFO"));
+    monitor.filters.put("changed", filter("INFO"));
+    EasyMock.expect(logLevelFilterManagerSolr.getLogLevelFiltersVersion(CLUSTER)).andReturn(1L);
+    EasyMock.expect(logLevelFilterManagerSolr.getVersionedLogLevelFilters(CLUSTER, null))
+      .andReturn(versionedFilters(1000L, "changed", "DEBUG", "new", "WARN"));
+    EasyMock.replay(logLevelFilterManagerSolr);
+
+    underTest.checkFilters(monitor);
+
+    EasyMock.verify(logLevelFilterManagerSolr);
+    Assert.assertEquals(2, monitor.filters.size());
+    Assert.assertEquals("DEBUG", monitor.filters.get("changed").getDefaultLevels().get(0));
+    Assert.assertEquals("WARN", monitor.filters.get("new").getDefaultLevels().get(0));
+  }
+
+  @Test
+  public void testDeltaCheckPullsTheChangedFiltersOnlyAndDoesNotRemoveFilters() throws Exception {
+    EasyMock.expect(logLevelFilterManagerSolr.getLogLevelFiltersVersion(CLUSTER)).andReturn(1L).andReturn(2L);
+    EasyMock.expect(logLevelFilterManagerSolr.getVersionedLogLevelFilters(CLUSTER, null))
+      .andReturn(versionedFilters(VERSION_OVERLAP + 1000L, "log1", "INFO", "log2", "INFO"));
+    EasyMock.expect(logLevelFilterManagerSolr.getVersionedLogLevelFilters(CLUSTER, 1000L))
+      .andReturn(versionedFilters(VERSION_OVERLAP + 2000L, "log2", "ERROR"));
+    EasyMock.replay(logLevelFilterManagerSolr);
+
+    underTest.checkFilters(monitor);
+    underTest.checkFilters(monitor);
+
+    EasyMock.verify(logLevelFilterManagerSolr);
+    Assert.assertEquals(2, monitor.filters.size());
+    Assert.assertEquals("INFO", monitor.filters.get("log1").getDefaultLevels().get(0));
+    Assert.assertEquals("ERROR", monitor.filters.get("log2").getDefaultLevels().get(0));
+  }
+
+  @Test
+  public void testCheckIsSkippedWhileTheFiltersVersionIsUnchanged() throws Exception {
+    EasyMock.expect(logLevelFilterManagerSolr.getLogLevelFiltersVersion(CLUSTER)).andReturn(1L).times(3);
+    EasyMock.expect(logLevelFilterManagerSolr.getVersionedLogLevelFilters(CLUSTER, null))
+      .andReturn(versionedFilters(1000L, "log1", "INFO"));
+    EasyMock.replay(logLevelFilterManagerSolr);
+
+    underTest.checkFilters(monitor);
+    monitor.filters.clear();
+    underTest.checkFilters(monitor);
+    underTest.checkFilters(monitor);
+
+    EasyMock.verify(logLevelFilterManagerSolr);
+    Assert.assertTrue(monitor.filters.isEmpty());
+  }
+
+  private static VersionedLogLevelFilters versionedFilters(long maxVersion, String... logIdsAndLevels) {
+    TreeMap<String, LogLevelFilter> filters = new TreeMap<>();
+    for (int i = 0; i < logIdsAndLevels.length; i += 2) {
+      filters.put(logIdsAndLevels[i], filter(logIdsAndLevels[i + 1]));
+    }
+    return new VersionedLogLevelFilters(filters, maxVersion);
+  }
+
+  private static LogLevelFilter filter(String level) {
+    LogLevelFilter filter = new LogLevelFilter();
+    filter.setLabel("label");
+    filter.setDefaultLevels(Collections.singletonList(level));
+    return filter;
+  }
+
+  private static class TestLogLevelFilterMonitor implements LogLevelFilterMonitor {
+
+    private final Map<String, LogLevelFilter> filters = new HashMap<>();
+
+    @Override
+    public void setLogLevelFilter(String logId, LogLevelFilter logLevelFilter) {
+      filters.put(logId, logLevelFilter);
+    }
+
+    @Override
+    public void removeLogLevelFilter(String logId) {
+      filters.remove(logId);
+    }
+
+    @Override
+    public Map<String, LogLevelFilter> getLogLevelFilters() {
+      return filters;
+    }
+  }
+}
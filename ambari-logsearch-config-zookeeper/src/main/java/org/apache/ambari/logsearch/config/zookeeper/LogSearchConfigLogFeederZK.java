@@ -108,8 +108,7 @@ public class LogSearchConfigLogFeederZK extends LogSearchConfigZK implements Log
             break;
           case NODE_UPDATED:
             logger.info("Node updated under input ZK node: " + nodeName);
-            removeInputs(nodeName);
-            addInputs(nodeName, nodeData);
+            updateInputs(nodeName, nodeData);
             break;
           case NODE_REMOVED:
             logger.info("Node removed from input ZK node: " + nodeName);
@@ -126,20 +125,31 @@ public class LogSearchConfigLogFeederZK extends LogSearchConfigZK implements Log
 
       private void addInputs(String serviceName, String inputConfig) {
         try {
-          JsonElement inputConfigJson = parser.parse(inputConfig);
-          for (Map.Entry<String, JsonElement> typeEntry : inputConfigJson.getAsJsonObject().entrySet()) {
-            for (JsonElement e : typeEntry.getValue().getAsJsonArray()) {
-              for (JsonElement globalConfig : globalConfigNode) {
-                JsonHelper.merge(globalConfig.getAsJsonObject(), e.getAsJsonObject());
-              }
-            }
-          }
-          
-          inputConfigMonitor.loadInputConfigs(serviceName, InputConfigGson.gson.fromJson(inputConfigJson, InputConfigImpl.class));
+          inputConfigMonitor.loadInputConfigs(serviceName, parseInputConfig(inputConfig));
         } catch (Exception e) {
           logger.error("Could not load input configuration for service " + serviceName + ":\n" + inputConfig, e);
         }
       }
+
+      private void updateInputs(String serviceName, String inputConfig) {
+        try {
+          inputConfigMonitor.updateInputConfigs(serviceName, parseInputConfig(inputConfig));
+        } catch (Exception e) {
+          logger.error("Could not update input configuration for service " + serviceName + ":\n" + inputConfig, e);
+        }
+      }
+
+      private InputConfigImpl parseInputConfig(String inputConfig) {
+        JsonElement inputConfigJson = parser.parse(inputConfig);
+        for (Map.Entry<String, JsonElement> typeEntry : inputConfigJson.getAsJsonObject().entrySet()) {
+          for (JsonElement e : typeEntry.getValue().getAsJsonArray()) {
+            for (JsonElement globalConfig : globalConfigNode) {
+              JsonHelper.merge(globalConfig.getAsJsonObject(), e.getAsJsonObject());
+            }
+          }
+        }
+        return InputConfigGson.gson.fromJson(inputConfigJson, InputConfigImpl.class);
+      }
     };
     logFeederClusterCache.getListenable().addListener(listener);
     logFeederClusterCache.start();
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.benchmarks;
+
+import org.apache.ambari.logfeeder.plugin.common.MetricData;
+import org.apache.ambari.logfeeder.plugin.input.InputMarker;
+import org.apache.ambari.logfeeder.plugin.manager.OutputManager;
+import org.apache.ambari.logfeeder.plugin.output.Output;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Output manager at the end of the benchmarked filters: it either collects the parsed log entries (to be used as the
+ * input of the next benchmarked component), or just keeps a reference to the last one, so that the JIT can not
+ * eliminate the work of the filters.
+ */
+public class BenchmarkOutputManager extends OutputManager {
+
+  private final boolean collect;
+  private final List<Map<String, Object>> collected = new ArrayList<>();
+  private Object last;
+  private long count;
+
+  private BenchmarkOutputManager(boolean collect) {
+    this.collect = collect;
+  }
+
+  public static BenchmarkOutputManager collecting() {
+    return new BenchmarkOutputManager(true);
+  }
+
+  public static BenchmarkOutputManager discarding() {
+    return new BenchmarkOutputManager(false);
+  }
+
+  @Override
+  public void write(Map<String, Object> jsonObj, InputMarker marker) {
+    if (collect) {
+      collected.add(jsonObj);
+    }
+    last = jsonObj;
+    count++;
+  }
+
+  @Override
+  public void write(String jsonBlock, InputMarker marker) {
+    last = jsonBlock;
+    count++;
+  }
+
+  public List<Map<String, Object>> getCollected() {
+    return collected;
+  }
+
+  public Object getLast() {
+    return last;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  @Override
+  public void copyFile(File file, InputMarker marker) {
+  }
+
+  @Override
+  public void add(Output output) {
+  }
+
+  @Override
+  public List<Output> getOutputs() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public void init() throws Exception {
+  }
+
+  @Override
+  public void close() {
+  }
+
+  @Override
+  public void logStats() {
+  }
+
+  @Override
+  public void addMetricsContainers(List<MetricData> metricsList) {
+  }
+}
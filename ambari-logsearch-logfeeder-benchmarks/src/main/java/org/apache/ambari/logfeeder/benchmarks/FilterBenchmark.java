@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.benchmarks;
+
+import org.apache.ambari.logfeeder.conf.LogFeederProps;
+import org.apache.ambari.logfeeder.input.InputFileMarker;
+import org.apache.ambari.logfeeder.output.OutputDevNull;
+import org.apache.ambari.logfeeder.plugin.filter.Filter;
+import org.apache.ambari.logfeeder.plugin.input.Input;
+import org.apache.ambari.logfeeder.plugin.input.InputMarker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a single log entry by the grok (zookeeper), keyvalue (ambari_audit) and json (logsearch_app) filters of the
+ * shipper configs. The keyvalue filter gets the output of the ambari_audit grok filter; as it modifies its input, every
+ * invocation works on a copy of it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class FilterBenchmark {
+
+  private final BenchmarkOutputManager outputManager = BenchmarkOutputManager.discarding();
+
+  private Filter<LogFeederProps> grokFilter;
+  private InputMarker grokMarker;
+  private String[] grokLines;
+
+  private Filter<LogFeederProps> keyValueFilter;
+  private InputMarker keyValueMarker;
+  private List<Map<String, Object>> keyValueEntries;
+
+  private Filter<LogFeederProps> jsonFilter;
+  private InputMarker jsonMarker;
+  private String[] jsonLines;
+
+  private int index;
+
+  @Setup
+  public void setUp() throws Exception {
+    ShipperConfigFixture zookeeper = new ShipperConfigFixture("zookeeper");
+    Input zookeeperInput = zookeeper.createInput(new OutputDevNull());
+    grokFilter = zookeeper.createFilter("grok", zookeeperInput, outputManager);
+    grokMarker = new InputFileMarker(zookeeperInput, null, 0);
+    grokLines = zookeeper.readSampleLines().toArray(new String[0]);
+
+    ShipperConfigFixture ambariAudit = new ShipperConfigFixture("ambari_audit");
+    Input ambariAuditInput = ambariAudit.createInput(new OutputDevNull());
+    keyValueMarker = new InputFileMarker(ambariAuditInput, null, 0);
+    BenchmarkOutputManager parsedEntries = BenchmarkOutputManager.collecting();
+    Filter<LogFeederProps> ambariAuditGrokFilter = ambariAudit.createFilter("grok", ambariAuditInput, parsedEntries);
+    for (String line : ambariAudit.readSampleLines()) {
+      ambariAuditGrokFilter.apply(line, keyValueMarker);
+    }
+    ambariAuditGrokFilter.flush();
+    keyValueEntries = parsedEntries.getCollected();
+    keyValueFilter = ambariAudit.createFilter("keyvalue", ambariAuditInput, outputManager);
+
+    ShipperConfigFixture logsearchApp = new ShipperConfigFixture("logsearch_app");
+    Input logsearchAppInput = logsearchApp.createInput(new OutputDevNull());
+    jsonFilter = logsearchApp.createFilter("json", logsearchAppInput, outputManager);
+    jsonMarker = new InputFileMarker(logsearchAppInput, null, 0);
+    jsonLines = logsearchApp.readSampleLines().toArray(new String[0]);
+  }
+
+  @Benchmark
+  public Object grok() throws Exception {
+    grokFilter.apply(grokLines[next(grokLines.length)], grokMarker);
+    return outputManager.getLast();
+  }
+
+  @Benchmark
+  public Object keyValue() throws Exception {
+    keyValueFilter.apply(new HashMap<>(keyValueEntries.get(next(keyValueEntries.size()))), keyValueMarker);
+    return outputManager.getLast();
+  }
+
+  @Benchmark
+  public Object json() throws Exception {
+    jsonFilter.apply(jsonLines[next(jsonLines.length)], jsonMarker);
+    return outputManager.getLast();
+  }
+
+  private int next(int size) {
+    index = index + 1 < size ? index + 1 : 0;
+    return index;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.benchmarks;
+
+import org.apache.ambari.logfeeder.conf.LogFeederProps;
+import org.apache.ambari.logfeeder.input.InputFileMarker;
+import org.apache.ambari.logfeeder.mapper.MapperAnonymize;
+import org.apache.ambari.logfeeder.mapper.MapperDate;
+import org.apache.ambari.logfeeder.output.OutputDevNull;
+import org.apache.ambari.logfeeder.plugin.filter.Filter;
+import org.apache.ambari.logfeeder.plugin.input.Input;
+import org.apache.ambari.logsearch.config.api.model.inputconfig.MapDateDescriptor;
+import org.apache.ambari.logsearch.config.json.model.inputconfig.impl.MapAnonymizeDescriptorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The date mapper of the zookeeper logtime field, and an anonymizer hiding the user and the ip of the ambari_audit
+ * log messages.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+  private static final int NUMBER_OF_DATES = 1000;
+  private static final String ANONYMIZE_PATTERN = "User(<hide>), RemoteIp(<hide>)";
+
+  private final Map<String, Object> jsonObj = new HashMap<>();
+
+  private MapperDate mapperDate;
+  private String[] dates;
+
+  private MapperAnonymize mapperAnonymize;
+  private String[] logMessages;
+
+  private int index;
+
+  @Setup
+  public void setUp() throws Exception {
+    ShipperConfigFixture zookeeper = new ShipperConfigFixture("zookeeper");
+    MapDateDescriptor mapDateDescriptor = (MapDateDescriptor) zookeeper.getMapFieldDescriptor("logtime", "map_date");
+    mapperDate = new MapperDate();
+    mapperDate.init(zookeeper.getLogFeederProps(), "zookeeper", "logtime", null, mapDateDescriptor);
+    SimpleDateFormat dateFormat = new SimpleDateFormat(mapDateDescriptor.getTargetDatePattern());
+    dates = new String[NUMBER_OF_DATES];
+    long now = System.currentTimeMillis();
+    for (int i = 0; i < dates.length; i++) {
+      dates[i] = dateFormat.format(new Date(now + i * 1013L));
+    }
+
+    ShipperConfigFixture ambariAudit = new ShipperConfigFixture("ambari_audit");
+    Input ambariAuditInput = ambariAudit.createInput(new OutputDevNull());
+    BenchmarkOutputManager parsedEntries = BenchmarkOutputManager.collecting();
+    Filter<LogFeederProps> grokFilter = ambariAudit.createFilter("grok", ambariAuditInput, parsedEntries);
+    for (String line : ambariAudit.readSampleLines()) {
+      grokFilter.apply(line, new InputFileMarker(ambariAuditInput, null, 0));
+    }
+    grokFilter.flush();
+    logMessages = parsedEntries.getCollected().stream()
+      .map(entry -> (String) entry.get("log_message"))
+      .toArray(String[]::new);
+    MapAnonymizeDescriptorImpl mapAnonymizeDescriptor = new MapAnonymizeDescriptorImpl();
+    mapAnonymizeDescriptor.setPattern(ANONYMIZE_PATTERN);
+    mapperAnonymize = new MapperAnonymize();
+    mapperAnonymize.init(ambariAudit.getLogFeederProps(), "ambari_audit", "log_message", null, mapAnonymizeDescriptor);
+  }
+
+  @Benchmark
+  public Object mapDate() {
+    return mapperDate.apply(jsonObj, dates[next(dates.length)]);
+  }
+
+  @Benchmark
+  public Object anonymize() {
+    return mapperAnonymize.apply(jsonObj, logMessages[next(logMessages.length)]);
+  }
+
+  private int next(int size) {
+    index = index + 1 < size ? index + 1 : 0;
+    return index;
+  }
+}
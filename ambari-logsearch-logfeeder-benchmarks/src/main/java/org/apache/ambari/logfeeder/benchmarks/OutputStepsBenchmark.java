@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.benchmarks;
+
+import org.apache.ambari.logfeeder.common.IdGeneratorHelper;
+import org.apache.ambari.logfeeder.conf.LogFeederProps;
+import org.apache.ambari.logfeeder.input.InputFileMarker;
+import org.apache.ambari.logfeeder.loglevelfilter.LogLevelFilterHandler;
+import org.apache.ambari.logfeeder.output.OutputDevNull;
+import org.apache.ambari.logfeeder.output.OutputLineEnricher;
+import org.apache.ambari.logfeeder.plugin.common.MetricData;
+import org.apache.ambari.logfeeder.plugin.filter.Filter;
+import org.apache.ambari.logfeeder.plugin.input.Input;
+import org.apache.ambari.logfeeder.plugin.input.InputMarker;
+import org.apache.ambari.logfeeder.plugin.input.cache.LRUCache;
+import org.apache.ambari.logfeeder.util.LogFeederUtil;
+import org.apache.ambari.logsearch.config.api.model.inputconfig.InputDescriptor;
+import org.apache.ambari.logsearch.config.api.model.loglevelfilter.LogLevelFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The steps of writing a parsed log entry to the outputs: enriching it with the input fields, the log level filter,
+ * the deduplication by the input cache and the generation of the document id.
+ * <p>
+ * The entries are the zookeeper log entries parsed by the grok filter of the shipper config. The enricher modifies its
+ * input, so every invocation works on a copy of an entry. The deduplication uses the cache settings of the zookeeper
+ * input with the (more diverse) messages of the ambari_audit log as keys.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class OutputStepsBenchmark {
+
+  private static final List<String> DEFAULT_LOG_LEVELS = Arrays.asList("FATAL", "ERROR", "WARN", "INFO");
+  private static final List<String> ID_FIELDS = Arrays.asList("logtime", "level", "log_message", "host");
+
+  private final OutputLineEnricher outputLineEnricher = new OutputLineEnricher();
+  private final MetricData messageTruncateMetric = new MetricData(null, false);
+
+  private InputMarker inputMarker;
+  private List<Map<String, Object>> parsedEntries;
+  private List<Map<String, Object>> enrichedEntries;
+  private LRUCache cache;
+  private String[] cacheKeys;
+  private long cacheTimestamp;
+
+  private int index;
+
+  @Setup
+  public void setUp() throws Exception {
+    ShipperConfigFixture zookeeper = new ShipperConfigFixture("zookeeper");
+    Input input = zookeeper.createInput(new OutputDevNull());
+    inputMarker = new InputFileMarker(input, null, 1);
+    parsedEntries = parse(zookeeper, input);
+    enrichedEntries = new ArrayList<>();
+    for (Map<String, Object> parsedEntry : parsedEntries) {
+      enrichedEntries.add(outputLineEnricher.enrichFields(new HashMap<>(parsedEntry), inputMarker, messageTruncateMetric));
+    }
+
+    InputDescriptor inputDescriptor = zookeeper.getInputDescriptor();
+    cache = new LRUCache(inputDescriptor.getCacheSize(), "zookeeper", inputDescriptor.getCacheDedupInterval(), false);
+    ShipperConfigFixture ambariAudit = new ShipperConfigFixture("ambari_audit");
+    cacheKeys = parse(ambariAudit, ambariAudit.createInput(new OutputDevNull())).stream()
+      .map(entry -> (String) entry.get("log_message"))
+      .toArray(String[]::new);
+    cacheTimestamp = System.currentTimeMillis();
+  }
+
+  private static List<Map<String, Object>> parse(ShipperConfigFixture fixture, Input input) throws Exception {
+    BenchmarkOutputManager parsedEntries = BenchmarkOutputManager.collecting();
+    Filter<LogFeederProps> grokFilter = fixture.createFilter("grok", input, parsedEntries);
+    for (String line : fixture.readSampleLines()) {
+      grokFilter.apply(line, new InputFileMarker(input, null, 0));
+    }
+    grokFilter.flush();
+    return parsedEntries.getCollected();
+  }
+
+  @Benchmark
+  public Map<String, Object> enrichFields() {
+    Map<String, Object> jsonObj = new HashMap<>(parsedEntries.get(next(parsedEntries.size())));
+    return outputLineEnricher.enrichFields(jsonObj, inputMarker, messageTruncateMetric);
+  }
+
+  @Benchmark
+  public boolean logLevelFilter(LogLevelFilterState state) {
+    return state.logLevelFilterHandler.isAllowed(enrichedEntries.get(next(enrichedEntries.size())), inputMarker, DEFAULT_LOG_LEVELS);
+  }
+
+  @Benchmark
+  public boolean dedup() {
+    String key = cacheKeys[next(cacheKeys.length)];
+    cacheTimestamp += 10;
+    boolean duplicate = !cache.isEntryReplaceable(key, cacheTimestamp);
+    if (!duplicate) {
+      cache.put(key, cacheTimestamp);
+    }
+    return duplicate;
+  }
+
+  @Benchmark
+  public String generateUUIDFromFields() {
+    return IdGeneratorHelper.generateUUID(enrichedEntries.get(next(enrichedEntries.size())), ID_FIELDS);
+  }
+
+  @Benchmark
+  public String generateRandomUUID() {
+    return IdGeneratorHelper.generateUUID(enrichedEntries.get(next(enrichedEntries.size())), Collections.emptyList());
+  }
+
+  @State(Scope.Thread)
+  public static class LogLevelFilterState {
+
+    /** Whether a host specific, not yet expired log level override is set for the log id. */
+    @Param({"false", "true"})
+    private boolean logLevelOverride;
+
+    private LogLevelFilterHandler logLevelFilterHandler;
+
+    @Setup
+    public void setUp() throws Exception {
+      LogFeederProps logFeederProps = new ShipperConfigFixture("zookeeper").getLogFeederProps();
+      logFeederProps.setLogLevelFilterEnabled(true);
+      logLevelFilterHandler = new LogLevelFilterHandler(null);
+      logLevelFilterHandler.setLogFeederProps(logFeederProps);
+      LogLevelFilter logLevelFilter = new LogLevelFilter();
+      logLevelFilter.setLabel("zookeeper");
+      logLevelFilter.setDefaultLevels(DEFAULT_LOG_LEVELS);
+      if (logLevelOverride) {
+        logLevelFilter.setHosts(new ArrayList<>(Collections.singletonList(LogFeederUtil.hostName)));
+        logLevelFilter.setOverrideLevels(Arrays.asList("FATAL", "ERROR", "WARN", "INFO", "DEBUG"));
+        logLevelFilter.setExpiryTime(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)));
+      }
+      logLevelFilterHandler.setLogLevelFilter("zookeeper", logLevelFilter);
+    }
+  }
+
+  private int next(int size) {
+    index = index + 1 < size ? index + 1 : 0;
+    return index;
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.benchmarks;
+
+import org.apache.ambari.logfeeder.input.InputFileMarker;
+import org.apache.ambari.logfeeder.output.OutputDevNull;
+import org.apache.ambari.logfeeder.plugin.input.Input;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A sample log line going through the whole pipeline of a log id: the filter chain and the post map values of its
+ * shipper config, the output manager (enrichment, log level filter, deduplication) and serialization to the dev null
+ * output.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class PipelineBenchmark {
+
+  @Param({"zookeeper", "ambari_audit", "hdfs_audit", "logsearch_app", "secure_log", "system_message"})
+  private String logId;
+
+  private Input input;
+  private String[] lines;
+  private int lineNumber;
+
+  @Setup
+  public void setUp() throws Exception {
+    ShipperConfigFixture fixture = new ShipperConfigFixture(logId);
+    input = fixture.createInput(new OutputDevNull());
+    lines = fixture.readSampleLines().toArray(new String[0]);
+  }
+
+  @Benchmark
+  public void outputLine() throws Exception {
+    lineNumber = lineNumber < Integer.MAX_VALUE ? lineNumber + 1 : 1;
+    input.outputLine(lines[lineNumber % lines.length], new InputFileMarker(input, null, lineNumber));
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.benchmarks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.ambari.logfeeder.conf.LogEntryCacheConfig;
+import org.apache.ambari.logfeeder.conf.LogFeederProps;
+import org.apache.ambari.logfeeder.input.InputManagerImpl;
+import org.apache.ambari.logfeeder.loglevelfilter.LogLevelFilterHandler;
+import org.apache.ambari.logfeeder.manager.InputConfigManager;
+import org.apache.ambari.logfeeder.manager.operations.impl.DefaultInputConfigHandler;
+import org.apache.ambari.logfeeder.output.OutputManagerImpl;
+import org.apache.ambari.logfeeder.plugin.common.AliasUtil;
+import org.apache.ambari.logfeeder.plugin.filter.Filter;
+import org.apache.ambari.logfeeder.plugin.input.Input;
+import org.apache.ambari.logfeeder.plugin.manager.OutputManager;
+import org.apache.ambari.logfeeder.plugin.output.Output;
+import org.apache.ambari.logsearch.config.api.model.inputconfig.FilterDescriptor;
+import org.apache.ambari.logsearch.config.api.model.inputconfig.InputConfig;
+import org.apache.ambari.logsearch.config.api.model.inputconfig.InputDescriptor;
+import org.apache.ambari.logsearch.config.api.model.inputconfig.MapFieldDescriptor;
+import org.apache.ambari.logsearch.config.api.model.inputconfig.PostMapValues;
+import org.apache.ambari.logsearch.config.json.JsonHelper;
+import org.apache.ambari.logsearch.config.json.model.inputconfig.impl.InputConfigGson;
+import org.apache.ambari.logsearch.config.json.model.inputconfig.impl.InputConfigImpl;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the Log Feeder components for a log id from the shipper configs and sample logs of the docker environment,
+ * so that the benchmarks parse the same logs with the same rules as a deployed Log Feeder.
+ */
+public class ShipperConfigFixture {
+
+  private static final String SHIPPER_CONF_DIR = "shipper-conf/";
+  private static final String GLOBAL_CONFIG = "global.config.json";
+  private static final String[] INPUT_CONFIGS = {
+    "input.config-ambari.json", "input.config-grafana.json", "input.config-hdfs.json", "input.config-hst.json",
+    "input.config-logsearch.json", "input.config-secure_log.json", "input.config-storm.json",
+    "input.config-system_message.json", "input.config-zookeeper.json"
+  };
+  private static final String TEST_LOGS_DOCKER_DIR = "/root/";
+
+  private final String logId;
+  private final InputConfig inputConfig;
+  private final LogFeederProps logFeederProps;
+
+  public ShipperConfigFixture(String logId) throws IOException {
+    this.logId = logId;
+    this.inputConfig = loadInputConfig(logId);
+    this.logFeederProps = createLogFeederProps();
+  }
+
+  public LogFeederProps getLogFeederProps() {
+    return logFeederProps;
+  }
+
+  public InputDescriptor getInputDescriptor() {
+    for (InputDescriptor inputDescriptor : inputConfig.getInput()) {
+      if (logId.equals(inputDescriptor.getType())) {
+        return inputDescriptor;
+      }
+    }
+    throw new IllegalArgumentException("Log id " + logId + " was not found in the shipper configs");
+  }
+
+  /**
+   * Creates the input of the log id with its whole filter chain writing to the given output through a real output
+   * manager, the same way as the Log Feeder does.
+   */
+  public Input createInput(Output output) throws Exception {
+    OutputManagerImpl outputManager = new OutputManagerImpl();
+    outputManager.setLogFeederProps(logFeederProps);
+    LogLevelFilterHandler logLevelFilterHandler = new LogLevelFilterHandler(null);
+    logLevelFilterHandler.setLogFeederProps(logFeederProps);
+    outputManager.setLogLevelFilterHandler(logLevelFilterHandler);
+    InputConfigManager inputConfigManager = new InputConfigManager(
+      null, new InputManagerImpl(), outputManager, new DefaultInputConfigHandler(), logFeederProps, true);
+    Input input = inputConfigManager.getTestInput(inputConfig, logId);
+    input.init(logFeederProps);
+    output.init(logFeederProps);
+    input.addOutput(output);
+    return input;
+  }
+
+  /**
+   * Creates a single filter of the log id (without the rest of the filter chain), writing to the given output manager.
+   */
+  @SuppressWarnings("unchecked")
+  public Filter<LogFeederProps> createFilter(String filterName, Input input, OutputManager outputManager) throws Exception {
+    for (FilterDescriptor filterDescriptor : inputConfig.getFilter()) {
+      if (filterName.equals(filterDescriptor.getFilter()) && input.isFilterRequired(filterDescriptor)) {
+        Filter<LogFeederProps> filter = (Filter<LogFeederProps>) AliasUtil.getClassInstance(filterName, AliasUtil.AliasType.FILTER);
+        filter.loadConfig(filterDescriptor);
+        filter.setInput(input);
+        filter.setOutputManager(outputManager);
+        filter.init(logFeederProps);
+        return filter;
+      }
+    }
+    throw new IllegalArgumentException("There is no " + filterName + " filter for log id " + logId);
+  }
+
+  public MapFieldDescriptor getMapFieldDescriptor(String fieldName, String mapperName) {
+    for (FilterDescriptor filterDescriptor : inputConfig.getFilter()) {
+      Map<String, ? extends List<? extends PostMapValues>> postMapValues = filterDescriptor.getPostMapValues();
+      if (postMapValues == null || !postMapValues.containsKey(fieldName)) {
+        continue;
+      }
+      for (PostMapValues fieldPostMapValues : postMapValues.get(fieldName)) {
+        for (MapFieldDescriptor mapFieldDescriptor : fieldPostMapValues.getMappers()) {
+          if (mapperName.equals(mapFieldDescriptor.getJsonName())) {
+            return mapFieldDescriptor;
+          }
+        }
+      }
+    }
+    throw new IllegalArgumentException("There is no " + mapperName + " mapper for field " + fieldName + " of log id " + logId);
+  }
+
+  /**
+   * @return the lines of the sample log file of the log id
+   */
+  public List<String> readSampleLines() throws IOException {
+    String path = getInputDescriptor().getPath();
+    if (path == null || !path.startsWith(TEST_LOGS_DOCKER_DIR) || path.contains("*")) {
+      throw new IllegalArgumentException("Log id " + logId + " has no single sample log file: " + path);
+    }
+    List<String> lines = new ArrayList<>();
+    for (String line : readResource(path.substring(TEST_LOGS_DOCKER_DIR.length())).split("\\r?\\n")) {
+      if (!line.trim().isEmpty()) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+  private static InputConfig loadInputConfig(String logId) throws IOException {
+    JsonParser jsonParser = new JsonParser();
+    JsonObject globalConfig = jsonParser.parse(readResource(SHIPPER_CONF_DIR + GLOBAL_CONFIG)).getAsJsonObject()
+      .get("global").getAsJsonObject();
+    for (String inputConfigName : INPUT_CONFIGS) {
+      JsonObject shipperConfig = jsonParser.parse(readResource(SHIPPER_CONF_DIR + inputConfigName)).getAsJsonObject();
+      if (containsLogId(shipperConfig, logId)) {
+        for (Map.Entry<String, JsonElement> typeEntry : shipperConfig.entrySet()) {
+          for (JsonElement e : typeEntry.getValue().getAsJsonArray()) {
+            JsonHelper.merge(globalConfig, e.getAsJsonObject());
+          }
+        }
+        return InputConfigGson.gson.fromJson(shipperConfig, InputConfigImpl.class);
+      }
+    }
+    throw new IllegalArgumentException("Log id " + logId + " was not found in the shipper configs");
+  }
+
+  private static boolean containsLogId(JsonObject shipperConfig, String logId) {
+    for (JsonElement input : shipperConfig.get("input").getAsJsonArray()) {
+      JsonElement type = input.getAsJsonObject().get("type");
+      if (type != null && logId.equals(type.getAsString())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static LogFeederProps createLogFeederProps() {
+    LogFeederProps logFeederProps = new LogFeederProps();
+    LogEntryCacheConfig logEntryCacheConfig = new LogEntryCacheConfig();
+    logEntryCacheConfig.setCacheEnabled(false);
+    logEntryCacheConfig.setCacheKeyField("log_message");
+    logEntryCacheConfig.setCacheSize(100);
+    logEntryCacheConfig.setCacheLastDedupEnabled(false);
+    logEntryCacheConfig.setCacheDedupInterval("1000");
+    logFeederProps.setLogEntryCacheConfig(logEntryCacheConfig);
+    logFeederProps.setClusterName("cl1");
+    return logFeederProps;
+  }
+
+  private static String readResource(String name) throws IOException {
+    try (InputStream inputStream = ShipperConfigFixture.class.getClassLoader().getResourceAsStream(name)) {
+      if (inputStream == null) {
+        throw new IOException("Resource " + name + " was not found on the classpath");
+      }
+      return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+    }
+  }
+}
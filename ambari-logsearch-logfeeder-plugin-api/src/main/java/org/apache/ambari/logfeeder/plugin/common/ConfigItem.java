@@ -84,7 +84,7 @@ public abstract class ConfigItem<PROP_TYPE extends LogFeederProperties> implemen
   }
 
   public void incrementStat(int count) {
-    statMetric.value += count;
+    statMetric.add(count);
   }
 
   public synchronized void logStat() {
@@ -92,11 +92,11 @@ public abstract class ConfigItem<PROP_TYPE extends LogFeederProperties> implemen
   }
 
   protected void logStatForMetric(MetricData metric, String prefixStr) {
-    long currStat = metric.value;
+    long currStat = metric.getValue();
     long currMS = System.currentTimeMillis();
     String postFix = ", key=" + getShortDescription();
     if (currStat > metric.prevLogValue) {
-      logger.info(prefixStr + ": total_count=" + metric.value + ", duration=" + (currMS - metric.prevLogTime) / 1000 +
+      logger.info(prefixStr + ": total_count=" + currStat + ", duration=" + (currMS - metric.prevLogTime) / 1000 +
         " secs, count=" + (currStat - metric.prevLogValue) + postFix);
     }
     metric.prevLogValue = currStat;
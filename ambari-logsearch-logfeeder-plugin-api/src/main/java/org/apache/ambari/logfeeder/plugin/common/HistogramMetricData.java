@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.plugin.common;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the distribution of a Log Feeder latency (or lag) metric. Recording is wait-free, so it can be used on the
+ * hot path from any thread, the values are collected into interval histograms by the stats logger thread.
+ * The inherited counter holds the number of recorded values, that can be used as the throughput of the measured stage.
+ */
+public class HistogramMetricData extends MetricData {
+
+  private static final int SIGNIFICANT_DIGITS = 2;
+
+  private final TimeUnit unit;
+  private final transient Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+  private final Histogram totalHistogram = new Histogram(SIGNIFICANT_DIGITS);
+  private Histogram lastIntervalHistogram = new Histogram(SIGNIFICANT_DIGITS);
+
+  public HistogramMetricData(String metricsName, TimeUnit unit) {
+    super(metricsName, false);
+    this.unit = unit;
+  }
+
+  public TimeUnit getUnit() {
+    return unit;
+  }
+
+  /**
+   * Record a value, it should be in the unit of the metric
+   * @param value measured value (negative values are recorded as 0)
+   */
+  public void record(long value) {
+    recorder.recordValue(Math.max(0, value));
+    increment();
+  }
+
+  /**
+   * Record the time elapsed since a {@link System#nanoTime()} timestamp
+   * @param startNanos start of the measured operation
+   */
+  public void recordElapsed(long startNanos) {
+    recordNanos(System.nanoTime() - startNanos);
+  }
+
+  public void recordNanos(long durationNanos) {
+    record(unit.convert(durationNanos, TimeUnit.NANOSECONDS));
+  }
+
+  /**
+   * Close the current recording interval: the values recorded since the last call are returned (and kept as last interval)
+   * @return copy of the histogram which contains the values of the closed interval
+   */
+  public synchronized Histogram rollInterval() {
+    lastIntervalHistogram = recorder.getIntervalHistogram();
+    totalHistogram.add(lastIntervalHistogram);
+    return lastIntervalHistogram.copy();
+  }
+
+  public synchronized Histogram getLastIntervalHistogram() {
+    return lastIntervalHistogram.copy();
+  }
+
+  public synchronized Histogram getTotalHistogram() {
+    return totalHistogram.copy();
+  }
+}
@@ -19,20 +19,53 @@
 package org.apache.ambari.logfeeder.plugin.common;
 
 import java.io.Serializable;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Holds Log Feeder metrics data
+ * Holds Log Feeder metrics data. The counter can be updated from any thread (input, filter and output worker threads),
+ * the publish / log state fields are only touched by the stats logger thread.
  */
 public class MetricData implements Serializable {
   public final String metricsName;
   public final boolean isPointInTime;
 
+  private final LongAdder counter = new LongAdder();
+
+  /**
+   * Kept for source compatibility of the plugins which update the metric through the field directly, those updates are
+   * not thread safe. It is added to the counter by {@link #getValue()}, and holds the value of the point in time metrics
+   * updated with {@link #set(long)}.
+   * @deprecated use {@link #increment()}, {@link #add(long)}, {@link #set(long)} and {@link #getValue()} instead
+   */
+  @Deprecated
+  public long value = 0;
+
   public MetricData(String metricsName, boolean isPointInTime) {
     this.metricsName = metricsName;
     this.isPointInTime = isPointInTime;
   }
 
-  public long value = 0;
+  public void increment() {
+    counter.increment();
+  }
+
+  public void add(long delta) {
+    counter.add(delta);
+  }
+
+  /**
+   * Override the current value - use it for point in time metrics, which are updated from one thread only
+   * @param value new value of the metric
+   */
+  public void set(long value) {
+    counter.reset();
+    this.value = value;
+  }
+
+  public long getValue() {
+    return counter.sum() + value;
+  }
+
   public long prevPublishValue = 0;
 
   public long prevLogValue = 0;
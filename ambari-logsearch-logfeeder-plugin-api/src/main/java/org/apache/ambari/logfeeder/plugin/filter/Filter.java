@@ -20,6 +20,7 @@ package org.apache.ambari.logfeeder.plugin.filter;
 
 import org.apache.ambari.logfeeder.plugin.common.AliasUtil;
 import org.apache.ambari.logfeeder.plugin.common.ConfigItem;
+import org.apache.ambari.logfeeder.plugin.common.HistogramMetricData;
 import org.apache.ambari.logfeeder.plugin.common.LogFeederProperties;
 import org.apache.ambari.logfeeder.plugin.common.MetricData;
 import org.apache.ambari.logfeeder.plugin.filter.mapper.Mapper;
@@ -38,6 +39,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents the filter in Log Feeder shipper input configurations.
@@ -54,6 +56,8 @@ public abstract class Filter<PROP_TYPE extends LogFeederProperties> extends Conf
   private Filter nextFilter = null;
   private Input input;
   private OutputManager outputManager;
+  private HistogramMetricData applyTimeMetric;
+  private long chainedNanos = 0; // time spent in the chained filters / outputs, updated only from the input thread
 
   public FilterDescriptor getFilterDescriptor() {
     return filterDescriptor;
@@ -100,10 +104,15 @@ public abstract class Filter<PROP_TYPE extends LogFeederProperties> extends Conf
    */
   public void apply(String inputStr, InputMarker inputMarker) throws Exception {
     // TODO: There is no transformation for string types.
-    if (nextFilter != null) {
-      nextFilter.apply(inputStr, inputMarker);
-    } else {
-      outputManager.write(inputStr, inputMarker);
+    long startNanos = System.nanoTime();
+    try {
+      if (nextFilter != null) {
+        nextFilter.applyTimed(inputStr, inputMarker);
+      } else {
+        outputManager.write(inputStr, inputMarker);
+      }
+    } finally {
+      chainedNanos += System.nanoTime() - startNanos;
     }
   }
 
@@ -123,10 +132,53 @@ public abstract class Filter<PROP_TYPE extends LogFeederProperties> extends Conf
       }
     }
     fallbackFieldNames(jsonObj);
-    if (nextFilter != null) {
-      nextFilter.apply(jsonObj, inputMarker);
-    } else {
-      outputManager.write(jsonObj, inputMarker);
+    long startNanos = System.nanoTime();
+    try {
+      if (nextFilter != null) {
+        nextFilter.applyTimed(jsonObj, inputMarker);
+      } else {
+        outputManager.write(jsonObj, inputMarker);
+      }
+    } finally {
+      chainedNanos += System.nanoTime() - startNanos;
+    }
+  }
+
+  /**
+   * Same as {@link #apply(String, InputMarker)}, but records the time spent in this filter (without the time of the chained filters and outputs)
+   * @param inputStr Incoming input as a string
+   * @param inputMarker Marker which can identify a specific input (like line number + input details)
+   * @throws Exception Any error which happens during applying the filter
+   */
+  public void applyTimed(String inputStr, InputMarker inputMarker) throws Exception {
+    long startNanos = System.nanoTime();
+    long chainedNanosBefore = chainedNanos;
+    try {
+      apply(inputStr, inputMarker);
+    } finally {
+      recordApplyTime(startNanos, chainedNanosBefore);
+    }
+  }
+
+  /**
+   * Same as {@link #apply(Map, InputMarker)}, but records the time spent in this filter (without the time of the chained filters and outputs)
+   * @param jsonObj Key/value pairs of incoming inputs - mostly fields and values
+   * @param inputMarker Marker which can identify a specific input (like line number + input details)
+   * @throws Exception Any error which happens during applying the filter
+   */
+  public void applyTimed(Map<String, Object> jsonObj, InputMarker inputMarker) throws Exception {
+    long startNanos = System.nanoTime();
+    long chainedNanosBefore = chainedNanos;
+    try {
+      apply(jsonObj, inputMarker);
+    } finally {
+      recordApplyTime(startNanos, chainedNanosBefore);
+    }
+  }
+
+  private void recordApplyTime(long startNanos, long chainedNanosBefore) {
+    if (applyTimeMetric != null) {
+      applyTimeMetric.recordNanos(System.nanoTime() - startNanos - (chainedNanos - chainedNanosBefore));
     }
   }
 
@@ -136,6 +188,7 @@ public abstract class Filter<PROP_TYPE extends LogFeederProperties> extends Conf
    */
   public void loadConfig(FilterDescriptor filterDescriptor) {
     this.filterDescriptor = filterDescriptor;
+    this.applyTimeMetric = new HistogramMetricData("filter." + filterDescriptor.getFilter() + ".apply_time", TimeUnit.MICROSECONDS);
   }
 
   public Filter getNextFilter() {
@@ -183,6 +236,9 @@ public abstract class Filter<PROP_TYPE extends LogFeederProperties> extends Conf
   @Override
   public void addMetricsContainers(List<MetricData> metricsList) {
     super.addMetricsContainers(metricsList);
+    if (applyTimeMetric != null) {
+      metricsList.add(applyTimeMetric);
+    }
     if (nextFilter != null) {
       nextFilter.addMetricsContainers(metricsList);
     }
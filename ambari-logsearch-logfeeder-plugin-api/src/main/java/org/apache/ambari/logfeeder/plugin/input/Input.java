@@ -61,7 +61,8 @@ public abstract class Input<PROP_TYPE extends LogFeederProperties, INPUT_MARKER
   private InputManager inputManager;
   private OutputManager outputManager;
   private final List<Output> outputList = new ArrayList<>();
-  private Filter<PROP_TYPE> firstFilter;
+  private volatile Filter<PROP_TYPE> firstFilter;
+  private volatile Filter<PROP_TYPE> pendingFirstFilter;
   private boolean isClosed;
   private String type;
   private String logType;
@@ -212,12 +213,13 @@ public abstract class Input<PROP_TYPE extends LogFeederProperties, INPUT_MARKER
    * @param marker input marker that stores input details
    */
   public void outputLine(String line, INPUT_MARKER marker) {
-    statMetric.value++;
-    readBytesMetric.value += (line.length());
+    applyPendingFilters();
+    statMetric.increment();
+    readBytesMetric.add(line.length());
 
     if (firstFilter != null) {
       try {
-        firstFilter.apply(line, marker);
+        firstFilter.applyTimed(line, marker);
       } catch (Exception e) {
         logger.error("Error during filter apply: {}", e);
       }
@@ -245,6 +247,7 @@ public abstract class Input<PROP_TYPE extends LogFeederProperties, INPUT_MARKER
   }
 
   public void flush() {
+    applyPendingFilters();
     if (firstFilter != null) {
       firstFilter.flush();
     }
@@ -302,8 +305,13 @@ public abstract class Input<PROP_TYPE extends LogFeederProperties, INPUT_MARKER
     return genEventMD5;
   }
 
+  /**
+   * Get the head of the filter chain - if a replacement chain is waiting to be applied, that one is returned
+   * @return first filter of the chain
+   */
   public Filter getFirstFilter() {
-    return this.firstFilter;
+    Filter<PROP_TYPE> pending = pendingFirstFilter;
+    return pending != null ? pending : this.firstFilter;
   }
 
   public Thread getThread() {
@@ -343,11 +351,11 @@ public abstract class Input<PROP_TYPE extends LogFeederProperties, INPUT_MARKER
   }
 
   public void addMetricsContainers(List<MetricData> metricsList) {
-    super.logStat();
-    logStatForMetric(readBytesMetric, "Stat: Bytes Read");
+    super.addMetricsContainers(metricsList);
+    metricsList.add(readBytesMetric);
 
     if (firstFilter != null) {
-      firstFilter.logStat();
+      firstFilter.addMetricsContainers(metricsList);
     }
   }
 
@@ -397,6 +405,44 @@ public abstract class Input<PROP_TYPE extends LogFeederProperties, INPUT_MARKER
     this.firstFilter = firstFilter;
   }
 
+  /**
+   * Replace the filter chain of a running input without stopping it. The new chain has to be initialized already.
+   * The swap itself happens on the thread that processes the input (before the next line or flush), so the old chain
+   * is flushed and closed without racing with a line that is in the middle of being processed.
+   * @param newFirstFilter first filter of the new (initialized) chain
+   */
+  public synchronized void replaceFilters(Filter<PROP_TYPE> newFirstFilter) {
+    pendingFirstFilter = newFirstFilter;
+  }
+
+  /**
+   * Swap in the filter chain that was set by {@link #replaceFilters(Filter)} - should be called from the thread that processes the input.
+   */
+  protected void applyPendingFilters() {
+    if (pendingFirstFilter == null) {
+      return;
+    }
+    Filter<PROP_TYPE> newFirstFilter;
+    synchronized (this) {
+      newFirstFilter = pendingFirstFilter;
+      pendingFirstFilter = null;
+    }
+    if (newFirstFilter == null) {
+      return;
+    }
+    Filter<PROP_TYPE> oldFirstFilter = firstFilter;
+    if (oldFirstFilter != null) {
+      try {
+        oldFirstFilter.flush();
+        oldFirstFilter.close();
+      } catch (Throwable t) {
+        logger.warn("Error while closing replaced filters. " + getShortDescription(), t);
+      }
+    }
+    firstFilter = newFirstFilter;
+    logger.info("Filters replaced. " + getShortDescription());
+  }
+
   public boolean isInitDefaultFields() {
     return initDefaultFields;
   }
@@ -64,12 +64,26 @@ public abstract class InputManager implements BlockManager {
    */
   public abstract void removeInputsForService(String serviceName);
 
+  /**
+   * Stop (drain) and remove specific inputs of a service, the other inputs of the service are not affected
+   * @param serviceName input type
+   * @param inputs input objects to remove
+   */
+  public abstract void removeInputs(String serviceName, List<Input> inputs);
+
   /**
    * Check inputs are ready, if they are, start monitoring them.
    * @param serviceName input type
    */
   public abstract void startInputs(String serviceName);
 
+  /**
+   * Check specific inputs of a service are ready, if they are, start monitoring them.
+   * @param serviceName input type
+   * @param inputs input objects to start
+   */
+  public abstract void startInputs(String serviceName, List<Input> inputs);
+
   /**
    * Get checkpoint handler which can be used to check in data for inputs during processing them.
    * @return checkpoint manager
@@ -41,6 +41,8 @@ public class LogFeederConstants {
   public static final String METRICS_COLLECTOR_PORT_PROPERTY = "logfeeder.metrics.collector.port";
   public static final String METRICS_COLLECTOR_HOSTS_PROPERTY = "logfeeder.metrics.collector.hosts";
   public static final String METRICS_COLLECTOR_PATH_PROPERTY = "logfeeder.metrics.collector.path";
+  public static final String METRICS_HTTP_PORT_PROPERTY = "logfeeder.metrics.http.port";
+  public static final String METRICS_JMX_ENABLED_PROPERTY = "logfeeder.metrics.jmx.enabled";
 
   public static final String LOG_FILTER_ENABLE_PROPERTY = "logfeeder.log.filter.enable";
   public static final String INCLUDE_DEFAULT_LEVEL_PROPERTY = "logfeeder.include.default.level";
@@ -62,6 +64,16 @@ public class LogFeederConstants {
   public static final String SIMULATE_SLEEP_MILLISECONDS_PROPERTY = "logfeeder.simulate.sleep_milliseconds";
   public static final int DEFAULT_SIMULATE_SLEEP_MILLISECONDS = 10000;
   public static final String SIMULATE_LOG_IDS_PROPERTY = "logfeeder.simulate.log_ids";
+  public static final String SIMULATE_TARGET_RATE_PROPERTY = "logfeeder.simulate.target_rate";
+  public static final int DEFAULT_SIMULATE_TARGET_RATE = 0;
+  public static final String SIMULATE_SAMPLE_DIR_PROPERTY = "logfeeder.simulate.sample_dir";
+  public static final String SIMULATE_SAMPLE_ENTRY_PATTERN_PROPERTY = "logfeeder.simulate.sample_entry_pattern";
+  public static final String DEFAULT_SIMULATE_SAMPLE_ENTRY_PATTERN =
+    "^\\[?(\\d{4}-\\d{2}-\\d{2}|\\d{2}/\\w{3}/\\d{4}|\\w{3} +\\d{1,2} \\d{2}:\\d{2}:\\d{2}|\\d{2}:\\d{2}:\\d{2}|FATAL|ERROR|WARN|INFO|DEBUG|TRACE)\\b";
+  public static final String SIMULATE_STACK_TRACE_RATIO_PROPERTY = "logfeeder.simulate.stack_trace_ratio";
+  public static final double DEFAULT_SIMULATE_STACK_TRACE_RATIO = 0.0;
+  public static final String SIMULATE_REPORT_INTERVAL_SECONDS_PROPERTY = "logfeeder.simulate.report_interval_seconds";
+  public static final int DEFAULT_SIMULATE_REPORT_INTERVAL_SECONDS = 30;
 
   public static final String SOLR_KERBEROS_ENABLE_PROPERTY = "logfeeder.solr.kerberos.enable";
   public static final boolean DEFAULT_SOLR_KERBEROS_ENABLE = false;
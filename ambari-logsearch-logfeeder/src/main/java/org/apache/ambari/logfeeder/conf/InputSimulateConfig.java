@@ -98,6 +98,59 @@ public class InputSimulateConfig {
   @Value("${" + LogFeederConstants.SIMULATE_LOG_IDS_PROPERTY + ":}")
   private String simulateLogIds;
 
+  @LogSearchPropertyDescription(
+    name = LogFeederConstants.SIMULATE_TARGET_RATE_PROPERTY,
+    description = "The number of simulated log entries per second to create in total by all the simulator instances. " +
+      "0 means that every simulator instance sleeps " + LogFeederConstants.SIMULATE_SLEEP_MILLISECONDS_PROPERTY + " between two entries.",
+    examples = {"50000"},
+    defaultValue = LogFeederConstants.DEFAULT_SIMULATE_TARGET_RATE + "",
+    sources = {LogFeederConstants.LOGFEEDER_PROPERTIES_FILE}
+  )
+  @Value("${" + LogFeederConstants.SIMULATE_TARGET_RATE_PROPERTY + ":" + LogFeederConstants.DEFAULT_SIMULATE_TARGET_RATE + "}")
+  private Integer simulateTargetRate;
+
+  @LogSearchPropertyDescription(
+    name = LogFeederConstants.SIMULATE_SAMPLE_DIR_PROPERTY,
+    description = "Directory of sample log files, named as the log ids with .log extension. The entries of these files (including multiline ones) are " +
+      "replayed as the messages of the simulated log entries of that log id, otherwise random words are used.",
+    examples = {"/usr/lib/ambari-logsearch-logfeeder/conf/simulate-samples"},
+    defaultValue = "",
+    sources = {LogFeederConstants.LOGFEEDER_PROPERTIES_FILE}
+  )
+  @Value("${" + LogFeederConstants.SIMULATE_SAMPLE_DIR_PROPERTY + ":}")
+  private String simulateSampleDir;
+
+  @LogSearchPropertyDescription(
+    name = LogFeederConstants.SIMULATE_SAMPLE_ENTRY_PATTERN_PROPERTY,
+    description = "Regular expression matching the first line of a log entry in the sample log files. Lines not matching it (stack trace lines, " +
+      "exception headers and the like) are appended to the previous entry. By default an entry starts with a timestamp or a log level.",
+    examples = {"^\\d{4}-\\d{2}-\\d{2} "},
+    defaultValue = LogFeederConstants.DEFAULT_SIMULATE_SAMPLE_ENTRY_PATTERN,
+    sources = {LogFeederConstants.LOGFEEDER_PROPERTIES_FILE}
+  )
+  @Value("${" + LogFeederConstants.SIMULATE_SAMPLE_ENTRY_PATTERN_PROPERTY + ":}")
+  private String simulateSampleEntryPattern;
+
+  @LogSearchPropertyDescription(
+    name = LogFeederConstants.SIMULATE_STACK_TRACE_RATIO_PROPERTY,
+    description = "The ratio (between 0 and 1) of the simulated log entries that get a multiline java stack trace appended.",
+    examples = {"0.05"},
+    defaultValue = LogFeederConstants.DEFAULT_SIMULATE_STACK_TRACE_RATIO + "",
+    sources = {LogFeederConstants.LOGFEEDER_PROPERTIES_FILE}
+  )
+  @Value("${" + LogFeederConstants.SIMULATE_STACK_TRACE_RATIO_PROPERTY + ":" + LogFeederConstants.DEFAULT_SIMULATE_STACK_TRACE_RATIO + "}")
+  private Double simulateStackTraceRatio;
+
+  @LogSearchPropertyDescription(
+    name = LogFeederConstants.SIMULATE_REPORT_INTERVAL_SECONDS_PROPERTY,
+    description = "The interval in seconds to log the achieved rate of the simulator instances with.",
+    examples = {"60"},
+    defaultValue = LogFeederConstants.DEFAULT_SIMULATE_REPORT_INTERVAL_SECONDS + "",
+    sources = {LogFeederConstants.LOGFEEDER_PROPERTIES_FILE}
+  )
+  @Value("${" + LogFeederConstants.SIMULATE_REPORT_INTERVAL_SECONDS_PROPERTY + ":" + LogFeederConstants.DEFAULT_SIMULATE_REPORT_INTERVAL_SECONDS + "}")
+  private Integer simulateReportIntervalSeconds;
+
   public Integer getSimulateInputNumber() {
     return simulateInputNumber;
   }
@@ -153,4 +206,44 @@ public class InputSimulateConfig {
   public void setSimulateLogIds(String simulateLogIds) {
     this.simulateLogIds = simulateLogIds;
   }
+
+  public Integer getSimulateTargetRate() {
+    return simulateTargetRate;
+  }
+
+  public void setSimulateTargetRate(Integer simulateTargetRate) {
+    this.simulateTargetRate = simulateTargetRate;
+  }
+
+  public String getSimulateSampleDir() {
+    return simulateSampleDir;
+  }
+
+  public void setSimulateSampleDir(String simulateSampleDir) {
+    this.simulateSampleDir = simulateSampleDir;
+  }
+
+  public String getSimulateSampleEntryPattern() {
+    return simulateSampleEntryPattern;
+  }
+
+  public void setSimulateSampleEntryPattern(String simulateSampleEntryPattern) {
+    this.simulateSampleEntryPattern = simulateSampleEntryPattern;
+  }
+
+  public Double getSimulateStackTraceRatio() {
+    return simulateStackTraceRatio;
+  }
+
+  public void setSimulateStackTraceRatio(Double simulateStackTraceRatio) {
+    this.simulateStackTraceRatio = simulateStackTraceRatio;
+  }
+
+  public Integer getSimulateReportIntervalSeconds() {
+    return simulateReportIntervalSeconds;
+  }
+
+  public void setSimulateReportIntervalSeconds(Integer simulateReportIntervalSeconds) {
+    this.simulateReportIntervalSeconds = simulateReportIntervalSeconds;
+  }
 }
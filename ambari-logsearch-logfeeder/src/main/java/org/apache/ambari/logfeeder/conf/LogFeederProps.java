@@ -358,10 +358,18 @@ public class LogFeederProps implements LogFeederProperties {
     return logLevelFilterEnabled;
   }
 
+  public void setLogLevelFilterEnabled(boolean logLevelFilterEnabled) {
+    this.logLevelFilterEnabled = logLevelFilterEnabled;
+  }
+
   public List<String> getIncludeDefaultLogLevels() {
     return includeDefaultLogLevels;
   }
 
+  public void setIncludeDefaultLogLevels(List<String> includeDefaultLogLevels) {
+    this.includeDefaultLogLevels = includeDefaultLogLevels;
+  }
+
   public String getConfDir() {
     return confDir;
   }
@@ -71,6 +71,26 @@ public class MetricsCollectorConfig {
   @Value("${" + LogFeederConstants.METRICS_COLLECTOR_PATH_PROPERTY + ":#{NULL}}")
   private String path;
 
+  @LogSearchPropertyDescription(
+    name = LogFeederConstants.METRICS_HTTP_PORT_PROPERTY,
+    description = "Port of the local HTTP endpoint which serves the pipeline metrics (counters and latency histograms) as JSON on /metrics. Disabled if it is 0.",
+    examples = {"0", "61888"},
+    defaultValue = "0",
+    sources = {LogFeederConstants.LOGFEEDER_PROPERTIES_FILE}
+  )
+  @Value("${" + LogFeederConstants.METRICS_HTTP_PORT_PROPERTY + ":0}")
+  private int httpPort;
+
+  @LogSearchPropertyDescription(
+    name = LogFeederConstants.METRICS_JMX_ENABLED_PROPERTY,
+    description = "Register the pipeline metrics (counters and latency histograms) as a JMX MBean.",
+    examples = {"true", "false"},
+    defaultValue = "true",
+    sources = {LogFeederConstants.LOGFEEDER_PROPERTIES_FILE}
+  )
+  @Value("${" + LogFeederConstants.METRICS_JMX_ENABLED_PROPERTY + ":true}")
+  private boolean jmxEnabled;
+
   public List<String> getHosts() {
     return hosts;
   }
@@ -99,6 +119,22 @@ public class MetricsCollectorConfig {
     this.path = path;
   }
 
+  public int getHttpPort() {
+    return httpPort;
+  }
+
+  public void setHttpPort(int httpPort) {
+    this.httpPort = httpPort;
+  }
+
+  public boolean isJmxEnabled() {
+    return jmxEnabled;
+  }
+
+  public void setJmxEnabled(boolean jmxEnabled) {
+    this.jmxEnabled = jmxEnabled;
+  }
+
   public String getHostsString() {
     return hostsString;
   }
@@ -305,11 +305,11 @@ public class FilterGrok extends Filter<LogFeederProps> {
       }
     }
     super.apply(jsonObj, savedInputMarker);
-    statMetric.value++;
+    statMetric.increment();
   }
 
   private void logParseError(String inputStr) {
-    grokErrorMetric.value++;
+    grokErrorMetric.increment();
     String logMessageKey = this.getClass().getSimpleName() + "_PARSEERROR";
     int inputStrLength = inputStr != null ? inputStr.length() : 0;
     LogFeederUtil.logErrorMessageByInterval(logMessageKey, "Error parsing string. length=" + inputStrLength + ", input=" +
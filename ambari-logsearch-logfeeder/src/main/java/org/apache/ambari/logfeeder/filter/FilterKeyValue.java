@@ -124,7 +124,7 @@ public class FilterKeyValue extends Filter<LogFeederProps> {
       }
     }
     super.apply(jsonObj, inputMarker);
-    statMetric.value++;
+    statMetric.increment();
   }
 
   private String preProcessBorders(String keyValueString, Map<String, String> valueMap) {
@@ -167,7 +167,7 @@ public class FilterKeyValue extends Filter<LogFeederProps> {
   }
 
   private void logParseError(String inputStr) {
-    errorMetric.value++;
+    errorMetric.increment();
     String logMessageKey = this.getClass().getSimpleName() + "_PARSEERROR";
     LogFeederUtil.logErrorMessageByInterval(logMessageKey, "Error parsing string. length=" + inputStr.length() + ", input=" +
         getInput().getShortDescription() + ". First upto 200 characters=" + StringUtils.abbreviate(inputStr, 200), null, logger,
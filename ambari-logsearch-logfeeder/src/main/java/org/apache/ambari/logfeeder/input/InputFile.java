@@ -43,9 +43,11 @@ import org.apache.solr.common.util.Base64;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Input file object holds input shipper configurations, and can be used to start threads to monitor specific input file.
@@ -98,7 +100,7 @@ public class InputFile extends Input<LogFeederProps, InputFileMarker, InputFileB
   private boolean dockerLogParent = true;
   private DockerContainerRegistry dockerContainerRegistry;
   private Map<String, List<File>> folderMap;
-  private Map<String, InputFile> inputChildMap = new HashMap<>();
+  private Map<String, InputFile> inputChildMap = new ConcurrentHashMap<>();
 
   @Override
   public boolean isReady() {
@@ -419,12 +421,18 @@ public class InputFile extends Input<LogFeederProps, InputFileMarker, InputFileB
   }
 
   private void copyFilters(InputFile clonedInput, Filter firstFilter) {
+    Filter newFilter = cloneFilters(clonedInput, firstFilter);
+    if (newFilter != null) {
+      clonedInput.setFirstFilter(newFilter);
+    }
+  }
+
+  private Filter cloneFilters(InputFile clonedInput, Filter firstFilter) {
     if (firstFilter != null) {
       try {
         logger.info("Cloning filters for input=" + clonedInput.logPath);
         Filter newFilter = (Filter) firstFilter.clone();
         newFilter.setInput(clonedInput);
-        clonedInput.setFirstFilter(newFilter);
         Filter actFilter = firstFilter;
         Filter actClonedFilter = newFilter;
         while (actFilter != null) {
@@ -440,10 +448,27 @@ public class InputFile extends Input<LogFeederProps, InputFileMarker, InputFileB
           }
         }
         logger.info("Cloning filters has finished for input=" + clonedInput.logPath);
+        return newFilter;
       } catch (Exception e) {
         logger.error("Could not clone filters for input=" + clonedInput.logPath);
       }
     }
+    return null;
+  }
+
+  /**
+   * Replace the filters of this input and of the already started child inputs (those are using their own copies of the filter chain)
+   * @param newFirstFilter first filter of the new (initialized) chain
+   */
+  @Override
+  public void replaceFilters(Filter<LogFeederProps> newFirstFilter) {
+    super.replaceFilters(newFirstFilter);
+    for (InputFile childInput : new ArrayList<>(inputChildMap.values())) {
+      Filter childFirstFilter = cloneFilters(childInput, newFirstFilter);
+      if (childFirstFilter != null) {
+        childInput.replaceFilters(childFirstFilter);
+      }
+    }
   }
 
   /**
@@ -32,18 +32,21 @@ import org.apache.logging.log4j.Logger;
 import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class InputManagerImpl extends InputManager {
 
   private static final Logger logger = LogManager.getLogger(InputManagerImpl.class);
 
+  private static final long DRAIN_TIMEOUT_MS = 30 * 1000;
+  private static final long DRAIN_CHECK_INTERVAL_MS = 100;
+
   private Map<String, List<Input>> inputs = new HashMap<>();
-  private Set<Input> notReadyList = new HashSet<>();
+  private Set<Input> notReadyList = ConcurrentHashMap.newKeySet();
 
   private boolean isDrain = false;
 
@@ -81,19 +84,49 @@ public class InputManagerImpl extends InputManager {
   @Override
   public void removeInputsForService(String serviceName) {
     List<Input> inputList = inputs.get(serviceName);
+    if (inputList == null) {
+      return;
+    }
+    drainInputs(inputList);
+    inputList.clear();
+    inputs.remove(serviceName);
+  }
+
+  @Override
+  public void removeInputs(String serviceName, List<Input> inputsToRemove) {
+    List<Input> inputList = inputs.get(serviceName);
+    if (inputList == null || inputsToRemove.isEmpty()) {
+      return;
+    }
+    drainInputs(inputsToRemove);
+    inputList.removeAll(inputsToRemove);
+  }
+
+  /**
+   * Drain the inputs and wait until those are closed - inputs which were never started (not ready yet) are not waited for,
+   * and the wait is bounded, so an input which does not react to drain cannot block config updates forever.
+   */
+  private void drainInputs(List<Input> inputList) {
     for (Input input : inputList) {
       input.setDrain(true);
     }
+    long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
     for (Input input : inputList) {
-      while (!input.isClosed()) {
+      if (notReadyList.remove(input)) {
+        continue;
+      }
+      while (!input.isClosed() && System.currentTimeMillis() < deadline) {
         try {
-          Thread.sleep(100);
+          Thread.sleep(DRAIN_CHECK_INTERVAL_MS);
         } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
         }
       }
+      if (!input.isClosed()) {
+        logger.warn("Input was not closed after drain, will ignore it. " + input.getShortDescription());
+      }
     }
-    inputList.clear();
-    inputs.remove(serviceName);
   }
 
   @Override
@@ -174,7 +207,12 @@ public class InputManagerImpl extends InputManager {
   }
 
   public void startInputs(String serviceName) {
-    for (Input input : inputs.get(serviceName)) {
+    startInputs(serviceName, inputs.get(serviceName));
+  }
+
+  @Override
+  public void startInputs(String serviceName, List<Input> inputsToStart) {
+    for (Input input : inputsToStart) {
       try {
         if (input instanceof InputFile) {// apply docker metadata registry
           InputFile inputFile = (InputFile)  input;
@@ -206,7 +244,7 @@ public class InputManagerImpl extends InputManager {
         input.addMetricsContainers(metricsList);
       }
     }
-    filesCountMetric.value = getActiveFilesCount();
+    filesCountMetric.set(getActiveFilesCount());
     metricsList.add(filesCountMetric);
   }
 
@@ -217,7 +255,7 @@ public class InputManagerImpl extends InputManager {
       }
     }
 
-    filesCountMetric.value = getActiveFilesCount();
+    filesCountMetric.set(getActiveFilesCount());
     // TODO: logStatForMetric(filesCountMetric, "Stat: Files Monitored Count", "");
   }
 
@@ -18,7 +18,7 @@
  */
 package org.apache.ambari.logfeeder.input;
 
-import com.google.common.base.Joiner;
+import org.apache.ambari.logfeeder.common.LogFeederConstants;
 import org.apache.ambari.logfeeder.conf.InputSimulateConfig;
 import org.apache.ambari.logfeeder.conf.LogFeederProps;
 import org.apache.ambari.logfeeder.filter.FilterJSON;
@@ -29,28 +29,50 @@ import org.apache.ambari.logsearch.config.api.model.inputconfig.InputDescriptor;
 import org.apache.ambari.logsearch.config.json.model.inputconfig.impl.FilterJsonDescriptorImpl;
 import org.apache.ambari.logsearch.config.json.model.inputconfig.impl.InputDescriptorImpl;
 import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.common.util.Base64;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Date;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
 
 /**
- * Input type for simulating inputs for Log Feeder
+ * Input type for simulating inputs for Log Feeder.
+ * <p>
+ * Without a target rate every simulator instance creates one log entry per sleep interval. With a target rate the
+ * simulator instances (each running on its own thread) share the configured number of entries per second, which makes
+ * it possible to load test the pipeline and the outputs. The messages are either random words or the entries of the
+ * sample log files of the simulated log ids, optionally with multiline stack traces appended. The achieved rate is
+ * logged periodically; as the entries are stamped with their creation time, the end-to-end lag is published by the
+ * output.event_lag metric.
  */
 public class InputSimulate extends InputFile {
   private static final Logger logger = LogManager.getLogger(InputSimulate.class);
-  private static final String LOG_TEXT_PATTERN = "{ logtime=\"%d\", level=\"%s\", log_message=\"%s\", host=\"%s\"}";
+
+  private static final String[] LOG_LEVELS = {"FATAL", "ERROR", "WARN", "INFO", "DEBUG", "TRACE"};
+  private static final String[] EXCEPTION_CLASSES = {"java.io.IOException", "java.lang.IllegalStateException",
+    "java.lang.NullPointerException", "java.util.concurrent.TimeoutException", "org.apache.solr.common.SolrException"};
+  private static final int NUMBER_OF_STACK_TRACES = 32;
+  private static final int MAX_BATCH_SIZE = 1000;
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
 
   private static final Map<String, String> typeToFilePath = new HashMap<>();
   private static final List<String> inputTypes = new ArrayList<>();
@@ -61,7 +83,8 @@ public class InputSimulate extends InputFile {
     }
   }
 
-  private static final Map<String, Integer> typeToLineNumber = new HashMap<>();
+  private static final Map<String, AtomicInteger> typeToLineNumber = new ConcurrentHashMap<>();
+  private static final Map<String, List<String>> typeToSamples = new ConcurrentHashMap<>();
 
   private static final AtomicInteger hostNumber = new AtomicInteger(0);
 
@@ -70,15 +93,29 @@ public class InputSimulate extends InputFile {
     return simulateOutputs;
   }
 
+  private static final LongAdder simulatedEntries = new LongAdder();
+  private static final LongAccumulator maxScheduleLagNanos = new LongAccumulator(Math::max, 0);
+  private static volatile long nextReportNanos = System.nanoTime();
+  private static boolean reportStarted = false;
+  private static long lastReportNanos;
+  private static long lastReportEntries;
+
   private final Random random = new Random(System.currentTimeMillis());
+  private final Map<String, String> fileKeys = new HashMap<>();
 
   private InputSimulateConfig conf;
   private List<String> types;
   private String level;
-  private int numberOfWords;
+  private String[] words;
   private int minLogWords;
   private int maxLogWords;
   private long sleepMillis;
+  private double ratePerInstance;
+  private String targetDescription;
+  private double stackTraceRatio;
+  private String[] stackTraces;
+  private long reportIntervalNanos;
+  private long sampleIndex;
   private String host;
 
   @Override
@@ -87,12 +124,30 @@ public class InputSimulate extends InputFile {
     conf = logFeederProps.getInputSimulateConfig();
     this.types = getSimulatedLogTypes();
     this.level = conf.getSimulateLogLevel();
-    this.numberOfWords = conf.getSimulateNumberOfWords();
+    this.words = createWords(conf.getSimulateNumberOfWords());
     this.minLogWords = conf.getSimulateMinLogWords();
     this.maxLogWords = conf.getSimulateMaxLogWords();
     this.sleepMillis = conf.getSimulateSleepMilliseconds();
     this.host = "#" + hostNumber.incrementAndGet() + "-" + LogFeederUtil.hostName;
 
+    int targetRate = conf.getSimulateTargetRate() == null ? 0 : conf.getSimulateTargetRate();
+    this.ratePerInstance = (double) targetRate / Math.max(1, conf.getSimulateInputNumber());
+    this.targetDescription = targetRate > 0 ? targetRate + " entries/sec" : "1 entry per " + sleepMillis + " ms per instance";
+    this.stackTraceRatio = conf.getSimulateStackTraceRatio() == null ? 0 : conf.getSimulateStackTraceRatio();
+    this.stackTraces = createStackTraces();
+    int reportIntervalSeconds = conf.getSimulateReportIntervalSeconds() == null ? 0 : conf.getSimulateReportIntervalSeconds();
+    this.reportIntervalNanos = TimeUnit.SECONDS.toNanos(reportIntervalSeconds);
+
+    String sampleDir = conf.getSimulateSampleDir();
+    if (StringUtils.isNotBlank(sampleDir)) {
+      Pattern entryStartPattern = Pattern.compile(StringUtils.defaultIfBlank(conf.getSimulateSampleEntryPattern(),
+        LogFeederConstants.DEFAULT_SIMULATE_SAMPLE_ENTRY_PATTERN));
+      for (String type : types) {
+        typeToSamples.computeIfAbsent(type, t -> loadSamples(new File(sampleDir, t + ".log"), entryStartPattern));
+      }
+    }
+    this.sampleIndex = random.nextInt(Integer.MAX_VALUE);
+
     Filter filter = new FilterJSON();
     filter.loadConfig(new FilterJsonDescriptorImpl());
     filter.setInput(this);
@@ -130,20 +185,60 @@ public class InputSimulate extends InputFile {
   @Override
   public void start() throws Exception {
     getFirstFilter().setOutputManager(getOutputManager());
+    if (ratePerInstance > 0) {
+      simulateWithTargetRate();
+    } else {
+      simulateWithSleep();
+    }
+  }
+
+  private void simulateWithSleep() throws Exception {
     while (true) {
+      if (!types.isEmpty()) {
+        simulateLogEntry();
+      }
+      try { Thread.sleep(sleepMillis); } catch(Exception e) { /* Ignore */ }
+      reportIfNeeded(System.nanoTime());
+    }
+  }
+
+  /**
+   * Creates the entries which are due according to the target rate in batches, and parks the thread if it is ahead of
+   * the schedule. If the pipeline can not keep up with the target rate the simulator falls behind, which is reported
+   * as the schedule lag.
+   */
+  private void simulateWithTargetRate() throws Exception {
+    long startNanos = System.nanoTime();
+    long simulated = 0;
+    while (true) {
+      long now = System.nanoTime();
       if (types.isEmpty()) {
-        try { Thread.sleep(sleepMillis); } catch(Exception e) { /* Ignore */ }
+        LockSupport.parkNanos(MAX_PARK_NANOS);
         continue;
       }
-      String type = imitateRandomLogFile();
+      long due = (long) ((now - startNanos) / 1e9 * ratePerInstance);
+      if (simulated >= due) {
+        long nextDueNanos = startNanos + (long) ((simulated + 1) * 1e9 / ratePerInstance);
+        LockSupport.parkNanos(Math.min(nextDueNanos - now, MAX_PARK_NANOS));
+      } else {
+        maxScheduleLagNanos.accumulate((long) ((due - simulated) * 1e9 / ratePerInstance));
+        long batchEnd = Math.min(due, simulated + MAX_BATCH_SIZE);
+        for (; simulated < batchEnd; simulated++) {
+          simulateLogEntry();
+        }
+      }
+      reportIfNeeded(now);
+    }
+  }
 
-      String line = getLine();
-      InputFileMarker marker = getInputMarker(type);
+  private void simulateLogEntry() throws Exception {
+    String type = imitateRandomLogFile();
 
-      outputLine(line, marker);
+    String line = getLine(type);
+    InputFileMarker marker = getInputMarker(type);
 
-      try { Thread.sleep(sleepMillis); } catch(Exception e) { /* Ignore */ }
-    }
+    outputLine(line, marker);
+    simulatedEntries.increment();
   }
 
   private String imitateRandomLogFile() {
@@ -161,45 +256,197 @@ public class InputSimulate extends InputFile {
     return new InputFileMarker(this, getBase64FileKey(), getLineNumber(type));
   }
 
-  private static synchronized int getLineNumber(String type) {
-    if (!typeToLineNumber.containsKey(type)) {
-      typeToLineNumber.put(type, 0);
-    }
-    Integer lineNumber = typeToLineNumber.get(type) + 1;
-
-    typeToLineNumber.put(type, lineNumber);
-    return lineNumber;
+  private static int getLineNumber(String type) {
+    return typeToLineNumber.computeIfAbsent(type, t -> new AtomicInteger()).incrementAndGet();
   }
 
   public String getBase64FileKey() {
+    return fileKeys.computeIfAbsent(getFilePath(), InputSimulate::createBase64FileKey);
+  }
+
+  private static String createBase64FileKey(String filePath) {
     String fileKey;
     try {
-      fileKey = InetAddress.getLocalHost().getHostAddress() + "|" + getFilePath();
+      fileKey = InetAddress.getLocalHost().getHostAddress() + "|" + filePath;
     } catch (Exception e) {
       // skip
-      fileKey = "localhost|" + getFilePath();
+      fileKey = "localhost|" + filePath;
     }
     return Base64.byteArrayToBase64(fileKey.getBytes());
   }
 
-  private String getLine() {
-    Date d = new Date();
-    String logMessage = createLogMessage();
-    return String.format(LOG_TEXT_PATTERN, d.getTime(), level, logMessage, host);
+  private String getLine(String type) {
+    String entryLevel = level;
+    String logMessage;
+    List<String> samples = typeToSamples.get(type);
+    if (samples != null && !samples.isEmpty()) {
+      logMessage = samples.get((int) (sampleIndex++ % samples.size()));
+      entryLevel = getLevel(logMessage, level);
+    } else {
+      logMessage = createLogMessage();
+    }
+    if (stackTraceRatio > 0 && random.nextDouble() < stackTraceRatio) {
+      logMessage = logMessage + "\n" + stackTraces[random.nextInt(stackTraces.length)];
+    }
+    return createLine(System.currentTimeMillis(), entryLevel, logMessage, host);
   }
 
   private String createLogMessage() {
     int logMessageLength = minLogWords + random.nextInt(maxLogWords - minLogWords + 1);
-    Set<Integer> words = new TreeSet<>();
-    List<String> logMessage = new ArrayList<>();
-    while (words.size() < logMessageLength) {
-      int word = random.nextInt(numberOfWords);
-      if (words.add(word)) {
-        logMessage.add(String.format("Word%06d", word));
+    StringBuilder logMessage = new StringBuilder(logMessageLength * 11);
+    for (int i = 0; i < logMessageLength; i++) {
+      if (i > 0) {
+        logMessage.append(' ');
       }
+      logMessage.append(words[random.nextInt(words.length)]);
     }
+    return logMessage.toString();
+  }
+
+  private static String[] createWords(int numberOfWords) {
+    String[] words = new String[numberOfWords];
+    for (int i = 0; i < numberOfWords; i++) {
+      words[i] = String.format("Word%06d", i);
+    }
+    return words;
+  }
+
+  private String[] createStackTraces() {
+    String[] stackTraces = new String[NUMBER_OF_STACK_TRACES];
+    for (int i = 0; i < stackTraces.length; i++) {
+      StringBuilder stackTrace = new StringBuilder();
+      stackTrace.append(EXCEPTION_CLASSES[random.nextInt(EXCEPTION_CLASSES.length)]).append(": ").append(createLogMessage());
+      appendStackFrames(stackTrace, 5 + random.nextInt(25));
+      if (random.nextBoolean()) {
+        stackTrace.append("\nCaused by: ").append(EXCEPTION_CLASSES[random.nextInt(EXCEPTION_CLASSES.length)])
+          .append(": ").append(createLogMessage());
+        appendStackFrames(stackTrace, 3 + random.nextInt(10));
+        stackTrace.append("\n\t... ").append(1 + random.nextInt(20)).append(" more");
+      }
+      stackTraces[i] = stackTrace.toString();
+    }
+    return stackTraces;
+  }
 
-    return Joiner.on(' ').join(logMessage);
+  private void appendStackFrames(StringBuilder stackTrace, int depth) {
+    for (int i = 0; i < depth; i++) {
+      int clazz = random.nextInt(100);
+      stackTrace.append("\n\tat org.apache.ambari.simulated.Class").append(clazz).append(".method").append(random.nextInt(20))
+        .append("(Class").append(clazz).append(".java:").append(1 + random.nextInt(500)).append(")");
+    }
+  }
+
+  private void reportIfNeeded(long now) {
+    if (reportIntervalNanos > 0 && now - nextReportNanos >= 0) {
+      report(now, reportIntervalNanos, targetDescription);
+    }
+  }
+
+  private static synchronized void report(long now, long reportIntervalNanos, String targetDescription) {
+    if (now - nextReportNanos < 0) {
+      return;
+    }
+    long entries = simulatedEntries.sum();
+    long maxScheduleLagMs = TimeUnit.NANOSECONDS.toMillis(maxScheduleLagNanos.getThenReset());
+    if (reportStarted) {
+      double seconds = (now - lastReportNanos) / 1e9;
+      logger.info(String.format("Simulated %d log entries in the last %.1f s: %.0f entries/sec (target: %s), " +
+          "max schedule lag: %d ms", entries - lastReportEntries, seconds, (entries - lastReportEntries) / seconds,
+        targetDescription, maxScheduleLagMs));
+    }
+    reportStarted = true;
+    lastReportNanos = now;
+    lastReportEntries = entries;
+    nextReportNanos = now + reportIntervalNanos;
+  }
+
+  private static List<String> loadSamples(File sampleFile, Pattern entryStartPattern) {
+    if (!sampleFile.isFile()) {
+      logger.info("No sample log file " + sampleFile + ", simulating random words");
+      return Collections.emptyList();
+    }
+    try {
+      List<String> samples = readSampleEntries(Files.readAllLines(sampleFile.toPath(), StandardCharsets.UTF_8), entryStartPattern);
+      logger.info("Loaded " + samples.size() + " sample log entries from " + sampleFile);
+      return samples;
+    } catch (IOException e) {
+      logger.warn("Could not read sample log file " + sampleFile + ", simulating random words", e);
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * Groups the lines of a sample log file into log entries: only the lines matching the entry start pattern (by default
+   * a leading timestamp or log level) start a new entry, every other line (exception headers, stack trace lines,
+   * "Caused by" lines) is a continuation of the previous entry, so stack traces are replayed as multiline entries.
+   */
+  static List<String> readSampleEntries(List<String> lines, Pattern entryStartPattern) {
+    List<String> entries = new ArrayList<>();
+    StringBuilder entry = null;
+    for (String line : lines) {
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+      boolean continuation = !entryStartPattern.matcher(line).find();
+      if (continuation && entry != null) {
+        entry.append('\n').append(line);
+      } else {
+        if (entry != null) {
+          entries.add(entry.toString());
+        }
+        entry = new StringBuilder(line);
+      }
+    }
+    if (entry != null) {
+      entries.add(entry.toString());
+    }
+    return entries;
+  }
+
+  static String getLevel(String logEntry, String defaultLevel) {
+    int firstLineEnd = logEntry.indexOf('\n');
+    String firstLine = firstLineEnd < 0 ? logEntry : logEntry.substring(0, firstLineEnd);
+    for (String logLevel : LOG_LEVELS) {
+      int index = firstLine.indexOf(logLevel);
+      if (index >= 0 && isWordBoundary(firstLine, index - 1) && isWordBoundary(firstLine, index + logLevel.length())) {
+        return logLevel;
+      }
+    }
+    return defaultLevel;
+  }
+
+  private static boolean isWordBoundary(String text, int index) {
+    return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+  }
+
+  static String createLine(long logTime, String level, String logMessage, String host) {
+    StringBuilder line = new StringBuilder(logMessage.length() + 96);
+    line.append("{\"logtime\":\"").append(logTime).append("\",\"level\":\"");
+    appendJsonEscaped(line, level);
+    line.append("\",\"log_message\":\"");
+    appendJsonEscaped(line, logMessage);
+    line.append("\",\"host\":\"");
+    appendJsonEscaped(line, host);
+    return line.append("\"}").toString();
+  }
+
+  private static void appendJsonEscaped(StringBuilder sb, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"': sb.append("\\\""); break;
+        case '\\': sb.append("\\\\"); break;
+        case '\n': sb.append("\\n"); break;
+        case '\r': sb.append("\\r"); break;
+        case '\t': sb.append("\\t"); break;
+        default:
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+      }
+    }
   }
 
   @Override
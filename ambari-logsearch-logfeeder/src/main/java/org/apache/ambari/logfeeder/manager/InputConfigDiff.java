@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.manager;
+
+import org.apache.ambari.logsearch.config.api.model.inputconfig.FilterDescriptor;
+import org.apache.ambari.logsearch.config.api.model.inputconfig.InputConfig;
+import org.apache.ambari.logsearch.config.api.model.inputconfig.InputDescriptor;
+import org.apache.ambari.logsearch.config.json.model.inputconfig.impl.InputConfigGson;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares two input configurations of the same service by log type (input descriptor type). Inputs are sorted into
+ * added, removed, changed (input descriptor changed, input needs a restart) and filter changed (only the filters which apply
+ * on the input changed, so the filter chain can be replaced on the running input).
+ * If the inputs cannot be matched by type (missing or duplicated types), the configurations are not comparable.
+ */
+class InputConfigDiff {
+
+  private final Set<String> addedTypes = new LinkedHashSet<>();
+  private final Set<String> removedTypes = new LinkedHashSet<>();
+  private final Set<String> changedTypes = new LinkedHashSet<>();
+  private final Set<String> filterChangedTypes = new LinkedHashSet<>();
+  private final boolean comparable;
+
+  InputConfigDiff(InputConfig oldConfig, InputConfig newConfig) {
+    Map<String, String> oldInputs = inputsByType(oldConfig);
+    Map<String, String> newInputs = inputsByType(newConfig);
+    comparable = oldInputs != null && newInputs != null;
+    if (!comparable) {
+      return;
+    }
+    for (Map.Entry<String, String> entry : newInputs.entrySet()) {
+      String type = entry.getKey();
+      if (!oldInputs.containsKey(type)) {
+        addedTypes.add(type);
+      } else if (!oldInputs.get(type).equals(entry.getValue())) {
+        changedTypes.add(type);
+      } else if (!filtersJson(oldConfig, type).equals(filtersJson(newConfig, type))) {
+        filterChangedTypes.add(type);
+      }
+    }
+    for (String type : oldInputs.keySet()) {
+      if (!newInputs.containsKey(type)) {
+        removedTypes.add(type);
+      }
+    }
+  }
+
+  boolean isComparable() {
+    return comparable;
+  }
+
+  boolean isEmpty() {
+    return addedTypes.isEmpty() && removedTypes.isEmpty() && changedTypes.isEmpty() && filterChangedTypes.isEmpty();
+  }
+
+  Set<String> getAddedTypes() {
+    return addedTypes;
+  }
+
+  Set<String> getRemovedTypes() {
+    return removedTypes;
+  }
+
+  Set<String> getChangedTypes() {
+    return changedTypes;
+  }
+
+  Set<String> getFilterChangedTypes() {
+    return filterChangedTypes;
+  }
+
+  private static Map<String, String> inputsByType(InputConfig inputConfig) {
+    Map<String, String> result = new HashMap<>();
+    if (inputConfig.getInput() == null) {
+      return result;
+    }
+    for (InputDescriptor inputDescriptor : inputConfig.getInput()) {
+      if (inputDescriptor == null) {
+        continue;
+      }
+      String type = inputDescriptor.getType();
+      String json = InputConfigGson.gson.toJson(inputDescriptor);
+      if (type == null || "null".equals(json) || result.put(type, json) != null) {
+        return null;
+      }
+    }
+    return result;
+  }
+
+  private static String filtersJson(InputConfig inputConfig, String type) {
+    List<FilterDescriptor> filters = new ArrayList<>();
+    if (inputConfig.getFilter() != null) {
+      for (FilterDescriptor filterDescriptor : inputConfig.getFilter()) {
+        if (filterDescriptor != null && filterDescriptor.getConditions() != null &&
+          filterDescriptor.getConditions().getFields() != null && filterDescriptor.getConditions().getFields().getType() != null &&
+          filterDescriptor.getConditions().getFields().getType().contains(type)) {
+          filters.add(filterDescriptor);
+        }
+      }
+    }
+    Collections.sort(filters, (o1, o2) -> {
+      Integer o1Sort = o1.getSortOrder();
+      Integer o2Sort = o2.getSortOrder();
+      if (o1Sort == null || o2Sort == null) {
+        return 0;
+      }
+      return o1Sort - o2Sort;
+    });
+    StringBuilder json = new StringBuilder();
+    for (FilterDescriptor filterDescriptor : filters) {
+      json.append(InputConfigGson.gson.toJson(filterDescriptor)).append('\n');
+    }
+    return json.toString();
+  }
+
+  @Override
+  public String toString() {
+    return "added=" + addedTypes + ", removed=" + removedTypes + ", changed=" + changedTypes + ", filterChanged=" + filterChangedTypes;
+  }
+}
@@ -19,12 +19,14 @@
 package org.apache.ambari.logfeeder.manager;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.gson.reflect.TypeToken;
 import org.apache.ambari.logfeeder.conf.LogFeederProps;
 import org.apache.ambari.logfeeder.manager.operations.InputConfigHandler;
 import org.apache.ambari.logfeeder.input.InputSimulate;
 import org.apache.ambari.logfeeder.plugin.common.AliasUtil;
 import org.apache.ambari.logfeeder.plugin.common.MetricData;
+import org.apache.ambari.logfeeder.plugin.filter.Filter;
 import org.apache.ambari.logfeeder.plugin.input.Input;
 import org.apache.ambari.logfeeder.plugin.manager.InputManager;
 import org.apache.ambari.logfeeder.plugin.manager.OutputManager;
@@ -54,9 +56,15 @@ import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Facade class for input config operations (add / load / remove configs and start or close input monitoring)
@@ -73,6 +81,7 @@ public class InputConfigManager implements InputConfigMonitor {
 
   private final Map<String, Object> globalConfigs = new HashMap<>();
   private final List<String> globalConfigJsons = new ArrayList<>();
+  private final Map<String, InputConfig> inputConfigs = new ConcurrentHashMap<>();
 
   private boolean simulateMode = false;
 
@@ -117,13 +126,133 @@ public class InputConfigManager implements InputConfigMonitor {
       inputConfigHandler.assignInputsToOutputs(serviceName, inputConfigHolder, inputConfig);
     }
     inputConfigHolder.getInputManager().startInputs(serviceName);
+    inputConfigs.put(serviceName, inputConfig);
   }
 
   @Override
   public void removeInputs(String serviceName) {
+    inputConfigs.remove(serviceName);
     inputConfigHolder.getInputManager().removeInputsForService(serviceName);
   }
 
+  /**
+   * Apply only the differences between the previous and the new input config of a service: removed inputs and inputs
+   * with changed input descriptors are stopped, new and changed ones are started, if only the filters of an input are changed,
+   * the new filter chain is swapped in on the running input (without re-opening its files). Unchanged inputs keep running.
+   */
+  @Override
+  public void updateInputConfigs(String serviceName, InputConfig inputConfig) throws Exception {
+    InputConfig previousInputConfig = inputConfigs.get(serviceName);
+    InputConfigDiff diff = previousInputConfig != null && !simulateMode ? new InputConfigDiff(previousInputConfig, inputConfig) : null;
+    if (diff == null || !diff.isComparable()) {
+      logger.info("Reloading all inputs for service '{}'", serviceName);
+      removeInputs(serviceName);
+      loadInputConfigs(serviceName, inputConfig);
+      return;
+    }
+    if (diff.isEmpty()) {
+      logger.info("No input or filter changes for service '{}'", serviceName);
+      inputConfigs.put(serviceName, inputConfig);
+      return;
+    }
+    logger.info("Updating inputs for service '{}': {}", serviceName, diff);
+
+    InputManager inputManager = inputConfigHolder.getInputManager();
+    Map<String, Input> runningInputs = new HashMap<>();
+    List<Input> serviceInputs = inputManager.getInputList(serviceName);
+    if (serviceInputs != null) {
+      for (Input input : serviceInputs) {
+        runningInputs.put(input.getInputDescriptor().getType(), input);
+      }
+    }
+
+    List<Input> inputsToStop = new ArrayList<>();
+    for (String type : Sets.union(diff.getRemovedTypes(), diff.getChangedTypes())) {
+      Input input = runningInputs.remove(type);
+      if (input != null) {
+        inputsToStop.add(input);
+      }
+    }
+    inputManager.removeInputs(serviceName, inputsToStop);
+
+    Set<String> typesToLoad = new HashSet<>(diff.getAddedTypes());
+    typesToLoad.addAll(diff.getChangedTypes());
+    typesToLoad.addAll(diff.getFilterChangedTypes());
+    List<Input> newInputs = loadInputs(serviceName, inputConfig, typesToLoad);
+
+    Set<String> filterChangedTypes = new HashSet<>(diff.getFilterChangedTypes());
+    for (Iterator<Input> iterator = newInputs.iterator(); iterator.hasNext();) {
+      Input newInput = iterator.next();
+      String type = newInput.getInputDescriptor().getType();
+      Input runningInput = runningInputs.get(type);
+      if (filterChangedTypes.remove(type) && runningInput != null) {
+        replaceFilters(runningInput, newInput);
+        inputManager.removeInput(newInput);
+        iterator.remove();
+      }
+    }
+    // no input was created for these types, as there are no filters for them anymore - stop them as well
+    List<Input> inputsWithoutFilters = new ArrayList<>();
+    for (String type : filterChangedTypes) {
+      if (runningInputs.containsKey(type)) {
+        inputsWithoutFilters.add(runningInputs.get(type));
+      }
+    }
+    inputManager.removeInputs(serviceName, inputsWithoutFilters);
+
+    inputManager.startInputs(serviceName, newInputs);
+    inputConfigs.put(serviceName, inputConfig);
+  }
+
+  private List<Input> loadInputs(String serviceName, InputConfig inputConfig, Set<String> types) throws Exception {
+    List<Input> newInputs = new ArrayList<>();
+    if (types.isEmpty()) {
+      return newInputs;
+    }
+    inputConfigHolder.getInputConfigList().clear();
+    inputConfigHolder.getFilterConfigList().clear();
+    for (InputDescriptor inputDescriptor : inputConfig.getInput()) {
+      if (inputDescriptor != null && types.contains(inputDescriptor.getType())) {
+        inputConfigHolder.getInputConfigList().add(inputDescriptor);
+      }
+    }
+    inputConfigHolder.getFilterConfigList().addAll(inputConfig.getFilter());
+
+    List<Input> serviceInputs = inputConfigHolder.getInputManager().getInputList(serviceName);
+    Set<Input> runningInputs = Collections.newSetFromMap(new IdentityHashMap<>());
+    if (serviceInputs != null) {
+      runningInputs.addAll(serviceInputs);
+    }
+    inputConfigHandler.loadInputs(serviceName, inputConfigHolder, inputConfig);
+    serviceInputs = inputConfigHolder.getInputManager().getInputList(serviceName);
+    if (serviceInputs != null) {
+      for (Input input : serviceInputs) {
+        if (!runningInputs.contains(input)) {
+          newInputs.add(input);
+        }
+      }
+    }
+    if (!newInputs.isEmpty()) {
+      inputConfigHandler.assignInputsToOutputs(serviceName, inputConfigHolder, inputConfig);
+    }
+    return newInputs;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void replaceFilters(Input runningInput, Input newInput) {
+    Filter firstFilter = newInput.getFirstFilter();
+    for (Filter filter = firstFilter; filter != null; filter = filter.getNextFilter()) {
+      filter.setInput(runningInput);
+    }
+    try {
+      firstFilter.init(logFeederProps);
+      runningInput.replaceFilters(firstFilter);
+      logger.info("Filters are going to be replaced for running input: " + runningInput.getShortDescription());
+    } catch (Exception e) {
+      logger.error("Could not initialize new filters, keeping the previous ones for input: " + runningInput.getShortDescription(), e);
+    }
+  }
+
   public void cleanCheckPointFiles() {
     inputConfigHolder.getInputManager().getCheckpointHandler().cleanupCheckpoints();
   }
@@ -45,6 +45,9 @@ public abstract class AbstractInputConfigHandler implements InputConfigHandler {
 
     List<Input> toRemoveInputList = new ArrayList<>();
     for (Input input : inputConfigHolder.getInputManager().getInputList(serviceName)) {
+      if (input.getFirstFilter() != null) {
+        continue; // input is already running with its filters (kept during an incremental config update)
+      }
       for (FilterDescriptor filterDescriptor : inputConfigHolder.getFilterConfigList()) {
         if (filterDescriptor == null) {
           logger.warn("Filter descriptor is empty. Skipping...");
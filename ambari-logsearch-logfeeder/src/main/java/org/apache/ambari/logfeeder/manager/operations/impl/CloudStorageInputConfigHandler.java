@@ -98,6 +98,9 @@ public class CloudStorageInputConfigHandler extends AbstractInputConfigHandler {
   @Override
   public void assignInputsToOutputs(String serviceName, InputConfigHolder inputConfigHolder, InputConfig config) {
     for (Input input : inputConfigHolder.getInputManager().getInputList(serviceName)) {
+      if (!input.getOutputList().isEmpty()) {
+        continue; // outputs are already assigned (input kept during an incremental config update)
+      }
       List<Output> outputs = inputConfigHolder.getOutputManager().getOutputs();
       for (Output output : outputs) {
         input.addOutput(output);
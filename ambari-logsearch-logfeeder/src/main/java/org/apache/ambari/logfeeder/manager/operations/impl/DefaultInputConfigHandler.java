@@ -57,6 +57,9 @@ public class DefaultInputConfigHandler extends AbstractInputConfigHandler {
   @Override
   public void assignInputsToOutputs(String serviceName, InputConfigHolder inputConfigHolder, InputConfig config) {
     for (Input input : inputConfigHolder.getInputManager().getInputList(serviceName)) {
+      if (!input.getOutputList().isEmpty()) {
+        continue; // outputs are already assigned (input kept during an incremental config update)
+      }
       for (Output output : inputConfigHolder.getOutputManager().getOutputs()) {
         if (input.isOutputRequired(output)) {
           input.addOutput(output);
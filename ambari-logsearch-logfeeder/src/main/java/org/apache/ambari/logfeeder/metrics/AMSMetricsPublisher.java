@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.metrics;
+
+import org.apache.hadoop.metrics2.sink.timeline.TimelineMetric;
+import org.apache.hadoop.metrics2.sink.timeline.TimelineMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers metric values in fixed size (primitive) time series per metric and ships them to AMS from its own thread,
+ * so a slow or unavailable collector does not block the threads which gather the metrics.
+ * Every HTTP call sends all buffered intervals, on failure the points are kept (the oldest ones are overwritten
+ * if the buffer is full) and the next attempt is delayed with exponential backoff.
+ */
+public class AMSMetricsPublisher {
+  private static final Logger logger = LogManager.getLogger(AMSMetricsPublisher.class);
+
+  /** max time to wait for the in-flight publish on stop */
+  private static final long STOP_TIMEOUT_MS = 30000;
+
+  private final LogFeederAMSClient amsClient;
+  private final String appId;
+  private final String hostName;
+  private final int maxPointsPerMetric;
+  private final long publishIntervalMS;
+  private final long maxBackoffMS;
+
+  private final Map<String, MetricTimeSeries> seriesMap = new HashMap<>();
+  private volatile ScheduledExecutorService executor;
+  private int failedAttempts = 0;
+
+  public AMSMetricsPublisher(LogFeederAMSClient amsClient, String appId, String hostName, int maxPointsPerMetric,
+                             long publishIntervalMS, long maxBackoffMS) {
+    this.amsClient = amsClient;
+    this.appId = appId;
+    this.hostName = hostName;
+    this.maxPointsPerMetric = maxPointsPerMetric;
+    this.publishIntervalMS = publishIntervalMS;
+    this.maxBackoffMS = maxBackoffMS;
+  }
+
+  public void start() {
+    ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(1, r -> {
+      Thread thread = new Thread(r, "ams-metrics-publisher");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduledExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    executor = scheduledExecutor;
+    executor.schedule(this::publishAndReschedule, publishIntervalMS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stop the publisher thread, the publish which is in progress is waited for (so a final {@link #publish()} does not run concurrently with it).
+   */
+  public void stop() {
+    ScheduledExecutorService currentExecutor = executor;
+    if (currentExecutor != null) {
+      executor = null;
+      currentExecutor.shutdown();
+      try {
+        if (!currentExecutor.awaitTermination(STOP_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+          logger.warn("AMS metrics publisher did not finish in " + STOP_TIMEOUT_MS + " ms, interrupting it");
+          currentExecutor.shutdownNow();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        currentExecutor.shutdownNow();
+      }
+    }
+  }
+
+  /**
+   * Add a counter delta - deltas with the same timestamp are summed up
+   */
+  public synchronized void addDelta(String metricName, long timestamp, double delta) {
+    getOrCreateSeries(metricName, true).add(timestamp, delta);
+  }
+
+  /**
+   * Add a point in time value - a value with the same timestamp is overwritten
+   */
+  public synchronized void addValue(String metricName, long timestamp, double value) {
+    getOrCreateSeries(metricName, false).add(timestamp, value);
+  }
+
+  /**
+   * Add every point of a gather interval at once, so a publish cannot split the interval into separate batches
+   * @param deltas counter deltas by metric name
+   * @param values point in time values by metric name
+   */
+  public synchronized void addInterval(long timestamp, Map<String, Double> deltas, Map<String, Double> values) {
+    for (Map.Entry<String, Double> entry : deltas.entrySet()) {
+      addDelta(entry.getKey(), timestamp, entry.getValue());
+    }
+    for (Map.Entry<String, Double> entry : values.entrySet()) {
+      addValue(entry.getKey(), timestamp, entry.getValue());
+    }
+  }
+
+  public synchronized int getPendingPointCount() {
+    int count = 0;
+    for (MetricTimeSeries series : seriesMap.values()) {
+      count += series.size();
+    }
+    return count;
+  }
+
+  public synchronized int getFailedAttempts() {
+    return failedAttempts;
+  }
+
+  private MetricTimeSeries getOrCreateSeries(String metricName, boolean accumulate) {
+    return seriesMap.computeIfAbsent(metricName, k -> new MetricTimeSeries(maxPointsPerMetric, accumulate));
+  }
+
+  private void publishAndReschedule() {
+    long delayMS = publishIntervalMS;
+    try {
+      if (!publish()) {
+        delayMS = getBackoffDelayMS();
+      }
+    } catch (Throwable t) {
+      logger.warn("Unexpected error during publishing metrics to AMS.", t);
+    } finally {
+      ScheduledExecutorService currentExecutor = executor;
+      if (currentExecutor != null && !currentExecutor.isShutdown()) {
+        currentExecutor.schedule(this::publishAndReschedule, delayMS, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  private synchronized long getBackoffDelayMS() {
+    long delay = publishIntervalMS << Math.min(failedAttempts, 16);
+    return Math.min(delay, maxBackoffMS);
+  }
+
+  /**
+   * Send every buffered point to AMS in one request. The gathering threads are blocked only while the points are copied.
+   * @return false if sending the metrics failed (pending points are kept for the next attempt)
+   */
+  public boolean publish() {
+    Map<String, Long> publishedUpTo = new HashMap<>();
+    List<TimelineMetric> metrics = new ArrayList<>();
+    synchronized (this) {
+      for (Map.Entry<String, MetricTimeSeries> entry : seriesMap.entrySet()) {
+        MetricTimeSeries series = entry.getValue();
+        if (series.size() > 0) {
+          metrics.add(series.toTimelineMetric(entry.getKey(), appId, hostName));
+          publishedUpTo.put(entry.getKey(), series.seal());
+        }
+      }
+    }
+    if (metrics.isEmpty()) {
+      logger.debug("No metrics to publish to AMS");
+      return true;
+    }
+
+    boolean success;
+    try {
+      TimelineMetrics timelineMetrics = new TimelineMetrics();
+      timelineMetrics.setMetrics(metrics);
+      success = amsClient.emitMetrics(timelineMetrics);
+    } catch (Throwable t) {
+      logger.warn("Error sending metrics to AMS.", t);
+      success = false;
+    }
+
+    synchronized (this) {
+      if (success) {
+        for (Map.Entry<String, Long> entry : publishedUpTo.entrySet()) {
+          seriesMap.get(entry.getKey()).dropUntil(entry.getValue());
+        }
+        failedAttempts = 0;
+        logger.info("Published " + metrics.size() + " metrics to AMS");
+      } else {
+        for (String metricName : publishedUpTo.keySet()) {
+          seriesMap.get(metricName).unseal();
+        }
+        failedAttempts++;
+        logger.warn("Sending metrics to AMS failed " + failedAttempts + " time(s) in a row. Pending points=" + getPendingPointCount());
+      }
+    }
+    return success;
+  }
+
+  /**
+   * Ring buffer of (timestamp, value) pairs, backed by primitive arrays. Positions are addressed by a sequence number,
+   * so the points which were sent successfully can be dropped even if new points arrived (or old ones were overwritten) meanwhile.
+   * Counter deltas with the same timestamp are summed up, point in time values with the same timestamp are overwritten.
+   */
+  static class MetricTimeSeries {
+    private final boolean accumulate;
+    private final long[] timestamps;
+    private final double[] values;
+    private long firstSeq = 0;
+    private long nextSeq = 0;
+    private long sealedSeq = 0; // points before this are being sent, they cannot be updated anymore
+    private long overwritten = 0;
+
+    MetricTimeSeries(int capacity, boolean accumulate) {
+      this.accumulate = accumulate;
+      this.timestamps = new long[capacity];
+      this.values = new double[capacity];
+    }
+
+    /**
+     * A point with the same timestamp as the last one is updated in place, unless the last one is being sent (sealed),
+     * then it is added as a new point and merged with the sealed one by {@link #toTimelineMetric} if the send fails.
+     */
+    void add(long timestamp, double value) {
+      if (size() > 0 && nextSeq - 1 >= sealedSeq) {
+        int lastIndex = index(nextSeq - 1);
+        if (timestamps[lastIndex] == timestamp) {
+          values[lastIndex] = accumulate ? values[lastIndex] + value : value;
+          return;
+        }
+      }
+      if (size() == timestamps.length) {
+        firstSeq++;
+        overwritten++;
+      }
+      int index = index(nextSeq++);
+      timestamps[index] = timestamp;
+      values[index] = value;
+    }
+
+    int size() {
+      return (int) (nextSeq - firstSeq);
+    }
+
+    long getOverwritten() {
+      return overwritten;
+    }
+
+    long seal() {
+      sealedSeq = nextSeq;
+      return nextSeq;
+    }
+
+    /**
+     * The send of the sealed points failed, they can be updated again
+     */
+    void unseal() {
+      sealedSeq = firstSeq;
+    }
+
+    void dropUntil(long seq) {
+      firstSeq = Math.max(firstSeq, Math.min(seq, nextSeq));
+    }
+
+    TimelineMetric toTimelineMetric(String metricName, String appId, String hostName) {
+      TreeMap<Long, Double> metricValues = new TreeMap<>();
+      for (long seq = firstSeq; seq < nextSeq; seq++) {
+        int index = index(seq);
+        if (accumulate) {
+          metricValues.merge(timestamps[index], values[index], Double::sum);
+        } else {
+          metricValues.put(timestamps[index], values[index]);
+        }
+      }
+      TimelineMetric timelineMetric = new TimelineMetric();
+      timelineMetric.setMetricName(metricName);
+      timelineMetric.setHostName(hostName);
+      timelineMetric.setAppId(appId);
+      timelineMetric.setStartTime(metricValues.firstKey());
+      timelineMetric.setType("Long");
+      timelineMetric.setMetricValues(metricValues);
+      return timelineMetric;
+    }
+
+    private int index(long seq) {
+      return (int) (seq % timestamps.length);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.beans.ConstructorProperties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable summary of a latency distribution (last stats interval), exposed through JMX and the local metrics HTTP endpoint.
+ */
+public class HistogramSnapshot {
+
+  private final String unit;
+  private final long count;
+  private final long min;
+  private final double mean;
+  private final long p50;
+  private final long p90;
+  private final long p99;
+  private final long max;
+
+  @ConstructorProperties({"unit", "count", "min", "mean", "p50", "p90", "p99", "max"})
+  public HistogramSnapshot(String unit, long count, long min, double mean, long p50, long p90, long p99, long max) {
+    this.unit = unit;
+    this.count = count;
+    this.min = min;
+    this.mean = mean;
+    this.p50 = p50;
+    this.p90 = p90;
+    this.p99 = p99;
+    this.max = max;
+  }
+
+  public static HistogramSnapshot of(Histogram histogram, TimeUnit unit) {
+    long count = histogram.getTotalCount();
+    return new HistogramSnapshot(unit.name().toLowerCase(), count,
+      count > 0 ? histogram.getMinValue() : 0, histogram.getMean(),
+      histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(99),
+      histogram.getMaxValue());
+  }
+
+  public String getUnit() {
+    return unit;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getMin() {
+    return min;
+  }
+
+  public double getMean() {
+    return mean;
+  }
+
+  public long getP50() {
+    return p50;
+  }
+
+  public long getP90() {
+    return p90;
+  }
+
+  public long getP99() {
+    return p99;
+  }
+
+  public long getMax() {
+    return max;
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.ambari.logfeeder.util.LogFeederUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serves the Log Feeder pipeline metrics as JSON on a local port (GET /metrics)
+ */
+public class MetricsHttpServer {
+
+  private static final Logger logger = LogManager.getLogger(MetricsHttpServer.class);
+
+  private static final String METRICS_PATH = "/metrics";
+
+  private final LogFeederMetricsMXBean metrics;
+  private final int port;
+  private HttpServer server;
+
+  public MetricsHttpServer(LogFeederMetricsMXBean metrics, int port) {
+    this.metrics = metrics;
+    this.port = port;
+  }
+
+  public void start() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(port), 0);
+    server.createContext(METRICS_PATH, this::handle);
+    server.start();
+    logger.info("Metrics HTTP endpoint started on port " + port + ", path=" + METRICS_PATH);
+  }
+
+  public void stop() {
+    if (server != null) {
+      server.stop(0);
+      server = null;
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("counters", metrics.getCounters());
+      body.put("histograms", metrics.getHistograms());
+      byte[] response = LogFeederUtil.getGson().toJson(body).getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, response.length);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write(response);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+}
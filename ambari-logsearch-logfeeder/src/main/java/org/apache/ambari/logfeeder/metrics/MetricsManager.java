@@ -19,36 +19,47 @@
 
 package org.apache.ambari.logfeeder.metrics;
 
-import java.util.ArrayList;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
+import org.HdrHistogram.Histogram;
 import org.apache.ambari.logfeeder.conf.LogFeederSecurityConfig;
 import org.apache.ambari.logfeeder.conf.MetricsCollectorConfig;
+import org.apache.ambari.logfeeder.plugin.common.HistogramMetricData;
 import org.apache.ambari.logfeeder.plugin.common.MetricData;
 import org.apache.ambari.logfeeder.util.LogFeederUtil;
-import org.apache.hadoop.metrics2.sink.timeline.TimelineMetric;
-import org.apache.hadoop.metrics2.sink.timeline.TimelineMetrics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
-public class MetricsManager {
+public class MetricsManager implements LogFeederMetricsMXBean {
   private static final Logger logger = LogManager.getLogger(MetricsManager.class);
 
+  private static final String JMX_OBJECT_NAME = "org.apache.ambari.logfeeder:type=Metrics";
+
   private boolean isMetricsEnabled = false;
   private String appId = "logfeeder";
 
-  private long lastPublishTimeMS = 0; // Let's do the first publish immediately
-  private long lastFailedPublishTimeMS = System.currentTimeMillis(); // Reset the clock
-
   private int publishIntervalMS = 60 * 1000;
-  private int maxMetricsBuffer = 60 * 60 * 1000; // If AMS is down, we should not keep the metrics in memory forever
-  private HashMap<String, TimelineMetric> metricsMap = new HashMap<>();
+  private int maxBackoffMS = 10 * 60 * 1000;
+  private int maxPointsPerMetric = 120; // 1 hour with 30 seconds stats interval - if AMS is down, we should not keep the metrics in memory forever
   private LogFeederAMSClient amsClient = null;
+  private AMSMetricsPublisher amsMetricsPublisher;
+
+  private volatile Map<String, Long> counters = Collections.emptyMap();
+  private volatile Map<String, HistogramSnapshot> histograms = Collections.emptyMap();
+  private MetricsHttpServer metricsHttpServer;
+  private ObjectName jmxObjectName;
 
   @Inject
   private MetricsCollectorConfig metricsCollectorConfig;
@@ -70,35 +81,129 @@ public class MetricsManager {
       } else {
         isMetricsEnabled = true;
         logger.info("LogFeeder Metrics is enabled. Metrics host=" + amsClient.getCollectorUri(null));
+        amsMetricsPublisher = new AMSMetricsPublisher(amsClient, appId, LogFeederUtil.hostName, maxPointsPerMetric,
+          publishIntervalMS, maxBackoffMS);
+        amsMetricsPublisher.start();
       }
     } else {
       logger.info("LogFeeder Metrics publish is disabled");
     }
+
+    if (metricsCollectorConfig != null) {
+      startLocalEndpoints();
+    }
+  }
+
+  private void startLocalEndpoints() {
+    if (metricsCollectorConfig.isJmxEnabled()) {
+      try {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        jmxObjectName = new ObjectName(JMX_OBJECT_NAME);
+        mBeanServer.registerMBean(this, jmxObjectName);
+        logger.info("LogFeeder metrics are registered in JMX as " + JMX_OBJECT_NAME);
+      } catch (Exception e) {
+        logger.warn("Could not register LogFeeder metrics in JMX", e);
+        jmxObjectName = null;
+      }
+    }
+    if (metricsCollectorConfig.getHttpPort() > 0) {
+      try {
+        metricsHttpServer = new MetricsHttpServer(this, metricsCollectorConfig.getHttpPort());
+        metricsHttpServer.start();
+      } catch (Exception e) {
+        logger.warn("Could not start LogFeeder metrics HTTP endpoint on port " + metricsCollectorConfig.getHttpPort(), e);
+        metricsHttpServer = null;
+      }
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    if (amsMetricsPublisher != null) {
+      amsMetricsPublisher.stop();
+      amsMetricsPublisher.publish();
+    }
+    if (metricsHttpServer != null) {
+      metricsHttpServer.stop();
+    }
+    if (jmxObjectName != null) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(jmxObjectName);
+      } catch (Exception e) {
+        logger.debug("Could not unregister LogFeeder metrics from JMX", e);
+      }
+    }
   }
 
   public boolean isMetricsEnabled() {
     return isMetricsEnabled;
   }
 
+  @Override
+  public Map<String, Long> getCounters() {
+    return counters;
+  }
+
+  @Override
+  public Map<String, HistogramSnapshot> getHistograms() {
+    return histograms;
+  }
+
   public synchronized void useMetrics(List<MetricData> metricsList) {
+    long currMS = System.currentTimeMillis();
+    Map<String, Histogram> intervalHistograms = snapshotMetrics(metricsList);
     if (!isMetricsEnabled) {
       return;
     }
     logger.info("useMetrics() metrics.size=" + metricsList.size());
-    long currMS = System.currentTimeMillis();
-    
-    gatherMetrics(metricsList, currMS);
-    publishMetrics(currMS);
+
+    gatherMetrics(metricsList, intervalHistograms, currMS);
   }
 
-  private void gatherMetrics(List<MetricData> metricsList, long currMS) {
-    Long currMSLong = new Long(currMS);
+  /**
+   * Refresh the values served by the local (JMX / HTTP) endpoints. Metrics with the same name are merged, as every input / filter / output
+   * instance has its own metric objects.
+   * @return interval histograms by metric name
+   */
+  private Map<String, Histogram> snapshotMetrics(List<MetricData> metricsList) {
+    Map<String, Long> newCounters = new TreeMap<>();
+    Map<String, Histogram> intervalHistograms = new TreeMap<>();
+    Map<String, TimeUnit> units = new HashMap<>();
+    for (MetricData metric : metricsList) {
+      if (metric.metricsName == null) {
+        continue;
+      }
+      newCounters.merge(metric.metricsName, metric.getValue(), Long::sum);
+      if (metric instanceof HistogramMetricData) {
+        HistogramMetricData histogramMetric = (HistogramMetricData) metric;
+        Histogram interval = histogramMetric.rollInterval();
+        Histogram merged = intervalHistograms.get(metric.metricsName);
+        if (merged == null) {
+          merged = new Histogram(interval.getNumberOfSignificantValueDigits());
+          intervalHistograms.put(metric.metricsName, merged);
+          units.put(metric.metricsName, histogramMetric.getUnit());
+        }
+        merged.add(interval);
+      }
+    }
+    Map<String, HistogramSnapshot> newHistograms = new TreeMap<>();
+    for (Map.Entry<String, Histogram> entry : intervalHistograms.entrySet()) {
+      newHistograms.put(entry.getKey(), HistogramSnapshot.of(entry.getValue(), units.get(entry.getKey())));
+    }
+    counters = Collections.unmodifiableMap(newCounters);
+    histograms = Collections.unmodifiableMap(newHistograms);
+    return intervalHistograms;
+  }
+
+  private void gatherMetrics(List<MetricData> metricsList, Map<String, Histogram> intervalHistograms, long currMS) {
+    Map<String, Double> deltas = new HashMap<>();
+    Map<String, Double> values = new HashMap<>();
     for (MetricData metric : metricsList) {
       if (metric.metricsName == null) {
         logger.debug("metric.metricsName is null");
         continue;
       }
-      long currCount = metric.value;
+      long currCount = metric.getValue();
       if (!metric.isPointInTime && metric.publishCount > 0 && currCount <= metric.prevPublishValue) {
         logger.debug("Nothing changed. " + metric.metricsName + ", currCount=" + currCount + ", prevPublishCount=" +
             metric.prevPublishValue);
@@ -106,59 +211,32 @@ public class MetricsManager {
       }
       metric.publishCount++;
 
-      logger.debug("Ensuring metrics=" + metric.metricsName);
-      TimelineMetric timelineMetric = metricsMap.get(metric.metricsName);
-      if (timelineMetric == null) {
-        logger.debug("Creating new metric obbject for " + metric.metricsName);
-        timelineMetric = new TimelineMetric();
-        timelineMetric.setMetricName(metric.metricsName);
-        timelineMetric.setHostName(LogFeederUtil.hostName);
-        timelineMetric.setAppId(appId);
-        timelineMetric.setStartTime(currMS);
-        timelineMetric.setType("Long");
-        timelineMetric.setMetricValues(new TreeMap<Long, Double>());
-
-        metricsMap.put(metric.metricsName, timelineMetric);
-      }
-      
       logger.debug("Adding metrics=" + metric.metricsName);
       if (metric.isPointInTime) {
-        timelineMetric.getMetricValues().put(currMSLong, new Double(currCount));
+        values.put(metric.metricsName, (double) currCount);
       } else {
-        Double value = timelineMetric.getMetricValues().get(currMSLong);
-        if (value == null) {
-          value = new Double(0);
-        }
-        value += (currCount - metric.prevPublishValue);
-        timelineMetric.getMetricValues().put(currMSLong, value);
+        deltas.merge(metric.metricsName, (double) (currCount - metric.prevPublishValue), Double::sum);
         metric.prevPublishValue = currCount;
       }
     }
-  }
-
-  private void publishMetrics(long currMS) {
-    if (!metricsMap.isEmpty() && currMS - lastPublishTimeMS > publishIntervalMS) {
-      try {
-        TimelineMetrics timelineMetrics = new TimelineMetrics();
-        timelineMetrics.setMetrics(new ArrayList<TimelineMetric>(metricsMap.values()));
-        amsClient.emitMetrics(timelineMetrics);
-        
-        logger.info("Published " + timelineMetrics.getMetrics().size() + " metrics to AMS");
-        metricsMap.clear();
-        lastPublishTimeMS = currMS;
-      } catch (Throwable t) {
-        logger.warn("Error sending metrics to AMS.", t);
-        if (currMS - lastFailedPublishTimeMS > maxMetricsBuffer) {
-          logger.error("AMS was not sent for last " + maxMetricsBuffer / 1000 +
-              " seconds. Purging it and will start rebuilding it again");
-          metricsMap.clear();
-          lastFailedPublishTimeMS = currMS;
-        }
+    for (Map.Entry<String, Histogram> entry : intervalHistograms.entrySet()) {
+      Histogram histogram = entry.getValue();
+      if (histogram.getTotalCount() == 0) {
+        continue;
       }
-    } else {
-      logger.info("Not publishing metrics. metrics.size()=" + metricsMap.size() + ", lastPublished=" +
-          (currMS - lastPublishTimeMS) / 1000 + " seconds ago, intervalConfigured=" + publishIntervalMS / 1000);
+      values.put(entry.getKey() + ".p50", (double) histogram.getValueAtPercentile(50));
+      values.put(entry.getKey() + ".p99", (double) histogram.getValueAtPercentile(99));
+      values.put(entry.getKey() + ".max", (double) histogram.getMaxValue());
     }
+    amsMetricsPublisher.addInterval(currMS, deltas, values);
+  }
+
+  /**
+   * Send the buffered metrics to AMS from the calling thread (normally it is done by the publisher thread periodically)
+   * @return false if sending the metrics failed
+   */
+  public boolean flushMetrics() {
+    return amsMetricsPublisher != null && amsMetricsPublisher.publish();
   }
 
   public void setAmsClient(LogFeederAMSClient amsClient) {
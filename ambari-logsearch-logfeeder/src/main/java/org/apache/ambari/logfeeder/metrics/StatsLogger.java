@@ -75,10 +75,8 @@ public class StatsLogger extends Thread {
 
   private void logStats() {
     inputConfigManager.logStats();
-    if (metricsManager.isMetricsEnabled()) {
-      List<MetricData> metricsList = new ArrayList<MetricData>();
-      inputConfigManager.addMetrics(metricsList);
-      metricsManager.useMetrics(metricsList);
-    }
+    List<MetricData> metricsList = new ArrayList<MetricData>();
+    inputConfigManager.addMetrics(metricsList);
+    metricsManager.useMetrics(metricsList);
   }
 }
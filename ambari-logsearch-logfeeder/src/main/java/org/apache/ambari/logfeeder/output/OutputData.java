@@ -29,10 +29,12 @@ import java.util.Map;
 public class OutputData {
   public final Map<String, Object> jsonObj;
   public final InputMarker inputMarker;
+  public final long createdNanos; // used to measure the time spent in output queues
 
   public OutputData(Map<String, Object> jsonObj, InputMarker inputMarker) {
     this.jsonObj = jsonObj;
     this.inputMarker = inputMarker;
+    this.createdNanos = System.nanoTime();
   }
 
   @Override
@@ -35,7 +35,7 @@ public class OutputDevNull extends Output<LogFeederProps, InputMarker> {
 
   @Override
   public void write(String block, InputMarker inputMarker){
-    logger.trace("Ignore log block: " + block);
+    logger.trace("Ignore log block: {}", block);
   }
 
   @Override
@@ -105,7 +105,7 @@ public class OutputFile extends Output<LogFeederProps, InputFileMarker> {
         outStr = LogFeederUtil.getGson().toJson(jsonObj);
       }
       if (outWriter != null && outStr != null) {
-        statMetric.value++;
+        statMetric.increment();
 
         outWriter.println(outStr);
         outWriter.flush();
@@ -123,7 +123,7 @@ public class OutputFile extends Output<LogFeederProps, InputFileMarker> {
   @Override
   synchronized public void write(String block, InputFileMarker inputMarker) throws Exception {
     if (outWriter != null && block != null) {
-      statMetric.value++;
+      statMetric.increment();
 
       outWriter.println(block);
       outWriter.flush();
@@ -216,8 +216,8 @@ public class OutputKafka extends Output<LogFeederProps, InputFileMarker> {
         // Not using key. Let it round robin
         RecordMetadata metadata = producer.send(new ProducerRecord<String, String>(topic, block)).get();
         if (metadata != null) {
-          statMetric.value++;
-          writeBytesMetric.value += block.length();
+          statMetric.increment();
+          writeBytesMetric.add(block.length());
         }
         if (!isKafkaBrokerUp) {
           logger.info("Started writing to kafka. " + getShortDescription());
@@ -270,7 +270,7 @@ public class OutputKafka extends Output<LogFeederProps, InputFileMarker> {
           output.isKafkaBrokerUp = true;
         }
         output.incrementStat(1);
-        output.writeBytesMetric.value += message.length();
+        output.writeBytesMetric.add(message.length());
       } else {
         output.isKafkaBrokerUp = false;
         String logKeyMessage = this.getClass().getSimpleName() + "_KAFKA_ASYNC_ERROR";
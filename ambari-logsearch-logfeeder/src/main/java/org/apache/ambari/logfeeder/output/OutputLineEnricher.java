@@ -96,7 +96,7 @@ public class OutputLineEnricher {
   @SuppressWarnings("unchecked")
   private String truncateLongLogMessage(MetricData messageTruncateMetric, Map<String, Object> jsonObj, Input input, String logMessage) {
     if (logMessage != null && logMessage.getBytes().length > MAX_OUTPUT_SIZE) {
-      messageTruncateMetric.value++;
+      messageTruncateMetric.increment();
       String logMessageKey = input.getOutputManager().getClass().getSimpleName() + "_MESSAGESIZE";
       LogFeederUtil.logErrorMessageByInterval(logMessageKey, "Message is too big. size=" + logMessage.getBytes().length +
         ", input=" + input.getShortDescription() + ". Truncating to " + MAX_OUTPUT_SIZE + ", first upto 200 characters=" +
@@ -24,6 +24,7 @@ import org.apache.ambari.logfeeder.common.IdGeneratorHelper;
 import org.apache.ambari.logfeeder.common.LogFeederConstants;
 import org.apache.ambari.logfeeder.conf.LogFeederProps;
 import org.apache.ambari.logfeeder.loglevelfilter.LogLevelFilterHandler;
+import org.apache.ambari.logfeeder.plugin.common.HistogramMetricData;
 import org.apache.ambari.logfeeder.plugin.common.MetricData;
 import org.apache.ambari.logfeeder.plugin.input.Input;
 import org.apache.ambari.logfeeder.plugin.input.InputMarker;
@@ -42,6 +43,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class OutputManagerImpl extends OutputManager {
   private static final Logger logger = LogManager.getLogger(OutputManagerImpl.class);
@@ -52,6 +54,7 @@ public class OutputManagerImpl extends OutputManager {
 
   private static long docCounter = 0;
   private MetricData messageTruncateMetric = new MetricData(null, false);
+  private HistogramMetricData eventLagMetric = new HistogramMetricData("output.event_lag", TimeUnit.MILLISECONDS);
 
   @Inject
   private LogLevelFilterHandler logLevelFilterHandler;
@@ -86,6 +89,7 @@ public class OutputManagerImpl extends OutputManager {
       docCounter = 1;
     }
     jsonObj = outputLineEnricher.enrichFields(jsonObj, inputMarker, messageTruncateMetric);
+    Object logTime = jsonObj.get(LogFeederConstants.IN_MEMORY_TIMESTAMP);
     Input input = inputMarker.getInput();
     List<String> defaultLogLevels = getDefaultLogLevels(input);
     if (logLevelFilterHandler.isAllowed(jsonObj, inputMarker, defaultLogLevels)
@@ -101,6 +105,9 @@ public class OutputManagerImpl extends OutputManager {
           logger.error("Error writing. to " + output.getShortDescription(), e);
         }
       }
+      if (logTime instanceof Long) {
+        eventLagMetric.record(System.currentTimeMillis() - (Long) logTime);
+      }
     }
   }
 
@@ -151,6 +158,7 @@ public class OutputManagerImpl extends OutputManager {
 
   public void addMetricsContainers(List<MetricData> metricsList) {
     metricsList.add(messageTruncateMetric);
+    metricsList.add(eventLagMetric);
     for (Output output : outputs) {
       output.addMetricsContainers(metricsList);
     }
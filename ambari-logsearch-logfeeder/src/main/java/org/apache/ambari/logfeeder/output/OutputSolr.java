@@ -22,6 +22,8 @@ package org.apache.ambari.logfeeder.output;
 import org.apache.ambari.logfeeder.common.IdGeneratorHelper;
 import org.apache.ambari.logfeeder.common.LogFeederSolrClientFactory;
 import org.apache.ambari.logfeeder.conf.LogFeederProps;
+import org.apache.ambari.logfeeder.plugin.common.HistogramMetricData;
+import org.apache.ambari.logfeeder.plugin.common.MetricData;
 import org.apache.ambari.logfeeder.plugin.input.InputMarker;
 import org.apache.ambari.logfeeder.plugin.output.Output;
 import org.apache.ambari.logfeeder.util.DateUtil;
@@ -48,7 +50,7 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Collection;;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -122,6 +124,9 @@ public class OutputSolr extends Output<LogFeederProps, InputMarker> {
   private BlockingQueue<OutputData> outgoingBuffer = null;
   private List<SolrWorkerThread> workerThreadList = new ArrayList<>();
 
+  private final HistogramMetricData queueWaitTimeMetric = new HistogramMetricData("output.solr.queue_wait_time", TimeUnit.MILLISECONDS);
+  private final HistogramMetricData batchTimeMetric = new HistogramMetricData("output.solr.batch_time", TimeUnit.MILLISECONDS);
+
   private LogFeederProps logFeederProps;
 
   @Override
@@ -336,6 +341,13 @@ public class OutputSolr extends Output<LogFeederProps, InputMarker> {
     return "output:destination=solr,collection=" + collection;
   }
 
+  @Override
+  public void addMetricsContainers(List<MetricData> metricsList) {
+    super.addMetricsContainers(metricsList);
+    metricsList.add(queueWaitTimeMetric);
+    metricsList.add(batchTimeMetric);
+  }
+
   class SolrWorkerThread extends Thread {
     private static final String ROUTER_FIELD = "_router_field_";
 
@@ -444,6 +456,9 @@ public class OutputSolr extends Output<LogFeederProps, InputMarker> {
       if (outputData == null && !isDrain() && nextDispatchDuration > 0) {
         outputData = outgoingBuffer.poll(nextDispatchDuration, TimeUnit.MILLISECONDS);
       }
+      if (outputData != null) {
+        queueWaitTimeMetric.recordElapsed(outputData.createdNanos);
+      }
       if (outputData != null && outputData.jsonObj.get("id") == null) {
         outputData.jsonObj.put("id", IdGeneratorHelper.generateUUID(outputData.jsonObj, idFields));
       }
@@ -497,14 +512,16 @@ public class OutputSolr extends Output<LogFeederProps, InputMarker> {
     }
 
     private void addToSolr(OutputData outputData) throws SolrServerException, IOException {
+      long startNanos = System.nanoTime();
       UpdateResponse response = solrClient.add(localBuffer);
+      batchTimeMetric.recordElapsed(startNanos);
       if (response.getStatus() != 0) {
         String logMessageKey = this.getClass().getSimpleName() + "_SOLR_UPDATE_ERROR";
         LogFeederUtil.logErrorMessageByInterval(logMessageKey,
             String.format("Error writing to Solr. response=%s, log=%s", response, outputData), null, logger, Level.ERROR);
       }
-      statMetric.value += localBuffer.size();
-      writeBytesMetric.value += localBufferBytesSize;
+      statMetric.add(localBuffer.size());
+      writeBytesMetric.add(localBufferBytesSize);
       for (InputMarker inputMarker : latestInputMarkers.values()) {
         inputMarker.getInput().checkIn(inputMarker);
       }
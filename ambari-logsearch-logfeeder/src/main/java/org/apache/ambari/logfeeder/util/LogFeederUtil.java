@@ -70,10 +70,10 @@ public class LogFeederUtil {
   }
 
   public static void logStatForMetric(MetricData metric, String prefixStr, String postFix) {
-    long currStat = metric.value;
+    long currStat = metric.getValue();
     long currMS = System.currentTimeMillis();
     if (currStat > metric.prevLogValue) {
-      logger.info(prefixStr + ": total_count=" + metric.value + ", duration=" + (currMS - metric.prevLogTime) / 1000 +
+      logger.info(prefixStr + ": total_count=" + currStat + ", duration=" + (currMS - metric.prevLogTime) / 1000 +
         " secs, count=" + (currStat - metric.prevLogValue) + postFix);
     }
     metric.prevLogValue = currStat;
@@ -22,6 +22,8 @@ import static org.easymock.EasyMock.*;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.ambari.logfeeder.conf.LogFeederProps;
@@ -194,4 +196,74 @@ public class InputManagerTest {
     
     verify(input1, input2, input3);
   }
+
+  @Test
+  public void testInputManager_removeInputs() throws Exception {
+    Input input1 = strictMock(Input.class);
+    Input input2 = strictMock(Input.class);
+    Input input3 = strictMock(Input.class);
+
+    input2.setDrain(true); expectLastCall();
+    input3.setDrain(true); expectLastCall();
+
+    expect(input2.isClosed()).andReturn(true).times(2);
+    expect(input3.isClosed()).andReturn(true).times(2);
+
+    replay(input1, input2, input3);
+
+    InputManagerImpl manager = new InputManagerImpl();
+    manager.add("serviceName", input1);
+    manager.add("serviceName", input2);
+    manager.add("serviceName", input3);
+
+    manager.removeInputs("serviceName", Arrays.asList(input2, input3));
+
+    verify(input1, input2, input3);
+
+    List<Input> inputList = manager.getInputList("serviceName");
+    assertEquals(1, inputList.size());
+    assertEquals(input1, inputList.get(0));
+  }
+
+  @Test
+  public void testInputManager_removeInputsForServiceDoesNotWaitForNotReadyInputs() throws Exception {
+    Input input1 = strictMock(Input.class);
+
+    input1.setDrain(true); expectLastCall();
+    expect(input1.isClosed()).andReturn(false).anyTimes();
+
+    replay(input1);
+
+    InputManagerImpl manager = new InputManagerImpl();
+    manager.add("serviceName", input1);
+    manager.addToNotReady(input1);
+
+    manager.removeInputsForService("serviceName");
+
+    verify(input1);
+    assertNull(manager.getInputList("serviceName"));
+  }
+
+  @Test
+  public void testInputManager_startSpecificInputs() throws Exception {
+    Input input1 = strictMock(Input.class);
+    Input input2 = strictMock(Input.class);
+
+    LogFeederProps logFeederProps = new LogFeederProps();
+
+    input2.init(logFeederProps); expectLastCall();
+    expect(input2.isReady()).andReturn(true);
+    expect(input2.monitor()).andReturn(true);
+
+    replay(input1, input2);
+
+    InputManagerImpl manager = new InputManagerImpl();
+    manager.setLogFeederProps(logFeederProps);
+    manager.add("serviceName", input1);
+    manager.add("serviceName", input2);
+
+    manager.startInputs("serviceName", Collections.singletonList(input2));
+
+    verify(input1, input2);
+  }
 }
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.input;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import java.util.regex.Pattern;
+
+import org.apache.ambari.logfeeder.common.LogFeederConstants;
+import org.apache.ambari.logfeeder.util.LogFeederUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class InputSimulateTest {
+
+  private static final Pattern DEFAULT_ENTRY_START_PATTERN =
+    Pattern.compile(LogFeederConstants.DEFAULT_SIMULATE_SAMPLE_ENTRY_PATTERN);
+
+  @Test
+  public void testReadSampleEntries_multilineEntriesAreGrouped() {
+    List<String> entries = InputSimulate.readSampleEntries(Arrays.asList(
+      "2016-03-10 14:09:38,278 INFO  datanode.DataNode - Starting DataNode",
+      "2016-03-10 14:09:39,001 ERROR datanode.DataNode - Exception in secureMain",
+      "java.io.IOException: No space left on device",
+      "\tat org.apache.hadoop.hdfs.server.datanode.DataNode.main(DataNode.java:2610)",
+      "Caused by: java.lang.IllegalStateException: disk full",
+      "\t... 3 more",
+      "",
+      "2016-03-10 14:09:40,000 WARN  datanode.DataNode - Shutting down"), DEFAULT_ENTRY_START_PATTERN);
+
+    assertEquals(3, entries.size());
+    assertEquals("2016-03-10 14:09:38,278 INFO  datanode.DataNode - Starting DataNode", entries.get(0));
+    assertEquals("2016-03-10 14:09:39,001 ERROR datanode.DataNode - Exception in secureMain\n" +
+      "java.io.IOException: No space left on device\n" +
+      "\tat org.apache.hadoop.hdfs.server.datanode.DataNode.main(DataNode.java:2610)\n" +
+      "Caused by: java.lang.IllegalStateException: disk full\n" +
+      "\t... 3 more", entries.get(1));
+    assertEquals("2016-03-10 14:09:40,000 WARN  datanode.DataNode - Shutting down", entries.get(2));
+  }
+
+  @Test
+  public void testReadSampleEntries_levelFirstAndSyslogTimestampsStartEntries() {
+    List<String> entries = InputSimulate.readSampleEntries(Arrays.asList(
+      "[ERROR] Failed to connect",
+      "org.apache.solr.common.SolrException: connection refused",
+      "Mar 10 14:09:38 host sshd[42]: Accepted publickey",
+      "WARN  2016-03-10 14:09:40 disk usage above 90%"), DEFAULT_ENTRY_START_PATTERN);
+
+    assertEquals(3, entries.size());
+    assertEquals("[ERROR] Failed to connect\norg.apache.solr.common.SolrException: connection refused", entries.get(0));
+    assertEquals("Mar 10 14:09:38 host sshd[42]: Accepted publickey", entries.get(1));
+  }
+
+  @Test
+  public void testReadSampleEntries_customEntryStartPattern() {
+    List<String> entries = InputSimulate.readSampleEntries(Arrays.asList(
+      "leading line without entry start",
+      ">> first entry",
+      "ERROR looks like an entry start but is not one here",
+      ">> second entry"), Pattern.compile("^>> "));
+
+    assertEquals(3, entries.size());
+    assertEquals("leading line without entry start", entries.get(0));
+    assertEquals(">> first entry\nERROR looks like an entry start but is not one here", entries.get(1));
+    assertEquals(">> second entry", entries.get(2));
+  }
+
+  @Test
+  public void testGetLevel() {
+    assertEquals("ERROR", InputSimulate.getLevel("2016-03-10 14:09:39,001 ERROR datanode.DataNode - failed", "WARN"));
+    assertEquals("INFO", InputSimulate.getLevel("[INFO] started\n\tERROR in the stack trace", "WARN"));
+    assertEquals("WARN", InputSimulate.getLevel("INFORMATION about the DEBUGGER", "WARN"));
+  }
+
+  @Test
+  public void testCreateLine_isValidJson() {
+    String message = "a \"quoted\" c:\\path\nsecond\tline";
+    String line = InputSimulate.createLine(1457618978278L, "ERROR", message, "#1-host");
+
+    Map<String, Object> jsonObj = LogFeederUtil.toJSONObject(line);
+
+    assertEquals("1457618978278", jsonObj.get("logtime"));
+    assertEquals("ERROR", jsonObj.get("level"));
+    assertEquals(message, jsonObj.get("log_message"));
+    assertEquals("#1-host", jsonObj.get("host"));
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ambari.logfeeder.manager;
+
+import org.apache.ambari.logsearch.config.api.model.inputconfig.InputConfig;
+import org.apache.ambari.logsearch.config.json.model.inputconfig.impl.InputConfigGson;
+import org.apache.ambari.logsearch.config.json.model.inputconfig.impl.InputConfigImpl;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+public class InputConfigDiffTest {
+
+  private static final String INPUT_A = "{'type': 'a', 'source': 'file', 'rowtype': 'service', 'path': '/var/log/a.log'}";
+  private static final String INPUT_A_CHANGED = "{'type': 'a', 'source': 'file', 'rowtype': 'service', 'path': '/var/log/a2.log'}";
+  private static final String INPUT_B = "{'type': 'b', 'source': 'file', 'rowtype': 'service', 'path': '/var/log/b.log'}";
+  private static final String INPUT_C = "{'type': 'c', 'source': 'file', 'rowtype': 'service', 'path': '/var/log/c.log'}";
+  private static final String FILTER_AB = "{'filter': 'grok', 'conditions': {'fields': {'type': ['a', 'b']}}, 'message_pattern': '%{GREEDYDATA:log_message}'}";
+  private static final String FILTER_B = "{'filter': 'keyvalue', 'conditions': {'fields': {'type': ['b']}}, 'source_field': 'log_message', 'field_split': '&'}";
+  private static final String FILTER_B_CHANGED = "{'filter': 'keyvalue', 'conditions': {'fields': {'type': ['b']}}, 'source_field': 'log_message', 'field_split': ';'}";
+
+  @Test
+  public void testInputConfigDiff_noChanges() {
+    InputConfigDiff diff = new InputConfigDiff(config(inputs(INPUT_A, INPUT_B), filters(FILTER_AB, FILTER_B)),
+      config(inputs(INPUT_B, INPUT_A), filters(FILTER_AB, FILTER_B)));
+
+    assertTrue(diff.isComparable());
+    assertTrue(diff.isEmpty());
+  }
+
+  @Test
+  public void testInputConfigDiff_inputChanges() {
+    InputConfigDiff diff = new InputConfigDiff(config(inputs(INPUT_A, INPUT_B), filters(FILTER_AB)),
+      config(inputs(INPUT_A_CHANGED, INPUT_C), filters(FILTER_AB)));
+
+    assertTrue(diff.isComparable());
+    assertEquals(Collections.singleton("c"), diff.getAddedTypes());
+    assertEquals(Collections.singleton("b"), diff.getRemovedTypes());
+    assertEquals(Collections.singleton("a"), diff.getChangedTypes());
+    assertTrue(diff.getFilterChangedTypes().isEmpty());
+  }
+
+  @Test
+  public void testInputConfigDiff_filterOnlyChanges() {
+    InputConfigDiff diff = new InputConfigDiff(config(inputs(INPUT_A, INPUT_B), filters(FILTER_AB, FILTER_B)),
+      config(inputs(INPUT_A, INPUT_B), filters(FILTER_AB, FILTER_B_CHANGED)));
+
+    assertTrue(diff.isComparable());
+    assertTrue(diff.getAddedTypes().isEmpty());
+    assertTrue(diff.getRemovedTypes().isEmpty());
+    assertTrue(diff.getChangedTypes().isEmpty());
+    assertEquals(Collections.singleton("b"), diff.getFilterChangedTypes());
+  }
+
+  @Test
+  public void testInputConfigDiff_duplicatedTypesAreNotComparable() {
+    InputConfigDiff diff = new InputConfigDiff(config(inputs(INPUT_A), filters(FILTER_AB)),
+      config(inputs(INPUT_A, INPUT_A_CHANGED), filters(FILTER_AB)));
+
+    assertFalse(diff.isComparable());
+  }
+
+  private static String inputs(String... inputs) {
+    return "[" + String.join(",", inputs) + "]";
+  }
+
+  private static String filters(String... filters) {
+    return "[" + String.join(",", filters) + "]";
+  }
+
+  private static InputConfig config(String inputs, String filters) {
+    return InputConfigGson.gson.fromJson("{'input': " + inputs + ", 'filter': " + filters + "}", InputConfigImpl.class);
+  }
+}
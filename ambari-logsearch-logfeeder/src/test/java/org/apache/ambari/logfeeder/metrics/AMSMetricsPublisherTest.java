@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logfeeder.metrics;
+
+import org.apache.ambari.logfeeder.conf.LogFeederSecurityConfig;
+import org.apache.ambari.logfeeder.conf.MetricsCollectorConfig;
+import org.apache.hadoop.metrics2.sink.timeline.TimelineMetric;
+import org.apache.hadoop.metrics2.sink.timeline.TimelineMetrics;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AMSMetricsPublisherTest {
+
+  private StandInCollector collector;
+  private AMSMetricsPublisher publisher;
+
+  @Before
+  public void init() {
+    collector = new StandInCollector();
+    publisher = new AMSMetricsPublisher(collector, "logfeeder", "host1", 3, 60000, 600000);
+  }
+
+  @Test
+  public void testPublishBatchesSeveralIntervals() {
+    publisher.addDelta("metric1", 1000L, 10);
+    publisher.addDelta("metric1", 1000L, 5);
+    publisher.addDelta("metric1", 2000L, 7);
+    publisher.addValue("metric2", 1000L, 3);
+    publisher.addValue("metric2", 1000L, 4);
+
+    assertTrue(publisher.publish());
+
+    assertEquals(1, collector.emitted.size());
+    List<TimelineMetric> metrics = collector.emitted.get(0).getMetrics();
+    assertEquals(2, metrics.size());
+    for (TimelineMetric metric : metrics) {
+      TreeMap<Long, Double> values = metric.getMetricValues();
+      if ("metric1".equals(metric.getMetricName())) {
+        assertEquals(2, values.size());
+        assertEquals(Double.valueOf(15.0), values.get(1000L));
+        assertEquals(Double.valueOf(7.0), values.get(2000L));
+        assertEquals(1000L, metric.getStartTime());
+      } else {
+        assertEquals(1, values.size());
+        assertEquals(Double.valueOf(4.0), values.get(1000L));
+      }
+      assertEquals("host1", metric.getHostName());
+    }
+    assertEquals(0, publisher.getPendingPointCount());
+  }
+
+  @Test
+  public void testPointsAreKeptOnFailure() {
+    publisher.addDelta("metric1", 1000L, 10);
+    collector.fail = true;
+
+    assertFalse(publisher.publish());
+    assertEquals(1, publisher.getFailedAttempts());
+    assertEquals(1, publisher.getPendingPointCount());
+
+    publisher.addDelta("metric1", 2000L, 5);
+    collector.fail = false;
+
+    assertTrue(publisher.publish());
+    assertEquals(0, publisher.getFailedAttempts());
+    assertEquals(0, publisher.getPendingPointCount());
+    TreeMap<Long, Double> values = collector.emitted.get(0).getMetrics().get(0).getMetricValues();
+    assertEquals(2, values.size());
+  }
+
+  @Test
+  public void testOldestPointsAreOverwrittenIfBufferIsFull() {
+    for (long i = 1; i <= 5; i++) {
+      publisher.addDelta("metric1", i * 1000, i);
+    }
+    assertEquals(3, publisher.getPendingPointCount());
+
+    assertTrue(publisher.publish());
+
+    TreeMap<Long, Double> values = collector.emitted.get(0).getMetrics().get(0).getMetricValues();
+    assertEquals(3, values.size());
+    assertEquals(Long.valueOf(3000L), values.firstKey());
+    assertEquals(Long.valueOf(5000L), values.lastKey());
+  }
+
+  @Test
+  public void testSentPointsAreNotUpdated() {
+    AMSMetricsPublisher.MetricTimeSeries series = new AMSMetricsPublisher.MetricTimeSeries(3, true);
+    series.add(1000L, 1);
+    long sentUntil = series.seal();
+    series.add(1000L, 2);
+    series.dropUntil(sentUntil);
+
+    assertEquals(1, series.size());
+    assertEquals(Double.valueOf(2.0), series.toTimelineMetric("metric1", "logfeeder", "host1").getMetricValues().get(1000L));
+  }
+
+  @Test
+  public void testDeltasWithTheSameTimestampAreSummedAfterFailedSend() {
+    AMSMetricsPublisher.MetricTimeSeries series = new AMSMetricsPublisher.MetricTimeSeries(3, true);
+    series.add(1000L, 1);
+    series.seal();
+    series.add(1000L, 2);
+    series.unseal();
+    series.add(1000L, 4);
+
+    assertEquals(Double.valueOf(7.0), series.toTimelineMetric("metric1", "logfeeder", "host1").getMetricValues().get(1000L));
+  }
+
+  @Test
+  public void testValuesWithTheSameTimestampAreOverwritten() {
+    AMSMetricsPublisher.MetricTimeSeries series = new AMSMetricsPublisher.MetricTimeSeries(3, false);
+    series.add(1000L, 1);
+    series.seal();
+    series.add(1000L, 2);
+
+    assertEquals(Double.valueOf(2.0), series.toTimelineMetric("metric1", "logfeeder", "host1").getMetricValues().get(1000L));
+  }
+
+  @Test
+  public void testFailedSendDoesNotLoseDeltasOfTheSameTimestamp() {
+    publisher.addDelta("metric1", 1000L, 10);
+    collector.fail = true;
+    assertFalse(publisher.publish());
+
+    publisher.addDelta("metric1", 1000L, 5);
+    collector.fail = false;
+    assertTrue(publisher.publish());
+
+    TreeMap<Long, Double> values = collector.emitted.get(0).getMetrics().get(0).getMetricValues();
+    assertEquals(1, values.size());
+    assertEquals(Double.valueOf(15.0), values.get(1000L));
+  }
+
+  @Test
+  public void testAddIntervalAddsDeltasAndValues() {
+    Map<String, Double> deltas = new HashMap<>();
+    deltas.put("metric1", 3.0);
+    Map<String, Double> values = new HashMap<>();
+    values.put("metric2", 8.0);
+    publisher.addInterval(1000L, deltas, values);
+    publisher.addInterval(1000L, deltas, values);
+
+    assertTrue(publisher.publish());
+
+    for (TimelineMetric metric : collector.emitted.get(0).getMetrics()) {
+      double expected = "metric1".equals(metric.getMetricName()) ? 6.0 : 8.0;
+      assertEquals(Double.valueOf(expected), metric.getMetricValues().get(1000L));
+    }
+  }
+
+  @Test
+  public void testStopWaitsForThePublishInProgress() throws Exception {
+    CountDownLatch sending = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicBoolean sent = new AtomicBoolean();
+    LogFeederAMSClient blockingCollector = new StandInCollector() {
+      @Override
+      protected boolean emitMetrics(TimelineMetrics metrics) {
+        sending.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          return false;
+        }
+        sent.set(true);
+        return true;
+      }
+    };
+    AMSMetricsPublisher asyncPublisher = new AMSMetricsPublisher(blockingCollector, "logfeeder", "host1", 3, 10, 600000);
+    asyncPublisher.addDelta("metric1", 1000L, 1);
+    asyncPublisher.start();
+    assertTrue(sending.await(10, TimeUnit.SECONDS));
+
+    Thread releaser = new Thread(() -> {
+      try {
+        Thread.sleep(200);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      release.countDown();
+    });
+    releaser.start();
+    asyncPublisher.stop();
+
+    assertTrue(sent.get());
+    assertEquals(0, asyncPublisher.getPendingPointCount());
+  }
+
+  private static class StandInCollector extends LogFeederAMSClient {
+    private final List<TimelineMetrics> emitted = new ArrayList<>();
+    private boolean fail = false;
+
+    StandInCollector() {
+      super(new MetricsCollectorConfig(), new LogFeederSecurityConfig());
+    }
+
+    @Override
+    protected boolean emitMetrics(TimelineMetrics metrics) {
+      if (fail) {
+        return false;
+      }
+      emitted.add(metrics);
+      return true;
+    }
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.ambari.logfeeder.metrics;
 import static org.easymock.EasyMock.*;
 import static org.junit.Assert.*;
 
+import org.apache.ambari.logfeeder.plugin.common.HistogramMetricData;
 import org.apache.ambari.logfeeder.plugin.common.MetricData;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
@@ -29,7 +30,9 @@ import org.easymock.EasyMock;
 import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.hadoop.metrics2.sink.timeline.TimelineMetric;
 import org.apache.hadoop.metrics2.sink.timeline.TimelineMetrics;
@@ -64,11 +67,12 @@ public class MetricsManagerTest {
   @Test
   public void testMetricManager_pointInTime() throws Exception {
     MetricData metricCount1 = new MetricData("metric1", true);
-    metricCount1.value = 123;
+    metricCount1.set(123);
     metricCount1.prevPublishValue = 0;
     metricCount1.publishCount = 0;
     
     manager.useMetrics(Arrays.asList(metricCount1));
+    assertTrue(manager.flushMetrics());
     
     verify(mockClient);
     
@@ -89,21 +93,22 @@ public class MetricsManagerTest {
   @Test
   public void testMetricManager_notPointInTime() throws Exception {
     MetricData metricCount1 = new MetricData("metric1", false);
-    metricCount1.value = 123;
+    metricCount1.set(123);
     metricCount1.prevPublishValue = 0;
     metricCount1.publishCount = 0;
     
     MetricData metricCount2 = new MetricData("metric1", false);
-    metricCount2.value = 123;
+    metricCount2.set(123);
     metricCount2.prevPublishValue = 100;
     metricCount2.publishCount = 0;
     
     MetricData metricCount3 = new MetricData("metric1", false); // not included due to decrease of count
-    metricCount3.value = 99;
+    metricCount3.set(99);
     metricCount3.prevPublishValue = 100;
     metricCount3.publishCount = 1;
     
     manager.useMetrics(Arrays.asList(metricCount1, metricCount2, metricCount3));
+    assertTrue(manager.flushMetrics());
     
     verify(mockClient);
     
@@ -120,4 +125,39 @@ public class MetricsManagerTest {
     assertEquals(values.size(), 1);
     assertEquals(values.firstEntry().getValue(), Double.valueOf(146.0));
   }
+
+  @Test
+  public void testMetricManager_histogram() throws Exception {
+    HistogramMetricData latency1 = new HistogramMetricData("latency1", TimeUnit.MILLISECONDS);
+    HistogramMetricData latency2 = new HistogramMetricData("latency1", TimeUnit.MILLISECONDS);
+    for (int i = 1; i <= 100; i++) {
+      latency1.record(i);
+    }
+    latency2.record(1000);
+
+    manager.useMetrics(Arrays.asList(latency1, latency2));
+    assertTrue(manager.flushMetrics());
+
+    verify(mockClient);
+
+    Map<String, HistogramSnapshot> histograms = manager.getHistograms();
+    assertEquals(1, histograms.size());
+    HistogramSnapshot snapshot = histograms.get("latency1");
+    assertEquals(101, snapshot.getCount());
+    assertEquals(1, snapshot.getMin());
+    assertEquals(51, snapshot.getP50());
+    assertTrue(snapshot.getMax() >= 1000 && snapshot.getMax() < 1010);
+    assertEquals(Long.valueOf(101), manager.getCounters().get("latency1"));
+
+    TimelineMetrics metrics = capture.getValue();
+    List<TimelineMetric> metricList = metrics.getMetrics();
+    assertEquals(4, metricList.size());
+    for (TimelineMetric metric : metricList) {
+      if ("latency1".equals(metric.getMetricName())) {
+        assertEquals(Double.valueOf(101.0), metric.getMetricValues().firstEntry().getValue());
+      } else if ("latency1.max".equals(metric.getMetricName())) {
+        assertEquals(1000.0, metric.getMetricValues().firstEntry().getValue(), 10.0);
+      }
+    }
+  }
 }
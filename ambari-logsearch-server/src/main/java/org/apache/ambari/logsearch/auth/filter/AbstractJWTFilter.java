@@ -18,13 +18,19 @@
  */
 package org.apache.ambari.logsearch.auth.filter;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.Gson;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
 import org.apache.ambari.logsearch.auth.model.JWTAuthenticationToken;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.logging.log4j.LogManager;
@@ -58,6 +64,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AbstractJWTFilter extends AbstractAuthenticationProcessingFilter {
 
@@ -66,9 +73,39 @@ public abstract class AbstractJWTFilter extends AbstractAuthenticationProcessing
   private static final String PEM_HEADER = "-----BEGIN CERTIFICATE-----\n";
   private static final String PEM_FOOTER = "\n-----END CERTIFICATE-----";
   private static final String PROXY_LOGSEARCH_URL_PATH = "/logsearch";
+  private static final String TOKEN_CACHE_NAME = "logsearch.auth.jwt.token.cache";
+  private static final String VERIFICATION_TIMER_NAME = "logsearch.auth.jwt.verification";
+  private static final long TOKEN_CACHE_MAX_TTL_MINUTES = 60;
+
+  /**
+   * Verified tokens keyed by the SHA-256 digest of the serialized token, entries are dropped at the token expiration.
+   * Null if the cache is disabled.
+   */
+  private final Cache<String, VerifiedToken> verifiedTokenCache;
+  private final Timer verificationTimer;
+  private volatile SigningKey signingKey;
 
   protected AbstractJWTFilter(RequestMatcher requestMatcher) {
+    this(requestMatcher, 0, null);
+  }
+
+  protected AbstractJWTFilter(RequestMatcher requestMatcher, long tokenCacheMaxSize, MeterRegistry meterRegistry) {
     super(requestMatcher);
+    if (tokenCacheMaxSize > 0) {
+      verifiedTokenCache = CacheBuilder.newBuilder()
+        .maximumSize(tokenCacheMaxSize)
+        .expireAfterWrite(TOKEN_CACHE_MAX_TTL_MINUTES, TimeUnit.MINUTES)
+        .recordStats()
+        .build();
+      if (meterRegistry != null) {
+        GuavaCacheMetrics.monitor(meterRegistry, verifiedTokenCache, TOKEN_CACHE_NAME);
+      }
+    } else {
+      verifiedTokenCache = null;
+    }
+    verificationTimer = meterRegistry != null ? Timer.builder(VERIFICATION_TIMER_NAME)
+      .description("Time spent on JWT signature verification")
+      .register(meterRegistry) : null;
   }
 
   @Override
@@ -81,16 +118,12 @@ public abstract class AbstractJWTFilter extends AbstractAuthenticationProcessing
     }
 
     try {
-      Claims claims = Jwts
-        .parser()
-        .setSigningKey(parseRSAPublicKey(getPublicKey()))
-        .parseClaimsJws(getJWTFromCookie(request))
-        .getBody();
-      String userName  = claims.getSubject();
+      VerifiedToken token = verifyToken(getJWTFromCookie(request));
+      String userName  = token.userName;
       logger.info("USERNAME: " + userName);
       logger.info("URL = " + request.getRequestURL());
-      if (StringUtils.isNotEmpty(claims.getAudience()) && !getAudiences().contains(claims.getAudience())) {
-        throw new IllegalArgumentException(String.format("Audience validation failed. (Not found: %s)", claims.getAudience()));
+      if (StringUtils.isNotEmpty(token.audience) && !getAudiences().contains(token.audience)) {
+        throw new IllegalArgumentException(String.format("Audience validation failed. (Not found: %s)", token.audience));
       }
       Authentication authentication = new JWTAuthenticationToken(userName, getPublicKey(), getAuthorities(userName));
       authentication.setAuthenticated(true);
@@ -157,6 +190,56 @@ public abstract class AbstractJWTFilter extends AbstractAuthenticationProcessing
     return serializedJWT;
   }
 
+  /**
+   * Returns the claims of a token whose signature has already been verified with the current public key, otherwise
+   * verifies the token. Only tokens with an expiration are cached, and only until that expiration.
+   */
+  private VerifiedToken verifyToken(String serializedJWT) throws ServletException {
+    RSAPublicKey publicKey = getSigningKey();
+    String digest = verifiedTokenCache != null && StringUtils.isNotEmpty(serializedJWT) ? DigestUtils.sha256Hex(serializedJWT) : null;
+    if (digest != null) {
+      VerifiedToken cachedToken = verifiedTokenCache.getIfPresent(digest);
+      if (cachedToken != null) {
+        if (cachedToken.publicKey == publicKey && System.currentTimeMillis() < cachedToken.expiration) {
+          return cachedToken;
+        }
+        verifiedTokenCache.invalidate(digest);
+      }
+    }
+    long startTime = System.nanoTime();
+    Claims claims = Jwts
+      .parser()
+      .setSigningKey(publicKey)
+      .parseClaimsJws(serializedJWT)
+      .getBody();
+    if (verificationTimer != null) {
+      verificationTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+    long expiration = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+    VerifiedToken token = new VerifiedToken(claims.getSubject(), claims.getAudience(), expiration, publicKey);
+    if (digest != null && claims.getExpiration() != null) {
+      verifiedTokenCache.put(digest, token);
+    }
+    return token;
+  }
+
+  /**
+   * Parses the configured PEM only when it differs from the one the current key has been created from.
+   */
+  private RSAPublicKey getSigningKey() throws ServletException {
+    String pem = getPublicKey();
+    SigningKey currentKey = signingKey;
+    if (currentKey == null || !currentKey.pem.equals(pem)) {
+      currentKey = new SigningKey(pem, parseRSAPublicKey(pem));
+      signingKey = currentKey;
+      if (verifiedTokenCache != null) {
+        verifiedTokenCache.invalidateAll();
+      }
+      logger.info("JWT public key has been (re)loaded.");
+    }
+    return currentKey.publicKey;
+  }
+
   private boolean isWebUserAgent(String userAgent) {
     boolean isWeb = false;
     List<String> userAgentList = getUserAgentList();
@@ -251,4 +334,28 @@ public abstract class AbstractJWTFilter extends AbstractAuthenticationProcessing
 
   protected abstract List<String> getUserAgentList();
 
+  private static class SigningKey {
+    private final String pem;
+    private final RSAPublicKey publicKey;
+
+    private SigningKey(String pem, RSAPublicKey publicKey) {
+      this.pem = pem;
+      this.publicKey = publicKey;
+    }
+  }
+
+  private static class VerifiedToken {
+    private final String userName;
+    private final String audience;
+    private final long expiration;
+    private final RSAPublicKey publicKey;
+
+    private VerifiedToken(String userName, String audience, long expiration, RSAPublicKey publicKey) {
+      this.userName = userName;
+      this.audience = audience;
+      this.expiration = expiration;
+      this.publicKey = publicKey;
+    }
+  }
+
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.common;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Stops calling a remote server for a while after a number of consecutive failures.
+ * Closed: every call is allowed. Open: calls are rejected until the open duration elapses. Half-open: one trial call
+ * is allowed, its success closes the circuit, its failure opens it again.
+ * Every allowed call has to be finished with {@link #onSuccess()} or {@link #onFailure()}.
+ */
+public class CircuitBreaker {
+
+  private static final Logger logger = LogManager.getLogger(CircuitBreaker.class);
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final String name;
+  private final int failureThreshold;
+  private final long openDurationMillis;
+
+  private int consecutiveFailures;
+  private long openUntil;
+  private boolean trialInProgress;
+
+  public CircuitBreaker(String name, int failureThreshold, long openDurationMillis) {
+    this.name = name;
+    this.failureThreshold = Math.max(1, failureThreshold);
+    this.openDurationMillis = Math.max(0, openDurationMillis);
+  }
+
+  /**
+   * @return true if the call can be made
+   */
+  public synchronized boolean tryAcquire() {
+    if (consecutiveFailures < failureThreshold) {
+      return true;
+    }
+    if (trialInProgress || currentTimeMillis() < openUntil) {
+      return false;
+    }
+    trialInProgress = true;
+    return true;
+  }
+
+  public synchronized void onSuccess() {
+    if (consecutiveFailures >= failureThreshold) {
+      logger.info("Circuit breaker '{}' is closed.", name);
+    }
+    consecutiveFailures = 0;
+    trialInProgress = false;
+  }
+
+  public synchronized void onFailure() {
+    consecutiveFailures++;
+    trialInProgress = false;
+    if (consecutiveFailures >= failureThreshold) {
+      openUntil = currentTimeMillis() + openDurationMillis;
+      logger.warn("Circuit breaker '{}' is open for {} ms after {} consecutive failures.", name, openDurationMillis, consecutiveFailures);
+    }
+  }
+
+  public synchronized State getState() {
+    if (consecutiveFailures < failureThreshold) {
+      return State.CLOSED;
+    }
+    return trialInProgress || currentTimeMillis() >= openUntil ? State.HALF_OPEN : State.OPEN;
+  }
+
+  protected long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+}
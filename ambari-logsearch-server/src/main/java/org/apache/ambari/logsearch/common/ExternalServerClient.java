@@ -18,6 +18,17 @@
  */
 package org.apache.ambari.logsearch.common;
 
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.ws.rs.client.Invocation;
@@ -29,12 +40,18 @@ import org.apache.ambari.logsearch.configurer.SslConfigurer;
 import org.apache.http.auth.InvalidCredentialsException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.JerseyClient;
 import org.glassfish.jersey.client.JerseyClientBuilder;
 import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
- * Layer to send REST request to External server using jersey client
+ * Layer to send REST request to External server using jersey client.
+ * One (thread safe) client is shared by the requests, and the requests are sent on a bounded thread pool, so a slow
+ * external server can hold at most a limited number of threads for at most the configured timeouts.
+ * After repeated failures the external server is not called for a while (see {@link CircuitBreaker}).
  */
 @Named
 public class ExternalServerClient {
@@ -43,11 +60,33 @@ public class ExternalServerClient {
   private SslConfigurer sslConfigurer;
 
   private static final Logger logger = LogManager.getLogger(ExternalServerClient.class);
-  private ThreadLocal<JerseyClient> localJerseyClient;
+  private volatile JerseyClient jerseyClient;
+  private ThreadPoolExecutor executor;
+  private CircuitBreaker circuitBreaker;
 
   @Inject
   private AuthPropsConfig authPropsConfig;
 
+  @PostConstruct
+  public void init() {
+    int maxConcurrentRequests = Math.max(1, authPropsConfig.getExternalAuthMaxConcurrentRequests());
+    executor = new ThreadPoolExecutor(0, maxConcurrentRequests, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+      new ThreadFactoryBuilder().setNameFormat("logsearch-external-auth-%d").setDaemon(true).build(),
+      new ThreadPoolExecutor.AbortPolicy());
+    circuitBreaker = new CircuitBreaker("external-auth", authPropsConfig.getExternalAuthCircuitBreakerFailureThreshold(),
+      authPropsConfig.getExternalAuthCircuitBreakerOpenDurationMs());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+    if (jerseyClient != null) {
+      jerseyClient.close();
+    }
+  }
+
   /**
    * Send GET request to an external server
    * @param loginUrl external url
@@ -58,37 +97,87 @@ public class ExternalServerClient {
    * @throws Exception error during send request to external location
    */
   public Object sendGETRequest(String loginUrl, Class<?> classObject, String username, String password) throws Exception {
-    if (localJerseyClient == null) {
-      if (sslConfigurer.isKeyStoreSpecified()) {
-        sslConfigurer.ensureStorePasswords();
-      }
-      localJerseyClient = ThreadLocal.withInitial(() -> sslConfigurer.isKeyStoreSpecified() ?
-        new JerseyClientBuilder().sslContext(sslConfigurer.getSSLContext()).build() :
-        JerseyClientBuilder.createClient());
+    if (!circuitBreaker.tryAcquire()) {
+      throw new IOException("External server is not called after repeated failures, retry later.");
     }
     String url = authPropsConfig.getExternalAuthHostUrl() + loginUrl;
-    JerseyClient client = localJerseyClient.get();
+    Future<Object> future;
+    try {
+      future = executor.submit(() -> get(url, classObject, username, password));
+    } catch (RejectedExecutionException e) {
+      circuitBreaker.onFailure();
+      throw new IOException("Too many pending requests to the external server.", e);
+    }
+    try {
+      Object response = future.get(
+        (long) authPropsConfig.getExternalAuthConnectionTimeoutMs() + authPropsConfig.getExternalAuthReadTimeoutMs(), TimeUnit.MILLISECONDS);
+      circuitBreaker.onSuccess();
+      return response;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof InvalidCredentialsException) {
+        // the external server is healthy, it rejected the credentials
+        circuitBreaker.onSuccess();
+      } else {
+        circuitBreaker.onFailure();
+      }
+      throw new Exception(e.getCause());
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      circuitBreaker.onFailure();
+      throw new IOException("External server did not respond in time.", e);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      circuitBreaker.onFailure();
+      Thread.currentThread().interrupt();
+      throw e;
+    }
+  }
+
+  public CircuitBreaker.State getCircuitBreakerState() {
+    return circuitBreaker.getState();
+  }
+
+  private Object get(String url, Class<?> classObject, String username, String password) throws Exception {
     HttpAuthenticationFeature authFeature = HttpAuthenticationFeature.basicBuilder()
       .credentials(username, password)
       .build();
-    client.register(authFeature);
-
-    WebTarget target = client.target(url);
+    WebTarget target = getClient().target(url).register(authFeature);
     logger.debug("URL: " + url);
-    
+
     Invocation.Builder invocationBuilder =  target.request();
+    Response response = invocationBuilder.get();
     try {
-      Response response = invocationBuilder.get();
+      if (response.getStatus() >= Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()) {
+        throw new IOException(String.format("External server error with status code: %d", response.getStatus()));
+      }
       if (response.getStatus() != Response.Status.OK.getStatusCode()
         && response.getStatus() != Response.Status.FOUND.getStatusCode()) {
         throw new InvalidCredentialsException(String.format("External auth failed with status code: %d, response: %s",
           response.getStatus(), response.readEntity(String.class)));
       }
       return response.readEntity(classObject);
-    } catch (Exception e) {
-      throw new Exception(e.getCause());
     } finally {
-      localJerseyClient.remove();
+      response.close();
+    }
+  }
+
+  private JerseyClient getClient() {
+    if (jerseyClient == null) {
+      synchronized (this) {
+        if (jerseyClient == null) {
+          if (sslConfigurer.isKeyStoreSpecified()) {
+            sslConfigurer.ensureStorePasswords();
+          }
+          JerseyClientBuilder builder = new JerseyClientBuilder()
+            .property(ClientProperties.CONNECT_TIMEOUT, authPropsConfig.getExternalAuthConnectionTimeoutMs())
+            .property(ClientProperties.READ_TIMEOUT, authPropsConfig.getExternalAuthReadTimeoutMs());
+          if (sslConfigurer.isKeyStoreSpecified()) {
+            builder.sslContext(sslConfigurer.getSSLContext());
+          }
+          jerseyClient = builder.build();
+        }
+      }
     }
+    return jerseyClient;
   }
 }
@@ -115,7 +115,9 @@ public class LogSearchConstants {
   public static final String REQUEST_PARAM_TO = "to";
   public static final String REQUEST_PARAM_FIELD = "field";
   public static final String REQUEST_PARAM_FORMAT = "format";
+  public static final String REQUEST_PARAM_COMPRESS = "compress";
   public static final String REQUEST_PARAM_LAST_PAGE = "lastPage";
+  public static final String REQUEST_PARAM_CURSOR_MARK = "cursorMark";
   public static final String REQUEST_PARAM_I_MESSAGE = "includeMessage";
   public static final String REQUEST_PARAM_E_MESSAGE = "excludeMessage";
   public static final String REQUEST_PARAM_MUST_BE = "mustBe";
@@ -28,6 +28,8 @@ public class LogSearchContext implements Serializable {
   
   private User user;
 
+  private String sessionId;
+
   public User getUser() {
     return user;
   }
@@ -36,6 +38,14 @@ public class LogSearchContext implements Serializable {
     this.user = user;
   }
 
+  public String getSessionId() {
+    return sessionId;
+  }
+
+  public void setSessionId(String sessionId) {
+    this.sessionId = sessionId;
+  }
+
   //------------------------------------------------------------------------------------------------------
   
   private static final ThreadLocal<LogSearchContext> contextThreadLocal = new ThreadLocal<LogSearchContext>();
@@ -59,4 +69,9 @@ public class LogSearchContext implements Serializable {
     }
     return null;
   }
+
+  public static String getCurrentSessionId() {
+    LogSearchContext context = LogSearchContext.getContext();
+    return context != null ? context.getSessionId() : null;
+  }
 }
@@ -90,6 +90,76 @@ public class AuthPropsConfig {
   )
   private String externalAuthLoginUrl;
 
+  @Value("${logsearch.auth.external_auth.cache.ttl.seconds:300}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.auth.external_auth.cache.ttl.seconds",
+    description = "Time (in seconds) while a successful external authentication of the same user and password is reused without calling the external server. Use 0 to disable the cache.",
+    examples = {"60"},
+    defaultValue = "300",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int externalAuthCacheTtlSeconds;
+
+  @Value("${logsearch.auth.external_auth.cache.max_size:1000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.auth.external_auth.cache.max_size",
+    description = "Maximum number of cached successful external authentications.",
+    examples = {"5000"},
+    defaultValue = "1000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long externalAuthCacheMaxSize;
+
+  @Value("${logsearch.auth.external_auth.connection_timeout.ms:5000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.auth.external_auth.connection_timeout.ms",
+    description = "Connection timeout (in milliseconds) for the requests sent to the external authentication server.",
+    examples = {"10000"},
+    defaultValue = "5000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int externalAuthConnectionTimeoutMs;
+
+  @Value("${logsearch.auth.external_auth.read_timeout.ms:10000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.auth.external_auth.read_timeout.ms",
+    description = "Read timeout (in milliseconds) for the requests sent to the external authentication server.",
+    examples = {"30000"},
+    defaultValue = "10000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int externalAuthReadTimeoutMs;
+
+  @Value("${logsearch.auth.external_auth.max_concurrent_requests:20}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.auth.external_auth.max_concurrent_requests",
+    description = "Maximum number of concurrent requests sent to the external authentication server, further login attempts are rejected until one of them finishes.",
+    examples = {"50"},
+    defaultValue = "20",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int externalAuthMaxConcurrentRequests;
+
+  @Value("${logsearch.auth.external_auth.circuit_breaker.failure_threshold:5}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.auth.external_auth.circuit_breaker.failure_threshold",
+    description = "Number of consecutive failures (timeouts, connection or server errors) after the external authentication server is not called for a while (see: logsearch.auth.external_auth.circuit_breaker.open_duration.ms).",
+    examples = {"10"},
+    defaultValue = "5",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int externalAuthCircuitBreakerFailureThreshold;
+
+  @Value("${logsearch.auth.external_auth.circuit_breaker.open_duration.ms:30000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.auth.external_auth.circuit_breaker.open_duration.ms",
+    description = "Time (in milliseconds) while login attempts are rejected without calling the external authentication server after it failed repeatedly, then one trial request is let through.",
+    examples = {"60000"},
+    defaultValue = "30000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long externalAuthCircuitBreakerOpenDurationMs;
+
   @Value("${logsearch.login.credentials.file:user_pass.json}")
   @LogSearchPropertyDescription(
     name = "logsearch.login.credentials.file",
@@ -168,6 +238,16 @@ public class AuthPropsConfig {
   )
   private List<String> userAgentList;
 
+  @Value("${logsearch.auth.jwt.token_cache.max_size:10000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.auth.jwt.token_cache.max_size",
+    description = "Maximum number of verified JWT tokens that are kept in memory (until their expiration) to skip signature verification for repeated requests. Use 0 to disable the cache.",
+    examples = {"0", "5000"},
+    defaultValue = "10000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long jwtTokenCacheMaxSize;
+
   @Value("#{'${logsearch.roles.allowed:AMBARI.ADMINISTRATOR,CLUSTER.ADMINISTRATOR}'.split(',')}")
   @LogSearchPropertyDescription(
     name = "logsearch.roles.allowed",
@@ -308,6 +388,62 @@ public class AuthPropsConfig {
     this.externalAuthLoginUrl = externalAuthLoginUrl;
   }
 
+  public int getExternalAuthCacheTtlSeconds() {
+    return externalAuthCacheTtlSeconds;
+  }
+
+  public void setExternalAuthCacheTtlSeconds(int externalAuthCacheTtlSeconds) {
+    this.externalAuthCacheTtlSeconds = externalAuthCacheTtlSeconds;
+  }
+
+  public long getExternalAuthCacheMaxSize() {
+    return externalAuthCacheMaxSize;
+  }
+
+  public void setExternalAuthCacheMaxSize(long externalAuthCacheMaxSize) {
+    this.externalAuthCacheMaxSize = externalAuthCacheMaxSize;
+  }
+
+  public int getExternalAuthConnectionTimeoutMs() {
+    return externalAuthConnectionTimeoutMs;
+  }
+
+  public void setExternalAuthConnectionTimeoutMs(int externalAuthConnectionTimeoutMs) {
+    this.externalAuthConnectionTimeoutMs = externalAuthConnectionTimeoutMs;
+  }
+
+  public int getExternalAuthReadTimeoutMs() {
+    return externalAuthReadTimeoutMs;
+  }
+
+  public void setExternalAuthReadTimeoutMs(int externalAuthReadTimeoutMs) {
+    this.externalAuthReadTimeoutMs = externalAuthReadTimeoutMs;
+  }
+
+  public int getExternalAuthMaxConcurrentRequests() {
+    return externalAuthMaxConcurrentRequests;
+  }
+
+  public void setExternalAuthMaxConcurrentRequests(int externalAuthMaxConcurrentRequests) {
+    this.externalAuthMaxConcurrentRequests = externalAuthMaxConcurrentRequests;
+  }
+
+  public int getExternalAuthCircuitBreakerFailureThreshold() {
+    return externalAuthCircuitBreakerFailureThreshold;
+  }
+
+  public void setExternalAuthCircuitBreakerFailureThreshold(int externalAuthCircuitBreakerFailureThreshold) {
+    this.externalAuthCircuitBreakerFailureThreshold = externalAuthCircuitBreakerFailureThreshold;
+  }
+
+  public long getExternalAuthCircuitBreakerOpenDurationMs() {
+    return externalAuthCircuitBreakerOpenDurationMs;
+  }
+
+  public void setExternalAuthCircuitBreakerOpenDurationMs(long externalAuthCircuitBreakerOpenDurationMs) {
+    this.externalAuthCircuitBreakerOpenDurationMs = externalAuthCircuitBreakerOpenDurationMs;
+  }
+
   public boolean isAuthExternalEnabled() {
     return authExternalEnabled;
   }
@@ -388,6 +524,14 @@ public class AuthPropsConfig {
     this.userAgentList = userAgentList;
   }
 
+  public long getJwtTokenCacheMaxSize() {
+    return jwtTokenCacheMaxSize;
+  }
+
+  public void setJwtTokenCacheMaxSize(long jwtTokenCacheMaxSize) {
+    this.jwtTokenCacheMaxSize = jwtTokenCacheMaxSize;
+  }
+
   public boolean isTrustedProxy() {
     return trustedProxy;
   }
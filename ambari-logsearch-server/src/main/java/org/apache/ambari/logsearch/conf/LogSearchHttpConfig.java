@@ -22,11 +22,16 @@ import org.apache.ambari.logsearch.config.api.LogSearchPropertyDescription;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 import static org.apache.ambari.logsearch.common.LogSearchConstants.LOGSEARCH_PROPERTIES_FILE;
 
 @Configuration
 public class LogSearchHttpConfig {
 
+  private static final String COMPRESSION_MIME_TYPES_DEFAULT = "application/json,application/yaml,application/javascript," +
+    "text/html,text/css,text/plain,text/xml,image/svg+xml";
+
   @LogSearchPropertyDescription(
     name = "logsearch.http.port",
     description = "Log Search http port",
@@ -77,6 +82,36 @@ public class LogSearchHttpConfig {
   @Value("${logsearch.jetty.access.log.enabled:false}")
   private boolean useAccessLogs;
 
+  @LogSearchPropertyDescription(
+    name = "logsearch.http.compression.enabled",
+    description = "Compress the http responses with gzip if the client accepts it.",
+    examples = {"false"},
+    defaultValue = "true",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  @Value("${logsearch.http.compression.enabled:true}")
+  private boolean compressionEnabled;
+
+  @LogSearchPropertyDescription(
+    name = "logsearch.http.compression.min_response_size",
+    description = "Minimum size of the http responses in bytes to be compressed.",
+    examples = {"1024"},
+    defaultValue = "2048",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  @Value("${logsearch.http.compression.min_response_size:2048}")
+  private int compressionMinResponseSize;
+
+  @LogSearchPropertyDescription(
+    name = "logsearch.http.compression.mime_types",
+    description = "List of mime types of the http responses that will be compressed.",
+    examples = {"application/json,text/html"},
+    defaultValue = COMPRESSION_MIME_TYPES_DEFAULT,
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  @Value("#{propertiesSplitter.parseList('${logsearch.http.compression.mime_types:" + COMPRESSION_MIME_TYPES_DEFAULT + "}')}")
+  private List<String> compressionMimeTypes;
+
   public String getProtocol() {
     return protocol;
   }
@@ -116,4 +151,28 @@ public class LogSearchHttpConfig {
   public void setUseAccessLogs(boolean useAccessLogs) {
     this.useAccessLogs = useAccessLogs;
   }
+
+  public boolean isCompressionEnabled() {
+    return compressionEnabled;
+  }
+
+  public void setCompressionEnabled(boolean compressionEnabled) {
+    this.compressionEnabled = compressionEnabled;
+  }
+
+  public int getCompressionMinResponseSize() {
+    return compressionMinResponseSize;
+  }
+
+  public void setCompressionMinResponseSize(int compressionMinResponseSize) {
+    this.compressionMinResponseSize = compressionMinResponseSize;
+  }
+
+  public List<String> getCompressionMimeTypes() {
+    return compressionMimeTypes;
+  }
+
+  public void setCompressionMimeTypes(List<String> compressionMimeTypes) {
+    this.compressionMimeTypes = compressionMimeTypes;
+  }
 }
@@ -29,6 +29,7 @@ import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.web.embedded.jetty.JettyServerCustomizer;
 import org.springframework.boot.web.embedded.jetty.JettyServletWebServerFactory;
+import org.springframework.boot.web.server.Compression;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.stereotype.Component;
 
@@ -69,6 +70,13 @@ public class LogSearchWebServerCustomizer implements WebServerFactoryCustomizer<
     } else {
       webServerFactory.setPort(logSearchHttpConfig.getHttpPort());
     }
+    if (logSearchHttpConfig.isCompressionEnabled()) {
+      Compression compression = new Compression();
+      compression.setEnabled(true);
+      compression.setMinResponseSize(logSearchHttpConfig.getCompressionMinResponseSize());
+      compression.setMimeTypes(logSearchHttpConfig.getCompressionMimeTypes().toArray(new String[0]));
+      webServerFactory.setCompression(compression);
+    }
     if (logSearchHttpConfig.isUseAccessLogs()) {
       webServerFactory.addServerCustomizers((JettyServerCustomizer) server -> {
         LoggerContext context = (LoggerContext) LogManager.getContext(false);
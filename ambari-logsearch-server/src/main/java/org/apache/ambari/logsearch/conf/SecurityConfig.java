@@ -83,6 +83,8 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import com.google.common.collect.Lists;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
@@ -135,6 +137,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
   @Inject
   private RoleDao roleDao;
 
+  @Inject
+  private MeterRegistry meterRegistry;
+
   @Override
   protected void configure(HttpSecurity http) throws Exception {
     http
@@ -271,7 +276,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
   @Bean
   public LogsearchJWTFilter logsearchJwtFilter() throws Exception {
-    LogsearchJWTFilter filter = new LogsearchJWTFilter(requestMatcher(), authPropsConfig, roleDao);
+    LogsearchJWTFilter filter = new LogsearchJWTFilter(requestMatcher(), authPropsConfig, roleDao, meterRegistry);
     filter.setAuthenticationManager(authenticationManagerBean());
     filter.setAuthenticationSuccessHandler(new LogsearchAuthSuccessHandler());
     filter.setAuthenticationFailureHandler(new LogsearchAuthFailureHandler());
@@ -18,6 +18,7 @@
  */
 package org.apache.ambari.logsearch.conf;
 
+import org.apache.http.client.HttpClient;
 import org.apache.solr.client.solrj.SolrClient;
 
 import java.util.EnumMap;
@@ -27,13 +28,18 @@ public class SolrClientsHolder {
 
   private Map<CollectionType, SolrClient> clientsMap = new EnumMap<>(CollectionType.class);
 
+  private final HttpClient httpClient;
+  private final SolrHttpClientConfig solrHttpClientConfig;
+
   public enum CollectionType {
     SERVICE,
     AUDIT,
     HISTORY
   }
 
-  public SolrClientsHolder() {
+  public SolrClientsHolder(HttpClient httpClient, SolrHttpClientConfig solrHttpClientConfig) {
+    this.httpClient = httpClient;
+    this.solrHttpClientConfig = solrHttpClientConfig;
     clientsMap.put(CollectionType.SERVICE, null);
     clientsMap.put(CollectionType.AUDIT, null);
     clientsMap.put(CollectionType.HISTORY, null);
@@ -43,6 +49,17 @@ public class SolrClientsHolder {
     return clientsMap.get(type);
   }
 
+  /**
+   * Shared HTTP client (connection pool) of the collection clients
+   */
+  public HttpClient getHttpClient() {
+    return httpClient;
+  }
+
+  public SolrHttpClientConfig getSolrHttpClientConfig() {
+    return solrHttpClientConfig;
+  }
+
   public synchronized void setSolrClient(SolrClient solrClient, CollectionType type) {
     clientsMap.put(type, solrClient);
   }
@@ -23,6 +23,7 @@ import org.apache.ambari.logsearch.conf.global.SolrCollectionState;
 import org.apache.ambari.logsearch.conf.global.SolrServiceLogsState;
 import org.apache.ambari.logsearch.conf.global.SolrMetadataState;
 import org.apache.ambari.logsearch.dao.SolrSchemaFieldDao;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -52,8 +53,8 @@ public class SolrConfig {
   }
 
   @Bean
-  public SolrClientsHolder solrClientsHolder() {
-    return new SolrClientsHolder();
+  public SolrClientsHolder solrClientsHolder(CloseableHttpClient solrHttpClient, SolrHttpClientConfig solrHttpClientConfig) {
+    return new SolrClientsHolder(solrHttpClient, solrHttpClientConfig);
   }
 }
 
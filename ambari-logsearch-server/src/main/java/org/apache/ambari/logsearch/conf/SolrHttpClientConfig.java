@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.conf;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ambari.logsearch.config.api.LogSearchPropertyDescription;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.solr.client.solrj.impl.HttpClientUtil;
+import org.apache.solr.common.params.ModifiableSolrParams;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.apache.ambari.logsearch.common.LogSearchConstants.LOGSEARCH_PROPERTIES_FILE;
+
+/**
+ * Shared HTTP connection pool of the Solr clients (collections and the per core luke requests).
+ * The client is created by {@link HttpClientUtil}, so the configured Kerberos / SSL settings of SolrJ apply to it.
+ */
+@Configuration
+public class SolrHttpClientConfig {
+
+  @Value("${logsearch.solr.http.max_connections:500}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.http.max_connections",
+    description = "Max number of pooled HTTP connections to the Solr nodes (shared by every collection).",
+    examples = {"1000"},
+    defaultValue = "500",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int maxConnections;
+
+  @Value("${logsearch.solr.http.max_connections_per_host:100}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.http.max_connections_per_host",
+    description = "Max number of pooled HTTP connections to one Solr node.",
+    examples = {"200"},
+    defaultValue = "100",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int maxConnectionsPerHost;
+
+  @Value("${logsearch.solr.http.connection_timeout.ms:15000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.http.connection_timeout.ms",
+    description = "Timeout (in milliseconds) of opening an HTTP connection to a Solr node.",
+    examples = {"30000"},
+    defaultValue = "15000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int connectionTimeout;
+
+  @Value("${logsearch.solr.http.socket_timeout.ms:600000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.http.socket_timeout.ms",
+    description = "Socket read timeout (in milliseconds) of the HTTP requests to Solr.",
+    examples = {"300000"},
+    defaultValue = "600000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int socketTimeout;
+
+  @Value("${logsearch.solr.http.keep_alive.ms:50000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.http.keep_alive.ms",
+    description = "Pooled HTTP connections to Solr idle for longer than this (in milliseconds) are closed.",
+    examples = {"120000"},
+    defaultValue = "50000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long keepAlive;
+
+  @Bean(destroyMethod = "shutdown")
+  public PoolingHttpClientConnectionManager solrConnectionManager() {
+    return new PoolingHttpClientConnectionManager(HttpClientUtil.getSchemaRegisteryProvider().getSchemaRegistry());
+  }
+
+  @Bean(destroyMethod = "shutdown")
+  public IdleConnectionEvictor solrIdleConnectionEvictor() {
+    IdleConnectionEvictor idleConnectionEvictor = new IdleConnectionEvictor(solrConnectionManager(),
+      Math.max(1000L, keepAlive / 2), TimeUnit.MILLISECONDS, keepAlive, TimeUnit.MILLISECONDS);
+    idleConnectionEvictor.start();
+    return idleConnectionEvictor;
+  }
+
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient solrHttpClient() {
+    ModifiableSolrParams params = new ModifiableSolrParams();
+    params.set(HttpClientUtil.PROP_MAX_CONNECTIONS, maxConnections);
+    params.set(HttpClientUtil.PROP_MAX_CONNECTIONS_PER_HOST, maxConnectionsPerHost);
+    params.set(HttpClientUtil.PROP_CONNECTION_TIMEOUT, connectionTimeout);
+    params.set(HttpClientUtil.PROP_SO_TIMEOUT, socketTimeout);
+    return HttpClientUtil.createClient(params, solrConnectionManager());
+  }
+
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  public void setMaxConnections(int maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  public int getMaxConnectionsPerHost() {
+    return maxConnectionsPerHost;
+  }
+
+  public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+  }
+
+  public int getConnectionTimeout() {
+    return connectionTimeout;
+  }
+
+  public void setConnectionTimeout(int connectionTimeout) {
+    this.connectionTimeout = connectionTimeout;
+  }
+
+  public int getSocketTimeout() {
+    return socketTimeout;
+  }
+
+  public void setSocketTimeout(int socketTimeout) {
+    this.socketTimeout = socketTimeout;
+  }
+
+  public long getKeepAlive() {
+    return keepAlive;
+  }
+
+  public void setKeepAlive(long keepAlive) {
+    this.keepAlive = keepAlive;
+  }
+}
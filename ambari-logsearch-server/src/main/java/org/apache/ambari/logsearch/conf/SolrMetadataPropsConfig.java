@@ -76,6 +76,26 @@ public class SolrMetadataPropsConfig extends SolrConnectionPropsConfig {
     sources = {LOGSEARCH_PROPERTIES_FILE}
   )
   private Integer populateIntervalMins;
+
+  @Value("${logsearch.solr.metadata.cache.ttl.seconds:60}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.metadata.cache.ttl.seconds",
+    description = "Time (in seconds) while the metadata objects of a user are served from memory. The cache of a user is dropped whenever the user's metadata is saved or deleted on this server. Use 0 to disable the cache.",
+    examples = {"300"},
+    defaultValue = "60",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int cacheTtlSeconds;
+
+  @Value("${logsearch.solr.metadata.cache.max_size:1000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.metadata.cache.max_size",
+    description = "Maximum number of metadata query results (per user and query) which are cached.",
+    examples = {"5000"},
+    defaultValue = "1000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long cacheMaxSize;
   
   @Override
   public String getCollection() {
@@ -125,6 +145,22 @@ public class SolrMetadataPropsConfig extends SolrConnectionPropsConfig {
     this.populateIntervalMins = populateIntervalMins;
   }
 
+  public int getCacheTtlSeconds() {
+    return cacheTtlSeconds;
+  }
+
+  public void setCacheTtlSeconds(int cacheTtlSeconds) {
+    this.cacheTtlSeconds = cacheTtlSeconds;
+  }
+
+  public long getCacheMaxSize() {
+    return cacheMaxSize;
+  }
+
+  public void setCacheMaxSize(long cacheMaxSize) {
+    this.cacheMaxSize = cacheMaxSize;
+  }
+
   @Override
   public String getLogType() {
     return null;
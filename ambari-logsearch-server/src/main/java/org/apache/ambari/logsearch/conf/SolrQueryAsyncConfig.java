@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.conf;
+
+import org.apache.ambari.logsearch.config.api.LogSearchPropertyDescription;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import static org.apache.ambari.logsearch.common.LogSearchConstants.LOGSEARCH_PROPERTIES_FILE;
+
+@Configuration
+public class SolrQueryAsyncConfig {
+
+  @Value("${logsearch.solr.query.async.threads:16}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.async.threads",
+    description = "Number of threads used to run independent Solr queries of the same request concurrently.",
+    examples = {"32"},
+    defaultValue = "16",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int threads;
+
+  @Value("${logsearch.solr.query.async.queue_size:100}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.async.queue_size",
+    description = "Max number of concurrent Solr queries waiting for a free thread, if the queue is full the query runs on the caller thread.",
+    examples = {"200"},
+    defaultValue = "100",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int queueSize;
+
+  @Value("${logsearch.solr.query.cancellable.threads:64}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.cancellable.threads",
+    description = "Max number of threads used to run the Solr queries of the user sessions, so the waiting server threads can be released if the query is cancelled.",
+    examples = {"128"},
+    defaultValue = "64",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int cancellableThreads;
+
+  @Value("${logsearch.solr.query.cancellable.queue_size:100}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.cancellable.queue_size",
+    description = "Max number of cancellable Solr queries waiting for a free thread, if the queue is full the query runs on the caller thread (and cannot be cancelled).",
+    examples = {"200"},
+    defaultValue = "100",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private int cancellableQueueSize;
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public void setQueueSize(int queueSize) {
+    this.queueSize = queueSize;
+  }
+
+  public int getCancellableThreads() {
+    return cancellableThreads;
+  }
+
+  public void setCancellableThreads(int cancellableThreads) {
+    this.cancellableThreads = cancellableThreads;
+  }
+
+  public int getCancellableQueueSize() {
+    return cancellableQueueSize;
+  }
+
+  public void setCancellableQueueSize(int cancellableQueueSize) {
+    this.cancellableQueueSize = cancellableQueueSize;
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.conf;
+
+import org.apache.ambari.logsearch.config.api.LogSearchPropertyDescription;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import static org.apache.ambari.logsearch.common.LogSearchConstants.LOGSEARCH_PROPERTIES_FILE;
+
+@Configuration
+public class SolrQueryCacheConfig {
+
+  @Value("${logsearch.solr.query.cache.enabled:true}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.cache.enabled",
+    description = "Cache the Solr responses of the dashboard endpoints (tree, counts, histogram, clusters).",
+    examples = {"false"},
+    defaultValue = "true",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private boolean enabled;
+
+  @Value("${logsearch.solr.query.cache.max_size:1000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.cache.max_size",
+    description = "Maximum number of the cached Solr responses.",
+    examples = {"5000"},
+    defaultValue = "1000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long maxSize;
+
+  @Value("${logsearch.solr.query.cache.ttl.seconds:30}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.cache.ttl.seconds",
+    description = "Time to live of the cached Solr responses in seconds.",
+    examples = {"60"},
+    defaultValue = "30",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long ttlSeconds;
+
+  @Value("${logsearch.solr.query.cache.time_alignment.seconds:10}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.cache.time_alignment.seconds",
+    description = "The time ranges of the cached requests are extended to the multiples of this value (in seconds), so rolling time windows can share cache entries. Zero means no alignment.",
+    examples = {"60"},
+    defaultValue = "10",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long timeAlignmentSeconds;
+
+  @Value("${logsearch.solr.query.cache.histogram.enabled:true}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.cache.histogram.enabled",
+    description = "Keep the counts of the sealed histogram buckets in memory, so only the open and the missing buckets are queried from Solr.",
+    examples = {"false"},
+    defaultValue = "true",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private boolean histogramEnabled;
+
+  @Value("${logsearch.solr.query.cache.histogram.max_buckets:100000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.cache.histogram.max_buckets",
+    description = "Maximum number of the cached histogram buckets.",
+    examples = {"500000"},
+    defaultValue = "100000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long histogramMaxBuckets;
+
+  @Value("${logsearch.solr.query.cache.histogram.seal_delay.seconds:60}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.cache.histogram.seal_delay.seconds",
+    description = "A histogram bucket is sealed (its counts can be cached) if it ended at least this many seconds ago, so late arriving logs are still counted.",
+    examples = {"300"},
+    defaultValue = "60",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long histogramSealDelaySeconds;
+
+  @Value("${logsearch.solr.query.cache.histogram.ttl.seconds:300}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.cache.histogram.ttl.seconds",
+    description = "Time (in seconds) while the counts of a sealed histogram bucket are served from memory (counted from when they were queried, not from the last read), so logs arriving after the bucket was sealed are counted after at most this much time.",
+    examples = {"600"},
+    defaultValue = "300",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long histogramTtlSeconds;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public long getTtlSeconds() {
+    return ttlSeconds;
+  }
+
+  public void setTtlSeconds(long ttlSeconds) {
+    this.ttlSeconds = ttlSeconds;
+  }
+
+  public long getTimeAlignmentSeconds() {
+    return timeAlignmentSeconds;
+  }
+
+  public void setTimeAlignmentSeconds(long timeAlignmentSeconds) {
+    this.timeAlignmentSeconds = timeAlignmentSeconds;
+  }
+
+  public boolean isHistogramEnabled() {
+    return histogramEnabled;
+  }
+
+  public void setHistogramEnabled(boolean histogramEnabled) {
+    this.histogramEnabled = histogramEnabled;
+  }
+
+  public long getHistogramTtlSeconds() {
+    return histogramTtlSeconds;
+  }
+
+  public void setHistogramTtlSeconds(long histogramTtlSeconds) {
+    this.histogramTtlSeconds = histogramTtlSeconds;
+  }
+
+  public long getHistogramMaxBuckets() {
+    return histogramMaxBuckets;
+  }
+
+  public void setHistogramMaxBuckets(long histogramMaxBuckets) {
+    this.histogramMaxBuckets = histogramMaxBuckets;
+  }
+
+  public long getHistogramSealDelaySeconds() {
+    return histogramSealDelaySeconds;
+  }
+
+  public void setHistogramSealDelaySeconds(long histogramSealDelaySeconds) {
+    this.histogramSealDelaySeconds = histogramSealDelaySeconds;
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.conf;
+
+import org.apache.ambari.logsearch.config.api.LogSearchPropertyDescription;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+import static org.apache.ambari.logsearch.common.LogSearchConstants.LOGSEARCH_PROPERTIES_FILE;
+
+@Configuration
+public class SolrQueryTimeConfig {
+
+  @Value("${logsearch.solr.query.time_allowed.ms:60000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.time_allowed.ms",
+    description = "Default time budget (in milliseconds) of the Solr queries. It is passed as timeAllowed to Solr for the log list queries only, if the budget is exceeded, partial results are returned. Count, facet and histogram queries are not truncated, they fail if there is no response within the budget and the wait grace time. Zero or negative value means no limit.",
+    examples = {"30000"},
+    defaultValue = "60000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long defaultTimeAllowed;
+
+  @Value("#{propertiesSplitter.parseMap('${logsearch.solr.query.time_allowed.events:}')}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.time_allowed.events",
+    description = "Time budgets (in milliseconds) of the Solr queries per event (endpoint), overrides the default time budget.",
+    examples = {"/service/logs/histogram:120000,/service/logs/export:300000"},
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private Map<String, String> eventTimeAllowedMap;
+
+  @Value("${logsearch.solr.query.wait.grace.ms:5000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.wait.grace.ms",
+    description = "Extra time (in milliseconds) on top of the time budget to wait for a Solr response before the query is abandoned.",
+    examples = {"10000"},
+    defaultValue = "5000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long waitGrace;
+
+  @Value("${logsearch.solr.query.slow.threshold.ms:5000}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.slow.threshold.ms",
+    description = "Solr queries taking at least this long (in milliseconds) are logged to the slow query log (org.apache.ambari.logsearch.performance.slow). Zero or negative value disables the slow query log.",
+    examples = {"2000"},
+    defaultValue = "5000",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private long slowQueryThreshold;
+
+  @Value("${logsearch.solr.query.slow.sample_rate:1.0}")
+  @LogSearchPropertyDescription(
+    name = "logsearch.solr.query.slow.sample_rate",
+    description = "Fraction (between 0 and 1) of the slow Solr queries that are written to the slow query log.",
+    examples = {"0.1"},
+    defaultValue = "1.0",
+    sources = {LOGSEARCH_PROPERTIES_FILE}
+  )
+  private double slowQuerySampleRate;
+
+  public long getDefaultTimeAllowed() {
+    return defaultTimeAllowed;
+  }
+
+  public void setDefaultTimeAllowed(long defaultTimeAllowed) {
+    this.defaultTimeAllowed = defaultTimeAllowed;
+  }
+
+  public Map<String, String> getEventTimeAllowedMap() {
+    return eventTimeAllowedMap;
+  }
+
+  public void setEventTimeAllowedMap(Map<String, String> eventTimeAllowedMap) {
+    this.eventTimeAllowedMap = eventTimeAllowedMap;
+  }
+
+  public long getWaitGrace() {
+    return waitGrace;
+  }
+
+  public void setWaitGrace(long waitGrace) {
+    this.waitGrace = waitGrace;
+  }
+
+  public long getSlowQueryThreshold() {
+    return slowQueryThreshold;
+  }
+
+  public void setSlowQueryThreshold(long slowQueryThreshold) {
+    this.slowQueryThreshold = slowQueryThreshold;
+  }
+
+  public double getSlowQuerySampleRate() {
+    return slowQuerySampleRate;
+  }
+
+  public void setSlowQuerySampleRate(double slowQuerySampleRate) {
+    this.slowQuerySampleRate = slowQuerySampleRate;
+  }
+
+  /**
+   * Time budget for the queries of an event, falls back to the default if there is no (valid) override for the event.
+   */
+  public long getTimeAllowed(String event) {
+    if (event != null && eventTimeAllowedMap != null && eventTimeAllowedMap.containsKey(event)) {
+      return NumberUtils.toLong(eventTimeAllowedMap.get(event), defaultTimeAllowed);
+    }
+    return defaultTimeAllowed;
+  }
+}
@@ -24,7 +24,9 @@ import org.springframework.context.annotation.Configuration;
 
 import javax.annotation.PostConstruct;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -261,6 +263,25 @@ public class UIMappingConfig {
 
   private final Map<String, List<String>> mergedAuditFieldFilterableExcludesMap = new HashMap<>();
 
+  /** hash based lookup views of the field lists, built on init */
+  private Set<String> serviceFieldExcludeSet = Collections.emptySet();
+
+  private Set<String> serviceFieldVisibleSet = Collections.emptySet();
+
+  private Set<String> serviceFieldFilterableExcludesSet = Collections.emptySet();
+
+  private Set<String> auditFieldCommonVisibleSet = Collections.emptySet();
+
+  private Set<String> auditFieldCommonExcludeSet = Collections.emptySet();
+
+  private Set<String> auditFieldCommonFilterableExcludeSet = Collections.emptySet();
+
+  private final Map<String, Set<String>> mergedAuditFieldVisibleSetMap = new HashMap<>();
+
+  private final Map<String, Set<String>> mergedAuditFieldExcludeSetMap = new HashMap<>();
+
+  private final Map<String, Set<String>> mergedAuditFieldFilterableExcludesSetMap = new HashMap<>();
+
   public Map<String, String> getServiceGroupLabels() {
     return serviceGroupLabels;
   }
@@ -421,12 +442,68 @@ public class UIMappingConfig {
     return mergedAuditFieldFilterableExcludesMap;
   }
 
+  public Set<String> getServiceFieldExcludeSet() {
+    return serviceFieldExcludeSet;
+  }
+
+  public Set<String> getServiceFieldVisibleSet() {
+    return serviceFieldVisibleSet;
+  }
+
+  public Set<String> getServiceFieldFilterableExcludesSet() {
+    return serviceFieldFilterableExcludesSet;
+  }
+
+  public Set<String> getAuditFieldCommonVisibleSet() {
+    return auditFieldCommonVisibleSet;
+  }
+
+  public Set<String> getAuditFieldCommonExcludeSet() {
+    return auditFieldCommonExcludeSet;
+  }
+
+  public Set<String> getAuditFieldCommonFilterableExcludeSet() {
+    return auditFieldCommonFilterableExcludeSet;
+  }
+
+  public Map<String, Set<String>> getMergedAuditFieldVisibleSetMap() {
+    return mergedAuditFieldVisibleSetMap;
+  }
+
+  public Map<String, Set<String>> getMergedAuditFieldExcludeSetMap() {
+    return mergedAuditFieldExcludeSetMap;
+  }
+
+  public Map<String, Set<String>> getMergedAuditFieldFilterableExcludesSetMap() {
+    return mergedAuditFieldFilterableExcludesSetMap;
+  }
+
   @PostConstruct
   public void init() {
     mergeCommonAndSpecMapValues(auditFieldLabels, auditFieldCommonLabels, mergedAuditFieldLabelMap);
     mergeCommonAndSpecListValues(auditFieldVisibleleMap, auditFieldCommonVisibleList, mergedAuditFieldVisibleMap);
     mergeCommonAndSpecListValues(auditFieldExcludeMap, auditFieldCommonExcludeList, mergedAuditFieldExcludeMap);
     mergeCommonAndSpecListValues(auditFieldFilterableExcludeMap, auditFieldCommonFilterableExcludeList, mergedAuditFieldFilterableExcludesMap);
+
+    serviceFieldExcludeSet = toSet(serviceFieldExcludeList);
+    serviceFieldVisibleSet = toSet(serviceFieldVisibleList);
+    serviceFieldFilterableExcludesSet = toSet(serviceFieldFilterableExcludesList);
+    auditFieldCommonVisibleSet = toSet(auditFieldCommonVisibleList);
+    auditFieldCommonExcludeSet = toSet(auditFieldCommonExcludeList);
+    auditFieldCommonFilterableExcludeSet = toSet(auditFieldCommonFilterableExcludeList);
+    toSetMap(mergedAuditFieldVisibleMap, mergedAuditFieldVisibleSetMap);
+    toSetMap(mergedAuditFieldExcludeMap, mergedAuditFieldExcludeSetMap);
+    toSetMap(mergedAuditFieldFilterableExcludesMap, mergedAuditFieldFilterableExcludesSetMap);
+  }
+
+  private Set<String> toSet(List<String> list) {
+    return list == null ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(list));
+  }
+
+  private void toSetMap(Map<String, List<String>> listMap, Map<String, Set<String>> setMap) {
+    for (Map.Entry<String, List<String>> entry : listMap.entrySet()) {
+      setMap.put(entry.getKey(), toSet(entry.getValue()));
+    }
   }
 
   private void mergeCommonAndSpecListValues(Map<String, List<String>> specMap, List<String> commonList,
@@ -27,6 +27,7 @@ public class SolrAuditLogsState implements SolrCollectionState {
   private volatile boolean solrCollectionReady;
   private volatile boolean solrAliasReady;
   private volatile boolean configurationUploaded;
+  private final StartupPhaseTimings startupPhaseTimings = new StartupPhaseTimings();
 
   @Override
   public boolean isZnodeReady() {
@@ -65,4 +66,9 @@ public class SolrAuditLogsState implements SolrCollectionState {
   public void setSolrAliasReady(boolean solrAliasReady) {
     this.solrAliasReady = solrAliasReady;
   }
+
+  @Override
+  public StartupPhaseTimings getStartupPhaseTimings() {
+    return startupPhaseTimings;
+  }
 }
@@ -30,4 +30,6 @@ public interface SolrCollectionState {
   boolean isConfigurationUploaded();
 
   void setConfigurationUploaded(boolean configurationUploaded);
+
+  StartupPhaseTimings getStartupPhaseTimings();
 }
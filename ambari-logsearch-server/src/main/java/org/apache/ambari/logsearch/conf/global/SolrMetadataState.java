@@ -26,6 +26,7 @@ public class SolrMetadataState implements SolrCollectionState {
   private volatile boolean znodeReady;
   private volatile boolean solrCollectionReady;
   private volatile boolean configurationUploaded;
+  private final StartupPhaseTimings startupPhaseTimings = new StartupPhaseTimings();
 
   @Override
   public boolean isZnodeReady() {
@@ -57,4 +58,8 @@ public class SolrMetadataState implements SolrCollectionState {
     this.configurationUploaded = configurationUploaded;
   }
 
+  @Override
+  public StartupPhaseTimings getStartupPhaseTimings() {
+    return startupPhaseTimings;
+  }
 }
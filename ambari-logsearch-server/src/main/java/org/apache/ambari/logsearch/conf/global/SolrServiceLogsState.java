@@ -26,6 +26,7 @@ public class SolrServiceLogsState implements SolrCollectionState {
   private volatile boolean znodeReady;
   private volatile boolean solrCollectionReady;
   private volatile boolean configurationUploaded;
+  private final StartupPhaseTimings startupPhaseTimings = new StartupPhaseTimings();
 
   @Override
   public boolean isZnodeReady() {
@@ -56,4 +57,9 @@ public class SolrServiceLogsState implements SolrCollectionState {
   public void setConfigurationUploaded(boolean configurationUploaded) {
     this.configurationUploaded = configurationUploaded;
   }
+
+  @Override
+  public StartupPhaseTimings getStartupPhaseTimings() {
+    return startupPhaseTimings;
+  }
 }
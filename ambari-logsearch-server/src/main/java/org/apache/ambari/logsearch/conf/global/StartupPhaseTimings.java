@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.conf.global;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Durations of the phases of a Solr collection setup (ZooKeeper connection, config upload, collection creation etc.),
+ * across every setup attempt since the server started.
+ */
+public class StartupPhaseTimings {
+
+  private final long startTime = System.currentTimeMillis();
+  private final Map<String, PhaseTiming> phases = new LinkedHashMap<>();
+  private volatile int attempts;
+  private volatile Long timeToReadyMs;
+
+  public void startAttempt() {
+    attempts++;
+  }
+
+  /**
+   * Run a setup phase and record its duration (also if it fails).
+   */
+  public <T> T time(String phase, Callable<T> action) throws Exception {
+    long start = System.currentTimeMillis();
+    try {
+      return action.call();
+    } finally {
+      long duration = System.currentTimeMillis() - start;
+      synchronized (phases) {
+        phases.computeIfAbsent(phase, key -> new PhaseTiming()).add(duration);
+      }
+    }
+  }
+
+  public void ready() {
+    if (timeToReadyMs == null) {
+      timeToReadyMs = System.currentTimeMillis() - startTime;
+    }
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public Long getTimeToReadyMs() {
+    return timeToReadyMs;
+  }
+
+  public Map<String, PhaseTiming> getPhases() {
+    synchronized (phases) {
+      Map<String, PhaseTiming> copy = new LinkedHashMap<>();
+      phases.forEach((phase, timing) -> copy.put(phase, timing.copy()));
+      return Collections.unmodifiableMap(copy);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "attempts=" + attempts + ", timeToReadyMs=" + timeToReadyMs + ", phases=" + getPhases();
+  }
+
+  public static class PhaseTiming {
+    private int count;
+    private long lastMs;
+    private long totalMs;
+
+    private void add(long durationMs) {
+      count++;
+      lastMs = durationMs;
+      totalMs += durationMs;
+    }
+
+    private PhaseTiming copy() {
+      PhaseTiming copy = new PhaseTiming();
+      copy.count = count;
+      copy.lastMs = lastMs;
+      copy.totalMs = totalMs;
+      return copy;
+    }
+
+    public int getCount() {
+      return count;
+    }
+
+    public long getLastMs() {
+      return lastMs;
+    }
+
+    public long getTotalMs() {
+      return totalMs;
+    }
+
+    @Override
+    public String toString() {
+      return "{count=" + count + ", lastMs=" + lastMs + ", totalMs=" + totalMs + "}";
+    }
+  }
+}
@@ -19,8 +19,10 @@
 package org.apache.ambari.logsearch.configurer;
 
 import org.apache.ambari.logsearch.conf.SolrClientsHolder;
+import org.apache.ambari.logsearch.conf.SolrHttpClientConfig;
 import org.apache.ambari.logsearch.conf.SolrPropsConfig;
 import org.apache.ambari.logsearch.conf.global.SolrCollectionState;
+import org.apache.ambari.logsearch.conf.global.StartupPhaseTimings;
 import org.apache.ambari.logsearch.dao.SolrDaoBase;
 import org.apache.ambari.logsearch.handler.ACLHandler;
 import org.apache.ambari.logsearch.handler.CreateCollectionHandler;
@@ -37,10 +39,13 @@ import org.apache.zookeeper.Watcher;
 import org.apache.zookeeper.ZooKeeper;
 import org.springframework.data.solr.core.SolrTemplate;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -83,30 +88,58 @@ public class SolrCollectionConfigurer implements Configurer {
       @Override
       public void run() {
         logger.info("Started monitoring thread to check availability of Solr server. collection=" + solrPropsConfig.getCollection());
-        while (!stopSetupCondition(state)) {
-          int retryCount = 0;
-          try {
-            retryCount++;
-            Thread.sleep(SETUP_RETRY_SECOND * 1000);
+        StartupPhaseTimings timings = state.getStartupPhaseTimings();
+        setupUntilReady(state, solrPropsConfig.getCollection(), TimeUnit.SECONDS.toMillis(SETUP_RETRY_SECOND), () -> {
+          timings.time("zk_connect", () -> {
             openZkConnectionAndUpdateStatus(state, solrPropsConfig);
-            if (solrDaoBase.getSolrTemplate() == null) {
-              solrDaoBase.setSolrTemplate(createSolrTemplate(solrPropsConfig));
-            }
-            CloudSolrClient cloudSolrClient = (CloudSolrClient) solrClientsHolder.getSolrClient(collectionType);
-            boolean reloadCollectionNeeded = uploadConfigurationsIfNeeded(cloudSolrClient, configSetFolder, state, solrPropsConfig);
-            checkSolrStatus(cloudSolrClient);
-            createCollectionsIfNeeded(cloudSolrClient, state, solrPropsConfig, reloadCollectionNeeded);
-          } catch (Exception e) {
-            retryCount++;
-            logger.error("Error setting collection. collection=" + solrPropsConfig.getCollection() + ", retryCount=" + retryCount, e);
+            return null;
+          });
+          if (solrDaoBase.getSolrTemplate() == null) {
+            solrDaoBase.setSolrTemplate(timings.time("solr_client", () -> createSolrTemplate(solrPropsConfig)));
           }
-        }
+          CloudSolrClient cloudSolrClient = (CloudSolrClient) solrClientsHolder.getSolrClient(collectionType);
+          boolean reloadCollectionNeeded = timings.time("config_upload",
+            () -> uploadConfigurationsIfNeeded(cloudSolrClient, configSetFolder, state, solrPropsConfig));
+          timings.time("solr_status", () -> checkSolrStatus(cloudSolrClient));
+          createCollectionsIfNeeded(cloudSolrClient, state, solrPropsConfig, reloadCollectionNeeded);
+          return null;
+        });
       }
     };
     setupThread.setDaemon(true);
     setupThread.start();
   }
 
+  /**
+   * Run setup attempts until the collection is ready, waiting the retry interval after each attempt which did not make it
+   * ready (failed or not). Every attempt is counted in the startup phase timings.
+   */
+  @VisibleForTesting
+  void setupUntilReady(SolrCollectionState state, String collection, long retryIntervalMs, Callable<Void> setupAttempt) {
+    StartupPhaseTimings timings = state.getStartupPhaseTimings();
+    int retryCount = 0;
+    while (!stopSetupCondition(state)) {
+      try {
+        timings.startAttempt();
+        setupAttempt.call();
+      } catch (Exception e) {
+        retryCount++;
+        logger.error("Error setting collection. collection=" + collection + ", retryCount=" + retryCount, e);
+      }
+      if (stopSetupCondition(state)) {
+        timings.ready();
+        logger.info("Collection {} is ready. Startup phases: {}", collection, timings);
+        break;
+      }
+      try {
+        Thread.sleep(retryIntervalMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
   private boolean uploadConfigurationsIfNeeded(CloudSolrClient cloudSolrClient, File configSetFolder, SolrCollectionState state, SolrPropsConfig solrPropsConfig) throws Exception {
     boolean reloadCollectionNeeded = new UploadConfigurationHandler(configSetFolder, hasEnumConfig).handle(cloudSolrClient, solrPropsConfig);
     if (!state.isConfigurationUploaded()) {
@@ -130,7 +163,13 @@ public class SolrCollectionConfigurer implements Configurer {
 
   private CloudSolrClient createClient(String solrUrl, String zookeeperConnectString, String defaultCollection) {
     if (StringUtils.isNotEmpty(zookeeperConnectString)) {
-      CloudSolrClient cloudSolrClient = new CloudSolrClient.Builder().withZkHost(zookeeperConnectString).build();
+      SolrHttpClientConfig solrHttpClientConfig = solrClientsHolder.getSolrHttpClientConfig();
+      CloudSolrClient cloudSolrClient = new CloudSolrClient.Builder()
+        .withZkHost(zookeeperConnectString)
+        .withHttpClient(solrClientsHolder.getHttpClient())
+        .withConnectionTimeout(solrHttpClientConfig.getConnectionTimeout())
+        .withSocketTimeout(solrHttpClientConfig.getSocketTimeout())
+        .build();
       cloudSolrClient.setDefaultCollection(defaultCollection);
       return cloudSolrClient;
     } else if (StringUtils.isNotEmpty(solrUrl)) {
@@ -224,16 +263,20 @@ public class SolrCollectionConfigurer implements Configurer {
 
   private void createCollectionsIfNeeded(CloudSolrClient solrClient, SolrCollectionState state, SolrPropsConfig solrPropsConfig,
       boolean reloadCollectionNeeded) {
+    StartupPhaseTimings timings = state.getStartupPhaseTimings();
     try {
-      List<String> allCollectionList = new ListCollectionHandler().handle(solrClient, null);
-      solrDaoBase.waitForLogSearchConfig();
+      List<String> allCollectionList = timings.time("list_collections", () -> new ListCollectionHandler().handle(solrClient, null));
+      timings.time("wait_for_config_api", () -> {
+        solrDaoBase.waitForLogSearchConfig();
+        return null;
+      });
       CreateCollectionHandler handler = new CreateCollectionHandler(allCollectionList);
-      boolean collectionCreated = handler.handle(solrClient, solrPropsConfig);
+      boolean collectionCreated = timings.time("collection_create", () -> handler.handle(solrClient, solrPropsConfig));
       boolean collectionReloaded = true;
       if (reloadCollectionNeeded) {
-        collectionReloaded = new ReloadCollectionHandler().handle(solrClient, solrPropsConfig);
+        collectionReloaded = timings.time("collection_reload", () -> new ReloadCollectionHandler().handle(solrClient, solrPropsConfig));
       }
-      boolean aclsUpdated = new ACLHandler().handle(solrClient, solrPropsConfig);
+      boolean aclsUpdated = timings.time("acls", () -> new ACLHandler().handle(solrClient, solrPropsConfig));
       if (!state.isSolrCollectionReady() && collectionCreated && collectionReloaded && aclsUpdated) {
         state.setSolrCollectionReady(true);
       }
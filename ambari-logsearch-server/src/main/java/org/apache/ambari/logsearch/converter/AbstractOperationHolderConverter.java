@@ -30,6 +30,7 @@ import javax.inject.Inject;
 
 import org.apache.ambari.logsearch.common.LogType;
 import org.apache.ambari.logsearch.dao.SolrSchemaFieldDao;
+import org.apache.ambari.logsearch.dao.SolrSchemaFieldDao.SchemaFields;
 import org.apache.ambari.logsearch.util.SolrUtil;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
@@ -223,10 +224,9 @@ public abstract class AbstractOperationHolderConverter <REQUEST_TYPE, QUERY_TYPE
   }
 
   private String escapeNonLogMessageField(Map.Entry<String, String> fieldEntry) {
-    Map<String, String> schemaFieldNameMap = solrSchemaFieldDao.getSchemaFieldNameMap(getLogType());
-    Map<String, String> schemaFieldTypeMap = solrSchemaFieldDao.getSchemaFieldTypeMap(getLogType());
-    String fieldType = schemaFieldNameMap.get(fieldEntry.getKey());
-    String fieldTypeMetaData = schemaFieldTypeMap.get(fieldType);
+    SchemaFields schemaFields = solrSchemaFieldDao.getSchemaFields(getLogType());
+    String fieldType = schemaFields.getFieldNames().get(fieldEntry.getKey());
+    String fieldTypeMetaData = schemaFields.getFieldTypes().get(fieldType);
     return SolrUtil.putWildCardByType(fieldEntry.getValue(), fieldType, fieldTypeMetaData);
   }
 }
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.ambari.logsearch.common.LogSearchConstants;
+import org.apache.ambari.logsearch.common.LogType;
+import org.apache.ambari.logsearch.conf.SolrQueryCacheConfig;
+import org.apache.ambari.logsearch.util.SolrUtil;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.PivotField;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.response.RangeFacet;
+import org.apache.solr.common.util.NamedList;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+/**
+ * Incremental computation of the date range histograms (type pivot with a date range facet, see AbstractDateRangeFacetQueryConverter).
+ * The buckets are aligned to the multiples of the gap, and the counts of the sealed buckets (which ended before now - seal delay)
+ * are kept in memory, so a refresh of a rolling time window queries Solr only from the first not cached bucket. The cached counts
+ * expire after a fixed time (also if they are read continuously), so logs which arrive after their bucket was sealed are counted eventually.
+ */
+@Named
+public class HistogramBucketCache {
+
+  private static final String CACHE_NAME = "logsearch.solr.histogram.cache";
+  private static final int MAX_BUCKETS = 10000;
+  private static final Pattern GAP_PATTERN = Pattern.compile(
+    "^\\+(\\d+)(MILLI|MILLIS|MILLISECOND|MILLISECONDS|SECOND|SECONDS|MINUTE|MINUTES|HOUR|HOURS|DAY|DAYS)$");
+  private static final DateTimeFormatter SOLR_DATE_FORMATTER =
+    DateTimeFormatter.ofPattern(LogSearchConstants.SOLR_DATE_FORMAT_PREFIX_Z).withZone(ZoneOffset.UTC);
+
+  @Inject
+  private SolrQueryCacheConfig solrQueryCacheConfig;
+
+  @Inject
+  private SolrQueryCache solrQueryCache;
+
+  @Inject
+  private MeterRegistry meterRegistry;
+
+  private Cache<String, Map<String, Long>> bucketCache;
+  private final AtomicLong invalidations = new AtomicLong();
+  private Clock clock = Clock.systemUTC();
+
+  @PostConstruct
+  public void init() {
+    bucketCache = CacheBuilder.newBuilder()
+      .maximumSize(solrQueryCacheConfig.getHistogramMaxBuckets())
+      .expireAfterWrite(solrQueryCacheConfig.getHistogramTtlSeconds(), TimeUnit.SECONDS)
+      .ticker(new Ticker() {
+        @Override
+        public long read() {
+          return TimeUnit.MILLISECONDS.toNanos(clock.millis());
+        }
+      })
+      .recordStats()
+      .build();
+    if (meterRegistry != null) {
+      GuavaCacheMetrics.monitor(meterRegistry, bucketCache, CACHE_NAME);
+    }
+  }
+
+  /**
+   * Compute the histogram of a date range facet query.
+   * @param logType log type of the queried collection
+   * @param histogramQuery query with a type pivot and a date range facet on the date field
+   * @param solrCall executes a query on Solr
+   * @return counts by type and by bucket start (epoch millis), buckets without logs are left out
+   */
+  public Map<String, SortedMap<Long, Long>> getHistogram(LogType logType, SolrQuery histogramQuery, String dateField, String typeField,
+                                                          Function<SolrQuery, QueryResponse> solrCall) {
+    String startParam = rangeParam(dateField, "facet.range.start");
+    String endParam = rangeParam(dateField, "facet.range.end");
+    Long from = parseTime(histogramQuery.get(startParam));
+    Long to = parseTime(histogramQuery.get(endParam));
+    Long gap = parseGap(histogramQuery.get(rangeParam(dateField, "facet.range.gap")));
+    if (!solrQueryCacheConfig.isEnabled() || !solrQueryCacheConfig.isHistogramEnabled() || from == null || to == null || gap == null
+      || (to - from) / gap > MAX_BUCKETS) {
+      return toHistogram(parseBuckets(solrCall.apply(histogramQuery), typeField));
+    }
+
+    long start = from - Math.floorMod(from, gap);
+    long sealedUntil = clock.millis() - TimeUnit.SECONDS.toMillis(solrQueryCacheConfig.getHistogramSealDelaySeconds());
+    String seriesKey = createSeriesKey(logType, histogramQuery, startParam, endParam);
+    Map<Long, Map<String, Long>> buckets = new TreeMap<>();
+    Long firstMissing = null;
+    for (long bucket = start; bucket < to; bucket += gap) {
+      Map<String, Long> counts = bucket + gap <= sealedUntil ? bucketCache.getIfPresent(seriesKey + bucket) : null;
+      if (counts == null) {
+        firstMissing = bucket;
+        break;
+      }
+      buckets.put(bucket, counts);
+    }
+
+    if (firstMissing != null) {
+      long invalidationsBefore = invalidations.get();
+      SolrQuery missingBucketsQuery = histogramQuery.getCopy();
+      missingBucketsQuery.set(startParam, SOLR_DATE_FORMATTER.format(Instant.ofEpochMilli(firstMissing)));
+      QueryResponse response = solrCall.apply(missingBucketsQuery);
+      Map<Long, Map<String, Long>> fetchedBuckets = parseBuckets(response, typeField);
+      boolean cacheable = !SolrUtil.isPartialResults(response) && invalidationsBefore == invalidations.get();
+      for (long bucket = firstMissing; bucket < to; bucket += gap) {
+        Map<String, Long> counts = fetchedBuckets.getOrDefault(bucket, Collections.emptyMap());
+        if (cacheable && bucket + gap <= sealedUntil) {
+          bucketCache.put(seriesKey + bucket, counts);
+        }
+        buckets.put(bucket, counts);
+      }
+    }
+    return toHistogram(buckets);
+  }
+
+  /**
+   * Drop every cached bucket of a log type (e.g. after logs were deleted).
+   */
+  public void invalidate(LogType logType) {
+    invalidations.incrementAndGet();
+    String prefix = logType.name() + "|";
+    bucketCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  static Long parseGap(String gap) {
+    if (gap == null) {
+      return null;
+    }
+    Matcher matcher = GAP_PATTERN.matcher(gap.trim().toUpperCase(Locale.ROOT));
+    if (!matcher.matches()) {
+      return null;
+    }
+    long amount = Long.parseLong(matcher.group(1));
+    String unit = matcher.group(2);
+    if (unit.startsWith("MILLI")) {
+      return amount > 0 ? amount : null;
+    }
+    TimeUnit timeUnit = TimeUnit.valueOf(unit.endsWith("S") ? unit : unit + "S");
+    return amount > 0 ? timeUnit.toMillis(amount) : null;
+  }
+
+  /**
+   * Key of the histogram without its time range: the bucket counts can be shared between the requests of different time windows.
+   */
+  private String createSeriesKey(LogType logType, SolrQuery histogramQuery, String startParam, String endParam) {
+    SolrQuery seriesQuery = histogramQuery.getCopy();
+    seriesQuery.remove(startParam);
+    seriesQuery.remove(endParam);
+    return solrQueryCache.createKey(logType, seriesQuery) + "@";
+  }
+
+  private Map<Long, Map<String, Long>> parseBuckets(QueryResponse response, String typeField) {
+    Map<Long, Map<String, Long>> buckets = new HashMap<>();
+    NamedList<List<PivotField>> facetPivot = response.getFacetPivot();
+    List<PivotField> pivotFields = facetPivot != null ? facetPivot.get(typeField) : null;
+    if (pivotFields == null) {
+      return buckets;
+    }
+    for (PivotField pivotField : pivotFields) {
+      List<RangeFacet> facetRanges = pivotField.getFacetRanges();
+      if (facetRanges == null || facetRanges.isEmpty()) {
+        continue;
+      }
+      String type = String.valueOf(pivotField.getValue());
+      for (Object countObject : facetRanges.get(0).getCounts()) {
+        RangeFacet.Count count = (RangeFacet.Count) countObject;
+        Long bucket = parseTime(count.getValue());
+        if (bucket != null && count.getCount() > 0) {
+          buckets.computeIfAbsent(bucket, b -> new HashMap<>()).put(type, (long) count.getCount());
+        }
+      }
+    }
+    return buckets;
+  }
+
+  private Map<String, SortedMap<Long, Long>> toHistogram(Map<Long, Map<String, Long>> buckets) {
+    Map<String, SortedMap<Long, Long>> histogram = new TreeMap<>();
+    for (Map.Entry<Long, Map<String, Long>> bucket : buckets.entrySet()) {
+      for (Map.Entry<String, Long> count : bucket.getValue().entrySet()) {
+        if (count.getValue() > 0) {
+          histogram.computeIfAbsent(count.getKey(), type -> new TreeMap<>()).put(bucket.getKey(), count.getValue());
+        }
+      }
+    }
+    return histogram;
+  }
+
+  private Long parseTime(String time) {
+    if (time == null) {
+      return null;
+    }
+    try {
+      return Instant.parse(time).toEpochMilli();
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  private String rangeParam(String dateField, String param) {
+    return String.format(Locale.ROOT, "f.%s.%s", dateField, param);
+  }
+
+  public void setSolrQueryCacheConfig(SolrQueryCacheConfig solrQueryCacheConfig) {
+    this.solrQueryCacheConfig = solrQueryCacheConfig;
+  }
+
+  public void setSolrQueryCache(SolrQueryCache solrQueryCache) {
+    this.solrQueryCache = solrQueryCache;
+  }
+
+  void setClock(Clock clock) {
+    this.clock = clock;
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.ambari.logsearch.dao;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.PostConstruct;
@@ -38,6 +39,8 @@ import org.apache.curator.shaded.com.google.common.collect.ImmutableList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
 import org.apache.solr.client.solrj.response.UpdateResponse;
 import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
@@ -92,21 +95,11 @@ public class MetadataSolrDao extends SolrDaoBase {
   }
 
   public UpdateResponse deleteMetadata(String name, String type, String userName) {
-    return removeDoc(String.format("name:%s AND type:%s AND username:%s", name, type, userName));
+    return update(Collections.emptyList(), Collections.singletonList(createDeleteQuery(name, type, userName)));
   }
 
-  private UpdateResponse removeDoc(String query) {
-    try {
-      UpdateResponse updateResoponse = getSolrClient().deleteByQuery(query);
-      getSolrClient().commit();
-      LOG_PERFORMANCE.info("Username :- " + LogSearchContext.getCurrentUsername() +
-              " Remove Time Execution :- " + updateResoponse.getQTime() + " Total Time Elapsed is :- " + updateResoponse.getElapsedTime());
-      return updateResoponse;
-    } catch (SolrServerException e) {
-      throw new SolrException(SolrException.ErrorCode.SERVER_ERROR, e);
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    }
+  public String createDeleteQuery(String name, String type, String userName) {
+    return String.format("name:%s AND type:%s AND username:%s", name, type, userName);
   }
 
   public UpdateResponse addDoc(SolrInputDocument doc) {
@@ -114,11 +107,24 @@ public class MetadataSolrDao extends SolrDaoBase {
   }
 
   public UpdateResponse addDocs(List<SolrInputDocument> docs) {
+    return update(docs, Collections.emptyList());
+  }
+
+  /**
+   * Send the added documents and the delete queries in one update request, which is committed by the same request.
+   */
+  public UpdateResponse update(List<SolrInputDocument> docs, List<String> deleteQueries) {
+    UpdateRequest updateRequest = new UpdateRequest();
+    if (!docs.isEmpty()) {
+      updateRequest.add(docs);
+    }
+    deleteQueries.forEach(updateRequest::deleteByQuery);
+    updateRequest.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
     try {
-      UpdateResponse updateResoponse = getSolrClient().add(docs);
-      LOG_PERFORMANCE.info("Username :- " + LogSearchContext.getCurrentUsername() +
-              " Update Time Execution :- " + updateResoponse.getQTime() + " Total Time Elapsed is :- " + updateResoponse.getElapsedTime());
-      getSolrClient().commit();
+      UpdateResponse updateResoponse = updateRequest.process(getSolrClient());
+      LOG_PERFORMANCE.info("Username :- " + LogSearchContext.getCurrentUsername() + " Added docs :- " + docs.size() +
+              " Delete queries :- " + deleteQueries.size() + " Update Time Execution :- " + updateResoponse.getQTime() +
+              " Total Time Elapsed is :- " + updateResoponse.getElapsedTime());
       return updateResoponse;
     } catch (SolrServerException e) {
       throw new SolrException(SolrException.ErrorCode.SERVER_ERROR, e);
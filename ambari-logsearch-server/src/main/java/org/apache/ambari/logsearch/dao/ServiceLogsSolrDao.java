@@ -68,7 +68,7 @@ public class ServiceLogsSolrDao extends SolrDaoBase {
   public void postConstructor() {
     logger.info("postConstructor() called.");
     try {
-      new SolrCollectionConfigurer(this, true, solrClientsHolder, SolrClientsHolder.CollectionType.HISTORY).start();
+      new SolrCollectionConfigurer(this, true, solrClientsHolder, SolrClientsHolder.CollectionType.SERVICE).start();
     } catch (Exception e) {
       logger.error("error while connecting to Solr for service logs : solrUrl=" + solrServiceLogPropsConfig.getSolrUrl()
         + ", zkConnectString=" + solrServiceLogPropsConfig.getZkConnectString()
@@ -23,6 +23,10 @@ import static org.apache.solr.common.SolrException.ErrorCode.SERVER_ERROR;
 import static org.apache.solr.common.SolrException.ErrorCode.UNKNOWN;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -31,6 +35,7 @@ import org.apache.ambari.logsearch.common.LogType;
 import org.apache.ambari.logsearch.conf.LogSearchConfigApiConfig;
 import org.apache.ambari.logsearch.conf.SolrKerberosConfig;
 import org.apache.ambari.logsearch.conf.SolrPropsConfig;
+import org.apache.ambari.logsearch.conf.SolrQueryTimeConfig;
 import org.apache.ambari.logsearch.conf.global.LogSearchConfigState;
 import org.apache.ambari.logsearch.conf.global.SolrCollectionState;
 import org.apache.ambari.logsearch.config.api.LogSearchConfigServer;
@@ -41,11 +46,15 @@ import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrRequest.METHOD;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.StreamingResponseCallback;
 import org.apache.solr.client.solrj.impl.CloudSolrClient;
+import org.apache.solr.client.solrj.impl.StreamingBinaryResponseParser;
+import org.apache.solr.client.solrj.request.QueryRequest;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.SolrResponseBase;
 import org.apache.solr.client.solrj.response.UpdateResponse;
 import org.apache.solr.common.SolrException;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.springframework.data.solr.core.DefaultQueryParser;
 import org.springframework.data.solr.core.SolrTemplate;
 import org.springframework.data.solr.core.query.SolrDataQuery;
@@ -69,6 +78,24 @@ public abstract class SolrDaoBase {
   @Inject
   private LogSearchConfigConfigurer logSearchConfigConfigurer;
 
+  @Inject
+  private SolrQueryTimeConfig solrQueryTimeConfig;
+
+  @Inject
+  private SolrRequestTracker solrRequestTracker;
+
+  @Inject
+  private SolrQueryCache solrQueryCache;
+
+  @Inject
+  private HistogramBucketCache histogramBucketCache;
+
+  @Inject
+  private SolrQueryExecutor solrQueryExecutor;
+
+  @Inject
+  private SolrQueryMetrics solrQueryMetrics;
+
   protected SolrDaoBase(LogType logType) {
     this.logType = logType;
   }
@@ -87,16 +114,41 @@ public abstract class SolrDaoBase {
   }
 
   public QueryResponse process(SolrQuery solrQuery, String event) {
+    return execute(solrQuery, event, () -> getSolrClient().query(solrQuery, METHOD.POST));
+  }
+
+  /**
+   * Process the query with javabin streaming: the documents are passed to the callback one by one as they are read from the response,
+   * so they are never collected in memory. The returned response contains everything but the documents.
+   */
+  public QueryResponse processStreaming(SolrQuery solrQuery, StreamingResponseCallback callback, String event) {
+    return execute(solrQuery, event, () -> {
+      QueryRequest queryRequest = new QueryRequest(solrQuery, METHOD.POST);
+      queryRequest.setStreamingResponseCallback(callback);
+      queryRequest.setResponseParser(new StreamingBinaryResponseParser(callback));
+      return queryRequest.process(getSolrClient());
+    });
+  }
+
+  private QueryResponse execute(SolrQuery solrQuery, String event, Callable<QueryResponse> solrCall) {
     SolrUtil.removeDoubleOrTripleEscapeFromFilters(solrQuery);
     logger.info("Solr query will be processed: " + solrQuery);
     if (getSolrClient() != null) {
       event = event == null ? solrQuery.get("event") : event;
       solrQuery.remove("event");
+      long timeAllowed = solrQueryTimeConfig.getTimeAllowed(event);
+      // Solr does not support timeAllowed together with cursorMark, count and facet queries are abandoned after the max wait instead
+      if (timeAllowed > 0 && solrQuery.getTimeAllowed() == null && solrQuery.get(CursorMarkParams.CURSOR_MARK_PARAM) == null
+        && SolrUtil.isDocumentListQuery(solrQuery)) {
+        solrQuery.setTimeAllowed((int) timeAllowed);
+      }
+      long maxWait = timeAllowed > 0 ? timeAllowed + solrQueryTimeConfig.getWaitGrace() : 0;
       try {
-        QueryResponse queryResponse = getSolrClient().query(solrQuery, METHOD.POST);
+        QueryResponse queryResponse = solrRequestTracker.execute(LogSearchContext.getCurrentSessionId(), solrCall, maxWait);
         logSolrEvent(event, solrQuery, queryResponse);
         return queryResponse;
       } catch (SolrServerException | IOException e) {
+        solrQueryMetrics.recordFailure(logType, event);
         throw new SolrException(SERVER_ERROR, "Error during solrQuery=" + solrQuery, e);
       }
     } else {
@@ -110,9 +162,12 @@ public abstract class SolrDaoBase {
     if (getSolrClient() != null) {
       try {
         UpdateResponse updateResponse = getSolrClient().deleteByQuery(solrQuery.getQuery());
+        solrQueryCache.invalidate(logType);
+        histogramBucketCache.invalidate(logType);
         logSolrEvent(event, solrQuery, updateResponse);
         return updateResponse;
       } catch (Exception e) {
+        solrQueryMetrics.recordFailure(logType, event);
         throw new SolrException(SERVER_ERROR, "Error during delete solrQuery=" + solrQuery, e);
       }
     } else {
@@ -133,25 +188,59 @@ public abstract class SolrDaoBase {
   }
 
   public long count(final SolrDataQuery solrDataQuery) {
-    return getSolrTemplate().execute(solrClient -> {
-      SolrQuery solrQuery = new DefaultQueryParser().doConstructSolrQuery(solrDataQuery);
-      solrQuery.setStart(0);
-      solrQuery.setRows(0);
-      QueryResponse queryResponse = solrClient.query(solrQuery);
-      long count = solrClient.query(solrQuery).getResults().getNumFound();
-      performanceLogger.info("\n Username :- " + LogSearchContext.getCurrentUsername() + " Count SolrQuery :- " +
-        solrQuery + "\nQuery Time Execution :- " + queryResponse.getQTime() + " Total Time Elapsed is :- " +
-        queryResponse.getElapsedTime() + " Count result :- " + count);
-      return count;
-    });
+    return count(new DefaultQueryParser().doConstructSolrQuery(solrDataQuery), "count");
+  }
+
+  public long count(SolrQuery solrQuery, String event) {
+    QueryResponse queryResponse = process(createCountQuery(solrQuery), event);
+    return queryResponse.getResults().getNumFound();
+  }
+
+  private SolrQuery createCountQuery(SolrQuery solrQuery) {
+    SolrQuery countQuery = solrQuery.getCopy();
+    countQuery.setStart(0);
+    SolrUtil.setRowCount(countQuery, 0);
+    return countQuery;
   }
 
   public QueryResponse process(SolrDataQuery solrDataQuery, String event) {
     return process(new DefaultQueryParser().doConstructSolrQuery(solrDataQuery), event);
   }
 
+  /**
+   * Same as {@link #process(SolrQuery, String)}, but an identical query of a user with the same roles is answered from the query cache
+   */
+  public QueryResponse processCached(SolrQuery solrQuery, String event) {
+    return solrQueryCache.get(logType, solrQuery, () -> process(solrQuery, event));
+  }
+
+  public QueryResponse processCached(SolrDataQuery solrDataQuery, String event) {
+    return processCached(new DefaultQueryParser().doConstructSolrQuery(solrDataQuery), event);
+  }
+
+  /**
+   * Same as {@link #process(SolrQuery, String)}, but the query is executed on the shared Solr query executor,
+   * so independent queries of a request can run concurrently
+   */
+  public CompletableFuture<QueryResponse> processAsync(SolrQuery solrQuery, String event) {
+    return solrQueryExecutor.supplyAsync(() -> process(solrQuery, event));
+  }
+
+  public CompletableFuture<QueryResponse> processCachedAsync(SolrQuery solrQuery, String event) {
+    return solrQueryExecutor.supplyAsync(() -> processCached(solrQuery, event));
+  }
+
+  /**
+   * Process a date range histogram query incrementally: only the buckets which are not sealed and cached yet are queried from Solr
+   * @return counts by type and by bucket start (epoch millis)
+   */
+  public Map<String, SortedMap<Long, Long>> processHistogram(SolrQuery histogramQuery, String dateField, String typeField, String event) {
+    return histogramBucketCache.getHistogram(logType, histogramQuery, dateField, typeField, solrQuery -> processCached(solrQuery, event));
+  }
+
   private void logSolrEvent(String event, SolrQuery solrQuery, SolrResponseBase solrResponseBase) {
-    if (event != null) {
+    solrQueryMetrics.record(logType, event, solrQuery, solrResponseBase);
+    if (event != null && performanceLogger.isInfoEnabled()) {
       performanceLogger.info("\n Username :- " + LogSearchContext.getCurrentUsername() + " Event :- " + event + " SolrQuery :- " +
         solrQuery + "\nQuery Time Execution :- " + solrResponseBase.getQTime() + " Total Time Elapsed is :- " +
         solrResponseBase.getElapsedTime());
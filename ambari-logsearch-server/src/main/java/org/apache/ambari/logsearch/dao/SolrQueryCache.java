@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.ambari.logsearch.common.LogSearchConstants;
+import org.apache.ambari.logsearch.common.LogType;
+import org.apache.ambari.logsearch.conf.SolrQueryCacheConfig;
+import org.apache.ambari.logsearch.model.request.DateRangeParamDefinition;
+import org.apache.ambari.logsearch.util.SolrUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.params.CommonParams;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+/**
+ * Size and TTL bounded cache of the Solr responses for the endpoints which are polled by the dashboards with identical parameters.
+ * The cache key is the normalized Solr query together with the roles of the current user, hit/miss statistics are published
+ * as cache metrics (logsearch.solr.query.cache).
+ */
+@Named
+public class SolrQueryCache {
+  private static final Logger logger = LogManager.getLogger(SolrQueryCache.class);
+
+  private static final String CACHE_NAME = "logsearch.solr.query.cache";
+  private static final String KEY_SEPARATOR = "|";
+  private static final DateTimeFormatter SOLR_DATE_FORMATTER =
+    DateTimeFormatter.ofPattern(LogSearchConstants.SOLR_DATE_FORMAT_PREFIX_Z).withZone(ZoneOffset.UTC);
+
+  @Inject
+  private SolrQueryCacheConfig solrQueryCacheConfig;
+
+  @Inject
+  private MeterRegistry meterRegistry;
+
+  private Cache<String, QueryResponse> cache;
+  private final AtomicLong invalidations = new AtomicLong();
+
+  @PostConstruct
+  public void init() {
+    cache = CacheBuilder.newBuilder()
+      .maximumSize(solrQueryCacheConfig.getMaxSize())
+      .expireAfterWrite(solrQueryCacheConfig.getTtlSeconds(), TimeUnit.SECONDS)
+      .recordStats()
+      .build();
+    if (meterRegistry != null) {
+      GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+  }
+
+  /**
+   * Get the response of the query from the cache, or call Solr if it is not cached yet. Partial results are not cached.
+   */
+  public QueryResponse get(LogType logType, SolrQuery solrQuery, Supplier<QueryResponse> solrCall) {
+    if (!solrQueryCacheConfig.isEnabled()) {
+      return solrCall.get();
+    }
+    String key = createKey(logType, solrQuery);
+    QueryResponse response = cache.getIfPresent(key);
+    if (response == null) {
+      long invalidationsBefore = invalidations.get();
+      response = solrCall.get();
+      // do not cache a response which was computed before a delete
+      if (!SolrUtil.isPartialResults(response) && invalidationsBefore == invalidations.get()) {
+        cache.put(key, response);
+      }
+    }
+    return response;
+  }
+
+  /**
+   * Drop every cached response of a log type (e.g. after logs were deleted).
+   */
+  public void invalidate(LogType logType) {
+    invalidations.incrementAndGet();
+    String prefix = logType.name() + KEY_SEPARATOR;
+    cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    logger.debug("Solr query cache invalidated for {} logs", logType.getLabel());
+  }
+
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  /**
+   * Extend the time range of the request to the multiples of the time alignment (from is rounded down, to is rounded up),
+   * so the requests of rolling time windows (e.g. last 1 hour) within the same alignment period share the cache entries.
+   */
+  public void alignTimeRange(DateRangeParamDefinition request) {
+    long alignmentMillis = TimeUnit.SECONDS.toMillis(solrQueryCacheConfig.getTimeAlignmentSeconds());
+    if (!solrQueryCacheConfig.isEnabled() || alignmentMillis <= 0) {
+      return;
+    }
+    request.setFrom(alignTime(request.getFrom(), alignmentMillis, false));
+    request.setTo(alignTime(request.getTo(), alignmentMillis, true));
+  }
+
+  String createKey(LogType logType, SolrQuery solrQuery) {
+    StringBuilder key = new StringBuilder(logType.name()).append(KEY_SEPARATOR).append(getCurrentRoles()).append(KEY_SEPARATOR);
+    List<String> parameterNames = new ArrayList<>(solrQuery.getParameterNames());
+    Collections.sort(parameterNames);
+    for (String parameterName : parameterNames) {
+      if ("event".equals(parameterName)) {
+        continue;
+      }
+      List<String> values = Arrays.asList(solrQuery.getParams(parameterName));
+      if (CommonParams.FQ.equals(parameterName)) { // order of the filters does not change the result
+        values = new ArrayList<>(values);
+        Collections.sort(values);
+      }
+      key.append(parameterName).append('=').append(StringUtils.join(values, '&')).append(';');
+    }
+    return key.toString();
+  }
+
+  private String getCurrentRoles() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || authentication.getAuthorities() == null) {
+      return "";
+    }
+    return authentication.getAuthorities().stream()
+      .map(GrantedAuthority::getAuthority)
+      .sorted()
+      .collect(Collectors.joining(","));
+  }
+
+  private String alignTime(String time, long alignmentMillis, boolean roundUp) {
+    if (StringUtils.isBlank(time)) {
+      return time;
+    }
+    try {
+      long millis = Instant.parse(time).toEpochMilli();
+      long aligned = millis - Math.floorMod(millis, alignmentMillis);
+      if (roundUp && aligned != millis) {
+        aligned += alignmentMillis;
+      }
+      return SOLR_DATE_FORMATTER.format(Instant.ofEpochMilli(aligned));
+    } catch (DateTimeParseException e) {
+      logger.debug("Cannot align time: {}", time);
+      return time;
+    }
+  }
+
+  public void setSolrQueryCacheConfig(SolrQueryCacheConfig solrQueryCacheConfig) {
+    this.solrQueryCacheConfig = solrQueryCacheConfig;
+  }
+}
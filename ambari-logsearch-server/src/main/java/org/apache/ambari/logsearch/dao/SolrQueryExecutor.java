@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import static org.apache.solr.common.SolrException.ErrorCode.SERVER_ERROR;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.ambari.logsearch.common.LogSearchContext;
+import org.apache.ambari.logsearch.conf.SolrQueryAsyncConfig;
+import org.apache.solr.common.SolrException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs independent Solr queries of the same request concurrently on a bounded thread pool.
+ * The log search and security context of the caller are propagated to the worker threads, so user roles (query cache)
+ * and the session id (request cancellation) apply the same way as on the caller thread.
+ * If every thread is busy and the queue is full, the task is executed on the caller thread.
+ */
+@Named
+public class SolrQueryExecutor {
+
+  @Inject
+  private SolrQueryAsyncConfig solrQueryAsyncConfig;
+
+  private ThreadPoolExecutor executor;
+
+  @PostConstruct
+  public void init() {
+    int threads = Math.max(1, solrQueryAsyncConfig.getThreads());
+    executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+      new ArrayBlockingQueue<>(Math.max(1, solrQueryAsyncConfig.getQueueSize())),
+      new ThreadFactoryBuilder().setNameFormat("logsearch-solr-async-%d").setDaemon(true).build(),
+      new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+    LogSearchContext logSearchContext = LogSearchContext.getContext();
+    SecurityContext securityContext = SecurityContextHolder.getContext();
+    return CompletableFuture.supplyAsync(() -> {
+      LogSearchContext previousLogSearchContext = LogSearchContext.getContext();
+      SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+      LogSearchContext.setContext(logSearchContext);
+      SecurityContextHolder.setContext(securityContext);
+      try {
+        return supplier.get();
+      } finally {
+        restoreContext(previousLogSearchContext, previousSecurityContext);
+      }
+    }, executor);
+  }
+
+  /**
+   * Wait for the result of an async task, the failure of the task is re-thrown as it is (unchecked exceptions).
+   */
+  public static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new SolrException(SERVER_ERROR, cause);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  public void setSolrQueryAsyncConfig(SolrQueryAsyncConfig solrQueryAsyncConfig) {
+    this.solrQueryAsyncConfig = solrQueryAsyncConfig;
+  }
+
+  private void restoreContext(LogSearchContext logSearchContext, SecurityContext securityContext) {
+    if (logSearchContext == null) {
+      LogSearchContext.resetContext();
+    } else {
+      LogSearchContext.setContext(logSearchContext);
+    }
+    SecurityContextHolder.setContext(securityContext);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.ambari.logsearch.common.LogSearchContext;
+import org.apache.ambari.logsearch.common.LogType;
+import org.apache.ambari.logsearch.conf.SolrQueryTimeConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.response.SolrResponseBase;
+import org.apache.solr.common.SolrDocumentList;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics of the Solr requests by collection and event (endpoint):
+ * <ul>
+ *   <li>logsearch.solr.query.qtime: QTime reported by Solr</li>
+ *   <li>logsearch.solr.query.elapsed: time of the whole request measured by the client</li>
+ *   <li>logsearch.solr.query.overhead: elapsed time on top of QTime (transfer and unmarshalling of the response)</li>
+ *   <li>logsearch.solr.query.found / logsearch.solr.query.returned: number of found / returned documents</li>
+ *   <li>logsearch.solr.query.failures: failed requests</li>
+ * </ul>
+ * Requests which are slower than the configured threshold are written to the slow query log (sampled).
+ */
+@Named
+public class SolrQueryMetrics {
+
+  private static final Logger slowQueryLogger = LogManager.getLogger("org.apache.ambari.logsearch.performance.slow");
+
+  static final String QTIME = "logsearch.solr.query.qtime";
+  static final String ELAPSED = "logsearch.solr.query.elapsed";
+  static final String OVERHEAD = "logsearch.solr.query.overhead";
+  static final String FOUND = "logsearch.solr.query.found";
+  static final String RETURNED = "logsearch.solr.query.returned";
+  static final String FAILURES = "logsearch.solr.query.failures";
+
+  private static final String NO_EVENT = "none";
+
+  @Inject
+  private SolrQueryTimeConfig solrQueryTimeConfig;
+
+  @Inject
+  private MeterRegistry meterRegistry;
+
+  public SolrQueryMetrics() {
+  }
+
+  SolrQueryMetrics(SolrQueryTimeConfig solrQueryTimeConfig, MeterRegistry meterRegistry) {
+    this.solrQueryTimeConfig = solrQueryTimeConfig;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public void record(LogType logType, String event, SolrQuery solrQuery, SolrResponseBase response) {
+    long qTime = Math.max(response.getQTime(), 0);
+    long elapsed = Math.max(response.getElapsedTime(), qTime);
+    if (meterRegistry != null) {
+      Tags tags = tags(logType, event);
+      timer(QTIME, "QTime of the Solr requests", tags).record(qTime, TimeUnit.MILLISECONDS);
+      timer(ELAPSED, "Client side elapsed time of the Solr requests", tags).record(elapsed, TimeUnit.MILLISECONDS);
+      timer(OVERHEAD, "Elapsed time of the Solr requests on top of QTime", tags).record(elapsed - qTime, TimeUnit.MILLISECONDS);
+      SolrDocumentList results = response instanceof QueryResponse ? ((QueryResponse) response).getResults() : null;
+      if (results != null) {
+        summary(FOUND, "Number of documents found by the Solr queries", tags).record(results.getNumFound());
+        summary(RETURNED, "Number of documents returned by the Solr queries", tags).record(results.size());
+      }
+    }
+    logSlowQuery(logType, event, solrQuery, qTime, elapsed);
+  }
+
+  public void recordFailure(LogType logType, String event) {
+    if (meterRegistry != null) {
+      Counter.builder(FAILURES)
+        .description("Failed Solr requests")
+        .tags(tags(logType, event))
+        .register(meterRegistry)
+        .increment();
+    }
+  }
+
+  private void logSlowQuery(LogType logType, String event, SolrQuery solrQuery, long qTime, long elapsed) {
+    long threshold = solrQueryTimeConfig.getSlowQueryThreshold();
+    if (threshold <= 0 || elapsed < threshold || !slowQueryLogger.isWarnEnabled()) {
+      return;
+    }
+    double sampleRate = solrQueryTimeConfig.getSlowQuerySampleRate();
+    if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+      return;
+    }
+    slowQueryLogger.warn("Slow Solr query: collection={} event={} user={} qTime={}ms elapsed={}ms query={}",
+      logType.getLabel(), event, LogSearchContext.getCurrentUsername(), qTime, elapsed, solrQuery);
+  }
+
+  private Tags tags(LogType logType, String event) {
+    return Tags.of("collection", logType.name().toLowerCase(), "event", event == null ? NO_EVENT : event);
+  }
+
+  private Timer timer(String name, String description, Tags tags) {
+    return Timer.builder(name)
+      .description(description)
+      .tags(tags)
+      .publishPercentiles(0.5, 0.95, 0.99)
+      .register(meterRegistry);
+  }
+
+  private DistributionSummary summary(String name, String description, Tags tags) {
+    return DistributionSummary.builder(name)
+      .description(description)
+      .tags(tags)
+      .publishPercentiles(0.5, 0.95, 0.99)
+      .register(meterRegistry);
+  }
+}
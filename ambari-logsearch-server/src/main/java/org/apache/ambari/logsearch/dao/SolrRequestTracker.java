@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import static org.apache.solr.common.SolrException.ErrorCode.SERVER_ERROR;
+import static org.apache.solr.common.SolrException.ErrorCode.SERVICE_UNAVAILABLE;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.ambari.logsearch.conf.SolrQueryAsyncConfig;
+import org.apache.ambari.logsearch.manager.RequestCancelledException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrException;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Keeps track of the in-flight Solr requests per requester (user session), so they can be cancelled.
+ * Solr 7 cannot abort a running query, so the requests are executed on worker threads: a cancel (or an exceeded wait time)
+ * releases the waiting server thread immediately, while the work on Solr side is bounded by the timeAllowed of the query.
+ * The worker thread pool is bounded: if every thread is busy and the queue is full, the request is executed on the caller
+ * thread, so it cannot be cancelled.
+ */
+@Named
+public class SolrRequestTracker {
+  private static final Logger logger = LogManager.getLogger(SolrRequestTracker.class);
+
+  @Inject
+  private SolrQueryAsyncConfig solrQueryAsyncConfig;
+
+  private ThreadPoolExecutor executorService;
+  private final Map<String, Set<Future<?>>> inFlightRequests = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  public void init() {
+    int threads = Math.max(1, solrQueryAsyncConfig.getCancellableThreads());
+    executorService = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+      new ArrayBlockingQueue<>(Math.max(1, solrQueryAsyncConfig.getCancellableQueueSize())),
+      new ThreadFactoryBuilder().setNameFormat("logsearch-solr-request-%d").setDaemon(true).build(),
+      new ThreadPoolExecutor.CallerRunsPolicy());
+    executorService.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Execute a Solr request on behalf of the requester. Without requester id the request is executed on the caller thread (cannot be cancelled).
+   * @param requesterId id of the requester (user session), the request can be cancelled by this id
+   * @param solrRequest the Solr call
+   * @param maxWaitMs max time to wait for the response, zero or negative means no limit
+   */
+  public <T> T execute(String requesterId, Callable<T> solrRequest, long maxWaitMs) throws SolrServerException, IOException {
+    if (requesterId == null) {
+      return call(solrRequest);
+    }
+    // registered before it is started, so it can be cancelled as soon as it runs
+    FutureTask<T> future = new FutureTask<>(solrRequest);
+    inFlightRequests.compute(requesterId, (id, futures) -> {
+      Set<Future<?>> requests = futures == null ? ConcurrentHashMap.newKeySet() : futures;
+      requests.add(future);
+      return requests;
+    });
+    try {
+      executorService.execute(future);
+      return maxWaitMs > 0 ? future.get(maxWaitMs, TimeUnit.MILLISECONDS) : future.get();
+    } catch (CancellationException e) {
+      throw new RequestCancelledException("Request was cancelled");
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new SolrException(SERVICE_UNAVAILABLE, String.format("No response from Solr within %d ms", maxWaitMs), e);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new RequestCancelledException("Request was interrupted");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SolrServerException) {
+        throw (SolrServerException) cause;
+      } else if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new SolrException(SERVER_ERROR, cause);
+    } finally {
+      inFlightRequests.computeIfPresent(requesterId, (id, futures) -> {
+        futures.remove(future);
+        return futures.isEmpty() ? null : futures;
+      });
+    }
+  }
+
+  /**
+   * Cancel every in-flight request of the requester.
+   * @return number of the cancelled requests
+   */
+  public int cancel(String requesterId) {
+    if (requesterId == null) {
+      return 0;
+    }
+    Set<Future<?>> requests = inFlightRequests.remove(requesterId);
+    if (requests == null) {
+      return 0;
+    }
+    int cancelled = 0;
+    for (Future<?> request : requests) {
+      if (request.cancel(true)) {
+        cancelled++;
+      }
+    }
+    logger.info("{} in-flight Solr request(s) cancelled", cancelled);
+    return cancelled;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (executorService != null) {
+      executorService.shutdownNow();
+    }
+  }
+
+  @VisibleForTesting
+  int getQueuedRequestCount() {
+    return executorService.getQueue().size();
+  }
+
+  public void setSolrQueryAsyncConfig(SolrQueryAsyncConfig solrQueryAsyncConfig) {
+    this.solrQueryAsyncConfig = solrQueryAsyncConfig;
+  }
+
+  private <T> T call(Callable<T> solrRequest) throws SolrServerException, IOException {
+    try {
+      return solrRequest.call();
+    } catch (SolrServerException | IOException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new SolrException(SERVER_ERROR, e);
+    }
+  }
+}
@@ -22,7 +22,7 @@ import org.apache.ambari.logsearch.common.LogSearchConstants;
 import org.apache.ambari.logsearch.common.LogType;
 import org.apache.ambari.logsearch.common.MessageEnums;
 import org.apache.ambari.logsearch.conf.SolrMetadataPropsConfig;
-import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.logging.log4j.LogManager;
@@ -30,28 +30,33 @@ import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.CloudSolrClient;
-import org.apache.solr.client.solrj.impl.HttpClientUtil;
 import org.apache.solr.client.solrj.request.schema.FieldTypeDefinition;
 import org.apache.solr.client.solrj.request.schema.SchemaRequest;
 import org.apache.solr.client.solrj.response.LukeResponse;
 import org.apache.solr.client.solrj.response.LukeResponse.FieldInfo;
 import org.apache.solr.client.solrj.response.schema.SchemaResponse;
 import org.apache.solr.common.SolrException;
+import org.apache.solr.common.cloud.ClusterState;
 import org.apache.solr.common.cloud.Replica;
 import org.apache.solr.common.cloud.Slice;
-import org.apache.solr.common.cloud.ZkStateReader;
 import org.apache.solr.common.util.JavaBinCodec;
 import org.apache.solr.common.util.NamedList;
 import org.codehaus.jettison.json.JSONObject;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 
@@ -69,15 +74,22 @@ public class SolrSchemaFieldDao {
   
   @Inject
   private SolrMetadataPropsConfig solrMetadataPropsConfig;
+
+  @Inject
+  private CloseableHttpClient solrHttpClient;
   
+  @Inject
+  private SolrQueryExecutor solrQueryExecutor;
+
   private int retryCount;
   private int skipCount;
-  
-  private Map<String, String> serviceSchemaFieldNameMap = new HashMap<>();
-  private Map<String, String> serviceSchemaFieldTypeMap = new HashMap<>();
-  private Map<String, String> auditSchemaFieldNameMap = new HashMap<>();
-  private Map<String, String> auditSchemaFieldTypeMap = new HashMap<>();
-  
+
+  /** luke field types of the queried cores by collection and core url, reused while the index version of the core is the same */
+  private final Map<String, Map<String, CoreFields>> coreFieldsCache = new ConcurrentHashMap<>();
+
+  private volatile SchemaFields serviceSchemaFields = new SchemaFields(Collections.emptyMap(), Collections.emptyMap());
+  private volatile SchemaFields auditSchemaFields = new SchemaFields(Collections.emptyMap(), Collections.emptyMap());
+
   @Scheduled(fixedDelay = RETRY_SECOND * 1000)
   public void populateAllSchemaFields() {
     if (skipCount > 0) {
@@ -86,84 +98,150 @@ public class SolrSchemaFieldDao {
     }
     if (serviceLogsSolrDao.getSolrCollectionState().isSolrCollectionReady()) {
       CloudSolrClient serviceSolrClient = (CloudSolrClient) serviceLogsSolrDao.getSolrTemplate().getSolrClient();
-      populateSchemaFields(serviceSolrClient, serviceSchemaFieldNameMap, serviceSchemaFieldTypeMap);
+      SchemaFields schemaFields = populateSchemaFields(serviceSolrClient);
+      if (schemaFields != null && !schemaFields.equals(serviceSchemaFields)) {
+        serviceSchemaFields = schemaFields;
+      }
     }
     if (auditSolrDao.getSolrCollectionState().isSolrCollectionReady()) {
       CloudSolrClient auditSolrClient = (CloudSolrClient) auditSolrDao.getSolrTemplate().getSolrClient();
-      populateSchemaFields(auditSolrClient, auditSchemaFieldNameMap, auditSchemaFieldTypeMap);
+      SchemaFields schemaFields = populateSchemaFields(auditSolrClient);
+      if (schemaFields != null && !schemaFields.equals(auditSchemaFields)) {
+        auditSchemaFields = schemaFields;
+      }
     }
   }
 
-  private void populateSchemaFields(CloudSolrClient solrClient, Map<String, String> schemaFieldNameMap,
-      Map<String, String> schemaFieldTypeMap) {
+  private SchemaFields populateSchemaFields(CloudSolrClient solrClient) {
     if (solrClient != null) {
       logger.debug("Started thread to get fields for collection=" + solrClient.getDefaultCollection());
-      List<LukeResponse> lukeResponses = null;
+      Collection<Map<String, String>> coreFieldTypes = null;
       SchemaResponse schemaResponse = null;
       try {
-        lukeResponses = getLukeResponsesForCores(solrClient);
+        coreFieldTypes = getFieldTypesForCores(solrClient);
 
         SolrRequest<SchemaResponse> schemaRequest = new SchemaRequest();
         schemaRequest.setMethod(SolrRequest.METHOD.GET);
         schemaRequest.setPath("/schema");
         schemaResponse = schemaRequest.process(solrClient);
         
-        logger.debug("populateSchemaFields() collection=" + solrClient.getDefaultCollection() + ", luke=" + lukeResponses +
+        logger.debug("populateSchemaFields() collection=" + solrClient.getDefaultCollection() + ", luke=" + coreFieldTypes +
             ", schema= " + schemaResponse);
       } catch (SolrException | SolrServerException | IOException e) {
         logger.error("Error occured while popuplating field. collection=" + solrClient.getDefaultCollection(), e);
       }
 
       if (schemaResponse != null) {
-        extractSchemaFieldsName(lukeResponses, schemaResponse, schemaFieldNameMap, schemaFieldTypeMap);
+        SchemaFields schemaFields = extractSchemaFieldsName(coreFieldTypes, schemaResponse);
         logger.debug("Populate fields for collection " + solrClient.getDefaultCollection()+ " was successful, next update it after " +
             solrMetadataPropsConfig.getPopulateIntervalMins() + " minutes");
         retryCount = 0;
         skipCount = (solrMetadataPropsConfig.getPopulateIntervalMins() * 60) / RETRY_SECOND - 1;
+        return schemaFields;
       }
       else {
         retryCount++;
         logger.error("Error while populating fields for collection " + solrClient.getDefaultCollection() + ", retryCount=" + retryCount);
       }
     }
+    return null;
   }
   
   private static final String LUKE_REQUEST_URL_SUFFIX = "admin/luke?numTerms=0&wt=javabin&version=2";
-  
-  @SuppressWarnings("unchecked")
-  private List<LukeResponse> getLukeResponsesForCores(CloudSolrClient solrClient) {
-    ZkStateReader zkStateReader = solrClient.getZkStateReader();
-    Collection<Slice> activeSlices = zkStateReader.getClusterState().getCollection(solrClient.getDefaultCollection()).getActiveSlices();
-    
-    List<LukeResponse> lukeResponses = new ArrayList<>();
+  private static final String LUKE_INDEX_REQUEST_URL_SUFFIX = LUKE_REQUEST_URL_SUFFIX + "&show=index";
+
+  /**
+   * Get the field types of one replica per active shard (the leader if it is available), the replicas are queried in parallel.
+   * The full luke response is requested only from the cores whose index version changed since the last refresh.
+   */
+  @VisibleForTesting
+  Collection<Map<String, String>> getFieldTypesForCores(CloudSolrClient solrClient) {
+    String collection = solrClient.getDefaultCollection();
+    ClusterState clusterState = solrClient.getZkStateReader().getClusterState();
+    Collection<Slice> activeSlices = clusterState.getCollection(collection).getActiveSlices();
+    Map<String, CoreFields> cachedCoreFields = coreFieldsCache.getOrDefault(collection, Collections.emptyMap());
+
+    Map<String, CompletableFuture<CoreFields>> coreFieldsFutures = new HashMap<>();
     for (Slice slice : activeSlices) {
-      for (Replica replica : slice.getReplicas()) {
-        try (CloseableHttpClient httpClient = HttpClientUtil.createClient(null)) {
-          HttpGet request = new HttpGet(replica.getCoreUrl() + LUKE_REQUEST_URL_SUFFIX);
-          HttpResponse response = httpClient.execute(request);
-          @SuppressWarnings("resource") // JavaBinCodec implements Closeable, yet it can't be closed if it is used for unmarshalling only
-          NamedList<Object> lukeData = (NamedList<Object>) new JavaBinCodec().unmarshal(response.getEntity().getContent());
-          LukeResponse lukeResponse = new LukeResponse();
-          lukeResponse.setResponse(lukeData);
-          lukeResponses.add(lukeResponse);
-        } catch (IOException e) {
-          logger.error("Exception during getting luke responses", e);
+      Replica replica = selectReplica(slice, clusterState.getLiveNodes());
+      if (replica != null) {
+        String coreUrl = replica.getCoreUrl();
+        coreFieldsFutures.put(coreUrl, solrQueryExecutor.supplyAsync(() -> getCoreFields(coreUrl, cachedCoreFields.get(coreUrl))));
+      }
+    }
+    Map<String, CoreFields> currentCoreFields = new HashMap<>();
+    for (Entry<String, CompletableFuture<CoreFields>> coreFieldsFuture : coreFieldsFutures.entrySet()) {
+      CoreFields coreFields = SolrQueryExecutor.join(coreFieldsFuture.getValue());
+      if (coreFields != null) {
+        currentCoreFields.put(coreFieldsFuture.getKey(), coreFields);
+      }
+    }
+    coreFieldsCache.put(collection, currentCoreFields);
+    List<Map<String, String>> coreFieldTypes = new ArrayList<>();
+    for (CoreFields coreFields : currentCoreFields.values()) {
+      coreFieldTypes.add(coreFields.fieldTypes);
+    }
+    return coreFieldTypes;
+  }
+
+  private Replica selectReplica(Slice slice, Set<String> liveNodes) {
+    Replica leader = slice.getLeader();
+    if (leader != null && leader.getState() == Replica.State.ACTIVE && liveNodes.contains(leader.getNodeName())) {
+      return leader;
+    }
+    for (Replica replica : slice.getReplicas()) {
+      if (replica.getState() == Replica.State.ACTIVE && liveNodes.contains(replica.getNodeName())) {
+        return replica;
+      }
+    }
+    return null;
+  }
+
+  private CoreFields getCoreFields(String coreUrl, CoreFields cachedCoreFields) {
+    try {
+      if (cachedCoreFields != null && cachedCoreFields.indexVersion != null) {
+        Object indexVersion = getIndexVersion(getLukeResponse(coreUrl + LUKE_INDEX_REQUEST_URL_SUFFIX));
+        if (cachedCoreFields.indexVersion.equals(indexVersion)) {
+          return cachedCoreFields;
         }
       }
+      LukeResponse lukeResponse = getLukeResponse(coreUrl + LUKE_REQUEST_URL_SUFFIX);
+      Map<String, String> fieldTypes = new HashMap<>();
+      for (Entry<String, FieldInfo> e : lukeResponse.getFieldInfo().entrySet()) {
+        fieldTypes.put(e.getKey(), e.getValue().getType());
+      }
+      return new CoreFields(getIndexVersion(lukeResponse), fieldTypes);
+    } catch (IOException e) {
+      logger.error("Exception during getting luke response of core " + coreUrl, e);
+      return null;
     }
-    return lukeResponses;
   }
 
-  private void extractSchemaFieldsName(List<LukeResponse> lukeResponses, SchemaResponse schemaResponse,
-      Map<String, String> schemaFieldNameMap, Map<String, String> schemaFieldTypeMap) {
+  @SuppressWarnings("unchecked")
+  private LukeResponse getLukeResponse(String url) throws IOException {
+    HttpGet request = new HttpGet(url);
+    try (CloseableHttpResponse response = solrHttpClient.execute(request)) {
+      @SuppressWarnings("resource") // JavaBinCodec implements Closeable, yet it can't be closed if it is used for unmarshalling only
+      NamedList<Object> lukeData = (NamedList<Object>) new JavaBinCodec().unmarshal(response.getEntity().getContent());
+      LukeResponse lukeResponse = new LukeResponse();
+      lukeResponse.setResponse(lukeData);
+      return lukeResponse;
+    }
+  }
+
+  private Object getIndexVersion(LukeResponse lukeResponse) {
+    return lukeResponse.getIndexInfo() != null ? lukeResponse.getIndexInfo().get("version") : null;
+  }
+
+  private SchemaFields extractSchemaFieldsName(Collection<Map<String, String>> coreFieldTypes, SchemaResponse schemaResponse) {
     try {
       HashMap<String, String> _schemaFieldNameMap = new HashMap<>();
       HashMap<String, String> _schemaFieldTypeMap = new HashMap<>();
       
-      for (LukeResponse lukeResponse : lukeResponses) {
-        for (Entry<String, FieldInfo> e : lukeResponse.getFieldInfo().entrySet()) {
+      for (Map<String, String> fieldTypes : coreFieldTypes) {
+        for (Entry<String, String> e : fieldTypes.entrySet()) {
           String name = e.getKey();
-          String type = e.getValue().getType();
+          String type = e.getValue();
           if (!name.contains("@") && !name.startsWith("_") && !name.contains("_md5") && !name.contains("_ms") &&
               !name.contains(LogSearchConstants.NGRAM_PREFIX) && !name.contains("tags") && !name.contains("_str")) {
             _schemaFieldNameMap.put(name, type);
@@ -190,25 +268,83 @@ public class SolrSchemaFieldDao {
       }
       
       if (_schemaFieldNameMap.isEmpty() || _schemaFieldTypeMap.isEmpty()) {
-        return;
+        return null;
       }
       
-      synchronized (this) {
-        schemaFieldNameMap.clear();
-        schemaFieldNameMap.putAll(_schemaFieldNameMap);
-        schemaFieldTypeMap.clear();
-        schemaFieldTypeMap.putAll(_schemaFieldTypeMap);
-      }
+      return new SchemaFields(_schemaFieldNameMap, _schemaFieldTypeMap);
     } catch (Exception e) {
       logger.error(e + "Credentials not specified in logsearch.properties " + MessageEnums.ERROR_SYSTEM);
+      return null;
     }
   }
 
+  /**
+   * @return immutable snapshot of the schema fields and field types, replaced as a whole on refresh only if the fields
+   * changed, so the identity of the returned snapshot (and its maps) can be used to detect schema changes
+   */
+  public SchemaFields getSchemaFields(LogType logType) {
+    return LogType.AUDIT == logType ? auditSchemaFields : serviceSchemaFields;
+  }
+
+  /**
+   * @return the schema fields (name -> type) of the current snapshot, see {@link #getSchemaFields(LogType)}
+   */
   public Map<String, String> getSchemaFieldNameMap(LogType logType) {
-    return LogType.AUDIT == logType ? auditSchemaFieldNameMap : serviceSchemaFieldNameMap;
+    return getSchemaFields(logType).getFieldNames();
   }
 
+  /**
+   * @return the schema field types (type name -> definition json) of the current snapshot, see {@link #getSchemaFields(LogType)}
+   */
   public Map<String, String> getSchemaFieldTypeMap(LogType logType) {
-    return LogType.AUDIT == logType ? auditSchemaFieldTypeMap : serviceSchemaFieldTypeMap;
+    return getSchemaFields(logType).getFieldTypes();
+  }
+
+  /**
+   * Schema fields and field types of a collection, read together from the same refresh
+   */
+  public static final class SchemaFields {
+    private final Map<String, String> fieldNames;
+    private final Map<String, String> fieldTypes;
+
+    private SchemaFields(Map<String, String> fieldNames, Map<String, String> fieldTypes) {
+      this.fieldNames = Collections.unmodifiableMap(fieldNames);
+      this.fieldTypes = Collections.unmodifiableMap(fieldTypes);
+    }
+
+    public Map<String, String> getFieldNames() {
+      return fieldNames;
+    }
+
+    public Map<String, String> getFieldTypes() {
+      return fieldTypes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof SchemaFields)) {
+        return false;
+      }
+      SchemaFields other = (SchemaFields) o;
+      return fieldNames.equals(other.fieldNames) && fieldTypes.equals(other.fieldTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * fieldNames.hashCode() + fieldTypes.hashCode();
+    }
+  }
+
+  private static class CoreFields {
+    private final Object indexVersion;
+    private final Map<String, String> fieldTypes;
+
+    private CoreFields(Object indexVersion, Map<String, String> fieldTypes) {
+      this.indexVersion = indexVersion;
+      this.fieldTypes = fieldTypes;
+    }
   }
 }
@@ -42,8 +42,10 @@ public class DocConstants {
     public static final String I_MESSAGE_D = "Include query which will query against message column";
     public static final String E_MESSAGE_D = "Exclude query which will query against message column";
     public static final String IS_LAST_PAGE_D = "Show last page (true/false)";
+    public static final String CURSOR_MARK_D = "Cursor based paging: use * for the first page, then the nextCursorMark of the previous response (page and lastPage are ignored)";
     public static final String FIELD_D = "Get values for particular field";
     public static final String FORMAT_D = "File Export format, can be 'txt' or 'json'";
+    public static final String COMPRESS_D = "Compress the exported file with gzip (true/false)";
     public static final String TOP = "Number that defines how many top element you would like to see.";
     public static final String USER_D = "Filter for users (comma separated list)";
     public static final String LOG_ID_D = "Id of the log component";
@@ -75,7 +77,7 @@ public class DocConstants {
     public static final String ID_D = "Log id value for traversing to that particular record with that log id";
     public static final String KEYWORD_TYPE_D = "Serching the find param value in previous or next in paginated table";
     public static final String TOKEN_D = "unique number used along with FIND_D. The request can be canceled using this token";
-    public static final String SOURCE_LOG_ID_D = "fetch the record set having that log Id";
+    public static final String SOURCE_LOG_ID_D = "fetch the record set having that log Id. Used along with FIND_D as the id of the current page boundary log (last log for next, first log for previous) to seek the keyword from";
     public static final String NUMBER_ROWS_D = "Getting rows after particular log entry - used in 'Preview' option";
     public static final String SCROLL_TYPE_D = "Used in 'Preview' feature for getting records 'after' or 'before'";
     public static final String UTC_OFFSET_D = "timezone offset";
@@ -88,6 +90,7 @@ public class DocConstants {
     public static final String PURGE_LOGS_OD = "Purge service logs based by criteria";
     public static final String GET_HOSTS_OD = "Get the list of service hosts currently active or having data in Solr";
     public static final String GET_COMPONENTS_OD = "Get the list of service components currently active or having data in Solr";
+    public static final String GET_DASHBOARD_OD = "Get the clusters, hosts, components (with their counts) and schema fields of the service logs dashboard in one response";
     public static final String GET_AGGREGATED_INFO_OD = "not required";
     public static final String GET_LOG_LEVELS_COUNT_OD = "Get Log levels with their counts";
     public static final String GET_COMPONENTS_COUNT_OD = "Get components with their counts";
@@ -100,7 +103,7 @@ public class DocConstants {
     public static final String GET_HOST_LIST_BY_COMPONENT_OD = "Get host list of components";
     public static final String GET_SERVICE_LOGS_SCHEMA_FIELD_NAME_OD = "Get service logs schema fields";
     public static final String GET_AFTER_BEFORE_LOGS_OD = "Preview feature data";
-    public static final String REQUEST_CANCEL = "Cancel an ongoing solr request";
+    public static final String REQUEST_CANCEL = "Cancel the ongoing solr requests of the current user session";
     public static final String GET_HOST_LOGFILES_OD = "Get the log files of the components of a host";
   }
 
@@ -139,5 +142,7 @@ public class DocConstants {
     public static final String SERVICE_LOGS_STATUS_OD = "Get statuses for service log collection (not health state - show true if something already done)";
     public static final String AUDIT_LOGS_STATUS_OD = "Get statuses for collections (not health state - show true if something already done)";
     public static final String METADATA_STATUS_OD = "Get statuses for metadata collection (not health state - show true if something already done)";
+    public static final String SOLR_CONNECTIONS_STATUS_OD = "Get the statistics of the shared HTTP connection pool of the Solr clients";
+    public static final String METRICS_STATUS_OD = "Get the latency, result size and cache metrics of the Solr queries and REST endpoints (times are in milliseconds), can be filtered by metric name prefix with the name parameter";
   }
 }
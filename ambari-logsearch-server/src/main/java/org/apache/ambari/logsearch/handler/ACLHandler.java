@@ -29,12 +29,24 @@ import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.data.ACL;
 import org.apache.zookeeper.data.Stat;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Sets the configured ACLs on the znodes of a collection and its config set. The tree is walked level by level with
+ * asynchronous ZooKeeper requests (in batches), and the ACLs are set only on the znodes where they differ.
+ */
 public class ACLHandler implements SolrZkRequestHandler<Boolean> {
 
   private static final Logger logger = LogManager.getLogger(ACLHandler.class);
 
+  private static final int MAX_PENDING_REQUESTS = 500;
+
   @Override
   public Boolean handle(CloudSolrClient solrClient, SolrPropsConfig solrPropsConfig) throws Exception {
     List<ACL> aclsToSetList = solrPropsConfig.getZkAcls();
@@ -77,7 +89,7 @@ public class ACLHandler implements SolrZkRequestHandler<Boolean> {
       for (ACL newAcl : aclList2) {
         if (acl.getId() != null && acl.getId().getId().equals(newAcl.getId().getId())
           && acl.getPerms() != newAcl.getPerms()) {
-          logger.info("ACL for '{}' differs: '{}' on znode, should be '{}'",
+          logger.debug("ACL for '{}' differs: '{}' on znode, should be '{}'",
             acl.getId().getId(), acl.getPerms(), newAcl.getPerms());
           return true;
         }
@@ -88,10 +100,82 @@ public class ACLHandler implements SolrZkRequestHandler<Boolean> {
 
   private void setRecursivelyOn(SolrZooKeeper solrZooKeeper, String node, List<ACL> acls)
     throws KeeperException, InterruptedException {
-    solrZooKeeper.setACL(node, acls, -1);
-    for (String child : solrZooKeeper.getChildren(node, null)) {
-      String path = node.endsWith("/") ? node + child : node + "/" + child;
-      setRecursivelyOn(solrZooKeeper, path, acls);
+    AtomicInteger updatedNodes = new AtomicInteger();
+    int visitedNodes = 0;
+    List<String> level = Collections.singletonList(node);
+    while (!level.isEmpty()) {
+      List<String> nextLevel = new ArrayList<>();
+      for (int i = 0; i < level.size(); i += MAX_PENDING_REQUESTS) {
+        List<String> batch = level.subList(i, Math.min(level.size(), i + MAX_PENDING_REQUESTS));
+        nextLevel.addAll(setOnBatch(solrZooKeeper, batch, acls, updatedNodes));
+      }
+      visitedNodes += level.size();
+      level = nextLevel;
+    }
+    logger.info("Acls updated on {} of {} znodes under {}", updatedNodes.get(), visitedNodes, node);
+  }
+
+  /**
+   * Reads the ACLs and the children of the nodes asynchronously, then sets the ACLs asynchronously where they differ.
+   * @return the paths of the children of the nodes
+   */
+  private List<String> setOnBatch(SolrZooKeeper solrZooKeeper, List<String> nodes, List<ACL> acls, AtomicInteger updatedNodes)
+    throws KeeperException, InterruptedException {
+    Queue<String> children = new ConcurrentLinkedQueue<>();
+    Queue<String> nodesToUpdate = new ConcurrentLinkedQueue<>();
+    Queue<KeeperException> errors = new ConcurrentLinkedQueue<>();
+    CountDownLatch readLatch = new CountDownLatch(nodes.size() * 2);
+    for (String node : nodes) {
+      solrZooKeeper.getACL(node, new Stat(), (rc, path, ctx, nodeAcls, stat) -> {
+        if (!isError(rc, path, errors) && isRefreshAclsNeeded(acls, nodeAcls)) {
+          nodesToUpdate.add(path);
+        }
+        readLatch.countDown();
+      }, null);
+      solrZooKeeper.getChildren(node, false, (rc, path, ctx, nodeChildren) -> {
+        if (!isError(rc, path, errors)) {
+          for (String child : nodeChildren) {
+            children.add(path.endsWith("/") ? path + child : path + "/" + child);
+          }
+        }
+        readLatch.countDown();
+      }, null);
+    }
+    readLatch.await();
+    throwFirstError(errors);
+
+    CountDownLatch writeLatch = new CountDownLatch(nodesToUpdate.size());
+    for (String node : nodesToUpdate) {
+      solrZooKeeper.setACL(node, acls, -1, (rc, path, ctx, stat) -> {
+        if (!isError(rc, path, errors)) {
+          updatedNodes.incrementAndGet();
+        }
+        writeLatch.countDown();
+      }, null);
+    }
+    writeLatch.await();
+    throwFirstError(errors);
+    return new ArrayList<>(children);
+  }
+
+  /**
+   * Nodes deleted during the walk are skipped, other failures are collected.
+   */
+  private boolean isError(int rc, String path, Queue<KeeperException> errors) {
+    KeeperException.Code code = KeeperException.Code.get(rc);
+    if (code == KeeperException.Code.OK) {
+      return false;
+    }
+    if (code != KeeperException.Code.NONODE) {
+      errors.add(KeeperException.create(code, path));
+    }
+    return true;
+  }
+
+  private void throwFirstError(Queue<KeeperException> errors) throws KeeperException {
+    KeeperException error = errors.peek();
+    if (error != null) {
+      throw error;
     }
   }
 }
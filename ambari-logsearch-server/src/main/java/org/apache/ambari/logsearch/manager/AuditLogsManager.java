@@ -22,26 +22,27 @@ package org.apache.ambari.logsearch.manager;
 import static org.apache.ambari.logsearch.solr.SolrConstants.AuditLogConstants.AUDIT_COMPONENT;
 import static org.apache.ambari.logsearch.solr.SolrConstants.CommonLogConstants.CLUSTER;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.ambari.logsearch.common.LabelFallbackHandler;
 import org.apache.ambari.logsearch.common.LogType;
 import org.apache.ambari.logsearch.common.StatusMessage;
 import org.apache.ambari.logsearch.conf.UIMappingConfig;
 import org.apache.ambari.logsearch.dao.AuditSolrDao;
+import org.apache.ambari.logsearch.dao.SolrQueryCache;
 import org.apache.ambari.logsearch.dao.SolrSchemaFieldDao;
 import org.apache.ambari.logsearch.model.metadata.AuditFieldMetadataResponse;
 import org.apache.ambari.logsearch.model.metadata.FieldMetadata;
@@ -62,6 +63,7 @@ import org.apache.ambari.logsearch.solr.model.SolrComponentTypeLogData;
 import org.apache.ambari.logsearch.util.DownloadUtil;
 import org.apache.ambari.logsearch.util.SolrUtil;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrQuery;
@@ -72,6 +74,7 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.data.solr.core.query.SimpleFacetQuery;
 import org.springframework.data.solr.core.query.SimpleQuery;
 
+import com.google.gson.Gson;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
@@ -96,9 +99,18 @@ public class AuditLogsManager extends ManagerBase<AuditLogData, AuditLogResponse
   private UIMappingConfig uiMappingConfig;
   @Inject
   private LabelFallbackHandler labelFallbackHandler;
+  @Inject
+  private SolrQueryCache solrQueryCache;
+
+  private volatile SchemaFieldMetadataSnapshot<AuditFieldMetadataResponse> auditSchemaMetadata;
 
   public AuditLogResponse getLogs(AuditLogRequest request) {
     String event = "/audit/logs";
+    if (StringUtils.isNotBlank(request.getCursorMark())) {
+      request.setLastPage(false);
+      SimpleQuery cursorQuery = conversionService.convert(request, SimpleQuery.class);
+      return getLogAsCursorMarkProvided(cursorQuery, auditSolrDao, request.getCursorMark(), event);
+    }
     SimpleQuery solrQuery = conversionService.convert(request, SimpleQuery.class);
     if (request.isLastPage()) {
       return getLastPage(auditSolrDao, solrQuery, event);
@@ -130,6 +142,25 @@ public class AuditLogsManager extends ManagerBase<AuditLogData, AuditLogResponse
     return docList;
   }
 
+  /**
+   * Same as {@link #getLogs(AuditLogRequest)}, but the page and cursor based listings are streamed from Solr to the client
+   * without binding the documents to beans. Last page requests are answered by {@link #getLogs(AuditLogRequest)}.
+   */
+  public Response getLogsAsStream(AuditLogRequest request) {
+    String event = "/audit/logs";
+    String cursorMark = StringUtils.isNotBlank(request.getCursorMark()) ? request.getCursorMark() : null;
+    if (cursorMark == null && request.isLastPage()) {
+      return Response.ok(getLogs(request)).build();
+    }
+    request.setLastPage(false);
+    SimpleQuery solrQuery = conversionService.convert(request, SimpleQuery.class);
+    StreamingOutput output = getLogAsStreamProvided(solrQuery, auditSolrDao, cursorMark, SolrAuditLogData.class, () -> {
+      request.setLastPage(true);
+      return getLastPage(auditSolrDao, conversionService.convert(request, SimpleQuery.class), event);
+    }, event);
+    return Response.ok(output, MediaType.APPLICATION_JSON).build();
+  }
+
   public Map<String, String> getAuditComponents(String clusters) {
     SolrQuery solrQuery = new SolrQuery();
     solrQuery.setQuery("*:*");
@@ -141,9 +172,10 @@ public class AuditLogsManager extends ManagerBase<AuditLogData, AuditLogResponse
   }
 
   public BarGraphDataListResponse getAuditBarGraphData(AuditBarGraphRequest request) {
+    solrQueryCache.alignTimeRange(request);
     SolrQuery solrQuery = conversionService.convert(request, SolrQuery.class);
-    QueryResponse response = auditSolrDao.process(solrQuery);
-    return responseDataGenerator.generateBarGraphDataResponseWithRanges(response, SolrConstants.AuditLogConstants.AUDIT_COMPONENT, true);
+    return responseDataGenerator.generateBarGraphDataResponseFromHistogram(auditSolrDao.processHistogram(solrQuery,
+      SolrConstants.AuditLogConstants.AUDIT_EVTTIME, SolrConstants.AuditLogConstants.AUDIT_COMPONENT, "/audit/logs/bargraph"), true);
   }
 
   public BarGraphDataListResponse topResources(TopFieldAuditLogRequest request) {
@@ -153,56 +185,73 @@ public class AuditLogsManager extends ManagerBase<AuditLogData, AuditLogResponse
   }
 
   public AuditFieldMetadataResponse getAuditLogSchemaMetadata() {
-    Map<String, List<FieldMetadata>> overrides = new HashMap<>();
-    List<FieldMetadata> defaults = new ArrayList<>();
+    return getAuditLogSchemaMetadataSnapshot().getMetadata();
+  }
 
+  /**
+   * @return the audit field metadata, computed only once for every schema field snapshot
+   */
+  public SchemaFieldMetadataSnapshot<AuditFieldMetadataResponse> getAuditLogSchemaMetadataSnapshot() {
     Map<String, String> schemaFieldsMap = solrSchemaFieldDao.getSchemaFieldNameMap(LogType.AUDIT);
+    SchemaFieldMetadataSnapshot<AuditFieldMetadataResponse> snapshot = auditSchemaMetadata;
+    if (snapshot == null || !snapshot.isComputedFrom(schemaFieldsMap)) {
+      snapshot = new SchemaFieldMetadataSnapshot<>(schemaFieldsMap, createAuditLogSchemaMetadata(schemaFieldsMap));
+      auditSchemaMetadata = snapshot;
+    }
+    return snapshot;
+  }
+
+  private AuditFieldMetadataResponse createAuditLogSchemaMetadata(Map<String, String> schemaFieldsMap) {
+    Map<String, List<FieldMetadata>> overrides = new HashMap<>();
+    List<FieldMetadata> defaults = new ArrayList<>();
 
     Map<String, Map<String, String>> fieldLabelMap = uiMappingConfig.getMergedAuditFieldLabelMap();
-    Map<String, List<String>> fieldVisibleeMap = uiMappingConfig.getMergedAuditFieldVisibleMap();
-    Map<String, List<String>> fieldExcludeMap = uiMappingConfig.getMergedAuditFieldExcludeMap();
-    Map<String, List<String>> fieldFilterableExcludeMap = uiMappingConfig.getMergedAuditFieldFilterableExcludesMap();
+    Map<String, Set<String>> fieldVisibleMap = uiMappingConfig.getMergedAuditFieldVisibleSetMap();
+    Map<String, Set<String>> fieldExcludeMap = uiMappingConfig.getMergedAuditFieldExcludeSetMap();
+    Map<String, Set<String>> fieldFilterableExcludeMap = uiMappingConfig.getMergedAuditFieldFilterableExcludesSetMap();
 
     Map<String, String> commonFieldLabels = uiMappingConfig.getAuditFieldCommonLabels();
-    List<String> commonFieldVisibleList = uiMappingConfig.getAuditFieldCommonVisibleList();
-    List<String> commonFieldExcludeList = uiMappingConfig.getAuditFieldCommonExcludeList();
-    List<String> commonFieldFilterableExcludeList = uiMappingConfig.getAuditFieldCommonExcludeList();
+    Set<String> commonFieldVisibleSet = uiMappingConfig.getAuditFieldCommonVisibleSet();
+    Set<String> commonFieldExcludeSet = uiMappingConfig.getAuditFieldCommonExcludeSet();
+    Set<String> commonFieldFilterableExcludeSet = uiMappingConfig.getAuditFieldCommonFilterableExcludeSet();
 
     Map<String, String> componentLabels = uiMappingConfig.getAuditComponentLabels();
 
-    for (Map.Entry<String, String> component : componentLabels.entrySet()) {
-      String componentName = component.getKey();
+    boolean fallbackEnabled = labelFallbackHandler.isEnabled();
+    Map<String, String> fallbackLabels = new HashMap<>();
+    if (fallbackEnabled) {
+      for (String field : schemaFieldsMap.keySet()) {
+        fallbackLabels.put(field, labelFallbackHandler.fallback(field, true, true, true,
+          uiMappingConfig.getAuditFieldFallbackPrefixes(), uiMappingConfig.getAuditFieldFallbackSuffixes()));
+      }
+    }
+
+    for (String componentName : componentLabels.keySet()) {
+      Map<String, String> labels = fieldLabelMap.getOrDefault(componentName, Collections.emptyMap());
+      Set<String> excludes = fieldExcludeMap.getOrDefault(componentName, Collections.emptySet());
+      Set<String> filterableExcludes = fieldFilterableExcludeMap.getOrDefault(componentName, Collections.emptySet());
+      Set<String> visibles = fieldVisibleMap.getOrDefault(componentName, Collections.emptySet());
       List<FieldMetadata> auditComponentFieldMetadataList = new ArrayList<>();
-      for (Map.Entry<String, String> fieldEntry : schemaFieldsMap.entrySet()) {
-        String field = fieldEntry.getKey();
-        if (!fieldExcludeMap.containsKey(field) && !commonFieldExcludeList.contains(field)) {
-          String fieldLabel = fieldLabelMap.get(componentName) != null ? fieldLabelMap.get(componentName).get(field): null;
-          String fallbackedFieldLabel = labelFallbackHandler.fallbackIfRequired(field, fieldLabel,
-            true, true, true,
-            uiMappingConfig.getAuditFieldFallbackPrefixes(),
-            uiMappingConfig.getAuditFieldFallbackSuffixes());
-
-          Boolean excludeFromFilter = fieldFilterableExcludeMap.get(componentName) != null && fieldFilterableExcludeMap.get(componentName).contains(field);
-          Boolean visible = fieldVisibleeMap.get(componentName) != null && fieldVisibleeMap.get(componentName).contains(field);
-          auditComponentFieldMetadataList.add(new FieldMetadata(field, fallbackedFieldLabel, !excludeFromFilter, visible));
+      for (String field : schemaFieldsMap.keySet()) {
+        if (!excludes.contains(field) && !commonFieldExcludeSet.contains(field)) {
+          String fieldLabel = labels.get(field);
+          String fallbackedFieldLabel = fallbackEnabled && StringUtils.isBlank(fieldLabel) ? fallbackLabels.get(field) : fieldLabel;
+          auditComponentFieldMetadataList.add(new FieldMetadata(field, fallbackedFieldLabel,
+            !filterableExcludes.contains(field), visibles.contains(field)));
         }
-        overrides.put(componentName, auditComponentFieldMetadataList);
       }
+      overrides.put(componentName, Collections.unmodifiableList(auditComponentFieldMetadataList));
     }
 
-    for (Map.Entry<String, String> fieldEntry : schemaFieldsMap.entrySet()) {
-      String field = fieldEntry.getKey();
-      if (!commonFieldExcludeList.contains(field)) {
+    for (String field : schemaFieldsMap.keySet()) {
+      if (!commonFieldExcludeSet.contains(field)) {
         String fieldLabel = commonFieldLabels.get(field);
-        Boolean visible = commonFieldVisibleList.contains(field);
-        Boolean excludeFromFilter = commonFieldFilterableExcludeList.contains(field);
-        String fallbackedFieldLabel = labelFallbackHandler.fallbackIfRequired(field, fieldLabel,
-          true, true, true,
-          uiMappingConfig.getAuditFieldFallbackPrefixes(), uiMappingConfig.getAuditFieldFallbackSuffixes());
-        defaults.add(new FieldMetadata(field, fallbackedFieldLabel, !excludeFromFilter, visible));
+        String fallbackedFieldLabel = fallbackEnabled && StringUtils.isBlank(fieldLabel) ? fallbackLabels.get(field) : fieldLabel;
+        defaults.add(new FieldMetadata(field, fallbackedFieldLabel,
+          !commonFieldFilterableExcludeSet.contains(field), commonFieldVisibleSet.contains(field)));
       }
     }
-    return new AuditFieldMetadataResponse(defaults, overrides);
+    return new AuditFieldMetadataResponse(Collections.unmodifiableList(defaults), Collections.unmodifiableMap(overrides));
   }
 
   public BarGraphDataListResponse getServiceLoad(AuditServiceLoadRequest request) {
@@ -221,35 +270,37 @@ public class AuditLogsManager extends ManagerBase<AuditLogData, AuditLogResponse
 
     String dataFormat = request.getFormat();
 
-    try {
-      QueryResponse queryResponse = auditSolrDao.process(facetQuery);
-      BarGraphDataListResponse vBarUserDataList = responseDataGenerator.generateSecondLevelBarGraphDataResponse(queryResponse, 0);
-      BarGraphDataListResponse vBarResourceDataList = responseDataGenerator.generateSecondLevelBarGraphDataResponse(queryResponse, 1);
-      String data;
-      if ("text".equals(dataFormat)) {
-        StringWriter stringWriter = new StringWriter();
-        Template template = freemarkerConfiguration.getTemplate(AUDIT_LOG_TEMPLATE);
-        Map<String, Object> models = new HashMap<>();
-        DownloadUtil.fillUserResourcesModel(models, vBarUserDataList, vBarResourceDataList);
-        template.process(models, stringWriter);
-        data = stringWriter.toString();
-
-      } else {
-        data = "{" + convertObjToString(vBarUserDataList) + "," + convertObjToString(vBarResourceDataList) + "}";
-        dataFormat = "json";
-      }
-      String fileName = String.format("Users_Resource%s%s.", startTime, endTime);
-      File file = File.createTempFile(fileName, dataFormat);
-      try (FileOutputStream fileOutputStream = new FileOutputStream(file)) {
-        fileOutputStream.write(data.getBytes());
+    QueryResponse queryResponse = auditSolrDao.process(facetQuery);
+    BarGraphDataListResponse vBarUserDataList = responseDataGenerator.generateSecondLevelBarGraphDataResponse(queryResponse, 0);
+    BarGraphDataListResponse vBarResourceDataList = responseDataGenerator.generateSecondLevelBarGraphDataResponse(queryResponse, 1);
+    StreamingOutput output;
+    if ("text".equals(dataFormat)) {
+      Template template;
+      try {
+        template = freemarkerConfiguration.getTemplate(AUDIT_LOG_TEMPLATE);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Error during download file (audit log) ", e);
       }
-      return Response
-              .ok(file, MediaType.APPLICATION_OCTET_STREAM)
-              .header("Content-Disposition", String.format("attachment;filename=%s%s", fileName, dataFormat))
-              .build();
-    } catch (IOException e) {
-      throw new UncheckedIOException("Error during download file (audit log) ", e);
+      Map<String, Object> models = new HashMap<>();
+      DownloadUtil.fillUserResourcesModel(models, vBarUserDataList, vBarResourceDataList);
+      output = DownloadUtil.createExportOutput(request.isCompress(), writer -> template.process(models, writer));
+    } else {
+      Gson gson = createGson();
+      output = DownloadUtil.createExportOutput(request.isCompress(), writer -> {
+        writer.write("{");
+        gson.toJson(vBarUserDataList, writer);
+        writer.write(",");
+        gson.toJson(vBarResourceDataList, writer);
+        writer.write("}");
+      });
+      dataFormat = "json";
     }
+    String fileName = String.format("Users_Resource%s%s.", startTime, endTime);
+    return Response
+            .ok(output, MediaType.APPLICATION_OCTET_STREAM)
+            .header("Content-Disposition", String.format("attachment;filename=%s",
+              DownloadUtil.getExportFileName(fileName + dataFormat, request.isCompress())))
+            .build();
   }
 
   @Override
@@ -22,12 +22,21 @@ package org.apache.ambari.logsearch.manager;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import javax.ws.rs.core.StreamingOutput;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
 import org.apache.ambari.logsearch.common.LogSearchConstants;
 import org.apache.ambari.logsearch.model.response.LogData;
 import org.apache.ambari.logsearch.model.response.LogSearchResponse;
 import org.apache.ambari.logsearch.dao.SolrDaoBase;
+import org.apache.ambari.logsearch.solr.LogListStreamingCallback;
+import org.apache.ambari.logsearch.solr.SolrDocumentJsonWriter;
 import org.apache.ambari.logsearch.util.SolrUtil;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.logging.log4j.LogManager;
@@ -43,6 +52,8 @@ import org.springframework.data.solr.core.query.SolrDataQuery;
 public abstract class ManagerBase<LOG_DATA_TYPE extends LogData, SEARCH_RESPONSE extends LogSearchResponse<LOG_DATA_TYPE>> extends JsonManagerBase {
   private static final Logger logger = LogManager.getLogger(ManagerBase.class);
 
+  private static final ObjectMapper streamingObjectMapper = new ObjectMapper();
+
   public ManagerBase() {
     super();
   }
@@ -77,10 +88,20 @@ public abstract class ManagerBase<LOG_DATA_TYPE extends LogData, SEARCH_RESPONSE
 
 
   protected SEARCH_RESPONSE getLogAsPaginationProvided(SolrQuery solrQuery, SolrDaoBase solrDaoBase, String event) {
-    QueryResponse response = solrDaoBase.process(solrQuery, event);
+    return createPaginatedResponse(solrQuery, solrDaoBase.process(solrQuery, event));
+  }
+
+  protected CompletableFuture<SEARCH_RESPONSE> getLogAsPaginationProvidedAsync(SolrDataQuery solrDataQuery, SolrDaoBase solrDaoBase, String event) {
+    SolrQuery solrQuery = new DefaultQueryParser().doConstructSolrQuery(solrDataQuery);
+    return solrDaoBase.processAsync(solrQuery, event).thenApply(response -> createPaginatedResponse(solrQuery, response));
+  }
+
+  private SEARCH_RESPONSE createPaginatedResponse(SolrQuery solrQuery, QueryResponse response) {
     SEARCH_RESPONSE logResponse = createLogSearchResponse();
     SolrDocumentList docList = response.getResults();
     logResponse.setTotalCount(docList.getNumFound());
+    logResponse.setQueryTimeMS(response.getElapsedTime());
+    logResponse.setPartialResults(SolrUtil.isPartialResults(response));
     List<LOG_DATA_TYPE> serviceLogDataList = convertToSolrBeans(response);
     if (!docList.isEmpty()) {
       logResponse.setLogList(serviceLogDataList);
@@ -95,6 +116,53 @@ public abstract class ManagerBase<LOG_DATA_TYPE extends LogData, SEARCH_RESPONSE
     return logResponse;
   }
 
+  /**
+   * Get one page of logs with cursor based paging (Solr cursorMark), so every page costs the same, no matter how deep it is.
+   * The response contains the cursor mark of the next page, if it is the same as the requested one, there are no more results.
+   */
+  protected SEARCH_RESPONSE getLogAsCursorMarkProvided(SolrDataQuery solrDataQuery, SolrDaoBase solrDaoBase, String cursorMark, String event) {
+    SolrQuery solrQuery = new DefaultQueryParser().doConstructSolrQuery(solrDataQuery);
+    SolrUtil.setCursorMark(solrQuery, cursorMark);
+    QueryResponse response = solrDaoBase.process(solrQuery, event);
+    SEARCH_RESPONSE logResponse = createLogSearchResponse();
+    SolrDocumentList docList = response.getResults();
+    logResponse.setTotalCount(docList.getNumFound());
+    logResponse.setQueryTimeMS(response.getElapsedTime());
+    logResponse.setLogList(convertToSolrBeans(response));
+    if (solrQuery.getRows() != null) {
+      logResponse.setPageSize(solrQuery.getRows());
+    }
+    logResponse.setNextCursorMark(response.getNextCursorMark());
+    return logResponse;
+  }
+
+  /**
+   * Streaming variant of {@link #getLogAsPaginationProvided(SolrDataQuery, SolrDaoBase, String)} and
+   * {@link #getLogAsCursorMarkProvided(SolrDataQuery, SolrDaoBase, String, String)}: the documents are written to the output
+   * as they are read from Solr, without binding them to beans.
+   * @param cursorMark cursor mark of the requested page, null in case of page based paging
+   * @param outOfRangeFallback response of a page request beyond the last page
+   */
+  protected StreamingOutput getLogAsStreamProvided(SolrDataQuery solrDataQuery, SolrDaoBase solrDaoBase, String cursorMark,
+                                                   Class<?> solrBeanClass, Supplier<SEARCH_RESPONSE> outOfRangeFallback, String event) {
+    SolrQuery solrQuery = new DefaultQueryParser().doConstructSolrQuery(solrDataQuery);
+    if (cursorMark != null) {
+      SolrUtil.setCursorMark(solrQuery, cursorMark);
+    }
+    SolrDocumentJsonWriter documentWriter = SolrDocumentJsonWriter.forBean(solrBeanClass);
+    return outputStream -> {
+      try (JsonGenerator generator = streamingObjectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+        LogListStreamingCallback callback = new LogListStreamingCallback(streamingObjectMapper, generator, documentWriter, cursorMark != null);
+        QueryResponse response = solrDaoBase.processStreaming(solrQuery, callback, event);
+        if (callback.isOutOfRange()) {
+          generator.writeObject(outOfRangeFallback.get());
+        } else {
+          callback.finish(response, solrQuery.getRows(), createLogSearchResponse());
+        }
+      }
+    };
+  }
+
   protected abstract List<LOG_DATA_TYPE> convertToSolrBeans(QueryResponse response);
 
   protected abstract SEARCH_RESPONSE createLogSearchResponse();
@@ -106,7 +174,7 @@ public abstract class ManagerBase<LOG_DATA_TYPE extends LogData, SEARCH_RESPONSE
     SolrUtil.setFacetField(solrQuery, clusterField);
     SolrUtil.setFacetSort(solrQuery, LogSearchConstants.FACET_INDEX);
 
-    QueryResponse response = solrDaoBase.process(solrQuery, event);
+    QueryResponse response = solrDaoBase.processCached(solrQuery, event);
     if (response == null) {
       return clusterResponse;
     }
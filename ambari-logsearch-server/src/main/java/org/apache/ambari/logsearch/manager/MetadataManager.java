@@ -21,10 +21,17 @@ package org.apache.ambari.logsearch.manager;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.ambari.logsearch.common.LogSearchContext;
+import org.apache.ambari.logsearch.conf.SolrMetadataPropsConfig;
 import org.apache.ambari.logsearch.dao.MetadataSolrDao;
 import org.apache.ambari.logsearch.model.request.impl.MetadataRequest;
 import org.apache.ambari.logsearch.model.response.LogsearchMetaData;
@@ -38,9 +45,16 @@ import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
 import org.springframework.core.convert.ConversionService;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
 import static org.apache.ambari.logsearch.solr.SolrConstants.MetadataConstants.ID;
 import static org.apache.ambari.logsearch.solr.SolrConstants.MetadataConstants.USER_NAME;
 import static org.apache.ambari.logsearch.solr.SolrConstants.MetadataConstants.VALUE;
@@ -52,23 +66,55 @@ public class MetadataManager extends JsonManagerBase {
 
   private static final Logger logger = LogManager.getLogger(MetadataManager.class);
 
+  private static final String CACHE_NAME = "logsearch.solr.metadata.cache";
+  private static final String KEY_SEPARATOR = "|";
+
   @Inject
   private MetadataSolrDao metadataSolrDao;
   @Inject
   private ConversionService conversionService;
+  @Inject
+  private SolrMetadataPropsConfig solrMetadataPropsConfig;
+  @Inject
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Metadata query results keyed by the lower case user name and the query. Every write of a user drops the entries of
+   * the user. The cached objects are never handed out, readers get copies of them. Null if the cache is disabled.
+   */
+  private Cache<String, List<LogsearchMetaData>> metadataCache;
+  private final AtomicLong invalidations = new AtomicLong();
+
+  @PostConstruct
+  public void init() {
+    if (solrMetadataPropsConfig.getCacheTtlSeconds() > 0) {
+      metadataCache = CacheBuilder.newBuilder()
+        .maximumSize(Math.max(1, solrMetadataPropsConfig.getCacheMaxSize()))
+        .expireAfterWrite(solrMetadataPropsConfig.getCacheTtlSeconds(), TimeUnit.SECONDS)
+        .recordStats()
+        .build();
+      if (meterRegistry != null) {
+        GuavaCacheMetrics.monitor(meterRegistry, metadataCache, CACHE_NAME);
+      }
+    }
+  }
 
   public String saveMetadata(Collection<LogsearchMetaData> logsearchMetaDataList) {
     List<SolrInputDocument> solrInputDocList = new ArrayList<>();
     for (LogsearchMetaData metaData : logsearchMetaDataList) {
       solrInputDocList.add(createMetadata(metaData));
     }
-    metadataSolrDao.addDocs(solrInputDocList);
+    if (!solrInputDocList.isEmpty()) {
+      metadataSolrDao.addDocs(solrInputDocList);
+      invalidateCache(LogSearchContext.getCurrentUsername());
+    }
     return convertObjToString(solrInputDocList);
   }
 
   public String saveMetadata(LogsearchMetaData metadata) {
     SolrInputDocument solrInputDocument = createMetadata(metadata);
     metadataSolrDao.addDoc(solrInputDocument);
+    invalidateCache(LogSearchContext.getCurrentUsername());
     return convertObjToString(solrInputDocument);
   }
 
@@ -90,22 +136,33 @@ public class MetadataManager extends JsonManagerBase {
   }
 
   public void deleteMetadata(Collection<LogsearchMetaData> metaDataList) {
+    List<String> deleteQueries = new ArrayList<>();
+    Set<String> userNames = new TreeSet<>();
     for (LogsearchMetaData metaData : metaDataList) {
-      deleteMetadata(metaData);
+      String userName = getUserNameForDelete(metaData);
+      deleteQueries.add(metadataSolrDao.createDeleteQuery(metaData.getName(), metaData.getType(), userName));
+      userNames.add(userName);
+    }
+    if (!deleteQueries.isEmpty()) {
+      metadataSolrDao.update(Collections.emptyList(), deleteQueries);
+      userNames.forEach(this::invalidateCache);
     }
   }
 
   public void deleteMetadata(LogsearchMetaData metaData) {
+    String userName = getUserNameForDelete(metaData);
+    metadataSolrDao.deleteMetadata(metaData.getName(), metaData.getType(), userName);
+    invalidateCache(userName);
+  }
+
+  private String getUserNameForDelete(LogsearchMetaData metaData) {
     if (!isValid(metaData, true)) {
       throw new MalformedInputException("Name and type should be specified, input: " + ToStringBuilder.reflectionToString(metaData));
     }
-    final String userName;
     if (StringUtils.isNotBlank(metaData.getUserName())) {
-      userName = metaData.getUserName();
-    } else {
-      userName = LogSearchContext.getCurrentUsername();
+      return metaData.getUserName();
     }
-    metadataSolrDao.deleteMetadata(metaData.getName(), metaData.getType(), userName);
+    return LogSearchContext.getCurrentUsername();
   }
 
   public LogsearchMetaData getMetadata(MetadataRequest request) {
@@ -138,21 +195,60 @@ public class MetadataManager extends JsonManagerBase {
       throw new MalformedInputException("Name field is a required request parameter.");
     }
     metadataQueryQuery.addFilterQuery(String.format("%s:%s", USER_NAME, userName.toLowerCase()));
-    SolrDocumentList solrList = metadataSolrDao.process(metadataQueryQuery).getResults();
 
-    Collection<LogsearchMetaData> metadataList = new ArrayList<>();
+    String cacheKey = userName.toLowerCase() + KEY_SEPARATOR + metadataQueryQuery.toString();
+    List<LogsearchMetaData> metadataList = metadataCache != null ? metadataCache.getIfPresent(cacheKey) : null;
+    if (metadataList == null) {
+      long invalidationsBefore = invalidations.get();
+      SolrDocumentList solrList = metadataSolrDao.process(metadataQueryQuery).getResults();
+      ImmutableList.Builder<LogsearchMetaData> builder = ImmutableList.builder();
+      for (SolrDocument solrDoc : solrList) {
+        builder.add(toMetadata(solrDoc));
+      }
+      metadataList = builder.build();
+      // do not cache a result which was read before a write
+      if (metadataCache != null && invalidationsBefore == invalidations.get()) {
+        metadataCache.put(cacheKey, metadataList);
+      }
+    }
+    List<LogsearchMetaData> result = new ArrayList<>(metadataList.size());
+    for (LogsearchMetaData metadata : metadataList) {
+      result.add(copyOf(metadata));
+    }
+    return result;
+  }
+
+  private LogsearchMetaData copyOf(LogsearchMetaData metadata) {
+    LogsearchMetaData copy = new LogsearchMetaData();
+    copy.setId(metadata.getId());
+    copy.setName(metadata.getName());
+    copy.setValue(metadata.getValue());
+    copy.setType(metadata.getType());
+    copy.setUserName(metadata.getUserName());
+    return copy;
+  }
+
+  private LogsearchMetaData toMetadata(SolrDocument solrDoc) {
+    LogsearchMetaData metadata = new LogsearchMetaData();
+    metadata.setName(getString(solrDoc, NAME));
+    metadata.setId(getString(solrDoc, ID));
+    metadata.setValue(Objects.toString(solrDoc.getFirstValue(VALUE), ""));
+    metadata.setType(getString(solrDoc, TYPE));
+    metadata.setUserName(getString(solrDoc, USER_NAME));
+    return metadata;
+  }
 
-    for (SolrDocument solrDoc : solrList) {
-      LogsearchMetaData metadata = new LogsearchMetaData();
-      metadata.setName(solrDoc.get(NAME).toString());
-      metadata.setId(solrDoc.get(ID).toString());
-      metadata.setValue(solrDoc.getOrDefault(VALUE, "").toString());
-      metadata.setType(solrDoc.get(TYPE).toString());
-      metadata.setUserName(solrDoc.get(USER_NAME).toString());
+  private String getString(SolrDocument solrDoc, String field) {
+    Object value = solrDoc.getFirstValue(field);
+    return value instanceof String ? (String) value : Objects.toString(value, null);
+  }
 
-      metadataList.add(metadata);
+  private void invalidateCache(String userName) {
+    if (metadataCache != null && userName != null) {
+      invalidations.incrementAndGet();
+      String prefix = userName.toLowerCase() + KEY_SEPARATOR;
+      metadataCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
     }
-    return metadataList;
   }
 
   private String generateUniqueId(LogsearchMetaData metaData, String userName) {
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.manager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.ambari.logsearch.model.response.MetricData;
+import org.apache.ambari.logsearch.model.response.MetricsResponse;
+import org.apache.commons.lang3.StringUtils;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Snapshot of the Log Search metrics (Solr queries, REST endpoints, caches) of the meter registry, times are in milliseconds.
+ */
+@Named
+public class MetricsManager {
+
+  private static final String LOGSEARCH_METER_PREFIX = "logsearch.";
+  private static final String CACHE_METER_PREFIX = "cache.";
+  private static final String CACHE_GETS = "cache.gets";
+  private static final String CACHE_TAG = "cache";
+  private static final String RESULT_TAG = "result";
+  private static final String PERCENTILE_TAG = "phi";
+  private static final String HISTOGRAM_BUCKET_TAG = "le";
+
+  @Inject
+  private MeterRegistry meterRegistry;
+
+  public MetricsManager() {
+  }
+
+  MetricsManager(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * @param namePrefix only the metrics with names starting with the prefix are returned, all the Log Search metrics if it is blank
+   */
+  public MetricsResponse getMetrics(String namePrefix) {
+    MetricsResponse response = new MetricsResponse();
+    if (meterRegistry == null) {
+      return response;
+    }
+    List<MetricData> metrics = new ArrayList<>();
+    Map<String, long[]> cacheGets = new HashMap<>();
+    for (Meter meter : meterRegistry.getMeters()) {
+      Meter.Id id = meter.getId();
+      if (!isLogSearchMeter(id)) {
+        continue;
+      }
+      if (StringUtils.isBlank(namePrefix) || id.getName().startsWith(namePrefix)) {
+        metrics.add(toMetricData(meter));
+      }
+      if (CACHE_GETS.equals(id.getName()) && meter instanceof FunctionCounter) {
+        long[] hitsAndMisses = cacheGets.computeIfAbsent(id.getTag(CACHE_TAG), cache -> new long[2]);
+        hitsAndMisses["hit".equals(id.getTag(RESULT_TAG)) ? 0 : 1] += (long) ((FunctionCounter) meter).count();
+      }
+    }
+    metrics.sort(Comparator.comparing(MetricData::getName));
+    response.setMetrics(metrics);
+    for (Map.Entry<String, long[]> entry : cacheGets.entrySet()) {
+      long gets = entry.getValue()[0] + entry.getValue()[1];
+      response.getCacheHitRatios().put(entry.getKey(), gets == 0 ? 0 : (double) entry.getValue()[0] / gets);
+    }
+    return response;
+  }
+
+  private boolean isLogSearchMeter(Meter.Id id) {
+    if (id.getTag(PERCENTILE_TAG) != null || id.getTag(HISTOGRAM_BUCKET_TAG) != null) {
+      return false; // percentiles are returned together with their timer / distribution summary
+    }
+    if (id.getName().startsWith(LOGSEARCH_METER_PREFIX)) {
+      return true;
+    }
+    String cache = id.getTag(CACHE_TAG);
+    return id.getName().startsWith(CACHE_METER_PREFIX) && cache != null && cache.startsWith(LOGSEARCH_METER_PREFIX);
+  }
+
+  private MetricData toMetricData(Meter meter) {
+    MetricData metricData = new MetricData();
+    metricData.setName(meter.getId().getName());
+    Map<String, String> tags = new LinkedHashMap<>();
+    for (Tag tag : meter.getId().getTags()) {
+      tags.put(tag.getKey(), tag.getValue());
+    }
+    metricData.setTags(tags);
+
+    Map<String, Double> measurements = new LinkedHashMap<>();
+    Map<String, Double> percentiles = new LinkedHashMap<>();
+    if (meter instanceof Timer) {
+      Timer timer = (Timer) meter;
+      measurements.put("count", (double) timer.count());
+      measurements.put("total", timer.totalTime(TimeUnit.MILLISECONDS));
+      measurements.put("mean", timer.mean(TimeUnit.MILLISECONDS));
+      measurements.put("max", timer.max(TimeUnit.MILLISECONDS));
+      for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+        percentiles.put(percentileName(percentile), percentile.value(TimeUnit.MILLISECONDS));
+      }
+    } else if (meter instanceof DistributionSummary) {
+      DistributionSummary summary = (DistributionSummary) meter;
+      measurements.put("count", (double) summary.count());
+      measurements.put("total", summary.totalAmount());
+      measurements.put("mean", summary.mean());
+      measurements.put("max", summary.max());
+      for (ValueAtPercentile percentile : summary.takeSnapshot().percentileValues()) {
+        percentiles.put(percentileName(percentile), percentile.value());
+      }
+    } else {
+      for (Measurement measurement : meter.measure()) {
+        measurements.put(measurement.getStatistic().getTagValueRepresentation(), measurement.getValue());
+      }
+    }
+    metricData.setMeasurements(measurements);
+    metricData.setPercentiles(percentiles);
+    return metricData;
+  }
+
+  private String percentileName(ValueAtPercentile percentile) {
+    return "p" + StringUtils.removeEnd(Double.toString(percentile.percentile() * 100), ".0");
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.manager;
+
+import java.util.Map;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import com.google.gson.Gson;
+
+/**
+ * Field metadata computed from one schema field snapshot of {@link org.apache.ambari.logsearch.dao.SolrSchemaFieldDao},
+ * served with an entity tag derived from its content, so clients can revalidate it with conditional requests.
+ */
+public class SchemaFieldMetadataSnapshot<T> {
+
+  private static final Gson GSON = new Gson();
+
+  private final Map<String, String> schemaFields;
+  private final T metadata;
+  private final EntityTag entityTag;
+
+  public SchemaFieldMetadataSnapshot(Map<String, String> schemaFields, T metadata) {
+    this.schemaFields = schemaFields;
+    this.metadata = metadata;
+    this.entityTag = new EntityTag(DigestUtils.sha256Hex(GSON.toJson(metadata)));
+  }
+
+  /**
+   * @return true if this metadata was computed from the given schema field snapshot (compared by identity)
+   */
+  public boolean isComputedFrom(Map<String, String> schemaFields) {
+    return this.schemaFields == schemaFields;
+  }
+
+  public T getMetadata() {
+    return metadata;
+  }
+
+  public EntityTag getEntityTag() {
+    return entityTag;
+  }
+
+  /**
+   * @return 304 if the request already has the current version of the metadata (If-None-Match), the metadata otherwise
+   */
+  public Response toResponse(Request request) {
+    CacheControl cacheControl = new CacheControl();
+    cacheControl.setPrivate(true);
+    cacheControl.setNoCache(true);
+    Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+    Response.ResponseBuilder builder = notModified != null ? notModified : Response.ok(metadata);
+    return builder.tag(entityTag).cacheControl(cacheControl).build();
+  }
+}
@@ -27,29 +27,32 @@ import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants
 import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.LEVEL;
 import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.LOGTIME;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.StringWriter;
 import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.ambari.logsearch.common.LabelFallbackHandler;
+import org.apache.ambari.logsearch.common.LogSearchContext;
 import org.apache.ambari.logsearch.common.LogSearchConstants;
 import org.apache.ambari.logsearch.common.LogType;
 import org.apache.ambari.logsearch.common.StatusMessage;
@@ -57,6 +60,9 @@ import org.apache.ambari.logsearch.conf.UIMappingConfig;
 import org.apache.ambari.logsearch.converter.BaseServiceLogRequestQueryConverter;
 import org.apache.ambari.logsearch.converter.ServiceLogTruncatedRequestQueryConverter;
 import org.apache.ambari.logsearch.dao.ServiceLogsSolrDao;
+import org.apache.ambari.logsearch.dao.SolrQueryCache;
+import org.apache.ambari.logsearch.dao.SolrQueryExecutor;
+import org.apache.ambari.logsearch.dao.SolrRequestTracker;
 import org.apache.ambari.logsearch.dao.SolrSchemaFieldDao;
 import org.apache.ambari.logsearch.model.metadata.FieldMetadata;
 import org.apache.ambari.logsearch.model.metadata.ServiceComponentMetadataWrapper;
@@ -80,6 +86,7 @@ import org.apache.ambari.logsearch.model.response.LogData;
 import org.apache.ambari.logsearch.model.response.LogListResponse;
 import org.apache.ambari.logsearch.model.response.NameValueDataListResponse;
 import org.apache.ambari.logsearch.model.response.NodeListResponse;
+import org.apache.ambari.logsearch.model.response.ServiceLogDashboardResponse;
 import org.apache.ambari.logsearch.model.response.ServiceLogData;
 import org.apache.ambari.logsearch.model.response.ServiceLogResponse;
 import org.apache.ambari.logsearch.solr.ResponseDataGenerator;
@@ -98,28 +105,32 @@ import org.apache.solr.client.solrj.response.FacetField;
 import org.apache.solr.client.solrj.response.FacetField.Count;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.UpdateResponse;
+import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.solr.core.DefaultQueryParser;
 import org.springframework.data.solr.core.query.Criteria;
 import org.springframework.data.solr.core.query.SimpleFacetQuery;
 import org.springframework.data.solr.core.query.SimpleFilterQuery;
 import org.springframework.data.solr.core.query.SimpleQuery;
-import org.springframework.data.solr.core.query.SimpleStringCriteria;
 
 import com.google.common.base.Splitter;
+import com.google.gson.Gson;
 import com.google.common.collect.Lists;
 
 import freemarker.template.Configuration;
 import freemarker.template.Template;
-import freemarker.template.TemplateException;
 
 @Named
 public class ServiceLogsManager extends ManagerBase<ServiceLogData, ServiceLogResponse> {
   private static final Logger logger = LogManager.getLogger(ServiceLogsManager.class);
+  private static final Logger performanceLogger = LogManager.getLogger("org.apache.ambari.logsearch.performance");
 
   private static final String SERVICE_LOG_TEMPLATE = "service_log_txt.ftl";
+  private static final int EXPORT_BATCH_SIZE = 1000;
+  private static final String TRUNCATED_EVENT = "service/logs/truncated";
 
   @Inject
   private ServiceLogsSolrDao serviceLogsSolrDao;
@@ -135,15 +146,27 @@ public class ServiceLogsManager extends ManagerBase<ServiceLogData, ServiceLogRe
   private UIMappingConfig uiMappingConfig;
   @Inject
   private LabelFallbackHandler labelFallbackHandler;
+  @Inject
+  private SolrRequestTracker solrRequestTracker;
+  @Inject
+  private SolrQueryCache solrQueryCache;
+  @Inject
+  private SolrQueryExecutor solrQueryExecutor;
+
+  private volatile SchemaFieldMetadataSnapshot<List<FieldMetadata>> serviceSchemaMetadata;
 
   public ServiceLogResponse searchLogs(ServiceLogRequest request) {
     String event = "/service/logs";
     String keyword = request.getKeyWord();
-    Boolean isLastPage = request.isLastPage();
-    SimpleQuery solrQuery = conversionService.convert(request, SimpleQuery.class);
     if (StringUtils.isNotBlank(keyword)) {
-        return (ServiceLogResponse) getPageByKeyword(request, event);
-    } else if (isLastPage) {
+      return (ServiceLogResponse) getPageByKeyword(request, event);
+    } else if (StringUtils.isNotBlank(request.getCursorMark())) {
+      request.setLastPage(false);
+      SimpleQuery cursorQuery = conversionService.convert(request, SimpleQuery.class);
+      return getLogAsCursorMarkProvided(cursorQuery, serviceLogsSolrDao, request.getCursorMark(), event);
+    }
+    SimpleQuery solrQuery = conversionService.convert(request, SimpleQuery.class);
+    if (request.isLastPage()) {
       ServiceLogResponse logResponse = getLastPage(serviceLogsSolrDao, solrQuery, event);
       if (logResponse == null){
         logResponse = new ServiceLogResponse();
@@ -163,6 +186,25 @@ public class ServiceLogsManager extends ManagerBase<ServiceLogData, ServiceLogRe
     }
   }
 
+  /**
+   * Same as {@link #searchLogs(ServiceLogRequest)}, but the page and cursor based listings are streamed from Solr to the client
+   * without binding the documents to beans. Keyword and last page requests are answered by {@link #searchLogs(ServiceLogRequest)}.
+   */
+  public Response searchLogsAsStream(ServiceLogRequest request) {
+    String event = "/service/logs";
+    String cursorMark = StringUtils.isNotBlank(request.getCursorMark()) ? request.getCursorMark() : null;
+    if (StringUtils.isNotBlank(request.getKeyWord()) || (cursorMark == null && request.isLastPage())) {
+      return Response.ok(searchLogs(request)).build();
+    }
+    request.setLastPage(false);
+    SimpleQuery solrQuery = conversionService.convert(request, SimpleQuery.class);
+    StreamingOutput output = getLogAsStreamProvided(solrQuery, serviceLogsSolrDao, cursorMark, SolrServiceLogData.class, () -> {
+      request.setLastPage(true);
+      return getLastPage(serviceLogsSolrDao, conversionService.convert(request, SimpleQuery.class), event);
+    }, event);
+    return Response.ok(output, MediaType.APPLICATION_JSON).build();
+  }
+
   public GroupListResponse getHosts(String clusters) {
     return getFields(HOST, clusters, SolrHostLogData.class);
   }
@@ -183,7 +225,7 @@ public class ServiceLogsManager extends ManagerBase<ServiceLogData, ServiceLogRe
       List<String> clusterFilterList = Splitter.on(",").splitToList(clusters);
       facetQuery.addFilterQuery(new SimpleFilterQuery(new Criteria(CLUSTER).in(clusterFilterList)));
     }
-    return responseDataGenerator.generateCountResponseByField(serviceLogsSolrDao.process(facetQuery), field);
+    return responseDataGenerator.generateCountResponseByField(serviceLogsSolrDao.processCached(facetQuery, null), field);
   }
 
   public CountDataListResponse getComponentsCount(String clusters) {
@@ -195,13 +237,14 @@ public class ServiceLogsManager extends ManagerBase<ServiceLogData, ServiceLogRe
   }
 
   public NodeListResponse getTreeExtension(ServiceLogHostComponentRequest request) {
+    solrQueryCache.alignTimeRange(request);
     SimpleFacetQuery facetQuery = conversionService.convert(request, SimpleFacetQuery.class);
     SolrQuery solrQuery = new DefaultQueryParser().doConstructSolrQuery(facetQuery);
     String hostName = request.getHostName() == null ? "" : request.getHostName();
     if (StringUtils.isNotBlank(hostName)){
       solrQuery.addFilterQuery(String.format("%s:*%s*", HOST, hostName));
     }
-    QueryResponse response = serviceLogsSolrDao.process(solrQuery, "/service/logs/tree");
+    QueryResponse response = serviceLogsSolrDao.processCached(solrQuery, "/service/logs/tree");
     String firstHierarchy = String.format("%s,%s,%s", HOST, COMPONENT, LEVEL);
     String secondHierarchy = String.format("%s,%s", HOST, LEVEL);
     return responseDataGenerator.generateServiceNodeTreeFromFacetResponse(response, firstHierarchy, secondHierarchy,
@@ -229,15 +272,17 @@ public class ServiceLogsManager extends ManagerBase<ServiceLogData, ServiceLogRe
   }
 
   public NameValueDataListResponse getLogsLevelCount(ServiceLogLevelCountRequest request) {
+    solrQueryCache.alignTimeRange(request);
     SimpleFacetQuery facetQuery = conversionService.convert(request, SimpleFacetQuery.class);
-    QueryResponse response = serviceLogsSolrDao.process(facetQuery, "/service/logs/levels/counts");
+    QueryResponse response = serviceLogsSolrDao.processCached(facetQuery, "/service/logs/levels/counts");
     return responseDataGenerator.getNameValueDataListResponseWithDefaults(response, LogSearchConstants.SUPPORTED_LOG_LEVELS, false);
   }
 
   public BarGraphDataListResponse getHistogramData(ServiceGraphRequest request) {
+    solrQueryCache.alignTimeRange(request);
     SolrQuery solrQuery = conversionService.convert(request, SolrQuery.class);
-    QueryResponse response = serviceLogsSolrDao.process(solrQuery, "/service/logs/histogram");
-    return responseDataGenerator.generateBarGraphDataResponseWithRanges(response, LEVEL, true);
+    return responseDataGenerator.generateBarGraphDataResponseFromHistogram(
+      serviceLogsSolrDao.processHistogram(solrQuery, LOGTIME, LEVEL, "/service/logs/histogram"), true);
   }
 
   private LogListResponse<ServiceLogData> getPageByKeyword(ServiceLogRequest request, String event) {
@@ -251,193 +296,260 @@ public class ServiceLogsManager extends ManagerBase<ServiceLogData, ServiceLogRe
     return getPageForKeywordByType(request, keyword, isNext, event);
   }
 
+  /**
+   * Find the page of the next (or previous) log which contains the keyword. The search starts from the boundary of the current page
+   * (last log for next, first log for previous) and seeks from there by logtime / seq_num, so the hit is found with one sorted
+   * query, then the number of logs before the hit (one count query) gives the page number.
+   */
   private LogListResponse<ServiceLogData> getPageForKeywordByType(ServiceLogRequest request, String keyword, boolean isNext, String event) {
-    String fromDate = request.getFrom(); // store start & end dates
-    String toDate = request.getTo();
+    long startTime = System.currentTimeMillis();
     boolean timeAscending = LogSearchConstants.ASCENDING_ORDER.equals(request.getSortType());
-
     int currentPageNumber = Integer.parseInt(request.getPage());
     int maxRows = Integer.parseInt(request.getPageSize());
-    Date logDate = getDocDateFromNextOrLastPage(request, keyword, isNext, currentPageNumber, maxRows);
-    if (logDate == null) {
-      throw new MalformedInputException(String.format("The keyword \"%s\" was not found", keyword));
-    }
-
-    String nextOrPreviousPageDate = DateUtil.convertDateWithMillisecondsToSolrDate(logDate);
-    SolrServiceLogData firstKeywordLog = getNextHitForKeyword(request, keyword, isNext, event, timeAscending, nextOrPreviousPageDate);
-
-    long keywordSeqNum = firstKeywordLog.getSeqNum();
-    String keywordLogtime = DateUtil.convertDateWithMillisecondsToSolrDate(firstKeywordLog.getLogTime());
-
-    long numberOfDateDuplicates = countNumberOfDuplicates(request, isNext, keywordSeqNum, keywordLogtime);
-
-    long numberOfLogsUntilFound = getNumberOfLogsUntilFound(request, fromDate, toDate, timeAscending, keywordLogtime, numberOfDateDuplicates);
-    int start = (int) ((numberOfLogsUntilFound / maxRows));
 
-    request.setFrom(fromDate);
-    request.setTo(toDate);
-    request.setPage(String.valueOf(start));
-    SolrQuery keywordNextPageQuery = new DefaultQueryParser().doConstructSolrQuery(conversionService.convert(request, SimpleQuery.class));
-    return getLogAsPaginationProvided(keywordNextPageQuery, serviceLogsSolrDao, event);
-  }
-
-  private Long getNumberOfLogsUntilFound(ServiceLogRequest request, String fromDate, String toDate, boolean timeAscending,
-                                         String keywordLogtime, long numberOfDateDuplicates) {
-    if (!timeAscending) {
-      request.setTo(toDate);
-      request.setFrom(keywordLogtime);
-    } else {
-      request.setTo(keywordLogtime);
-      request.setFrom(fromDate);
-    }
-    SimpleQuery rangeQuery = conversionService.convert(request, SimpleQuery.class);
-    return serviceLogsSolrDao.count(rangeQuery) - numberOfDateDuplicates;
-  }
-
-  private long countNumberOfDuplicates(ServiceLogRequest request, boolean isNext, long keywordSeqNum, String keywordLogtime) {
-    request.setFrom(keywordLogtime);
-    request.setTo(keywordLogtime);
-    SimpleQuery duplicationsQuery = conversionService.convert(request, SimpleQuery.class);
+    SolrServiceLogData boundaryLog = getCurrentPageBoundaryLog(request, keyword, isNext, timeAscending, currentPageNumber, maxRows, event);
+    SolrServiceLogData keywordLog = getNextHitForKeyword(request, keyword, isNext, timeAscending, boundaryLog, event);
+    long numberOfLogsBeforeHit = countLogsBefore(request, timeAscending, keywordLog, event);
+
+    request.setPage(String.valueOf(numberOfLogsBeforeHit / maxRows));
+    SolrQuery keywordPageQuery = new DefaultQueryParser().doConstructSolrQuery(conversionService.convert(request, SimpleQuery.class));
+    LogListResponse<ServiceLogData> response = getLogAsPaginationProvided(keywordPageQuery, serviceLogsSolrDao, event);
+    performanceLogger.info("\n Username :- " + LogSearchContext.getCurrentUsername() + " Event :- " + event + " Keyword navigation ("
+      + (isNext ? "next" : "previous") + ") found the keyword on page " + request.getPage() + ", Total Time Elapsed is :- "
+      + (System.currentTimeMillis() - startTime));
+    return response;
+  }
+
+  /**
+   * Get the boundary log of the current page (last log for next, first log for previous). If the client sent the id of that
+   * log as sourceLogId, it is fetched by id, otherwise it is the single log at the offset of the boundary in the listing order.
+   * Either way it is one query which returns only the logtime and the seq_num of the log.
+   */
+  private SolrServiceLogData getCurrentPageBoundaryLog(ServiceLogRequest request, String keyword, boolean isNext, boolean timeAscending,
+                                                       int currentPageNumber, int maxRows, String event) {
+    long boundaryLogIndex;
     if (isNext) {
-      duplicationsQuery.addFilterQuery(new SimpleFilterQuery(new SimpleStringCriteria(String.format("%s:[* TO %d]", SEQUENCE_ID, keywordSeqNum - 1))));
+      boundaryLogIndex = ((long) (currentPageNumber + 1) * maxRows) - 1;
     } else {
-      duplicationsQuery.addFilterQuery(new SimpleFilterQuery(new SimpleStringCriteria(String.format("%s:[%d TO *]", SEQUENCE_ID, keywordSeqNum + 1))));
-    }
-    return serviceLogsSolrDao.count(duplicationsQuery);
-  }
-
-  private SolrServiceLogData getNextHitForKeyword(ServiceLogRequest request, String keyword, boolean isNext, String event, boolean timeAscending, String nextOrPreviousPageDate) {
-    if (hasNextOrAscOrder(isNext, timeAscending)) {
-      request.setTo(nextOrPreviousPageDate);
-    } else {
-      request.setFrom(nextOrPreviousPageDate);
+      if (currentPageNumber == 0) {
+        throw new NotFoundException("This is the first Page");
+      }
+      boundaryLogIndex = (long) currentPageNumber * maxRows;
     }
-    SimpleQuery keywordNextQuery = conversionService.convert(request, SimpleQuery.class);
-    keywordNextQuery.addFilterQuery(new SimpleFilterQuery(new Criteria(KEY_LOG_MESSAGE).contains(keyword)));
-    keywordNextQuery.setRows(1);
-    SolrQuery kewordNextSolrQuery = new DefaultQueryParser().doConstructSolrQuery(keywordNextQuery);
-    kewordNextSolrQuery.setStart(0);
-    if (hasNextOrAscOrder(isNext, timeAscending)) {
-      kewordNextSolrQuery.setSort(LOGTIME, SolrQuery.ORDER.desc);
-    } else {
-      kewordNextSolrQuery.setSort(LOGTIME, SolrQuery.ORDER.asc);
+    SolrQuery listingQuery = new DefaultQueryParser().doConstructSolrQuery(conversionService.convert(request, SimpleQuery.class));
+    listingQuery.setStart(0);
+    listingQuery.setFields(LOGTIME, SEQUENCE_ID);
+
+    if (StringUtils.isNotBlank(request.getSourceLogId())) {
+      SolrQuery sourceLogQuery = listingQuery.getCopy();
+      sourceLogQuery.addFilterQuery(String.format("%s:%s", ID, ClientUtils.escapeQueryChars(request.getSourceLogId())));
+      sourceLogQuery.setRows(1);
+      List<SolrServiceLogData> sourceLogs = serviceLogsSolrDao.process(sourceLogQuery, event).getBeans(SolrServiceLogData.class);
+      if (CollectionUtils.isNotEmpty(sourceLogs)) {
+        return sourceLogs.get(0);
+      }
     }
-    kewordNextSolrQuery.addSort(SEQUENCE_ID, SolrQuery.ORDER.desc);
-    QueryResponse queryResponse = serviceLogsSolrDao.process(kewordNextSolrQuery, event);
-    if (queryResponse == null) {
+
+    if (boundaryLogIndex > Integer.MAX_VALUE) {
       throw new NotFoundException(String.format("The keyword \"%s\" was not found", keyword));
     }
-    List<SolrServiceLogData> solrServiceLogDataList = queryResponse.getBeans(SolrServiceLogData.class);
-    if (!CollectionUtils.isNotEmpty(solrServiceLogDataList)) {
+    listingQuery.setSort(LOGTIME, timeAscending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc);
+    listingQuery.addSort(SEQUENCE_ID, SolrQuery.ORDER.desc);
+    listingQuery.setStart((int) boundaryLogIndex);
+    listingQuery.setRows(1);
+    List<SolrServiceLogData> boundaryLogs = serviceLogsSolrDao.process(listingQuery, event).getBeans(SolrServiceLogData.class);
+    if (CollectionUtils.isEmpty(boundaryLogs)) {
       throw new NotFoundException(String.format("The keyword \"%s\" was not found", keyword));
     }
-    return solrServiceLogDataList.get(0);
+    return boundaryLogs.get(0);
   }
 
-  private Date getDocDateFromNextOrLastPage(ServiceLogRequest request, String keyword, boolean isNext, int currentPageNumber, int maxRows) {
-    int lastOrFirstLogIndex;
-    if (isNext) {
-      lastOrFirstLogIndex = ((currentPageNumber + 1) * maxRows);
-    } else {
-      if (currentPageNumber == 0) {
-        throw new NotFoundException("This is the first Page");
-      }
-      lastOrFirstLogIndex = (currentPageNumber * maxRows) - 1;
-    }
-    SimpleQuery sq = conversionService.convert(request, SimpleQuery.class);
-    SolrQuery nextPageLogTimeQuery = new DefaultQueryParser().doConstructSolrQuery(sq);
-    nextPageLogTimeQuery.remove("start");
-    nextPageLogTimeQuery.remove("rows");
-    nextPageLogTimeQuery.setStart(lastOrFirstLogIndex);
-    nextPageLogTimeQuery.setRows(1);
-
-    QueryResponse queryResponse = serviceLogsSolrDao.process(nextPageLogTimeQuery);
-    if (queryResponse == null) {
-      throw new MalformedInputException(String.format("Cannot process next page query for \"%s\" ", keyword));
-    }
-    SolrDocumentList docList = queryResponse.getResults();
-    if (docList == null || docList.isEmpty()) {
-      throw new MalformedInputException(String.format("Next page element for \"%s\" is not found", keyword));
+  private SolrServiceLogData getNextHitForKeyword(ServiceLogRequest request, String keyword, boolean isNext, boolean timeAscending,
+                                                  SolrServiceLogData boundaryLog, String event) {
+    SimpleQuery keywordNextQuery = conversionService.convert(request, SimpleQuery.class);
+    keywordNextQuery.addFilterQuery(new SimpleFilterQuery(new Criteria(KEY_LOG_MESSAGE).contains(keyword)));
+    SolrQuery keywordNextSolrQuery = new DefaultQueryParser().doConstructSolrQuery(keywordNextQuery);
+    keywordNextSolrQuery.addFilterQuery(getPositionFilter(boundaryLog, !isNext, timeAscending));
+    keywordNextSolrQuery.setStart(0);
+    keywordNextSolrQuery.setRows(1);
+    keywordNextSolrQuery.setFields(LOGTIME, SEQUENCE_ID);
+    // next: same order as the listing, previous: reversed order, so the closest hit is always the first one
+    boolean logtimeAscending = isNext == timeAscending;
+    keywordNextSolrQuery.setSort(LOGTIME, logtimeAscending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc);
+    keywordNextSolrQuery.addSort(SEQUENCE_ID, isNext ? SolrQuery.ORDER.desc : SolrQuery.ORDER.asc);
+    List<SolrServiceLogData> solrServiceLogDataList = serviceLogsSolrDao.process(keywordNextSolrQuery, event).getBeans(SolrServiceLogData.class);
+    if (CollectionUtils.isEmpty(solrServiceLogDataList)) {
+      throw new NotFoundException(String.format("The keyword \"%s\" was not found", keyword));
     }
-
-    SolrDocument solrDoc = docList.get(0);
-    return (Date) solrDoc.get(LOGTIME);
-  }
-
-  private boolean hasNextOrAscOrder(boolean isNext, boolean timeAscending) {
-    return isNext && !timeAscending || !isNext && timeAscending;
+    return solrServiceLogDataList.get(0);
   }
 
+  private long countLogsBefore(ServiceLogRequest request, boolean timeAscending, SolrServiceLogData log, String event) {
+    SolrQuery countQuery = new DefaultQueryParser().doConstructSolrQuery(conversionService.convert(request, SimpleQuery.class));
+    countQuery.addFilterQuery(getPositionFilter(log, true, timeAscending));
+    return serviceLogsSolrDao.count(countQuery, event);
+  }
+
+  /**
+   * Filter for the logs which are before (or after) the given log in the listing order: logtime in the requested direction,
+   * then seq_num descending.
+   */
+  private String getPositionFilter(SolrServiceLogData log, boolean before, boolean timeAscending) {
+    String logtime = DateUtil.convertDateWithMillisecondsToSolrDate(log.getLogTime());
+    long seqNum = log.getSeqNum();
+    String timeRange = before != timeAscending ?
+      String.format("%s:{%s TO *]", LOGTIME, logtime) :
+      String.format("%s:[* TO %s}", LOGTIME, logtime);
+    String sequenceRange = before ?
+      String.format("%s:{%d TO *]", SEQUENCE_ID, seqNum) :
+      String.format("%s:[* TO %d}", SEQUENCE_ID, seqNum);
+    return String.format("%s OR (%s:\"%s\" AND %s)", timeRange, LOGTIME, logtime, sequenceRange);
+  }
+
+  /**
+   * Export the service logs without loading them into the memory: the logs are fetched in cursor mark based batches,
+   * and each batch is written into the response right after it arrived.
+   */
   public Response export(ServiceLogExportRequest request) {
     String defaultFormat = "txt";
     SimpleQuery solrQuery = conversionService.convert(request, SimpleQuery.class);
     String format = request.getFormat() != null && defaultFormat.equalsIgnoreCase(request.getFormat()) ? ".txt" : ".json";
     DateTimeFormatter fileNameFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
     String fileName = "Component_Logs_" + fileNameFormat.format(LocalDateTime.now());
-
-    try {
-      QueryResponse response = serviceLogsSolrDao.process(solrQuery);
-      SolrDocumentList docList = response.getResults();
-      String textToSave;
-
-      if (".txt".equals(format.toLowerCase(Locale.ENGLISH))) {
-        String utcOffset = StringUtils.isBlank(request.getUtcOffset()) ? "+0" : request.getUtcOffset();
-        DateTimeFormatter inputDateFormat = DateTimeFormatter.ofPattern(LogSearchConstants.SOLR_DATE_FORMAT_PREFIX_Z);
-        DateTimeFormatter outputDateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss,SSSX");
-        OffsetDateTime from = LocalDateTime.parse(request.getFrom(), inputDateFormat).atOffset(ZoneOffset.of(utcOffset));
-        OffsetDateTime to = LocalDateTime.parse(request.getTo(), inputDateFormat).atOffset(ZoneOffset.of(utcOffset));
-
-        Template template = freemarkerConfiguration.getTemplate(SERVICE_LOG_TEMPLATE);
-        Map<String, Object> models = new HashMap<>();
-        DownloadUtil.fillModelsForLogFile(docList, models, request, format, outputDateFormat.format(from), outputDateFormat.format(to));
-        StringWriter stringWriter = new StringWriter();
-        template.process(models, stringWriter);
-        textToSave = stringWriter.toString();
-      } else if (".json".equals(format.toLowerCase(Locale.ENGLISH))) {
-        textToSave = convertObjToString(docList);
-      } else {
-        throw new UnsupportedFormatException(String.format("Unsupported format %s Either should be json or text", format.toLowerCase(Locale.ENGLISH)));
+    SolrQuery exportQuery = new DefaultQueryParser().doConstructSolrQuery(solrQuery);
+
+    StreamingOutput output;
+    if (".txt".equals(format.toLowerCase(Locale.ENGLISH))) {
+      String utcOffset = StringUtils.isBlank(request.getUtcOffset()) ? "+0" : request.getUtcOffset();
+      DateTimeFormatter inputDateFormat = DateTimeFormatter.ofPattern(LogSearchConstants.SOLR_DATE_FORMAT_PREFIX_Z);
+      DateTimeFormatter outputDateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss,SSSX");
+      OffsetDateTime from = LocalDateTime.parse(request.getFrom(), inputDateFormat).atOffset(ZoneOffset.of(utcOffset));
+      OffsetDateTime to = LocalDateTime.parse(request.getTo(), inputDateFormat).atOffset(ZoneOffset.of(utcOffset));
+      Template template;
+      try {
+        template = freemarkerConfiguration.getTemplate(SERVICE_LOG_TEMPLATE);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
       }
-      File file = File.createTempFile(fileName, format);
-      try (FileOutputStream fis = new FileOutputStream(file)) {
-        fis.write(textToSave.getBytes());
+      Map<String, Object> models = new HashMap<>();
+      fillExportSummaryModels(exportQuery, models, request, format, outputDateFormat.format(from), outputDateFormat.format(to));
+      output = DownloadUtil.createExportOutput(request.isCompress(), writer -> {
+        template.process(models, writer);
+        processExportBatches(exportQuery, writer, (doc, isFirst) -> writer.write(DownloadUtil.formatLogLine(doc) + "\n"));
+      });
+    } else if (".json".equals(format.toLowerCase(Locale.ENGLISH))) {
+      Gson gson = createGson();
+      output = DownloadUtil.createExportOutput(request.isCompress(), writer -> {
+        writer.write("[");
+        processExportBatches(exportQuery, writer, (doc, isFirst) -> {
+          if (!isFirst) {
+            writer.write(",");
+          }
+          gson.toJson(doc, writer);
+        });
+        writer.write("]");
+      });
+    } else {
+      throw new UnsupportedFormatException(String.format("Unsupported format %s Either should be json or text", format.toLowerCase(Locale.ENGLISH)));
+    }
+    return Response
+      .ok(output, MediaType.APPLICATION_OCTET_STREAM)
+      .header("Content-Disposition", "attachment;filename=" + DownloadUtil.getExportFileName(fileName + format, request.isCompress()))
+      .build();
+  }
+
+  private void fillExportSummaryModels(SolrQuery exportQuery, Map<String, Object> models, ServiceLogExportRequest request,
+                                       String format, String from, String to) {
+    SolrQuery summaryQuery = exportQuery.getCopy();
+    SolrUtil.setRowCount(summaryQuery, 0);
+    summaryQuery.setFacet(true);
+    summaryQuery.setFacetMinCount(1);
+    summaryQuery.setFacetLimit(-1);
+    summaryQuery.addFacetField(HOST, COMPONENT, LEVEL);
+    QueryResponse response = serviceLogsSolrDao.process(summaryQuery, "/service/logs/export/summary");
+    DownloadUtil.fillSummaryModelsForLogFile(models, response.getResults().getNumFound(), getFacetValues(response, HOST),
+      getFacetValues(response, COMPONENT), getFacetValues(response, LEVEL), request, format, from, to);
+  }
+
+  private List<String> getFacetValues(QueryResponse response, String field) {
+    FacetField facetField = response.getFacetField(field);
+    if (facetField == null || facetField.getValues() == null) {
+      return Collections.emptyList();
+    }
+    return facetField.getValues().stream().map(FacetField.Count::getName).collect(Collectors.toList());
+  }
+
+  private void processExportBatches(SolrQuery exportQuery, Writer writer, ExportDocumentWriter documentWriter) throws IOException {
+    SolrQuery batchQuery = exportQuery.getCopy();
+    batchQuery.setRows(EXPORT_BATCH_SIZE);
+    String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+    boolean isFirst = true;
+    while (true) {
+      SolrUtil.setCursorMark(batchQuery, cursorMark);
+      QueryResponse response = serviceLogsSolrDao.process(batchQuery, "/service/logs/export");
+      for (SolrDocument doc : response.getResults()) {
+        documentWriter.write(doc, isFirst);
+        isFirst = false;
       }
-      return Response
-        .ok(file, MediaType.APPLICATION_OCTET_STREAM)
-        .header("Content-Disposition", "attachment;filename=" + fileName + format)
-        .build();
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    } catch (TemplateException e) {
-      throw new RuntimeException("Error while rendering freemarker template!", e);
+      writer.flush();
+      String nextCursorMark = response.getNextCursorMark();
+      if (nextCursorMark == null || nextCursorMark.equals(cursorMark)) {
+        break;
+      }
+      cursorMark = nextCursorMark;
     }
   }
 
+  @FunctionalInterface
+  private interface ExportDocumentWriter {
+    void write(SolrDocument doc, boolean isFirst) throws IOException;
+  }
+
   public NodeListResponse getComponentListWithLevelCounts(ServiceLogComponentLevelRequest request) {
+    solrQueryCache.alignTimeRange(request);
     SimpleFacetQuery facetQuery = conversionService.convert(request, SimpleFacetQuery.class);
     SolrQuery solrQuery = new DefaultQueryParser().doConstructSolrQuery(facetQuery);
     solrQuery.setFacetSort(StringUtils.isEmpty(request.getSortBy()) ? COMPONENT: request.getSortBy());
-    QueryResponse response = serviceLogsSolrDao.process(facetQuery, "/service/logs/components/levels/counts");
+    QueryResponse response = serviceLogsSolrDao.processCached(facetQuery, "/service/logs/components/levels/counts");
     return responseDataGenerator.generateOneLevelServiceNodeTree(response, String.format("%s,%s", COMPONENT, LEVEL));
   }
 
   public List<FieldMetadata> getServiceLogsSchemaFieldsName() {
+    return getServiceLogsSchemaFieldsNameSnapshot().getMetadata();
+  }
+
+  /**
+   * @return the service log field metadata, computed only once for every schema field snapshot
+   */
+  public SchemaFieldMetadataSnapshot<List<FieldMetadata>> getServiceLogsSchemaFieldsNameSnapshot() {
     Map<String, String> schemaFieldsMap = solrSchemaFieldDao.getSchemaFieldNameMap(LogType.SERVICE);
-    return schemaFieldsMap
-      .entrySet()
+    SchemaFieldMetadataSnapshot<List<FieldMetadata>> snapshot = serviceSchemaMetadata;
+    if (snapshot == null || !snapshot.isComputedFrom(schemaFieldsMap)) {
+      snapshot = new SchemaFieldMetadataSnapshot<>(schemaFieldsMap, createServiceLogsSchemaFieldsName(schemaFieldsMap));
+      serviceSchemaMetadata = snapshot;
+    }
+    return snapshot;
+  }
+
+  private List<FieldMetadata> createServiceLogsSchemaFieldsName(Map<String, String> schemaFieldsMap) {
+    Set<String> excludes = uiMappingConfig.getServiceFieldExcludeSet();
+    Set<String> filterableExcludes = uiMappingConfig.getServiceFieldFilterableExcludesSet();
+    Set<String> visibles = uiMappingConfig.getServiceFieldVisibleSet();
+    return Collections.unmodifiableList(schemaFieldsMap
+      .keySet()
       .stream()
-      .filter(e -> !uiMappingConfig.getServiceFieldExcludeList().contains(e.getKey()))
-      .map(e ->
+      .filter(field -> !excludes.contains(field))
+      .map(field ->
         new FieldMetadata(
-          e.getKey(),
+          field,
           labelFallbackHandler.fallbackIfRequired(
-            e.getKey(), uiMappingConfig.getServiceFieldLabels().get(e.getKey()),
+            field, uiMappingConfig.getServiceFieldLabels().get(field),
             true, false, true,
             uiMappingConfig.getServiceFieldFallbackPrefixes(),
             uiMappingConfig.getServiceFieldFallbackSuffixes()),
-          !uiMappingConfig.getServiceFieldFilterableExcludesList().contains(e.getKey()),
-          uiMappingConfig.getServiceFieldVisibleList().contains(e.getKey())))
-      .collect(Collectors.toList());
+          !filterableExcludes.contains(field),
+          visibles.contains(field)))
+      .collect(Collectors.toList()));
   }
 
   public BarGraphDataListResponse getAnyGraphCountData(ServiceAnyGraphRequest request) {
@@ -482,8 +594,12 @@ public class ServiceLogsManager extends ManagerBase<ServiceLogData, ServiceLogRe
     } else {
       logResponse = new ServiceLogResponse();
       List<ServiceLogData> initial = new ArrayList<>();
-      List<ServiceLogData> before = whenScroll(request, logTime, sequenceId, LogSearchConstants.SCROLL_TYPE_BEFORE).getLogList();
-      List<ServiceLogData> after = whenScroll(request, logTime, sequenceId, LogSearchConstants.SCROLL_TYPE_AFTER).getLogList();
+      SimpleQuery beforeQuery = createScrollQuery(request, logTime, sequenceId, LogSearchConstants.SCROLL_TYPE_BEFORE);
+      SimpleQuery afterQuery = createScrollQuery(request, logTime, sequenceId, LogSearchConstants.SCROLL_TYPE_AFTER);
+      CompletableFuture<ServiceLogResponse> beforeResponse = getLogAsPaginationProvidedAsync(beforeQuery, serviceLogsSolrDao, TRUNCATED_EVENT);
+      CompletableFuture<ServiceLogResponse> afterResponse = getLogAsPaginationProvidedAsync(afterQuery, serviceLogsSolrDao, TRUNCATED_EVENT);
+      List<ServiceLogData> before = SolrQueryExecutor.join(beforeResponse).getLogList();
+      List<ServiceLogData> after = SolrQueryExecutor.join(afterResponse).getLogList();
       if (before != null && !before.isEmpty()) {
         initial.addAll(Lists.reverse(before));
       }
@@ -497,11 +613,15 @@ public class ServiceLogsManager extends ManagerBase<ServiceLogData, ServiceLogRe
   }
 
   private ServiceLogResponse whenScroll(ServiceLogTruncatedRequest request, String logTime, String sequenceId, String afterOrBefore) {
+    return getLogAsPaginationProvided(createScrollQuery(request, logTime, sequenceId, afterOrBefore), serviceLogsSolrDao, TRUNCATED_EVENT);
+  }
+
+  private SimpleQuery createScrollQuery(ServiceLogTruncatedRequest request, String logTime, String sequenceId, String afterOrBefore) {
     request.setScrollType(afterOrBefore);
     ServiceLogTruncatedRequestQueryConverter converter = new ServiceLogTruncatedRequestQueryConverter();
     converter.setLogTime(logTime);
     converter.setSequenceId(sequenceId);
-    return getLogAsPaginationProvided(converter.convert(request), serviceLogsSolrDao, "service/logs/truncated");
+    return converter.convert(request);
   }
 
   @Override
@@ -593,10 +713,39 @@ public class ServiceLogsManager extends ManagerBase<ServiceLogData, ServiceLogRe
     return StatusMessage.with(updateResponse.getStatus());
   }
 
+  /**
+   * Cancel the in-flight Solr requests of the current user session.
+   */
+  public StatusMessage cancelRequests() {
+    int cancelled = solrRequestTracker.cancel(LogSearchContext.getCurrentSessionId());
+    return StatusMessage.with(Response.Status.OK, String.format("%d request(s) cancelled", cancelled));
+  }
+
   public List<String> getClusters() {
     return getClusters(serviceLogsSolrDao, CLUSTER, "/service/logs/clusters");
   }
 
+  /**
+   * Collect the data of the service logs dashboard widgets with one call, the underlying Solr queries are executed concurrently.
+   */
+  public ServiceLogDashboardResponse getDashboard(String clusters) {
+    CompletableFuture<List<String>> clusterList = solrQueryExecutor.supplyAsync(this::getClusters);
+    CompletableFuture<GroupListResponse> hosts = solrQueryExecutor.supplyAsync(() -> getHosts(clusters));
+    CompletableFuture<ServiceComponentMetadataWrapper> components = solrQueryExecutor.supplyAsync(() -> getComponentMetadata(clusters));
+    CompletableFuture<CountDataListResponse> hostsCount = solrQueryExecutor.supplyAsync(() -> getHostsCount(clusters));
+    CompletableFuture<CountDataListResponse> componentsCount = solrQueryExecutor.supplyAsync(() -> getComponentsCount(clusters));
+    CompletableFuture<List<FieldMetadata>> schemaFields = solrQueryExecutor.supplyAsync(this::getServiceLogsSchemaFieldsName);
+
+    ServiceLogDashboardResponse response = new ServiceLogDashboardResponse();
+    response.setClusters(SolrQueryExecutor.join(clusterList));
+    response.setHosts(SolrQueryExecutor.join(hosts));
+    response.setComponents(SolrQueryExecutor.join(components));
+    response.setHostsCount(SolrQueryExecutor.join(hostsCount));
+    response.setComponentsCount(SolrQueryExecutor.join(componentsCount));
+    response.setSchemaFields(SolrQueryExecutor.join(schemaFields));
+    return response;
+  }
+
 
   public ServiceComponentMetadataWrapper getComponentMetadata(String clusters) {
     String pivotFields = COMPONENT + ",group";
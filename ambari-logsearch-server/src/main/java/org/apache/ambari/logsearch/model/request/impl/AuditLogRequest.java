@@ -19,9 +19,10 @@
 package org.apache.ambari.logsearch.model.request.impl;
 
 import org.apache.ambari.logsearch.common.Marker;
+import org.apache.ambari.logsearch.model.request.CursorMarkParamDefinition;
 import org.apache.ambari.logsearch.model.request.LastPageParamDefinition;
 import org.apache.ambari.logsearch.model.request.UserParamDefinition;
 
 @Marker
-public interface AuditLogRequest extends BaseLogRequest, LastPageParamDefinition, UserParamDefinition {
+public interface AuditLogRequest extends BaseLogRequest, LastPageParamDefinition, UserParamDefinition, CursorMarkParamDefinition {
 }
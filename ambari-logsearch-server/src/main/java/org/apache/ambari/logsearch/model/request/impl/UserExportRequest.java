@@ -19,9 +19,10 @@
 package org.apache.ambari.logsearch.model.request.impl;
 
 import org.apache.ambari.logsearch.common.Marker;
+import org.apache.ambari.logsearch.model.request.CompressParamDefinition;
 import org.apache.ambari.logsearch.model.request.FormatParamDefinition;
 import org.apache.ambari.logsearch.model.request.UserParamDefinition;
 
 @Marker
-public interface UserExportRequest extends FieldAuditLogRequest, FormatParamDefinition, UserParamDefinition {
+public interface UserExportRequest extends FieldAuditLogRequest, FormatParamDefinition, CompressParamDefinition, UserParamDefinition {
 }
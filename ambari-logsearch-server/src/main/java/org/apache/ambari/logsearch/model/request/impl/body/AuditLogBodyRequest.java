@@ -27,6 +27,9 @@ public class AuditLogBodyRequest extends BaseLogBodyRequest implements AuditLogR
   @JsonProperty(LogSearchConstants.REQUEST_PARAM_LAST_PAGE)
   private boolean isLastPage;
 
+  @JsonProperty(LogSearchConstants.REQUEST_PARAM_CURSOR_MARK)
+  private String cursorMark;
+
   @JsonProperty(LogSearchConstants.REQUEST_PARAM_USERS)
   private String userList;
 
@@ -40,6 +43,16 @@ public class AuditLogBodyRequest extends BaseLogBodyRequest implements AuditLogR
     isLastPage = lastPage;
   }
 
+  @Override
+  public String getCursorMark() {
+    return cursorMark;
+  }
+
+  @Override
+  public void setCursorMark(String cursorMark) {
+    this.cursorMark = cursorMark;
+  }
+
   @Override
   public String getUserList() {
     return userList;
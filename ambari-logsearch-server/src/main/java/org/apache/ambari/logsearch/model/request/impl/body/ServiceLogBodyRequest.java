@@ -38,6 +38,9 @@ public class ServiceLogBodyRequest extends BaseServiceLogBodyRequest implements
   @JsonProperty(LogSearchConstants.REQUEST_PARAM_LAST_PAGE)
   private boolean isLastPage;
 
+  @JsonProperty(LogSearchConstants.REQUEST_PARAM_CURSOR_MARK)
+  private String cursorMark;
+
   @Override
   public String getKeyWord() {
     return keyWord;
@@ -87,4 +90,14 @@ public class ServiceLogBodyRequest extends BaseServiceLogBodyRequest implements
   public void setLastPage(boolean lastPage) {
     isLastPage = lastPage;
   }
+
+  @Override
+  public String getCursorMark() {
+    return cursorMark;
+  }
+
+  @Override
+  public void setCursorMark(String cursorMark) {
+    this.cursorMark = cursorMark;
+  }
 }
@@ -26,6 +26,9 @@ public class UserExportBodyRequest extends FieldAuditLogBodyRequest implements U
   @JsonProperty(LogSearchConstants.REQUEST_PARAM_FORMAT)
   private String format;
 
+  @JsonProperty(LogSearchConstants.REQUEST_PARAM_COMPRESS)
+  private boolean compress;
+
   @JsonProperty(LogSearchConstants.REQUEST_PARAM_USERS)
   private String userList;
 
@@ -48,4 +51,14 @@ public class UserExportBodyRequest extends FieldAuditLogBodyRequest implements U
   public void setUserList(String userList) {
     this.userList = userList;
   }
+
+  @Override
+  public boolean isCompress() {
+    return compress;
+  }
+
+  @Override
+  public void setCompress(boolean compress) {
+    this.compress = compress;
+  }
 }
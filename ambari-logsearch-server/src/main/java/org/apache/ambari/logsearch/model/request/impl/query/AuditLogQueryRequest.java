@@ -28,6 +28,9 @@ public class AuditLogQueryRequest extends BaseLogQueryRequest implements AuditLo
   @QueryParam(LogSearchConstants.REQUEST_PARAM_LAST_PAGE)
   private boolean isLastPage;
 
+  @QueryParam(LogSearchConstants.REQUEST_PARAM_CURSOR_MARK)
+  private String cursorMark;
+
   @QueryParam(LogSearchConstants.REQUEST_PARAM_USERS)
   private String userList;
 
@@ -41,6 +44,16 @@ public class AuditLogQueryRequest extends BaseLogQueryRequest implements AuditLo
     isLastPage = lastPage;
   }
 
+  @Override
+  public String getCursorMark() {
+    return cursorMark;
+  }
+
+  @Override
+  public void setCursorMark(String cursorMark) {
+    this.cursorMark = cursorMark;
+  }
+
   @Override
   public String getUserList() {
     return userList;
@@ -40,6 +40,9 @@ public class ServiceLogQueryRequest extends BaseServiceLogQueryRequest implement
   @QueryParam(LogSearchConstants.REQUEST_PARAM_LAST_PAGE)
   private boolean isLastPage;
 
+  @QueryParam(LogSearchConstants.REQUEST_PARAM_CURSOR_MARK)
+  private String cursorMark;
+
   @Override
   public String getKeyWord() {
     return keyWord;
@@ -89,4 +92,14 @@ public class ServiceLogQueryRequest extends BaseServiceLogQueryRequest implement
   public void setLastPage(boolean lastPage) {
     isLastPage = lastPage;
   }
+
+  @Override
+  public String getCursorMark() {
+    return cursorMark;
+  }
+
+  @Override
+  public void setCursorMark(String cursorMark) {
+    this.cursorMark = cursorMark;
+  }
 }
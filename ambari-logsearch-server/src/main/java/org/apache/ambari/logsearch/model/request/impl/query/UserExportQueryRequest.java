@@ -27,6 +27,9 @@ public class UserExportQueryRequest extends FieldAuditLogQueryRequest implements
   @QueryParam(LogSearchConstants.REQUEST_PARAM_FORMAT)
   private String format;
 
+  @QueryParam(LogSearchConstants.REQUEST_PARAM_COMPRESS)
+  private boolean compress;
+
   @QueryParam(LogSearchConstants.REQUEST_PARAM_USERS)
   private String userList;
 
@@ -49,4 +52,14 @@ public class UserExportQueryRequest extends FieldAuditLogQueryRequest implements
   public void setUserList(String userList) {
     this.userList = userList;
   }
+
+  @Override
+  public boolean isCompress() {
+    return compress;
+  }
+
+  @Override
+  public void setCompress(boolean compress) {
+    this.compress = compress;
+  }
 }
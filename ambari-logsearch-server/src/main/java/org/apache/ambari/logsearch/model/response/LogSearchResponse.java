@@ -19,4 +19,28 @@
 package org.apache.ambari.logsearch.model.response;
 
 abstract public class LogSearchResponse<T extends LogData> extends SearchResponse implements LogListResponse<T> {
+  /**
+   * Cursor mark of the next page, set only if the results were requested by a cursor mark
+   */
+  private String nextCursorMark;
+  /**
+   * True if the query hit its time budget on Solr side, so the result contains only partial results
+   */
+  private boolean partialResults;
+
+  public String getNextCursorMark() {
+    return nextCursorMark;
+  }
+
+  public void setNextCursorMark(String nextCursorMark) {
+    this.nextCursorMark = nextCursorMark;
+  }
+
+  public boolean isPartialResults() {
+    return partialResults;
+  }
+
+  public void setPartialResults(boolean partialResults) {
+    this.partialResults = partialResults;
+  }
 }
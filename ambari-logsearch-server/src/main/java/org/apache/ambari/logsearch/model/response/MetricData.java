@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.model.response;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+@ApiModel
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MetricData {
+
+  @ApiModelProperty
+  private String name;
+  @ApiModelProperty
+  private Map<String, String> tags;
+  @ApiModelProperty
+  private Map<String, Double> measurements;
+  @ApiModelProperty
+  private Map<String, Double> percentiles;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public Map<String, String> getTags() {
+    return tags;
+  }
+
+  public void setTags(Map<String, String> tags) {
+    this.tags = tags;
+  }
+
+  public Map<String, Double> getMeasurements() {
+    return measurements;
+  }
+
+  public void setMeasurements(Map<String, Double> measurements) {
+    this.measurements = measurements;
+  }
+
+  public Map<String, Double> getPercentiles() {
+    return percentiles;
+  }
+
+  public void setPercentiles(Map<String, Double> percentiles) {
+    this.percentiles = percentiles;
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.model.response;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+@ApiModel
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MetricsResponse {
+
+  @ApiModelProperty
+  private List<MetricData> metrics = new ArrayList<>();
+  @ApiModelProperty
+  private Map<String, Double> cacheHitRatios = new HashMap<>();
+
+  public List<MetricData> getMetrics() {
+    return metrics;
+  }
+
+  public void setMetrics(List<MetricData> metrics) {
+    this.metrics = metrics;
+  }
+
+  public Map<String, Double> getCacheHitRatios() {
+    return cacheHitRatios;
+  }
+
+  public void setCacheHitRatios(Map<String, Double> cacheHitRatios) {
+    this.cacheHitRatios = cacheHitRatios;
+  }
+}
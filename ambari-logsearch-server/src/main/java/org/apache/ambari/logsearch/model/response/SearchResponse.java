@@ -47,7 +47,10 @@ public abstract class SearchResponse {
    */
   private String sortBy;
 
-  private long queryTimeMS = System.currentTimeMillis();
+  /**
+   * Time (in milliseconds) it took to get the result from Solr
+   */
+  private long queryTimeMS;
 
   public int getStartIndex() {
     return startIndex;
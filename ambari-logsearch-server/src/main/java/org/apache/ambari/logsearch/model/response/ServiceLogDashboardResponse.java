@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.model.response;
+
+import java.util.List;
+
+import org.apache.ambari.logsearch.model.metadata.FieldMetadata;
+import org.apache.ambari.logsearch.model.metadata.ServiceComponentMetadataWrapper;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+@ApiModel
+public class ServiceLogDashboardResponse {
+
+  @ApiModelProperty
+  private List<String> clusters;
+
+  @ApiModelProperty
+  private GroupListResponse hosts;
+
+  @ApiModelProperty
+  private ServiceComponentMetadataWrapper components;
+
+  @ApiModelProperty
+  private CountDataListResponse hostsCount;
+
+  @ApiModelProperty
+  private CountDataListResponse componentsCount;
+
+  @ApiModelProperty
+  private List<FieldMetadata> schemaFields;
+
+  public List<String> getClusters() {
+    return clusters;
+  }
+
+  public void setClusters(List<String> clusters) {
+    this.clusters = clusters;
+  }
+
+  public GroupListResponse getHosts() {
+    return hosts;
+  }
+
+  public void setHosts(GroupListResponse hosts) {
+    this.hosts = hosts;
+  }
+
+  public ServiceComponentMetadataWrapper getComponents() {
+    return components;
+  }
+
+  public void setComponents(ServiceComponentMetadataWrapper components) {
+    this.components = components;
+  }
+
+  public CountDataListResponse getHostsCount() {
+    return hostsCount;
+  }
+
+  public void setHostsCount(CountDataListResponse hostsCount) {
+    this.hostsCount = hostsCount;
+  }
+
+  public CountDataListResponse getComponentsCount() {
+    return componentsCount;
+  }
+
+  public void setComponentsCount(CountDataListResponse componentsCount) {
+    this.componentsCount = componentsCount;
+  }
+
+  public List<FieldMetadata> getSchemaFields() {
+    return schemaFields;
+  }
+
+  public void setSchemaFields(List<FieldMetadata> schemaFields) {
+    this.schemaFields = schemaFields;
+  }
+}
@@ -44,7 +44,9 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
 import org.apache.ambari.logsearch.common.LogSearchConstants;
@@ -83,9 +85,9 @@ public class AuditLogsResource {
   @GET
   @Path("/schema/fields")
   @Produces({MediaType.APPLICATION_JSON})
-  @ApiOperation(GET_AUDIT_SCHEMA_FIELD_LIST_OD)
-  public AuditFieldMetadataResponse getSolrFieldListGet() {
-    return auditLogsManager.getAuditLogSchemaMetadata();
+  @ApiOperation(value = GET_AUDIT_SCHEMA_FIELD_LIST_OD, response = AuditFieldMetadataResponse.class)
+  public Response getSolrFieldListGet(@Context Request request) {
+    return auditLogsManager.getAuditLogSchemaMetadataSnapshot().toResponse(request);
   }
 
 
@@ -100,17 +102,17 @@ public class AuditLogsResource {
 
   @GET
   @Produces({MediaType.APPLICATION_JSON})
-  @ApiOperation(GET_AUDIT_LOGS_OD)
-  public AuditLogResponse getAuditLogsGet(@BeanParam AuditLogQueryRequest auditLogRequest) {
-    return auditLogsManager.getLogs(auditLogRequest);
+  @ApiOperation(value = GET_AUDIT_LOGS_OD, response = AuditLogResponse.class)
+  public Response getAuditLogsGet(@BeanParam AuditLogQueryRequest auditLogRequest) {
+    return auditLogsManager.getLogsAsStream(auditLogRequest);
   }
 
   @POST
   @Consumes({MediaType.APPLICATION_JSON})
   @Produces({MediaType.APPLICATION_JSON})
-  @ApiOperation(GET_AUDIT_LOGS_OD)
-  public AuditLogResponse getAuditLogsPost(AuditLogBodyRequest auditLogRequest) {
-    return auditLogsManager.getLogs(auditLogRequest);
+  @ApiOperation(value = GET_AUDIT_LOGS_OD, response = AuditLogResponse.class)
+  public Response getAuditLogsPost(AuditLogBodyRequest auditLogRequest) {
+    return auditLogsManager.getLogsAsStream(auditLogRequest);
   }
 
   @DELETE
@@ -27,6 +27,7 @@ import javax.ws.rs.Produces;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.apache.ambari.logsearch.manager.InfoManager;
+import org.apache.ambari.logsearch.rest.cache.EntityTagged;
 import org.springframework.context.annotation.Scope;
 
 import java.util.Map;
@@ -39,6 +40,7 @@ import static org.apache.ambari.logsearch.doc.DocConstants.PublicOperationDescri
 @Path("info")
 @Named
 @Scope("request")
+@EntityTagged
 public class InfoResource {
 
   @Inject
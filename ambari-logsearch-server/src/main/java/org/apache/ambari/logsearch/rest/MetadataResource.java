@@ -34,6 +34,7 @@ import javax.ws.rs.Produces;
 import org.apache.ambari.logsearch.manager.MetadataManager;
 import org.apache.ambari.logsearch.model.request.impl.query.MetadataQueryRequest;
 import org.apache.ambari.logsearch.model.response.LogsearchMetaData;
+import org.apache.ambari.logsearch.rest.cache.EntityTagged;
 import org.springframework.context.annotation.Scope;
 
 import io.swagger.annotations.Api;
@@ -59,6 +60,7 @@ public class MetadataResource {
   @GET
   @Produces({"application/json"})
   @ApiOperation(GET_METADATA_OD)
+  @EntityTagged
   public LogsearchMetaData getMetadata(@Valid @BeanParam MetadataQueryRequest request) {
     return metadataManager.getMetadata(request);
   }
@@ -67,6 +69,7 @@ public class MetadataResource {
   @Path("/list")
   @Produces({"application/json"})
   @ApiOperation(GET_METADATA_LIST_OD)
+  @EntityTagged
   public Collection<LogsearchMetaData> getMetadataList(@Valid @BeanParam MetadataQueryRequest request) {
     return metadataManager.getMetadataList(request);
   }
@@ -25,6 +25,7 @@ import static org.apache.ambari.logsearch.doc.DocConstants.ServiceOperationDescr
 import static org.apache.ambari.logsearch.doc.DocConstants.ServiceOperationDescriptions.GET_COMPONENTS_COUNT_OD;
 import static org.apache.ambari.logsearch.doc.DocConstants.ServiceOperationDescriptions.GET_COMPONENTS_OD;
 import static org.apache.ambari.logsearch.doc.DocConstants.ServiceOperationDescriptions.GET_COMPONENT_LIST_WITH_LEVEL_COUNT_OD;
+import static org.apache.ambari.logsearch.doc.DocConstants.ServiceOperationDescriptions.GET_DASHBOARD_OD;
 import static org.apache.ambari.logsearch.doc.DocConstants.ServiceOperationDescriptions.GET_HISTOGRAM_DATA_OD;
 import static org.apache.ambari.logsearch.doc.DocConstants.ServiceOperationDescriptions.GET_HOSTS_COUNT_OD;
 import static org.apache.ambari.logsearch.doc.DocConstants.ServiceOperationDescriptions.GET_HOSTS_OD;
@@ -53,7 +54,9 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
 import org.apache.ambari.logsearch.common.LogSearchConstants;
@@ -91,6 +94,7 @@ import org.apache.ambari.logsearch.model.response.GroupListResponse;
 import org.apache.ambari.logsearch.model.response.HostLogFilesResponse;
 import org.apache.ambari.logsearch.model.response.NameValueDataListResponse;
 import org.apache.ambari.logsearch.model.response.NodeListResponse;
+import org.apache.ambari.logsearch.model.response.ServiceLogDashboardResponse;
 import org.apache.ambari.logsearch.model.response.ServiceLogResponse;
 import org.springframework.context.annotation.Scope;
 
@@ -109,17 +113,17 @@ public class ServiceLogsResource {
 
   @GET
   @Produces({MediaType.APPLICATION_JSON})
-  @ApiOperation(SEARCH_LOGS_OD)
-  public ServiceLogResponse searchServiceLogsGet(@BeanParam ServiceLogQueryRequest request) {
-    return serviceLogsManager.searchLogs(request);
+  @ApiOperation(value = SEARCH_LOGS_OD, response = ServiceLogResponse.class)
+  public Response searchServiceLogsGet(@BeanParam ServiceLogQueryRequest request) {
+    return serviceLogsManager.searchLogsAsStream(request);
   }
 
   @POST
   @Consumes({MediaType.APPLICATION_JSON})
   @Produces({MediaType.APPLICATION_JSON})
-  @ApiOperation(SEARCH_LOGS_OD)
-  public ServiceLogResponse searchServiceLogsPost(ServiceLogBodyRequest request) {
-    return serviceLogsManager.searchLogs(request);
+  @ApiOperation(value = SEARCH_LOGS_OD, response = ServiceLogResponse.class)
+  public Response searchServiceLogsPost(ServiceLogBodyRequest request) {
+    return serviceLogsManager.searchLogsAsStream(request);
   }
 
   @DELETE
@@ -164,6 +168,23 @@ public class ServiceLogsResource {
     return serviceLogsManager.getComponentMetadata(clusterBodyRequest != null ? clusterBodyRequest.getClusters() : null);
   }
 
+  @GET
+  @Path("/dashboard")
+  @Produces({MediaType.APPLICATION_JSON})
+  @ApiOperation(GET_DASHBOARD_OD)
+  public ServiceLogDashboardResponse getDashboardGet(@QueryParam(LogSearchConstants.REQUEST_PARAM_CLUSTER_NAMES) @Nullable String clusters) {
+    return serviceLogsManager.getDashboard(clusters);
+  }
+
+  @POST
+  @Path("/dashboard")
+  @Consumes({MediaType.APPLICATION_JSON})
+  @Produces({MediaType.APPLICATION_JSON})
+  @ApiOperation(GET_DASHBOARD_OD)
+  public ServiceLogDashboardResponse getDashboardPost(@Nullable ClusterBodyRequest clusterBodyRequest) {
+    return serviceLogsManager.getDashboard(clusterBodyRequest != null ? clusterBodyRequest.getClusters() : null);
+  }
+
   @GET
   @Path("/aggregated")
   @Produces({MediaType.APPLICATION_JSON})
@@ -321,9 +342,9 @@ public class ServiceLogsResource {
   @GET
   @Path("/schema/fields")
   @Produces({MediaType.APPLICATION_JSON})
-  @ApiOperation(GET_SERVICE_LOGS_SCHEMA_FIELD_NAME_OD)
-  public List<FieldMetadata> getServiceLogsSchemaFieldsNameGet() {
-    return serviceLogsManager.getServiceLogsSchemaFieldsName();
+  @ApiOperation(value = GET_SERVICE_LOGS_SCHEMA_FIELD_NAME_OD, response = FieldMetadata.class, responseContainer = "List")
+  public Response getServiceLogsSchemaFieldsNameGet(@Context Request request) {
+    return serviceLogsManager.getServiceLogsSchemaFieldsNameSnapshot().toResponse(request);
   }
 
   @POST
@@ -373,9 +394,8 @@ public class ServiceLogsResource {
   @Path("/request/cancel")
   @Produces({MediaType.APPLICATION_JSON})
   @ApiOperation(REQUEST_CANCEL)
-  public String cancelRequestGet() {
-    // TODO: create function that cancels an ongoing solr request
-    return "{\"endpoint status\": \"not supported yet\"}";
+  public StatusMessage cancelRequestGet() {
+    return serviceLogsManager.cancelRequests();
   }
 
   @POST
@@ -383,9 +403,8 @@ public class ServiceLogsResource {
   @Consumes({MediaType.APPLICATION_JSON})
   @Produces({MediaType.APPLICATION_JSON})
   @ApiOperation(REQUEST_CANCEL)
-  public String cancelRequestPost() {
-    // TODO: create function that cancels an ongoing solr request
-    return "{\"endpoint status\": \"not supported yet\"}";
+  public StatusMessage cancelRequestPost() {
+    return serviceLogsManager.cancelRequests();
   }
 
   @GET
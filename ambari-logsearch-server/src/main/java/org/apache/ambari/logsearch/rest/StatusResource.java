@@ -20,19 +20,27 @@ package org.apache.ambari.logsearch.rest;
 
 import static org.apache.ambari.logsearch.doc.DocConstants.StatusOperationDescriptions.AUDIT_LOGS_STATUS_OD;
 import static org.apache.ambari.logsearch.doc.DocConstants.StatusOperationDescriptions.METADATA_STATUS_OD;
+import static org.apache.ambari.logsearch.doc.DocConstants.StatusOperationDescriptions.METRICS_STATUS_OD;
 import static org.apache.ambari.logsearch.doc.DocConstants.StatusOperationDescriptions.SERVICE_LOGS_STATUS_OD;
+import static org.apache.ambari.logsearch.doc.DocConstants.StatusOperationDescriptions.SOLR_CONNECTIONS_STATUS_OD;
 import static org.apache.ambari.logsearch.doc.DocConstants.StatusOperationDescriptions.STATUS_OD;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 
 import org.apache.ambari.logsearch.conf.global.SolrCollectionState;
+import org.apache.ambari.logsearch.manager.MetricsManager;
+import org.apache.ambari.logsearch.model.response.MetricsResponse;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.springframework.context.annotation.Scope;
 
 import io.swagger.annotations.Api;
@@ -57,6 +65,12 @@ public class StatusResource {
   @Named("solrMetadataState")
   private SolrCollectionState solrEventHistoryState;
 
+  @Inject
+  private PoolingHttpClientConnectionManager solrConnectionManager;
+
+  @Inject
+  private MetricsManager metricsManager;
+
   @GET
   @Produces({"application/json"})
   @ApiOperation(STATUS_OD)
@@ -91,4 +105,27 @@ public class StatusResource {
   public SolrCollectionState getSolrEventHistoryStatus() {
     return solrEventHistoryState;
   }
+
+  @GET
+  @Path("/solr/connections")
+  @Produces({"application/json"})
+  @ApiOperation(SOLR_CONNECTIONS_STATUS_OD)
+  public Map<String, Integer> getSolrConnectionsStatus() {
+    PoolStats poolStats = solrConnectionManager.getTotalStats();
+    Map<String, Integer> response = new HashMap<>();
+    response.put("leased", poolStats.getLeased());
+    response.put("available", poolStats.getAvailable());
+    response.put("pending", poolStats.getPending());
+    response.put("max", poolStats.getMax());
+    response.put("routes", solrConnectionManager.getRoutes().size());
+    return response;
+  }
+
+  @GET
+  @Path("/metrics")
+  @Produces({"application/json"})
+  @ApiOperation(METRICS_STATUS_OD)
+  public MetricsResponse getMetrics(@QueryParam("name") @Nullable String namePrefix) {
+    return metricsManager.getMetrics(namePrefix);
+  }
 }
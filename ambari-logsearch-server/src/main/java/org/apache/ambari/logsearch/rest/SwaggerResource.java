@@ -20,6 +20,7 @@ package org.apache.ambari.logsearch.rest;
 
 import io.swagger.annotations.ApiOperation;
 import org.apache.ambari.logsearch.common.ApiDocStorage;
+import org.apache.ambari.logsearch.rest.cache.EntityTagged;
 import org.springframework.context.annotation.Scope;
 
 import javax.inject.Inject;
@@ -42,6 +43,7 @@ public class SwaggerResource {
   @GET
   @Produces({MediaType.APPLICATION_JSON, "application/yaml"})
   @ApiOperation(value = "The swagger definition in either JSON or YAML", hidden = true)
+  @EntityTagged(maxAge = 3600)
   public Response swaggerDefinitionResponse(@PathParam("type") String type) {
     Response response = Response.status(404).build();
     if (apiDocStorage.getSwagger() != null) {
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.rest.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.Providers;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Adds a strong ETag and a Cache-Control header to the successful GET responses of the {@link EntityTagged} endpoints.
+ * The entity is serialized here once to compute the tag, the serialized bytes are sent as the response body,
+ * or nothing with 304 Not Modified if the request has a matching If-None-Match header.
+ * Responses which already have an ETag are left as they are.
+ */
+@Provider
+@EntityTagged
+public class EntityTagResponseFilter implements ContainerResponseFilter {
+
+  @Context
+  private ResourceInfo resourceInfo;
+
+  @Context
+  private Providers providers;
+
+  public EntityTagResponseFilter() {
+  }
+
+  EntityTagResponseFilter(ResourceInfo resourceInfo, Providers providers) {
+    this.resourceInfo = resourceInfo;
+    this.providers = providers;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) throws IOException {
+    if (!HttpMethod.GET.equals(requestContext.getMethod()) || responseContext.getStatus() != Response.Status.OK.getStatusCode() ||
+      !responseContext.hasEntity() || responseContext.getHeaders().containsKey(HttpHeaders.ETAG)) {
+      return;
+    }
+    byte[] body = serialize(responseContext);
+    if (body == null) {
+      return;
+    }
+    EntityTag entityTag = new EntityTag(DigestUtils.sha256Hex(body));
+    responseContext.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+    responseContext.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, createCacheControl());
+    if (requestContext.getRequest().evaluatePreconditions(entityTag) != null) {
+      responseContext.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+      responseContext.setEntity(null);
+    } else {
+      responseContext.setEntity(body, responseContext.getEntityAnnotations(), responseContext.getMediaType());
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private byte[] serialize(ContainerResponseContext responseContext) throws IOException {
+    MessageBodyWriter writer = providers.getMessageBodyWriter(responseContext.getEntityClass(),
+      responseContext.getEntityType(), responseContext.getEntityAnnotations(), responseContext.getMediaType());
+    if (writer == null) {
+      return null;
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    writer.writeTo(responseContext.getEntity(), responseContext.getEntityClass(), responseContext.getEntityType(),
+      responseContext.getEntityAnnotations(), responseContext.getMediaType(), responseContext.getHeaders(), outputStream);
+    return outputStream.toByteArray();
+  }
+
+  private CacheControl createCacheControl() {
+    Method resourceMethod = resourceInfo.getResourceMethod();
+    EntityTagged entityTagged = resourceMethod != null ? resourceMethod.getAnnotation(EntityTagged.class) : null;
+    if (entityTagged == null && resourceInfo.getResourceClass() != null) {
+      entityTagged = resourceInfo.getResourceClass().getAnnotation(EntityTagged.class);
+    }
+    CacheControl cacheControl = new CacheControl();
+    cacheControl.setPrivate(true);
+    if (entityTagged != null && entityTagged.maxAge() > 0) {
+      cacheControl.setMaxAge(entityTagged.maxAge());
+    } else {
+      cacheControl.setNoCache(true);
+    }
+    return cacheControl;
+  }
+}
@@ -36,6 +36,7 @@ import org.apache.ambari.logsearch.common.StatusMessage;
 import org.apache.ambari.logsearch.manager.AlreadyExistsException;
 import org.apache.ambari.logsearch.manager.MalformedInputException;
 import org.apache.ambari.logsearch.manager.NotFoundException;
+import org.apache.ambari.logsearch.manager.RequestCancelledException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -61,6 +62,7 @@ public class GeneralExceptionMapper implements ExceptionMapper<Exception> {
     exceptionStatusCodeMap.put(MalformedInputException.class, BAD_REQUEST);
     exceptionStatusCodeMap.put(AlreadyExistsException.class, CONFLICT);
     exceptionStatusCodeMap.put(NotFoundException.class, NOT_FOUND);
+    exceptionStatusCodeMap.put(RequestCancelledException.class, CONFLICT);
     exceptionStatusCodeMap.put(DateTimeException.class, BAD_REQUEST);
   }
 
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.rest.metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.uri.UriTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics of the REST endpoints by uri template, http method and status:
+ * <ul>
+ *   <li>logsearch.http.server.requests: time until the response is created by the resource (including the Solr queries)</li>
+ *   <li>logsearch.http.server.marshalling: time of writing the response entity (serialization or streaming)</li>
+ * </ul>
+ */
+@Named
+@Provider
+public class RequestMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+  static final String REQUESTS = "logsearch.http.server.requests";
+  static final String MARSHALLING = "logsearch.http.server.marshalling";
+
+  private static final String TAGS_PROPERTY = RequestMetricsFilter.class.getName() + ".tags";
+  private static final String START_PROPERTY = RequestMetricsFilter.class.getName() + ".start";
+
+  @Inject
+  private MeterRegistry meterRegistry;
+
+  public RequestMetricsFilter() {
+  }
+
+  RequestMetricsFilter(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    requestContext.setProperty(START_PROPERTY, System.nanoTime());
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    Object start = requestContext.getProperty(START_PROPERTY);
+    if (meterRegistry == null || start == null) {
+      return;
+    }
+    Tags tags = Tags.of(
+      "uri", getUriTemplate(requestContext.getUriInfo()),
+      "method", requestContext.getMethod(),
+      "status", Integer.toString(responseContext.getStatus()));
+    timer(REQUESTS, "Processing time of the REST requests", tags).record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+    requestContext.setProperty(TAGS_PROPERTY, tags);
+  }
+
+  @Override
+  public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+    Object tags = context.getProperty(TAGS_PROPERTY);
+    if (tags == null) {
+      context.proceed();
+      return;
+    }
+    long start = System.nanoTime();
+    try {
+      context.proceed();
+    } finally {
+      timer(MARSHALLING, "Time of writing the responses of the REST requests", (Tags) tags).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * @return the matched uri template (e.g. /service/logs/histogram), so the requests of an endpoint have the same tags
+   */
+  String getUriTemplate(UriInfo uriInfo) {
+    if (!(uriInfo instanceof ExtendedUriInfo)) {
+      return "UNKNOWN";
+    }
+    List<UriTemplate> templates = ((ExtendedUriInfo) uriInfo).getMatchedTemplates();
+    if (templates == null || templates.isEmpty()) {
+      return "NOT_MATCHED";
+    }
+    StringBuilder uri = new StringBuilder();
+    for (int i = templates.size() - 1; i >= 0; i--) {
+      String template = templates.get(i).getTemplate();
+      if (!template.startsWith("/")) {
+        uri.append('/');
+      }
+      uri.append(template.endsWith("/") ? template.substring(0, template.length() - 1) : template);
+    }
+    return uri.length() == 0 ? "/" : uri.toString();
+  }
+
+  private Timer timer(String name, String description, Tags tags) {
+    return Timer.builder(name)
+      .description(description)
+      .tags(tags)
+      .publishPercentiles(0.5, 0.95, 0.99)
+      .register(meterRegistry);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.solr;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.ambari.logsearch.model.response.LogData;
+import org.apache.ambari.logsearch.model.response.LogSearchResponse;
+import org.apache.ambari.logsearch.util.SolrUtil;
+import org.apache.solr.client.solrj.StreamingResponseCallback;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Writes a page of logs to a JSON generator while the documents are read from the Solr response.
+ * The output has the same properties as the serialized {@link org.apache.ambari.logsearch.model.response.LogSearchResponse}.
+ * Nothing is written if the requested page is beyond the last one (see {@link #isOutOfRange()}), so the caller can answer it differently.
+ */
+public class LogListStreamingCallback extends StreamingResponseCallback {
+
+  private static final String LOG_LIST = "logList";
+  private static final String LIST_SIZE = "listSize";
+
+  private final ObjectMapper objectMapper;
+  private final JsonGenerator generator;
+  private final SolrDocumentJsonWriter documentWriter;
+  private final boolean cursorPaging;
+
+  private long numFound;
+  private long start;
+  private int listSize;
+  private boolean started;
+  private boolean outOfRange;
+
+  public LogListStreamingCallback(ObjectMapper objectMapper, JsonGenerator generator, SolrDocumentJsonWriter documentWriter,
+                                  boolean cursorPaging) {
+    this.objectMapper = objectMapper;
+    this.generator = generator;
+    this.documentWriter = documentWriter;
+    this.cursorPaging = cursorPaging;
+  }
+
+  @Override
+  public void streamDocListInfo(long numFound, long start, Float maxScore) {
+    this.numFound = numFound;
+    this.start = start;
+    this.outOfRange = !cursorPaging && numFound > 0 && start >= numFound;
+  }
+
+  @Override
+  public void streamSolrDocument(SolrDocument document) {
+    try {
+      if (listSize == 0) {
+        writeStart();
+        generator.writeArrayFieldStart(LOG_LIST);
+      }
+      documentWriter.write(document, generator);
+      listSize++;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Close the log list and write the remaining properties of the response: these are filled into the given (empty) response
+   * bean, which is serialized by the same object mapper as the documents, so the output matches the non-streamed response.
+   * @param response the Solr response (without the documents)
+   * @param rows requested page size
+   * @param trailingResponse empty response bean of the log type
+   */
+  public <T extends LogData> void finish(QueryResponse response, Integer rows, LogSearchResponse<T> trailingResponse) throws IOException {
+    trailingResponse.setTotalCount(numFound);
+    trailingResponse.setStartIndex(listSize > 0 && !cursorPaging ? (int) start : 0);
+    trailingResponse.setPageSize(rows != null && (cursorPaging || listSize > 0) ? rows : 0);
+    trailingResponse.setQueryTimeMS(response.getElapsedTime());
+    trailingResponse.setPartialResults(SolrUtil.isPartialResults(response));
+    if (cursorPaging) {
+      trailingResponse.setNextCursorMark(response.getNextCursorMark());
+      if (listSize == 0) {
+        trailingResponse.setLogList(new ArrayList<>());
+      }
+    }
+    ObjectNode trailingFields = objectMapper.valueToTree(trailingResponse);
+    trailingFields.put(LIST_SIZE, listSize);
+
+    writeStart();
+    if (listSize > 0) {
+      generator.writeEndArray();
+      trailingFields.remove(LOG_LIST);
+    }
+    for (Iterator<Map.Entry<String, JsonNode>> fields = trailingFields.fields(); fields.hasNext(); ) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      generator.writeFieldName(field.getKey());
+      objectMapper.writeTree(generator, field.getValue());
+    }
+    generator.writeEndObject();
+  }
+
+  public boolean isOutOfRange() {
+    return outOfRange;
+  }
+
+  private void writeStart() throws IOException {
+    if (!started) {
+      generator.writeStartObject();
+      started = true;
+    }
+  }
+}
@@ -22,12 +22,14 @@ package org.apache.ambari.logsearch.solr;
 import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.COMPONENT;
 import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.PATH;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -87,6 +89,28 @@ public class ResponseDataGenerator {
     return dataList;
   }
 
+  /**
+   * Same output as {@link #generateBarGraphDataResponseWithRanges(QueryResponse, String, boolean)}, but from an already stitched
+   * histogram (counts by type and by bucket start)
+   */
+  public BarGraphDataListResponse generateBarGraphDataResponseFromHistogram(Map<String, SortedMap<Long, Long>> histogram, boolean typeUppercase) {
+    BarGraphDataListResponse dataList = new BarGraphDataListResponse();
+    for (Map.Entry<String, SortedMap<Long, Long>> typeHistogram : histogram.entrySet()) {
+      List<NameValueData> nameValues = new ArrayList<>();
+      for (Map.Entry<Long, Long> bucket : typeHistogram.getValue().entrySet()) {
+        NameValueData nameValue = new NameValueData();
+        nameValue.setName(Instant.ofEpochMilli(bucket.getKey()).toString());
+        nameValue.setValue(String.valueOf(bucket.getValue()));
+        nameValues.add(nameValue);
+      }
+      BarGraphData barGraphData = new BarGraphData();
+      barGraphData.setDataCount(nameValues);
+      barGraphData.setName(typeUppercase ? StringUtils.upperCase(typeHistogram.getKey()) : typeHistogram.getKey());
+      dataList.getGraphData().add(barGraphData);
+    }
+    return dataList;
+  }
+
   public BarGraphDataListResponse generateSecondLevelBarGraphDataResponse(QueryResponse response, int val) {
     BarGraphDataListResponse barGraphDataListResponse = new BarGraphDataListResponse();
     NamedList<List<PivotField>> pivotFieldNameList = response.getFacetPivot();
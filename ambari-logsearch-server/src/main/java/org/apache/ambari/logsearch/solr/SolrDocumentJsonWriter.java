@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.solr;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.solr.common.SolrDocument;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+/**
+ * Writes Solr documents as JSON in the same shape as the Jackson serialization of the Solr beans, without binding them.
+ * The field mapping is computed once per bean class: the Solr field names come from the {@link org.apache.solr.client.solrj.beans.Field}
+ * annotations, the JSON property names from the Jackson introspection of the bean. The dynamic fields (wildcard mappings)
+ * are written by their own names, as the {@link com.fasterxml.jackson.annotation.JsonAnyGetter} of the models does.
+ */
+public class SolrDocumentJsonWriter {
+
+  private static final String DEFAULT_FIELD_NAME = "#default";
+  private static final String WILDCARD = "*";
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final Map<Class<?>, SolrDocumentJsonWriter> writers = new ConcurrentHashMap<>();
+
+  /** Solr field name -> JSON property */
+  private final Map<String, JsonProperty> fields = new LinkedHashMap<>();
+  private final List<String> dynamicFieldPrefixes = new ArrayList<>();
+  private final List<String> dynamicFieldSuffixes = new ArrayList<>();
+
+  private SolrDocumentJsonWriter(Class<?> beanClass) {
+    Map<String, String> jsonNames = new HashMap<>();
+    BeanDescription beanDescription = objectMapper.getSerializationConfig().introspect(objectMapper.constructType(beanClass));
+    for (BeanPropertyDefinition property : beanDescription.findProperties()) {
+      if (property.couldSerialize()) {
+        jsonNames.put(property.getInternalName(), property.getName());
+      }
+    }
+    List<Class<?>> hierarchy = new ArrayList<>();
+    for (Class<?> clazz = beanClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+      hierarchy.add(clazz);
+    }
+    Collections.reverse(hierarchy);
+    for (Class<?> clazz : hierarchy) {
+      for (Field field : clazz.getDeclaredFields()) {
+        org.apache.solr.client.solrj.beans.Field solrField = field.getAnnotation(org.apache.solr.client.solrj.beans.Field.class);
+        if (solrField == null) {
+          continue;
+        }
+        String name = DEFAULT_FIELD_NAME.equals(solrField.value()) ? field.getName() : solrField.value();
+        if (name.startsWith(WILDCARD)) {
+          dynamicFieldSuffixes.add(name.substring(WILDCARD.length()));
+        } else if (name.endsWith(WILDCARD)) {
+          dynamicFieldPrefixes.add(name.substring(0, name.length() - WILDCARD.length()));
+        } else if (jsonNames.containsKey(field.getName())) {
+          boolean multiValued = Collection.class.isAssignableFrom(field.getType()) || field.getType().isArray();
+          fields.put(name, new JsonProperty(jsonNames.get(field.getName()), multiValued));
+        }
+      }
+    }
+  }
+
+  public static SolrDocumentJsonWriter forBean(Class<?> beanClass) {
+    return writers.computeIfAbsent(beanClass, SolrDocumentJsonWriter::new);
+  }
+
+  public void write(SolrDocument document, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    for (Map.Entry<String, JsonProperty> field : fields.entrySet()) {
+      JsonProperty property = field.getValue();
+      generator.writeFieldName(property.name);
+      generator.writeObject(property.multiValued ? document.getFieldValues(field.getKey()) : document.getFirstValue(field.getKey()));
+    }
+    for (String name : document.getFieldNames()) {
+      if (!fields.containsKey(name) && isDynamicField(name)) {
+        generator.writeFieldName(name);
+        generator.writeObject(document.getFieldValue(name));
+      }
+    }
+    generator.writeEndObject();
+  }
+
+  private boolean isDynamicField(String name) {
+    for (String prefix : dynamicFieldPrefixes) {
+      if (name.startsWith(prefix)) {
+        return true;
+      }
+    }
+    for (String suffix : dynamicFieldSuffixes) {
+      if (name.endsWith(suffix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static class JsonProperty {
+    private final String name;
+    private final boolean multiValued;
+
+    private JsonProperty(String name, boolean multiValued) {
+      this.name = name;
+      this.multiValued = multiValued;
+    }
+  }
+}
@@ -18,12 +18,21 @@
  */
 package org.apache.ambari.logsearch.util;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ws.rs.core.StreamingOutput;
 
 import com.google.common.base.Splitter;
+import freemarker.template.TemplateException;
 import org.apache.ambari.logsearch.common.LogSearchConstants;
 import org.apache.ambari.logsearch.model.request.impl.ServiceLogExportRequest;
 import org.apache.ambari.logsearch.model.response.BarGraphData;
@@ -32,14 +41,11 @@ import org.apache.ambari.logsearch.model.response.NameValueData;
 import org.apache.ambari.logsearch.model.response.TemplateData;
 import org.apache.commons.lang.StringUtils;
 import org.apache.solr.common.SolrDocument;
-import org.apache.solr.common.SolrDocumentList;
 
 import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.LINE_NUMBER;
 import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.LOGTIME;
 import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.LOG_MESSAGE;
 import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.LEVEL;
-import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.HOST;
-import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.COMPONENT;
 import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.LOGGER_NAME;
 import static org.apache.ambari.logsearch.solr.SolrConstants.ServiceLogConstants.THREAD_NAME;
 import static org.apache.ambari.logsearch.solr.SolrConstants.CommonLogConstants.FILE;
@@ -51,61 +57,32 @@ public class DownloadUtil {
     throw new UnsupportedOperationException();
   }
 
-  public static void fillModelsForLogFile(SolrDocumentList docList, Map<String, Object> models, ServiceLogExportRequest request,
-                                          String format, String from, String to) {
-    long numLogs = docList.getNumFound();
-    List<String> hosts = new ArrayList<>();
-    List<String> components = new ArrayList<>();
-    List<String> levels = new ArrayList<>();
-    List<TemplateData> logData = new ArrayList<>();
-    for (SolrDocument doc : docList) {
-      if (doc != null) {
-        String hostname = (String) doc.getFieldValue(HOST);
-        String comp = (String) doc.getFieldValue(COMPONENT);
-        String level = (String) doc.getFieldValue(LEVEL);
-
-        if (!hosts.contains(hostname)) {
-          hosts.add(hostname);
-        }
-
-        if (!components.contains(comp)) {
-          components.add(comp);
-        }
-
-        if (!levels.contains(level)) {
-          levels.add(level);
-        }
-
-        StringBuffer textToWrite = new StringBuffer();
-
-        if (doc.getFieldValue(LOGTIME) != null) {
-          textToWrite.append(doc.getFieldValue(LOGTIME).toString() + " ");
-        }
-        if (doc.getFieldValue(LEVEL) != null) {
-          textToWrite.append(doc.getFieldValue(LEVEL).toString()).append(" ");
-        }
-        if (doc.getFieldValue(THREAD_NAME) != null) {
-          textToWrite.append(doc.getFieldValue(THREAD_NAME).toString().trim()).append(" ");
-        }
-        if (doc.getFieldValue(LOGGER_NAME) != null) {
-          textToWrite.append(doc.getFieldValue(LOGGER_NAME).toString().trim()).append(" ");
-        }
-        if (doc.getFieldValue(FILE) != null && doc.getFieldValue(LINE_NUMBER) != null) {
-          textToWrite
-            .append(doc.getFieldValue(FILE).toString())
-            .append(":")
-            .append(doc.getFieldValue(LINE_NUMBER).toString())
-            .append(" ");
-        }
-        if (doc.getFieldValue(LOG_MESSAGE) != null) {
-          textToWrite.append("- ")
-            .append(doc.getFieldValue(LOG_MESSAGE).toString());
-        }
-        logData.add(new TemplateData((textToWrite.toString())));
+  /**
+   * Wrap the export content into a streaming output, the content is written straight into the response (gzipped if required)
+   */
+  public static StreamingOutput createExportOutput(boolean compress, ExportContentWriter contentWriter) {
+    return outputStream -> {
+      GZIPOutputStream gzipOutputStream = compress ? new GZIPOutputStream(outputStream) : null;
+      Writer writer = new BufferedWriter(new OutputStreamWriter(compress ? gzipOutputStream : outputStream, StandardCharsets.UTF_8));
+      try {
+        contentWriter.write(writer);
+      } catch (TemplateException e) {
+        throw new RuntimeException("Error while rendering freemarker template!", e);
       }
-    }
+      writer.flush();
+      if (gzipOutputStream != null) {
+        gzipOutputStream.finish();
+      }
+    };
+  }
+
+  public static String getExportFileName(String fileName, boolean compress) {
+    return compress ? fileName + ".gz" : fileName;
+  }
+
+  public static void fillSummaryModelsForLogFile(Map<String, Object> models, long numLogs, List<String> hosts, List<String> components,
+                                                 List<String> levels, ServiceLogExportRequest request, String format, String from, String to) {
     models.put("numberOfLogs", numLogs);
-    models.put("logs", logData);
     models.put("hosts", "[ " + StringUtils.join(hosts, " ; ") + " ]");
     models.put("components", "[ " + StringUtils.join(components, " ; ") + " ]");
     models.put("format", format);
@@ -131,6 +108,35 @@ public class DownloadUtil {
     models.put("eString", excludeString);
   }
 
+  public static String formatLogLine(SolrDocument doc) {
+    StringBuilder textToWrite = new StringBuilder();
+
+    if (doc.getFieldValue(LOGTIME) != null) {
+      textToWrite.append(doc.getFieldValue(LOGTIME).toString()).append(" ");
+    }
+    if (doc.getFieldValue(LEVEL) != null) {
+      textToWrite.append(doc.getFieldValue(LEVEL).toString()).append(" ");
+    }
+    if (doc.getFieldValue(THREAD_NAME) != null) {
+      textToWrite.append(doc.getFieldValue(THREAD_NAME).toString().trim()).append(" ");
+    }
+    if (doc.getFieldValue(LOGGER_NAME) != null) {
+      textToWrite.append(doc.getFieldValue(LOGGER_NAME).toString().trim()).append(" ");
+    }
+    if (doc.getFieldValue(FILE) != null && doc.getFieldValue(LINE_NUMBER) != null) {
+      textToWrite
+        .append(doc.getFieldValue(FILE).toString())
+        .append(":")
+        .append(doc.getFieldValue(LINE_NUMBER).toString())
+        .append(" ");
+    }
+    if (doc.getFieldValue(LOG_MESSAGE) != null) {
+      textToWrite.append("- ")
+        .append(doc.getFieldValue(LOG_MESSAGE).toString());
+    }
+    return textToWrite.toString();
+  }
+
   public static void fillUserResourcesModel(Map<String, Object> models, BarGraphDataListResponse vBarUserDataList, BarGraphDataListResponse vBarResourceDataList) {
     List<TemplateData> usersDataList = new ArrayList<>();
     List<TemplateData> resourceDataList = new ArrayList<>();
@@ -173,4 +179,9 @@ public class DownloadUtil {
     }
     return fieldWithBlank;
   }
+
+  @FunctionalInterface
+  public interface ExportContentWriter {
+    void write(Writer writer) throws IOException, TemplateException;
+  }
 }
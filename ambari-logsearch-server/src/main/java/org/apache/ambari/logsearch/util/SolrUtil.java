@@ -19,6 +19,8 @@
 
 package org.apache.ambari.logsearch.util;
 
+import static org.apache.ambari.logsearch.solr.SolrConstants.CommonLogConstants.ID;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -31,6 +33,12 @@ import org.apache.lucene.analysis.path.PathHierarchyTokenizerFactory;
 import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
 import org.apache.lucene.analysis.util.TokenizerFactory;
 import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.SolrResponseBase;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.params.FacetParams;
+import org.apache.solr.common.params.StatsParams;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.response.SolrQueryResponse;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.schema.DoublePointField;
@@ -240,6 +248,57 @@ public class SolrUtil {
     }
   }
 
+  /**
+   * Turn a (paginated) query into a cursor based one: the cursor has to start from 0 and the sort has to contain the unique key
+   * as a tie breaker, so the id field is added to the end of the sort if it is not there already.
+   * @param solrQuery query with sort and rows
+   * @param cursorMark cursor mark returned by the previous page, or * for the first page
+   */
+  public static void setCursorMark(SolrQuery solrQuery, String cursorMark) {
+    solrQuery.setStart(0);
+    String sort = solrQuery.get(LogSearchConstants.SORT);
+    String idSort = ID + " asc";
+    if (StringUtils.isBlank(sort)) {
+      sort = idSort;
+    } else if (!hasSortOnField(sort, ID)) {
+      sort = sort + "," + idSort;
+    }
+    solrQuery.set(LogSearchConstants.SORT, sort);
+    solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+  }
+
+  /**
+   * Check that the query hit its time budget (timeAllowed) on Solr side, in that case the response contains only partial results.
+   */
+  public static boolean isPartialResults(SolrResponseBase response) {
+    if (response.getResponse() == null) {
+      return false;
+    }
+    NamedList<Object> responseHeader = response.getResponseHeader();
+    return responseHeader != null && Boolean.TRUE.equals(responseHeader.get(SolrQueryResponse.RESPONSE_HEADER_PARTIAL_RESULTS_KEY));
+  }
+
+  /**
+   * Check that the query lists documents only: it returns rows and has no facets or stats. Only these queries get a time
+   * budget (timeAllowed), as partial counts of facet, histogram or count queries would be shown (and cached) as exact ones.
+   */
+  public static boolean isDocumentListQuery(SolrQuery solrQuery) {
+    Integer rows = solrQuery.getRows();
+    return (rows == null || rows > 0)
+      && !solrQuery.getBool(FacetParams.FACET, false)
+      && !solrQuery.getBool(StatsParams.STATS, false)
+      && solrQuery.get("json.facet") == null;
+  }
+
+  private static boolean hasSortOnField(String sort, String field) {
+    for (String sortClause : Splitter.on(',').trimResults().omitEmptyStrings().split(sort)) {
+      if (field.equals(StringUtils.substringBefore(sortClause, " "))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @SuppressWarnings("unchecked")
   private static boolean checkTokenizer(Class<? extends TokenizerFactory> tokenizerFactoryClass, Map<String, Object> fieldTypeInfoMap) {
     HashMap<String, Object> analyzer = (HashMap<String, Object>) fieldTypeInfoMap.get("analyzer");
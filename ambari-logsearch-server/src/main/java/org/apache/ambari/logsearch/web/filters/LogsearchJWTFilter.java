@@ -18,6 +18,7 @@
  */
 package org.apache.ambari.logsearch.web.filters;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.ambari.logsearch.auth.filter.AbstractJWTFilter;
 import org.apache.ambari.logsearch.conf.AuthPropsConfig;
 import org.apache.ambari.logsearch.dao.RoleDao;
@@ -33,8 +34,8 @@ public class LogsearchJWTFilter extends AbstractJWTFilter {
   private AuthPropsConfig authPropsConfig;
   private RoleDao roleDao;
 
-  public LogsearchJWTFilter(RequestMatcher requestMatcher, AuthPropsConfig authPropsConfig, RoleDao roleDao) {
-    super(new NegatedRequestMatcher(requestMatcher));
+  public LogsearchJWTFilter(RequestMatcher requestMatcher, AuthPropsConfig authPropsConfig, RoleDao roleDao, MeterRegistry meterRegistry) {
+    super(new NegatedRequestMatcher(requestMatcher), authPropsConfig.getJwtTokenCacheMaxSize(), meterRegistry);
     this.authPropsConfig = authPropsConfig;
     this.roleDao = roleDao;
   }
@@ -95,6 +95,7 @@ public class LogsearchSecurityContextFormationFilter extends GenericFilterBean {
           context = new LogSearchContext();
           httpSession.setAttribute(LOGSEARCH_SC_SESSION_KEY, context);
         }
+        context.setSessionId(httpSession.getId());
         LogSearchContext.setContext(context);
         User user = sessionManager.processSuccessLogin();
         context.setUser(user);
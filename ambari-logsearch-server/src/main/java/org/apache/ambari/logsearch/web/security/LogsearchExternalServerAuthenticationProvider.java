@@ -18,15 +18,20 @@
  */
 package org.apache.ambari.logsearch.web.security;
 
+import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.apache.ambari.logsearch.common.ExternalServerClient;
 import org.apache.ambari.logsearch.conf.AuthPropsConfig;
 import org.apache.ambari.logsearch.util.JSONUtil;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringEscapeUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -35,6 +40,12 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 
 /**
  * 
@@ -46,6 +57,8 @@ public class LogsearchExternalServerAuthenticationProvider extends LogsearchAbst
 
   private static final Logger logger = LogManager.getLogger(LogsearchExternalServerAuthenticationProvider.class);
 
+  private static final String CACHE_NAME = "logsearch.auth.external.cache";
+
   private static enum PrivilegeInfo {
     PERMISSION_LABEL("permission_label"),
     PERMISSION_NAME("permission_name"),
@@ -72,6 +85,33 @@ public class LogsearchExternalServerAuthenticationProvider extends LogsearchAbst
   @Inject
   private AuthPropsConfig authPropsConfig;
 
+  @Inject
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Successful authentications keyed by a salted digest of the username and the password, so the external server
+   * is not called on every login of the same user. Null if the cache is disabled.
+   */
+  private Cache<String, List<GrantedAuthority>> authenticationCache;
+  private String cacheKeySalt;
+
+  @PostConstruct
+  public void init() {
+    if (authPropsConfig.getExternalAuthCacheTtlSeconds() > 0) {
+      byte[] salt = new byte[16];
+      new SecureRandom().nextBytes(salt);
+      cacheKeySalt = Hex.encodeHexString(salt);
+      authenticationCache = CacheBuilder.newBuilder()
+        .maximumSize(Math.max(1, authPropsConfig.getExternalAuthCacheMaxSize()))
+        .expireAfterWrite(authPropsConfig.getExternalAuthCacheTtlSeconds(), TimeUnit.SECONDS)
+        .recordStats()
+        .build();
+      if (meterRegistry != null) {
+        GuavaCacheMetrics.monitor(meterRegistry, authenticationCache, CACHE_NAME);
+      }
+    }
+  }
+
   /**
    * Authenticating user from external-server using REST call
    * 
@@ -96,7 +136,16 @@ public class LogsearchExternalServerAuthenticationProvider extends LogsearchAbst
     }
     password = StringEscapeUtils.unescapeHtml(password);
     username = StringEscapeUtils.unescapeHtml(username);
-    
+
+    String cacheKey = authenticationCache != null ? DigestUtils.sha256Hex(cacheKeySalt + username + '\0' + password) : null;
+    if (cacheKey != null) {
+      List<GrantedAuthority> authorities = authenticationCache.getIfPresent(cacheKey);
+      if (authorities != null) {
+        logger.debug("Using cached external authentication of {}", username);
+        return new UsernamePasswordAuthenticationToken(username, password, authorities);
+      }
+    }
+
     try {
       String finalLoginUrl = authPropsConfig.getExternalAuthLoginUrl().replace("$USERNAME", username);
       String responseObj = (String) externalServerClient.sendGETRequest(finalLoginUrl, String.class, username, password);
@@ -108,7 +157,11 @@ public class LogsearchExternalServerAuthenticationProvider extends LogsearchAbst
       logger.error("Login failed for username :" + username + " Error :" + e.getLocalizedMessage());
       throw new BadCredentialsException("Bad credentials");
     }
-    authentication = new UsernamePasswordAuthenticationToken(username, password, getAuthorities());
+    List<GrantedAuthority> authorities = getAuthorities();
+    if (cacheKey != null) {
+      authenticationCache.put(cacheKey, authorities);
+    }
+    authentication = new UsernamePasswordAuthenticationToken(username, password, authorities);
     return authentication;
   }
 
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.auth.filter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+
+public class AbstractJWTFilterTest {
+
+  private static final String COOKIE_NAME = "hadoop-jwt";
+
+  private MeterRegistry meterRegistry;
+  private TestJWTFilter underTest;
+
+  @Before
+  public void setUp() throws Exception {
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new TestJWTFilter(meterRegistry);
+    underTest.publicKey = readPemBody("signing-key-1.crt");
+  }
+
+  @After
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void testValidTokenIsVerifiedOnlyOnce() throws Exception {
+    String token = createToken("signing-key-1.key", "admin", null, 60_000L);
+
+    Assert.assertEquals("admin", authenticate(token).getName());
+    Assert.assertEquals("admin", authenticate(token).getName());
+
+    Assert.assertEquals(1, verificationCount());
+  }
+
+  @Test
+  public void testExpiredCachedTokenIsRejected() throws Exception {
+    String token = createToken("signing-key-1.key", "admin", null, 2_000L);
+    authenticate(token);
+
+    Thread.sleep(3_000L);
+
+    try {
+      authenticate(token);
+      Assert.fail("Expired token must be rejected");
+    } catch (BadCredentialsException e) {
+      Assert.assertEquals(1, verificationCount());
+    }
+  }
+
+  @Test
+  public void testRotatedPublicKeyInvalidatesCachedTokens() throws Exception {
+    String oldToken = createToken("signing-key-1.key", "admin", null, 60_000L);
+    authenticate(oldToken);
+
+    underTest.publicKey = readPemBody("signing-key-2.crt");
+
+    try {
+      authenticate(oldToken);
+      Assert.fail("Token signed with the previous key must be rejected");
+    } catch (BadCredentialsException e) {
+      // expected
+    }
+    String newToken = createToken("signing-key-2.key", "user", null, 60_000L);
+    Assert.assertEquals("user", authenticate(newToken).getName());
+  }
+
+  @Test
+  public void testTokenWithoutExpirationIsNotCached() throws Exception {
+    String token = createToken("signing-key-1.key", "admin", null, null);
+
+    authenticate(token);
+    authenticate(token);
+
+    Assert.assertEquals(2, verificationCount());
+  }
+
+  @Test
+  public void testAudienceIsValidatedOnCacheHit() throws Exception {
+    String token = createToken("signing-key-1.key", "admin", "other", 60_000L);
+    underTest.audiences = Collections.singletonList("other");
+    authenticate(token);
+
+    underTest.audiences = Collections.singletonList("logsearch");
+
+    try {
+      authenticate(token);
+      Assert.fail("Token with a not accepted audience must be rejected");
+    } catch (BadCredentialsException e) {
+      Assert.assertEquals(1, verificationCount());
+    }
+  }
+
+  private Authentication authenticate(String token) throws Exception {
+    HttpServletRequest request = createNiceMock(HttpServletRequest.class);
+    expect(request.getCookies()).andReturn(new Cookie[] {new Cookie(COOKIE_NAME, token)}).anyTimes();
+    expect(request.getRequestURL()).andReturn(new StringBuffer("http://localhost:61888/api/v1/info")).anyTimes();
+    replay(request);
+    return underTest.attemptAuthentication(request, null);
+  }
+
+  private long verificationCount() {
+    return meterRegistry.get("logsearch.auth.jwt.verification").timer().count();
+  }
+
+  private String createToken(String privateKeyResource, String subject, String audience, Long expiresInMillis) throws Exception {
+    PrivateKey privateKey = KeyFactory.getInstance("RSA")
+      .generatePrivate(new PKCS8EncodedKeySpec(Base64.getMimeDecoder().decode(readPemBody(privateKeyResource))));
+    JwtBuilder builder = Jwts.builder().setSubject(subject).setAudience(audience);
+    if (expiresInMillis != null) {
+      builder.setExpiration(new Date(System.currentTimeMillis() + expiresInMillis));
+    }
+    return builder.signWith(SignatureAlgorithm.RS256, privateKey).compact();
+  }
+
+  private String readPemBody(String resource) throws IOException {
+    try (InputStream inputStream = getClass().getResourceAsStream("/jwt/" + resource)) {
+      return IOUtils.toString(inputStream, StandardCharsets.UTF_8).replaceAll("-----[A-Z ]+-----", "").trim();
+    }
+  }
+
+  private static class TestJWTFilter extends AbstractJWTFilter {
+
+    private volatile String publicKey;
+    private volatile List<String> audiences = Collections.emptyList();
+
+    private TestJWTFilter(MeterRegistry meterRegistry) {
+      super(AnyRequestMatcher.INSTANCE, 100, meterRegistry);
+    }
+
+    @Override
+    protected String getPublicKey() {
+      return publicKey;
+    }
+
+    @Override
+    protected String getProvidedUrl() {
+      return "https://knox.example.com/gateway/knoxsso/api/v1/websso";
+    }
+
+    @Override
+    protected boolean isAuthJwtEnabled() {
+      return true;
+    }
+
+    @Override
+    protected String getCookieName() {
+      return COOKIE_NAME;
+    }
+
+    @Override
+    protected String getOriginalUrlQueryParam() {
+      return "originalUrl";
+    }
+
+    @Override
+    protected List<String> getAudiences() {
+      return audiences;
+    }
+
+    @Override
+    protected Collection<? extends GrantedAuthority> getAuthorities(String username) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected List<String> getUserAgentList() {
+      return Collections.emptyList();
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.common;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+
+  private long now;
+  private CircuitBreaker underTest;
+
+  @Before
+  public void setUp() {
+    now = 1000L;
+    underTest = new CircuitBreaker("test", 2, 500L) {
+      @Override
+      protected long currentTimeMillis() {
+        return now;
+      }
+    };
+  }
+
+  @Test
+  public void testOpensAfterConsecutiveFailures() {
+    // GIVEN
+    assertTrue(underTest.tryAcquire());
+    underTest.onFailure();
+    assertTrue(underTest.tryAcquire());
+    // WHEN
+    underTest.onFailure();
+    // THEN
+    assertEquals(CircuitBreaker.State.OPEN, underTest.getState());
+    assertFalse(underTest.tryAcquire());
+  }
+
+  @Test
+  public void testSuccessResetsFailureCount() {
+    // GIVEN
+    underTest.onFailure();
+    underTest.onSuccess();
+    // WHEN
+    underTest.onFailure();
+    // THEN
+    assertEquals(CircuitBreaker.State.CLOSED, underTest.getState());
+    assertTrue(underTest.tryAcquire());
+  }
+
+  @Test
+  public void testAllowsOneTrialCallAfterOpenDuration() {
+    // GIVEN
+    underTest.onFailure();
+    underTest.onFailure();
+    now += 500L;
+    // WHEN
+    boolean trial = underTest.tryAcquire();
+    // THEN
+    assertTrue(trial);
+    assertFalse(underTest.tryAcquire());
+    assertEquals(CircuitBreaker.State.HALF_OPEN, underTest.getState());
+  }
+
+  @Test
+  public void testFailedTrialCallOpensAgain() {
+    // GIVEN
+    underTest.onFailure();
+    underTest.onFailure();
+    now += 500L;
+    assertTrue(underTest.tryAcquire());
+    // WHEN
+    underTest.onFailure();
+    // THEN
+    assertEquals(CircuitBreaker.State.OPEN, underTest.getState());
+    assertFalse(underTest.tryAcquire());
+  }
+
+  @Test
+  public void testSuccessfulTrialCallCloses() {
+    // GIVEN
+    underTest.onFailure();
+    underTest.onFailure();
+    now += 500L;
+    assertTrue(underTest.tryAcquire());
+    // WHEN
+    underTest.onSuccess();
+    // THEN
+    assertEquals(CircuitBreaker.State.CLOSED, underTest.getState());
+    assertTrue(underTest.tryAcquire());
+  }
+}
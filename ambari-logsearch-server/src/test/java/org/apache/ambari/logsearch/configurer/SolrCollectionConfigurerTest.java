@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.configurer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ambari.logsearch.conf.global.SolrCollectionState;
+import org.apache.ambari.logsearch.conf.global.SolrMetadataState;
+import org.apache.ambari.logsearch.conf.global.StartupPhaseTimings;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SolrCollectionConfigurerTest {
+
+  private final SolrCollectionConfigurer underTest = new SolrCollectionConfigurer(null, false, null, null);
+
+  @Test
+  public void testSetupIsRetriedUntilTheCollectionIsReady() throws Exception {
+    SolrCollectionState state = new SolrMetadataState();
+    StartupPhaseTimings timings = state.getStartupPhaseTimings();
+    AtomicInteger attempts = new AtomicInteger();
+
+    long start = System.currentTimeMillis();
+    underTest.setupUntilReady(state, "hadoop_logs", 50L, () -> {
+      int attempt = attempts.incrementAndGet();
+      timings.time("collection_create", () -> {
+        if (attempt == 1) {
+          throw new IllegalStateException("Solr is not available");
+        }
+        return null;
+      });
+      // the second attempt succeeds, but the collection becomes ready with the third one only
+      state.setSolrCollectionReady(attempt == 3);
+      return null;
+    });
+    long elapsed = System.currentTimeMillis() - start;
+
+    Assert.assertEquals(3, attempts.get());
+    Assert.assertEquals(3, timings.getAttempts());
+    Assert.assertEquals(3, timings.getPhases().get("collection_create").getCount());
+    Assert.assertNotNull(timings.getTimeToReadyMs());
+    Assert.assertTrue("waits the retry interval after each attempt which did not make the collection ready", elapsed >= 100L);
+  }
+
+  @Test
+  public void testNoAttemptIsMadeWhenTheCollectionIsAlreadyReady() {
+    SolrCollectionState state = new SolrMetadataState();
+    state.setSolrCollectionReady(true);
+
+    underTest.setupUntilReady(state, "hadoop_logs", 50L, () -> {
+      throw new AssertionError("No setup attempt expected");
+    });
+
+    Assert.assertEquals(0, state.getStartupPhaseTimings().getAttempts());
+    Assert.assertNull(state.getStartupPhaseTimings().getTimeToReadyMs());
+  }
+
+  @Test
+  public void testReadyTimeIsRecordedOnlyOnce() throws Exception {
+    StartupPhaseTimings timings = new StartupPhaseTimings();
+    timings.ready();
+    Long timeToReady = timings.getTimeToReadyMs();
+    Thread.sleep(20L);
+    timings.ready();
+
+    Assert.assertEquals(timeToReady, timings.getTimeToReadyMs());
+  }
+}
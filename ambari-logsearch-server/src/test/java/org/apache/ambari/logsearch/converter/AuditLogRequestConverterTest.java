@@ -20,6 +20,7 @@ package org.apache.ambari.logsearch.converter;
 
 import org.apache.ambari.logsearch.model.request.impl.AuditLogRequest;
 import org.apache.ambari.logsearch.model.request.impl.query.AuditLogQueryRequest;
+import org.apache.ambari.logsearch.util.SolrUtil;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.junit.Before;
 import org.junit.Test;
@@ -63,4 +64,18 @@ public class AuditLogRequestConverterTest extends AbstractRequestConverterTest {
     assertEquals("?q=*%3A*&start=0&rows=99999&sort=evtTime+desc%2Cseq_num+desc", queryResult.toQueryString());
   }
 
+  @Test
+  public void testConvertWithCursorMark() {
+    // GIVEN
+    AuditLogRequest request = new AuditLogQueryRequest();
+    request.setPage("5");
+    request.setPageSize("25");
+    // WHEN
+    SimpleQuery simpleQuery = underTest.convert(request);
+    SolrQuery queryResult = new DefaultQueryParser().doConstructSolrQuery(simpleQuery);
+    SolrUtil.setCursorMark(queryResult, "*");
+    // THEN
+    assertEquals("?q=*%3A*&start=0&rows=25&sort=evtTime+desc%2Cseq_num+desc%2Cid+asc&cursorMark=*", queryResult.toQueryString());
+  }
+
 }
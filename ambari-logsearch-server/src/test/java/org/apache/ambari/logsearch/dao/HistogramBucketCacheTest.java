@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.apache.ambari.logsearch.common.LogType;
+import org.apache.ambari.logsearch.conf.SolrQueryCacheConfig;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.common.util.SimpleOrderedMap;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HistogramBucketCacheTest {
+
+  private HistogramBucketCache underTest;
+  private List<String> requestedStarts;
+
+  @Before
+  public void setUp() {
+    SolrQueryCacheConfig solrQueryCacheConfig = new SolrQueryCacheConfig();
+    solrQueryCacheConfig.setEnabled(true);
+    solrQueryCacheConfig.setMaxSize(10);
+    solrQueryCacheConfig.setTtlSeconds(60);
+    solrQueryCacheConfig.setHistogramEnabled(true);
+    solrQueryCacheConfig.setHistogramMaxBuckets(100);
+    solrQueryCacheConfig.setHistogramSealDelaySeconds(60);
+    solrQueryCacheConfig.setHistogramTtlSeconds(300);
+    SolrQueryCache solrQueryCache = new SolrQueryCache();
+    solrQueryCache.setSolrQueryCacheConfig(solrQueryCacheConfig);
+    solrQueryCache.init();
+    underTest = new HistogramBucketCache();
+    underTest.setSolrQueryCacheConfig(solrQueryCacheConfig);
+    underTest.setSolrQueryCache(solrQueryCache);
+    underTest.setClock(Clock.fixed(Instant.parse("2017-11-01T12:30:00Z"), ZoneOffset.UTC));
+    underTest.init();
+    requestedStarts = new ArrayList<>();
+  }
+
+  @Test
+  public void testParseGap() {
+    Assert.assertEquals(Long.valueOf(3600000L), HistogramBucketCache.parseGap("+1HOUR"));
+    Assert.assertEquals(Long.valueOf(300000L), HistogramBucketCache.parseGap("+5MINUTES"));
+    Assert.assertEquals(Long.valueOf(86400000L), HistogramBucketCache.parseGap("+1DAY"));
+    Assert.assertNull(HistogramBucketCache.parseGap("+1MONTH"));
+    Assert.assertNull(HistogramBucketCache.parseGap("+0HOUR"));
+  }
+
+  @Test
+  public void testGetHistogramQueriesOnlyTheOpenBucketOnRefresh() {
+    // GIVEN
+    SolrQuery histogramQuery = createHistogramQuery("2017-11-01T09:15:00.000Z", "2017-11-01T12:30:00.000Z");
+    // WHEN
+    Map<String, SortedMap<Long, Long>> first = underTest.getHistogram(LogType.SERVICE, histogramQuery, "logtime", "level",
+      solrQuery -> createResponse(solrQuery, "ERROR", new String[]{"2017-11-01T09:00:00Z", "2017-11-01T11:00:00Z"}, new int[]{1, 2},
+        "INFO", new String[]{"2017-11-01T12:00:00Z"}, new int[]{5}));
+    Map<String, SortedMap<Long, Long>> second = underTest.getHistogram(LogType.SERVICE,
+      createHistogramQuery("2017-11-01T09:15:10.000Z", "2017-11-01T12:30:10.000Z"), "logtime", "level",
+      solrQuery -> createResponse(solrQuery, "INFO", new String[]{"2017-11-01T12:00:00Z"}, new int[]{6}, null, null, null));
+    // THEN
+    Assert.assertEquals("2017-11-01T09:00:00.000Z", requestedStarts.get(0));
+    Assert.assertEquals("2017-11-01T12:00:00.000Z", requestedStarts.get(1));
+    Assert.assertEquals(Long.valueOf(2L), first.get("ERROR").get(Instant.parse("2017-11-01T11:00:00Z").toEpochMilli()));
+    Assert.assertEquals(Long.valueOf(5L), first.get("INFO").get(Instant.parse("2017-11-01T12:00:00Z").toEpochMilli()));
+    Assert.assertEquals(2, second.get("ERROR").size());
+    Assert.assertEquals(Long.valueOf(1L), second.get("ERROR").get(Instant.parse("2017-11-01T09:00:00Z").toEpochMilli()));
+    Assert.assertEquals(Long.valueOf(6L), second.get("INFO").get(Instant.parse("2017-11-01T12:00:00Z").toEpochMilli()));
+  }
+
+  @Test
+  public void testInvalidateDropsCachedBuckets() {
+    // GIVEN
+    SolrQuery histogramQuery = createHistogramQuery("2017-11-01T09:15:00.000Z", "2017-11-01T12:30:00.000Z");
+    underTest.getHistogram(LogType.SERVICE, histogramQuery, "logtime", "level",
+      solrQuery -> createResponse(solrQuery, "ERROR", new String[]{"2017-11-01T09:00:00Z"}, new int[]{1}, null, null, null));
+    // WHEN
+    underTest.invalidate(LogType.SERVICE);
+    Map<String, SortedMap<Long, Long>> result = underTest.getHistogram(LogType.SERVICE, histogramQuery, "logtime", "level",
+      solrQuery -> createResponse(solrQuery, null, null, null, null, null, null));
+    // THEN
+    Assert.assertEquals("2017-11-01T09:00:00.000Z", requestedStarts.get(1));
+    Assert.assertTrue(result.isEmpty());
+  }
+
+  @Test
+  public void testLogArrivingAfterTheBucketWasSealedIsCountedAfterTheTtl() {
+    // GIVEN
+    underTest.getHistogram(LogType.SERVICE, createHistogramQuery("2017-11-01T09:15:00.000Z", "2017-11-01T12:30:00.000Z"), "logtime", "level",
+      solrQuery -> createResponse(solrQuery, "ERROR", new String[]{"2017-11-01T11:00:00Z"}, new int[]{2}, null, null, null));
+    // a late log of the sealed 11:00 bucket is indexed, the dashboard keeps polling
+    underTest.setClock(Clock.fixed(Instant.parse("2017-11-01T12:34:00Z"), ZoneOffset.UTC));
+    Map<String, SortedMap<Long, Long>> withinTtl = underTest.getHistogram(LogType.SERVICE,
+      createHistogramQuery("2017-11-01T09:19:00.000Z", "2017-11-01T12:34:00.000Z"), "logtime", "level",
+      solrQuery -> createResponse(solrQuery, "ERROR", new String[]{"2017-11-01T11:00:00Z"}, new int[]{3}, null, null, null));
+    // WHEN
+    underTest.setClock(Clock.fixed(Instant.parse("2017-11-01T12:36:00Z"), ZoneOffset.UTC));
+    Map<String, SortedMap<Long, Long>> afterTtl = underTest.getHistogram(LogType.SERVICE,
+      createHistogramQuery("2017-11-01T09:21:00.000Z", "2017-11-01T12:36:00.000Z"), "logtime", "level",
+      solrQuery -> createResponse(solrQuery, "ERROR", new String[]{"2017-11-01T11:00:00Z"}, new int[]{3}, null, null, null));
+    // THEN
+    long bucket = Instant.parse("2017-11-01T11:00:00Z").toEpochMilli();
+    Assert.assertEquals("2017-11-01T12:00:00.000Z", requestedStarts.get(1));
+    Assert.assertEquals(Long.valueOf(2L), withinTtl.get("ERROR").get(bucket));
+    Assert.assertEquals("2017-11-01T09:00:00.000Z", requestedStarts.get(2));
+    Assert.assertEquals(Long.valueOf(3L), afterTtl.get("ERROR").get(bucket));
+  }
+
+  private SolrQuery createHistogramQuery(String from, String to) {
+    SolrQuery solrQuery = new SolrQuery("*:*");
+    solrQuery.addFacetPivotField("{!range=r1}level");
+    solrQuery.add("facet.range", "{!tag=r1}logtime");
+    solrQuery.add("f.logtime.facet.range.start", from);
+    solrQuery.add("f.logtime.facet.range.end", to);
+    solrQuery.add("f.logtime.facet.range.gap", "+1HOUR");
+    return solrQuery;
+  }
+
+  private QueryResponse createResponse(SolrQuery solrQuery, String type1, String[] buckets1, int[] counts1,
+                                       String type2, String[] buckets2, int[] counts2) {
+    requestedStarts.add(solrQuery.get("f.logtime.facet.range.start"));
+    List<NamedList<Object>> pivots = new ArrayList<>();
+    if (type1 != null) {
+      pivots.add(createPivot(type1, buckets1, counts1));
+    }
+    if (type2 != null) {
+      pivots.add(createPivot(type2, buckets2, counts2));
+    }
+    NamedList<Object> facetPivot = new SimpleOrderedMap<>();
+    facetPivot.add("level", pivots);
+    NamedList<Object> facetCounts = new SimpleOrderedMap<>();
+    facetCounts.add("facet_pivot", facetPivot);
+    NamedList<Object> response = new NamedList<>();
+    response.add("responseHeader", new SimpleOrderedMap<>());
+    response.add("facet_counts", facetCounts);
+    QueryResponse queryResponse = new QueryResponse();
+    queryResponse.setResponse(response);
+    return queryResponse;
+  }
+
+  private NamedList<Object> createPivot(String type, String[] buckets, int[] counts) {
+    NamedList<Integer> rangeCounts = new NamedList<>();
+    for (int i = 0; i < buckets.length; i++) {
+      rangeCounts.add(buckets[i], counts[i]);
+    }
+    NamedList<Object> range = new SimpleOrderedMap<>();
+    range.add("counts", rangeCounts);
+    range.add("gap", "+1HOUR");
+    range.add("start", new Date());
+    range.add("end", new Date());
+    NamedList<Object> ranges = new SimpleOrderedMap<>();
+    ranges.add("logtime", range);
+    NamedList<Object> pivot = new SimpleOrderedMap<>();
+    pivot.add("field", "level");
+    pivot.add("value", type);
+    pivot.add("count", 1);
+    pivot.add("ranges", ranges);
+    return pivot;
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.impl.CloudSolrClient;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.UpdateParams;
+import org.apache.solr.common.util.NamedList;
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.solr.core.SolrTemplate;
+
+public class MetadataSolrDaoTest {
+
+  private CloudSolrClient solrClient;
+  private MetadataSolrDao underTest;
+
+  @Before
+  public void setUp() {
+    solrClient = EasyMock.createMock(CloudSolrClient.class);
+    underTest = new MetadataSolrDao();
+    underTest.setSolrTemplate(new SolrTemplate(solrClient));
+  }
+
+  @Test
+  public void testUpdateSendsDocumentsAndDeleteQueriesWithTheCommitInOneRequest() throws Exception {
+    Capture<SolrRequest> request = EasyMock.newCapture();
+    EasyMock.expect(solrClient.request(EasyMock.capture(request), EasyMock.isNull())).andReturn(updateResponse());
+    EasyMock.replay(solrClient);
+
+    underTest.update(Arrays.asList(doc("1"), doc("2")), Arrays.asList("name:a", "name:b"));
+
+    EasyMock.verify(solrClient);
+    UpdateRequest updateRequest = (UpdateRequest) request.getValue();
+    Assert.assertEquals(2, updateRequest.getDocuments().size());
+    Assert.assertEquals(Arrays.asList("name:a", "name:b"), updateRequest.getDeleteQuery());
+    Assert.assertEquals("true", updateRequest.getParams().get(UpdateParams.COMMIT));
+    Assert.assertEquals("true", updateRequest.getParams().get(UpdateParams.WAIT_SEARCHER));
+  }
+
+  @Test
+  public void testDeleteMetadataSendsOneDeleteQueryWithTheCommit() throws Exception {
+    Capture<SolrRequest> request = EasyMock.newCapture();
+    EasyMock.expect(solrClient.request(EasyMock.capture(request), EasyMock.isNull())).andReturn(updateResponse());
+    EasyMock.replay(solrClient);
+
+    underTest.deleteMetadata("filter", "log_filter", "admin");
+
+    EasyMock.verify(solrClient);
+    UpdateRequest updateRequest = (UpdateRequest) request.getValue();
+    Assert.assertNull(updateRequest.getDocuments());
+    Assert.assertEquals(Collections.singletonList("name:filter AND type:log_filter AND username:admin"), updateRequest.getDeleteQuery());
+    Assert.assertEquals("true", updateRequest.getParams().get(UpdateParams.COMMIT));
+  }
+
+  private static SolrInputDocument doc(String id) {
+    SolrInputDocument document = new SolrInputDocument();
+    document.addField("id", id);
+    return document;
+  }
+
+  private static NamedList<Object> updateResponse() {
+    NamedList<Object> responseHeader = new NamedList<>();
+    responseHeader.add("status", 0);
+    responseHeader.add("QTime", 1);
+    NamedList<Object> response = new NamedList<>();
+    response.add("responseHeader", responseHeader);
+    return response;
+  }
+}
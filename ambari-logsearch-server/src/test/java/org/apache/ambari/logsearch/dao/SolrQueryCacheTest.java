@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ambari.logsearch.common.LogType;
+import org.apache.ambari.logsearch.conf.SolrQueryCacheConfig;
+import org.apache.ambari.logsearch.model.request.impl.query.ServiceLogQueryRequest;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SolrQueryCacheTest {
+
+  private SolrQueryCache underTest;
+
+  @Before
+  public void setUp() {
+    SolrQueryCacheConfig solrQueryCacheConfig = new SolrQueryCacheConfig();
+    solrQueryCacheConfig.setEnabled(true);
+    solrQueryCacheConfig.setMaxSize(10);
+    solrQueryCacheConfig.setTtlSeconds(60);
+    solrQueryCacheConfig.setTimeAlignmentSeconds(10);
+    underTest = new SolrQueryCache();
+    underTest.setSolrQueryCacheConfig(solrQueryCacheConfig);
+    underTest.init();
+  }
+
+  @Test
+  public void testCreateKeyIgnoresFilterOrderAndEvent() {
+    // GIVEN
+    SolrQuery query1 = new SolrQuery("*:*");
+    query1.addFilterQuery("level:ERROR", "host:host1");
+    query1.set("event", "/service/logs/tree");
+    SolrQuery query2 = new SolrQuery("*:*");
+    query2.addFilterQuery("host:host1", "level:ERROR");
+    // WHEN
+    String key1 = underTest.createKey(LogType.SERVICE, query1);
+    String key2 = underTest.createKey(LogType.SERVICE, query2);
+    String auditKey = underTest.createKey(LogType.AUDIT, query2);
+    // THEN
+    Assert.assertEquals(key1, key2);
+    Assert.assertFalse(key1.equals(auditKey));
+  }
+
+  @Test
+  public void testGetCallsSolrOnlyOnceAndInvalidate() {
+    // GIVEN
+    AtomicInteger solrCalls = new AtomicInteger();
+    QueryResponse response = new QueryResponse();
+    SolrQuery query = new SolrQuery("*:*");
+    // WHEN
+    underTest.get(LogType.SERVICE, query, () -> { solrCalls.incrementAndGet(); return response; });
+    QueryResponse cached = underTest.get(LogType.SERVICE, query, () -> { solrCalls.incrementAndGet(); return response; });
+    underTest.invalidate(LogType.AUDIT);
+    underTest.get(LogType.SERVICE, query, () -> { solrCalls.incrementAndGet(); return response; });
+    underTest.invalidate(LogType.SERVICE);
+    underTest.get(LogType.SERVICE, query, () -> { solrCalls.incrementAndGet(); return response; });
+    // THEN
+    Assert.assertSame(response, cached);
+    Assert.assertEquals(2, solrCalls.get());
+    Assert.assertEquals(2, underTest.getStats().hitCount());
+  }
+
+  @Test
+  public void testAlignTimeRange() {
+    // GIVEN
+    ServiceLogQueryRequest request = new ServiceLogQueryRequest();
+    request.setFrom("2017-11-01T10:00:03.123Z");
+    request.setTo("2017-11-01T11:00:03.123Z");
+    // WHEN
+    underTest.alignTimeRange(request);
+    // THEN
+    Assert.assertEquals("2017-11-01T10:00:00.000Z", request.getFrom());
+    Assert.assertEquals("2017-11-01T11:00:10.000Z", request.getTo());
+  }
+}
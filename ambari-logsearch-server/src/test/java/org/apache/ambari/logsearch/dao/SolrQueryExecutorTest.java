@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.ambari.logsearch.common.LogSearchContext;
+import org.apache.ambari.logsearch.conf.SolrQueryAsyncConfig;
+import org.apache.ambari.logsearch.manager.RequestCancelledException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class SolrQueryExecutorTest {
+
+  private SolrQueryExecutor underTest;
+
+  @Before
+  public void setUp() {
+    SolrQueryAsyncConfig solrQueryAsyncConfig = new SolrQueryAsyncConfig();
+    solrQueryAsyncConfig.setThreads(2);
+    solrQueryAsyncConfig.setQueueSize(10);
+    underTest = new SolrQueryExecutor();
+    underTest.setSolrQueryAsyncConfig(solrQueryAsyncConfig);
+    underTest.init();
+  }
+
+  @After
+  public void tearDown() {
+    underTest.shutdown();
+    LogSearchContext.resetContext();
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void testSupplyAsyncPropagatesContext() {
+    // GIVEN
+    LogSearchContext context = new LogSearchContext();
+    context.setSessionId("session1");
+    LogSearchContext.setContext(context);
+    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", "admin"));
+    // WHEN
+    CompletableFuture<String> sessionId = underTest.supplyAsync(LogSearchContext::getCurrentSessionId);
+    CompletableFuture<String> userName = underTest.supplyAsync(() -> SecurityContextHolder.getContext().getAuthentication().getName());
+    // THEN
+    Assert.assertEquals("session1", SolrQueryExecutor.join(sessionId));
+    Assert.assertEquals("admin", SolrQueryExecutor.join(userName));
+  }
+
+  @Test(expected = RequestCancelledException.class)
+  public void testJoinRethrowsTheFailureOfTheTask() {
+    CompletableFuture<String> result = underTest.supplyAsync(() -> {
+      throw new RequestCancelledException("cancelled");
+    });
+    SolrQueryExecutor.join(result);
+  }
+}
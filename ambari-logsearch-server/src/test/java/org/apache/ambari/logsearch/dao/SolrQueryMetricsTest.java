@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ambari.logsearch.common.LogType;
+import org.apache.ambari.logsearch.conf.SolrQueryTimeConfig;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.util.NamedList;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SolrQueryMetricsTest {
+
+  private MeterRegistry meterRegistry;
+  private SolrQueryMetrics underTest;
+
+  @Before
+  public void setUp() {
+    SolrQueryTimeConfig solrQueryTimeConfig = new SolrQueryTimeConfig();
+    solrQueryTimeConfig.setSlowQueryThreshold(1000);
+    solrQueryTimeConfig.setSlowQuerySampleRate(1.0);
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new SolrQueryMetrics(solrQueryTimeConfig, meterRegistry);
+  }
+
+  @Test
+  public void testRecordByCollectionAndEvent() {
+    underTest.record(LogType.SERVICE, "/service/logs", new SolrQuery("*:*"), response(20, 50, 120, 2));
+    underTest.record(LogType.SERVICE, "/service/logs", new SolrQuery("*:*"), response(40, 60, 80, 2));
+    underTest.record(LogType.AUDIT, null, new SolrQuery("*:*"), response(5, 5, 1, 1));
+
+    Timer qTime = meterRegistry.get(SolrQueryMetrics.QTIME).tags("collection", "service", "event", "/service/logs").timer();
+    Assert.assertEquals(2, qTime.count());
+    Assert.assertEquals(60, qTime.totalTime(TimeUnit.MILLISECONDS), 0.1);
+    Timer overhead = meterRegistry.get(SolrQueryMetrics.OVERHEAD).tags("collection", "service", "event", "/service/logs").timer();
+    Assert.assertEquals(50, overhead.totalTime(TimeUnit.MILLISECONDS), 0.1);
+    Assert.assertEquals(200, meterRegistry.get(SolrQueryMetrics.FOUND).tags("collection", "service").summary().totalAmount(), 0.1);
+    Assert.assertEquals(4, meterRegistry.get(SolrQueryMetrics.RETURNED).tags("collection", "service").summary().totalAmount(), 0.1);
+    Assert.assertEquals(1, meterRegistry.get(SolrQueryMetrics.ELAPSED).tags("collection", "audit", "event", "none").timer().count());
+  }
+
+  @Test
+  public void testRecordFailure() {
+    underTest.recordFailure(LogType.AUDIT, "/audit/logs");
+    underTest.recordFailure(LogType.AUDIT, "/audit/logs");
+
+    Assert.assertEquals(2, meterRegistry.get(SolrQueryMetrics.FAILURES).tags("collection", "audit", "event", "/audit/logs").counter().count(), 0.1);
+  }
+
+  @Test
+  public void testRecordWithoutMeterRegistry() {
+    SolrQueryTimeConfig solrQueryTimeConfig = new SolrQueryTimeConfig();
+    solrQueryTimeConfig.setSlowQueryThreshold(1);
+    solrQueryTimeConfig.setSlowQuerySampleRate(0);
+    new SolrQueryMetrics(solrQueryTimeConfig, null).record(LogType.SERVICE, "/service/logs", new SolrQuery("*:*"), response(20, 50, 1, 1));
+    new SolrQueryMetrics(solrQueryTimeConfig, null).recordFailure(LogType.SERVICE, "/service/logs");
+  }
+
+  private QueryResponse response(int qTime, long elapsedTime, long numFound, int returned) {
+    NamedList<Object> responseHeader = new NamedList<>();
+    responseHeader.add("QTime", qTime);
+    SolrDocumentList results = new SolrDocumentList();
+    results.setNumFound(numFound);
+    for (int i = 0; i < returned; i++) {
+      results.add(new SolrDocument());
+    }
+    NamedList<Object> response = new NamedList<>();
+    response.add("responseHeader", responseHeader);
+    response.add("response", results);
+    QueryResponse queryResponse = new QueryResponse();
+    queryResponse.setResponse(response);
+    queryResponse.setElapsedTime(elapsedTime);
+    return queryResponse;
+  }
+}
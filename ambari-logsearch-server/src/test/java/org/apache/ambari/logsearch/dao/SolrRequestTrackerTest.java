@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ambari.logsearch.conf.SolrQueryAsyncConfig;
+import org.apache.ambari.logsearch.manager.RequestCancelledException;
+import org.apache.solr.common.SolrException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SolrRequestTrackerTest {
+
+  private SolrRequestTracker underTest;
+  private ExecutorService callerExecutor;
+
+  @Before
+  public void setUp() {
+    SolrQueryAsyncConfig solrQueryAsyncConfig = new SolrQueryAsyncConfig();
+    solrQueryAsyncConfig.setCancellableThreads(1);
+    solrQueryAsyncConfig.setCancellableQueueSize(1);
+    underTest = new SolrRequestTracker();
+    underTest.setSolrQueryAsyncConfig(solrQueryAsyncConfig);
+    underTest.init();
+    callerExecutor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    callerExecutor.shutdownNow();
+    underTest.shutdown();
+  }
+
+  @Test
+  public void testExecuteReturnsResult() throws Exception {
+    // GIVEN
+    // WHEN
+    String result = underTest.execute("session1", () -> "result", 1000);
+    // THEN
+    Assert.assertEquals("result", result);
+    Assert.assertEquals(0, underTest.cancel("session1"));
+  }
+
+  @Test
+  public void testCancelReleasesWaitingCaller() throws Exception {
+    // GIVEN
+    CountDownLatch started = new CountDownLatch(1);
+    Future<String> caller = callerExecutor.submit(() -> underTest.execute("session1", () -> {
+      started.countDown();
+      Thread.sleep(60000);
+      return "result";
+    }, 0));
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+    // WHEN
+    int cancelledForOtherSession = underTest.cancel("session2");
+    int cancelled = underTest.cancel("session1");
+    // THEN
+    Assert.assertEquals(0, cancelledForOtherSession);
+    Assert.assertEquals(1, cancelled);
+    try {
+      caller.get(10, TimeUnit.SECONDS);
+      Assert.fail("Cancelled request should not return a result");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof RequestCancelledException);
+    }
+  }
+
+  @Test(expected = SolrException.class)
+  public void testExecuteGivesUpAfterMaxWait() throws Exception {
+    // GIVEN
+    // WHEN
+    underTest.execute("session1", () -> {
+      Thread.sleep(60000);
+      return "result";
+    }, 100);
+  }
+
+  @Test
+  public void testExecuteRunsOnCallerThreadIfThePoolIsFull() throws Exception {
+    // GIVEN
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<String> busy = callerExecutor.submit(() -> underTest.execute("session1", () -> {
+      started.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      return "busy";
+    }, 0));
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+    ExecutorService queuedCallerExecutor = Executors.newSingleThreadExecutor();
+    try {
+      Future<String> queued = queuedCallerExecutor.submit(() -> underTest.execute("session2", () -> "queued", 0));
+      long deadline = System.currentTimeMillis() + 10000;
+      while (underTest.getQueuedRequestCount() == 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      Assert.assertEquals(1, underTest.getQueuedRequestCount());
+      Thread current = Thread.currentThread();
+      // WHEN
+      Thread executedOn = underTest.execute("session3", Thread::currentThread, 0);
+      // THEN
+      Assert.assertSame(current, executedOn);
+      release.countDown();
+      Assert.assertEquals("busy", busy.get(10, TimeUnit.SECONDS));
+      Assert.assertEquals("queued", queued.get(10, TimeUnit.SECONDS));
+    } finally {
+      release.countDown();
+      queuedCallerExecutor.shutdownNow();
+    }
+  }
+}
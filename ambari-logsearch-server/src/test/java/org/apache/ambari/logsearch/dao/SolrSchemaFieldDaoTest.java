@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.dao;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.ambari.logsearch.conf.SolrQueryAsyncConfig;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.protocol.HttpContext;
+import org.apache.solr.client.solrj.impl.CloudSolrClient;
+import org.apache.solr.common.cloud.ClusterState;
+import org.apache.solr.common.cloud.DocCollection;
+import org.apache.solr.common.cloud.DocRouter;
+import org.apache.solr.common.cloud.Replica;
+import org.apache.solr.common.cloud.Slice;
+import org.apache.solr.common.cloud.ZkStateReader;
+import org.apache.solr.common.util.JavaBinCodec;
+import org.apache.solr.common.util.NamedList;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SolrSchemaFieldDaoTest {
+
+  private static final String COLLECTION = "hadoop_logs";
+  private static final String CORE1_URL = "http://host1:8886/solr/hadoop_logs_shard1_replica_n1/";
+  private static final String CORE2_URL = "http://host2:8886/solr/hadoop_logs_shard2_replica_n2/";
+
+  private SolrSchemaFieldDao underTest;
+  private SolrQueryExecutor solrQueryExecutor;
+  private CloudSolrClient solrClient;
+  private final Map<String, Long> indexVersions = new HashMap<>();
+  private final Map<String, String> fieldTypes = new HashMap<>();
+  private final List<String> requestedUrls = Collections.synchronizedList(new ArrayList<>());
+
+  @Before
+  public void setUp() throws Exception {
+    SolrQueryAsyncConfig solrQueryAsyncConfig = new SolrQueryAsyncConfig();
+    solrQueryAsyncConfig.setThreads(4);
+    solrQueryAsyncConfig.setQueueSize(10);
+    solrQueryExecutor = new SolrQueryExecutor();
+    solrQueryExecutor.setSolrQueryAsyncConfig(solrQueryAsyncConfig);
+    solrQueryExecutor.init();
+
+    ZkStateReader zkStateReader = EasyMock.mock(ZkStateReader.class);
+    EasyMock.expect(zkStateReader.getClusterState()).andReturn(createClusterState()).anyTimes();
+    solrClient = EasyMock.mock(CloudSolrClient.class);
+    EasyMock.expect(solrClient.getDefaultCollection()).andReturn(COLLECTION).anyTimes();
+    EasyMock.expect(solrClient.getZkStateReader()).andReturn(zkStateReader).anyTimes();
+    EasyMock.replay(zkStateReader, solrClient);
+
+    underTest = new SolrSchemaFieldDao();
+    setField("solrQueryExecutor", solrQueryExecutor);
+
+    indexVersions.put(CORE1_URL, 1L);
+    indexVersions.put(CORE2_URL, 2L);
+    fieldTypes.put(CORE1_URL, "string");
+    fieldTypes.put(CORE2_URL, "string");
+  }
+
+  @After
+  public void tearDown() {
+    solrQueryExecutor.shutdown();
+  }
+
+  @Test
+  public void testLukeRequestsOfTheShardsRunInParallel() throws Exception {
+    // GIVEN
+    CountDownLatch bothRequestsStarted = new CountDownLatch(2);
+    AtomicBoolean parallel = new AtomicBoolean(true);
+    expectLukeRequests(() -> {
+      bothRequestsStarted.countDown();
+      if (!bothRequestsStarted.await(10, TimeUnit.SECONDS)) {
+        parallel.set(false);
+      }
+    });
+    // WHEN
+    Collection<Map<String, String>> result = underTest.getFieldTypesForCores(solrClient);
+    // THEN
+    Assert.assertTrue(parallel.get());
+    Assert.assertEquals(new HashSet<>(Arrays.asList(CORE1_URL + "admin/luke?numTerms=0&wt=javabin&version=2",
+      CORE2_URL + "admin/luke?numTerms=0&wt=javabin&version=2")), new HashSet<>(requestedUrls));
+    Assert.assertEquals(2, result.size());
+    for (Map<String, String> coreFieldTypes : result) {
+      Assert.assertEquals("string", coreFieldTypes.get("log_message"));
+    }
+  }
+
+  @Test
+  public void testFieldTypesAreReusedWhileTheIndexVersionIsTheSame() throws Exception {
+    // GIVEN
+    expectLukeRequests(() -> {});
+    underTest.getFieldTypesForCores(solrClient);
+    requestedUrls.clear();
+    indexVersions.put(CORE2_URL, 3L);
+    fieldTypes.put(CORE2_URL, "text_std_token_lower_case");
+    // WHEN
+    Collection<Map<String, String>> result = underTest.getFieldTypesForCores(solrClient);
+    // THEN
+    List<String> expectedUrls = Arrays.asList(
+      CORE1_URL + "admin/luke?numTerms=0&wt=javabin&version=2&show=index",
+      CORE2_URL + "admin/luke?numTerms=0&wt=javabin&version=2&show=index",
+      CORE2_URL + "admin/luke?numTerms=0&wt=javabin&version=2");
+    Assert.assertEquals(new HashSet<>(expectedUrls), new HashSet<>(requestedUrls));
+    Assert.assertEquals(expectedUrls.size(), requestedUrls.size());
+    List<String> types = new ArrayList<>();
+    for (Map<String, String> coreFieldTypes : result) {
+      types.add(coreFieldTypes.get("log_message"));
+    }
+    Collections.sort(types);
+    Assert.assertEquals(Arrays.asList("string", "text_std_token_lower_case"), types);
+  }
+
+  private void expectLukeRequests(RequestHook requestHook) throws Exception {
+    setField("solrHttpClient", new CloseableHttpClient() {
+      @Override
+      protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+        String url = ((HttpUriRequest) request).getURI().toString();
+        requestedUrls.add(url);
+        try {
+          requestHook.beforeResponse();
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        String coreUrl = url.substring(0, url.indexOf("admin/luke"));
+        CloseableHttpResponse response = EasyMock.niceMock(CloseableHttpResponse.class);
+        EasyMock.expect(response.getEntity()).andReturn(new ByteArrayEntity(
+          createLukeResponse(indexVersions.get(coreUrl), url.endsWith("&show=index") ? null : fieldTypes.get(coreUrl))));
+        EasyMock.replay(response);
+        return response;
+      }
+
+      @Override
+      public void close() {
+      }
+
+      @Override
+      @SuppressWarnings("deprecation")
+      public org.apache.http.params.HttpParams getParams() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      @SuppressWarnings("deprecation")
+      public org.apache.http.conn.ClientConnectionManager getConnectionManager() {
+        throw new UnsupportedOperationException();
+      }
+    });
+  }
+
+  private static byte[] createLukeResponse(long indexVersion, String logMessageType) throws IOException {
+    NamedList<Object> index = new NamedList<>();
+    index.add("version", indexVersion);
+    NamedList<Object> luke = new NamedList<>();
+    luke.add("index", index);
+    if (logMessageType != null) {
+      NamedList<Object> logMessage = new NamedList<>();
+      logMessage.add("type", logMessageType);
+      NamedList<Object> fields = new NamedList<>();
+      fields.add("log_message", logMessage);
+      luke.add("fields", fields);
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    new JavaBinCodec().marshal(luke, outputStream);
+    return outputStream.toByteArray();
+  }
+
+  private static ClusterState createClusterState() {
+    Map<String, Slice> slices = new HashMap<>();
+    slices.put("shard1", createSlice("shard1", createReplica("core_node1", "host1", "hadoop_logs_shard1_replica_n1", true, "active")));
+    // the leader of shard2 is down, the other active replica is queried
+    slices.put("shard2", createSlice("shard2",
+      createReplica("core_node3", "host3", "hadoop_logs_shard2_replica_n3", true, "down"),
+      createReplica("core_node2", "host2", "hadoop_logs_shard2_replica_n2", false, "active")));
+    DocCollection collection = new DocCollection(COLLECTION, slices, new HashMap<>(), DocRouter.DEFAULT);
+    return new ClusterState(1, new HashSet<>(Arrays.asList("host1:8886_solr", "host2:8886_solr", "host3:8886_solr")),
+      Collections.singletonMap(COLLECTION, collection));
+  }
+
+  private static Slice createSlice(String name, Replica... replicas) {
+    Map<String, Replica> replicaMap = new HashMap<>();
+    for (Replica replica : replicas) {
+      replicaMap.put(replica.getName(), replica);
+    }
+    return new Slice(name, replicaMap, new HashMap<>());
+  }
+
+  private static Replica createReplica(String name, String host, String core, boolean leader, String state) {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("base_url", "http://" + host + ":8886/solr");
+    properties.put("core", core);
+    properties.put("node_name", host + ":8886_solr");
+    properties.put("state", state);
+    if (leader) {
+      properties.put("leader", "true");
+    }
+    return new Replica(name, properties);
+  }
+
+  private void setField(String name, Object value) throws Exception {
+    Field field = SolrSchemaFieldDao.class.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(underTest, value);
+  }
+
+  @FunctionalInterface
+  private interface RequestHook {
+    void beforeResponse() throws InterruptedException;
+  }
+}
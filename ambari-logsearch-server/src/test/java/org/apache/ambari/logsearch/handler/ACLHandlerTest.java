@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.handler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.ambari.logsearch.conf.SolrPropsConfig;
+import org.apache.solr.client.solrj.impl.CloudSolrClient;
+import org.apache.solr.common.cloud.SolrZkClient;
+import org.apache.solr.common.cloud.SolrZooKeeper;
+import org.apache.solr.common.cloud.ZkStateReader;
+import org.apache.zookeeper.AsyncCallback;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.ZooDefs;
+import org.apache.zookeeper.data.ACL;
+import org.apache.zookeeper.data.Id;
+import org.apache.zookeeper.data.Stat;
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ACLHandlerTest {
+
+  private static final String COLLECTION_PATH = "/collections/hadoop_logs";
+  private static final String CONFIGS_PATH = "/configs/hadoop_logs";
+  private static final List<ACL> ACLS_TO_SET = Collections.singletonList(new ACL(ZooDefs.Perms.ALL, new Id("sasl", "logsearch")));
+  private static final List<ACL> DIFFERENT_ACLS = Collections.singletonList(new ACL(ZooDefs.Perms.READ, new Id("sasl", "logsearch")));
+
+  private final Map<String, List<ACL>> aclsByNode = new HashMap<>();
+  private final Map<String, List<String>> childrenByNode = new HashMap<>();
+  private final Map<String, KeeperException.Code> readErrors = new HashMap<>();
+  private final Set<String> updatedNodes = Collections.synchronizedSet(new HashSet<>());
+  private CloudSolrClient solrClient;
+  private SolrPropsConfig solrPropsConfig;
+
+  @Before
+  public void setUp() throws Exception {
+    SolrZooKeeper solrZooKeeper = createZooKeeperMock();
+    SolrZkClient zkClient = EasyMock.createNiceMock(SolrZkClient.class);
+    EasyMock.expect(zkClient.getSolrZooKeeper()).andReturn(solrZooKeeper).anyTimes();
+    ZkStateReader zkStateReader = EasyMock.createNiceMock(ZkStateReader.class);
+    EasyMock.expect(zkStateReader.getZkClient()).andReturn(zkClient).anyTimes();
+    solrClient = EasyMock.createNiceMock(CloudSolrClient.class);
+    EasyMock.expect(solrClient.getZkStateReader()).andReturn(zkStateReader).anyTimes();
+    solrPropsConfig = EasyMock.createNiceMock(SolrPropsConfig.class);
+    EasyMock.expect(solrPropsConfig.getZkAcls()).andReturn(ACLS_TO_SET).anyTimes();
+    EasyMock.expect(solrPropsConfig.getCollection()).andReturn("hadoop_logs").anyTimes();
+    EasyMock.expect(solrPropsConfig.getConfigName()).andReturn("hadoop_logs").anyTimes();
+    EasyMock.replay(solrZooKeeper, zkClient, zkStateReader, solrClient, solrPropsConfig);
+
+    aclsByNode.put(CONFIGS_PATH, ACLS_TO_SET);
+    childrenByNode.put(CONFIGS_PATH, Collections.singletonList("solrconfig.xml"));
+  }
+
+  @Test
+  public void testAclsAreSetOnlyOnTheZnodesWhereTheyDiffer() throws Exception {
+    node(COLLECTION_PATH, DIFFERENT_ACLS, "state.json", "leaders");
+    node(COLLECTION_PATH + "/state.json", ACLS_TO_SET);
+    node(COLLECTION_PATH + "/leaders", DIFFERENT_ACLS, "shard1");
+    node(COLLECTION_PATH + "/leaders/shard1", DIFFERENT_ACLS);
+
+    Assert.assertTrue(new ACLHandler().handle(solrClient, solrPropsConfig));
+
+    Assert.assertEquals(new HashSet<>(Arrays.asList(COLLECTION_PATH, COLLECTION_PATH + "/leaders", COLLECTION_PATH + "/leaders/shard1")),
+      updatedNodes);
+  }
+
+  @Test
+  public void testZnodesDeletedDuringTheWalkAreSkipped() throws Exception {
+    node(COLLECTION_PATH, DIFFERENT_ACLS, "deleted", "leaders");
+    node(COLLECTION_PATH + "/leaders", DIFFERENT_ACLS);
+    readErrors.put(COLLECTION_PATH + "/deleted", KeeperException.Code.NONODE);
+
+    Assert.assertTrue(new ACLHandler().handle(solrClient, solrPropsConfig));
+
+    Assert.assertEquals(new HashSet<>(Arrays.asList(COLLECTION_PATH, COLLECTION_PATH + "/leaders")), updatedNodes);
+  }
+
+  @Test(expected = KeeperException.NoAuthException.class)
+  public void testReadErrorsArePropagated() throws Exception {
+    node(COLLECTION_PATH, DIFFERENT_ACLS, "secret");
+    readErrors.put(COLLECTION_PATH + "/secret", KeeperException.Code.NOAUTH);
+
+    new ACLHandler().handle(solrClient, solrPropsConfig);
+  }
+
+  private void node(String path, List<ACL> acls, String... children) {
+    aclsByNode.put(path, acls);
+    childrenByNode.put(path, Arrays.asList(children));
+  }
+
+  private int readResult(String path) {
+    return readErrors.getOrDefault(path, KeeperException.Code.OK).intValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private SolrZooKeeper createZooKeeperMock() throws Exception {
+    SolrZooKeeper solrZooKeeper = EasyMock.createMock(SolrZooKeeper.class);
+    EasyMock.expect(solrZooKeeper.getACL(EasyMock.anyString(), EasyMock.anyObject(Stat.class)))
+      .andAnswer(() -> aclsByNode.get((String) EasyMock.getCurrentArguments()[0])).anyTimes();
+    solrZooKeeper.getACL(EasyMock.anyString(), EasyMock.anyObject(Stat.class), EasyMock.anyObject(AsyncCallback.ACLCallback.class), EasyMock.isNull());
+    EasyMock.expectLastCall().andAnswer(() -> {
+      String path = (String) EasyMock.getCurrentArguments()[0];
+      ((AsyncCallback.ACLCallback) EasyMock.getCurrentArguments()[2]).processResult(readResult(path), path, null, aclsByNode.get(path), new Stat());
+      return null;
+    }).anyTimes();
+    solrZooKeeper.getChildren(EasyMock.anyString(), EasyMock.eq(false), EasyMock.anyObject(AsyncCallback.ChildrenCallback.class), EasyMock.isNull());
+    EasyMock.expectLastCall().andAnswer(() -> {
+      String path = (String) EasyMock.getCurrentArguments()[0];
+      ((AsyncCallback.ChildrenCallback) EasyMock.getCurrentArguments()[2]).processResult(readResult(path), path, null, childrenByNode.get(path));
+      return null;
+    }).anyTimes();
+    solrZooKeeper.setACL(EasyMock.anyString(), EasyMock.eq(ACLS_TO_SET), EasyMock.eq(-1), EasyMock.anyObject(AsyncCallback.StatCallback.class), EasyMock.isNull());
+    EasyMock.expectLastCall().andAnswer(() -> {
+      String path = (String) EasyMock.getCurrentArguments()[0];
+      updatedNodes.add(path);
+      ((AsyncCallback.StatCallback) EasyMock.getCurrentArguments()[3]).processResult(KeeperException.Code.OK.intValue(), path, null, new Stat());
+      return null;
+    }).anyTimes();
+    return solrZooKeeper;
+  }
+}
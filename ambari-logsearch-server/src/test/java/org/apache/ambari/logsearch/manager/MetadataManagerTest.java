@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.manager;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ambari.logsearch.common.LogSearchContext;
+import org.apache.ambari.logsearch.conf.SolrMetadataPropsConfig;
+import org.apache.ambari.logsearch.dao.MetadataSolrDao;
+import org.apache.ambari.logsearch.model.request.impl.query.MetadataQueryRequest;
+import org.apache.ambari.logsearch.model.response.LogsearchMetaData;
+import org.apache.ambari.logsearch.web.model.User;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.util.NamedList;
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.convert.ConversionService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MetadataManagerTest {
+
+  private MetadataSolrDao metadataSolrDao;
+  private MeterRegistry meterRegistry;
+  private MetadataManager underTest;
+
+  @Before
+  public void setUp() throws Exception {
+    metadataSolrDao = EasyMock.strictMock(MetadataSolrDao.class);
+    ConversionService conversionService = EasyMock.mock(ConversionService.class);
+    EasyMock.expect(conversionService.convert(EasyMock.anyObject(), EasyMock.eq(SolrQuery.class)))
+      .andAnswer(() -> new SolrQuery("*:*")).anyTimes();
+    EasyMock.replay(conversionService);
+    SolrMetadataPropsConfig solrMetadataPropsConfig = new SolrMetadataPropsConfig();
+    solrMetadataPropsConfig.setCacheTtlSeconds(60);
+    solrMetadataPropsConfig.setCacheMaxSize(10);
+    meterRegistry = new SimpleMeterRegistry();
+
+    underTest = new MetadataManager();
+    setField("metadataSolrDao", metadataSolrDao);
+    setField("conversionService", conversionService);
+    setField("solrMetadataPropsConfig", solrMetadataPropsConfig);
+    setField("meterRegistry", meterRegistry);
+    underTest.init();
+
+    User user = new User();
+    user.setUsername("Admin");
+    LogSearchContext context = new LogSearchContext();
+    context.setUser(user);
+    LogSearchContext.setContext(context);
+  }
+
+  @After
+  public void tearDown() {
+    LogSearchContext.resetContext();
+  }
+
+  @Test
+  public void testMetadataListIsServedFromCache() {
+    EasyMock.expect(metadataSolrDao.process(EasyMock.anyObject(SolrQuery.class))).andReturn(queryResponse(metadataDoc("filter1")));
+    EasyMock.replay(metadataSolrDao);
+
+    Assert.assertEquals("filter1", underTest.getMetadataList(new MetadataQueryRequest()).iterator().next().getName());
+    Assert.assertEquals("filter1", underTest.getMetadataList(new MetadataQueryRequest()).iterator().next().getName());
+
+    EasyMock.verify(metadataSolrDao);
+    Assert.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "logsearch.solr.metadata.cache")
+      .tag("result", "hit").functionCounter().count(), 0.0);
+  }
+
+  @Test
+  public void testCachedMetadataIsNotSharedWithTheCallers() {
+    EasyMock.expect(metadataSolrDao.process(EasyMock.anyObject(SolrQuery.class))).andReturn(queryResponse(metadataDoc("filter1")));
+    EasyMock.replay(metadataSolrDao);
+
+    underTest.getMetadataList(new MetadataQueryRequest()).iterator().next().setValue("changed");
+    LogsearchMetaData metadata = underTest.getMetadataList(new MetadataQueryRequest()).iterator().next();
+
+    EasyMock.verify(metadataSolrDao);
+    Assert.assertEquals("value of filter1", metadata.getValue());
+  }
+
+  @Test
+  public void testSaveMetadataListSendsOneUpdateAndInvalidatesTheCache() {
+    Capture<List<SolrInputDocument>> addedDocs = EasyMock.newCapture();
+    EasyMock.expect(metadataSolrDao.process(EasyMock.anyObject(SolrQuery.class))).andReturn(queryResponse(metadataDoc("filter1")));
+    EasyMock.expect(metadataSolrDao.addDocs(EasyMock.capture(addedDocs))).andReturn(null);
+    EasyMock.expect(metadataSolrDao.process(EasyMock.anyObject(SolrQuery.class)))
+      .andReturn(queryResponse(metadataDoc("filter1"), metadataDoc("filter2"), metadataDoc("filter3")));
+    EasyMock.replay(metadataSolrDao);
+
+    underTest.getMetadataList(new MetadataQueryRequest());
+    underTest.saveMetadata(Arrays.asList(metadata("filter2", null), metadata("filter3", null)));
+    Collection<LogsearchMetaData> metadataList = underTest.getMetadataList(new MetadataQueryRequest());
+
+    EasyMock.verify(metadataSolrDao);
+    Assert.assertEquals(2, addedDocs.getValue().size());
+    Assert.assertEquals("admin", addedDocs.getValue().get(0).getFieldValue("username"));
+    Assert.assertEquals(3, metadataList.size());
+  }
+
+  @Test
+  public void testDeleteMetadataListSendsOneUpdateAndInvalidatesTheCacheOfEveryUser() {
+    Capture<List<String>> deleteQueries = EasyMock.newCapture();
+    EasyMock.expect(metadataSolrDao.process(EasyMock.anyObject(SolrQuery.class))).andReturn(queryResponse(metadataDoc("filter1")));
+    EasyMock.expect(metadataSolrDao.createDeleteQuery("filter1", "log_filter", "admin")).andReturn("q1");
+    EasyMock.expect(metadataSolrDao.createDeleteQuery("filter2", "log_filter", "other")).andReturn("q2");
+    EasyMock.expect(metadataSolrDao.update(EasyMock.eq(Collections.emptyList()), EasyMock.capture(deleteQueries))).andReturn(null);
+    EasyMock.expect(metadataSolrDao.process(EasyMock.anyObject(SolrQuery.class))).andReturn(queryResponse());
+    EasyMock.replay(metadataSolrDao);
+
+    underTest.getMetadataList(new MetadataQueryRequest());
+    underTest.deleteMetadata(Arrays.asList(metadata("filter1", "admin"), metadata("filter2", "other")));
+    Collection<LogsearchMetaData> metadataList = underTest.getMetadataList(new MetadataQueryRequest());
+
+    EasyMock.verify(metadataSolrDao);
+    Assert.assertEquals(Arrays.asList("q1", "q2"), deleteQueries.getValue());
+    Assert.assertTrue(metadataList.isEmpty());
+  }
+
+  private static LogsearchMetaData metadata(String name, String userName) {
+    LogsearchMetaData metadata = new LogsearchMetaData();
+    metadata.setName(name);
+    metadata.setType("log_filter");
+    metadata.setValue("value of " + name);
+    metadata.setUserName(userName);
+    return metadata;
+  }
+
+  private static SolrDocument metadataDoc(String name) {
+    SolrDocument document = new SolrDocument();
+    document.setField("id", name + "_id");
+    document.setField("name", name);
+    document.setField("type", "log_filter");
+    document.setField("value", "value of " + name);
+    document.setField("username", "admin");
+    return document;
+  }
+
+  private static QueryResponse queryResponse(SolrDocument... documents) {
+    SolrDocumentList documentList = new SolrDocumentList();
+    documentList.addAll(Arrays.asList(documents));
+    documentList.setNumFound(documents.length);
+    NamedList<Object> namedList = new NamedList<>();
+    namedList.add("response", documentList);
+    QueryResponse response = new QueryResponse();
+    response.setResponse(namedList);
+    return response;
+  }
+
+  private void setField(String name, Object value) throws Exception {
+    Field field = MetadataManager.class.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(underTest, value);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.manager;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.ambari.logsearch.model.response.MetricData;
+import org.apache.ambari.logsearch.model.response.MetricsResponse;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MetricsManagerTest {
+
+  private MeterRegistry meterRegistry;
+  private MetricsManager underTest;
+
+  @Before
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new MetricsManager(meterRegistry);
+  }
+
+  @Test
+  public void testGetMetricsReturnsLogSearchMetricsOnly() {
+    Timer.builder("logsearch.solr.query.qtime").tags("event", "/service/logs").publishPercentiles(0.5, 0.95)
+      .register(meterRegistry).record(100, TimeUnit.MILLISECONDS);
+    meterRegistry.counter("logsearch.solr.query.failures").increment();
+    meterRegistry.counter("jvm.gc.pause").increment();
+
+    MetricsResponse response = underTest.getMetrics(null);
+
+    Map<String, MetricData> metrics = response.getMetrics().stream().collect(Collectors.toMap(MetricData::getName, m -> m));
+    Assert.assertEquals(2, metrics.size());
+    MetricData qTime = metrics.get("logsearch.solr.query.qtime");
+    Assert.assertEquals("/service/logs", qTime.getTags().get("event"));
+    Assert.assertEquals(1, qTime.getMeasurements().get("count"), 0.1);
+    Assert.assertEquals(100, qTime.getMeasurements().get("total"), 0.1);
+    Assert.assertTrue(qTime.getPercentiles().containsKey("p50"));
+    Assert.assertTrue(qTime.getPercentiles().containsKey("p95"));
+    Assert.assertEquals(1, metrics.get("logsearch.solr.query.failures").getMeasurements().get("count"), 0.1);
+  }
+
+  @Test
+  public void testGetMetricsFiltersByNamePrefix() {
+    meterRegistry.counter("logsearch.solr.query.failures").increment();
+    meterRegistry.counter("logsearch.http.server.requests").increment();
+
+    MetricsResponse response = underTest.getMetrics("logsearch.solr");
+
+    Assert.assertEquals(1, response.getMetrics().size());
+    Assert.assertEquals("logsearch.solr.query.failures", response.getMetrics().get(0).getName());
+  }
+
+  @Test
+  public void testGetMetricsCalculatesCacheHitRatios() {
+    Cache<String, String> cache = CacheBuilder.newBuilder().recordStats().build();
+    GuavaCacheMetrics.monitor(meterRegistry, cache, "logsearch.solr.query.cache");
+    cache.put("key", "value");
+    cache.getIfPresent("key");
+    cache.getIfPresent("key");
+    cache.getIfPresent("key");
+    cache.getIfPresent("other");
+
+    MetricsResponse response = underTest.getMetrics(null);
+
+    Assert.assertEquals(0.75, response.getCacheHitRatios().get("logsearch.solr.query.cache"), 0.001);
+  }
+}
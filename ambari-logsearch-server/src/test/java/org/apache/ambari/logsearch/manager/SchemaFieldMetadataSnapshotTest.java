@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.manager;
+
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.strictMock;
+import static org.easymock.EasyMock.verify;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.apache.ambari.logsearch.model.metadata.FieldMetadata;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SchemaFieldMetadataSnapshotTest {
+
+  @Test
+  public void testIsComputedFromTheSameSchemaFieldSnapshotOnly() {
+    Map<String, String> schemaFields = Collections.singletonMap("log_message", "text_std_token_lower_case");
+    SchemaFieldMetadataSnapshot<List<FieldMetadata>> underTest = new SchemaFieldMetadataSnapshot<>(schemaFields, metadata("Message"));
+    Assert.assertTrue(underTest.isComputedFrom(schemaFields));
+    Assert.assertFalse(underTest.isComputedFrom(new HashMap<>(schemaFields)));
+  }
+
+  @Test
+  public void testEntityTagDependsOnTheMetadata() {
+    Map<String, String> schemaFields = Collections.emptyMap();
+    EntityTag entityTag = new SchemaFieldMetadataSnapshot<>(schemaFields, metadata("Message")).getEntityTag();
+    Assert.assertEquals(entityTag, new SchemaFieldMetadataSnapshot<>(schemaFields, metadata("Message")).getEntityTag());
+    Assert.assertFalse(entityTag.equals(new SchemaFieldMetadataSnapshot<>(schemaFields, metadata("Log Message")).getEntityTag()));
+  }
+
+  @Test
+  public void testToResponseReturnsNotModifiedIfTheEntityTagMatches() {
+    SchemaFieldMetadataSnapshot<List<FieldMetadata>> underTest = new SchemaFieldMetadataSnapshot<>(Collections.emptyMap(), metadata("Message"));
+    Request request = strictMock(Request.class);
+    expect(request.evaluatePreconditions(underTest.getEntityTag())).andReturn(Response.notModified());
+    replay(request);
+
+    Response response = underTest.toResponse(request);
+
+    verify(request);
+    Assert.assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+    Assert.assertEquals(underTest.getEntityTag(), response.getEntityTag());
+    Assert.assertNull(response.getEntity());
+  }
+
+  @Test
+  public void testToResponseReturnsTheMetadataIfTheEntityTagDoesNotMatch() {
+    SchemaFieldMetadataSnapshot<List<FieldMetadata>> underTest = new SchemaFieldMetadataSnapshot<>(Collections.emptyMap(), metadata("Message"));
+    Request request = strictMock(Request.class);
+    expect(request.evaluatePreconditions(underTest.getEntityTag())).andReturn(null);
+    replay(request);
+
+    Response response = underTest.toResponse(request);
+
+    verify(request);
+    Assert.assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+    Assert.assertEquals(underTest.getEntityTag(), response.getEntityTag());
+    Assert.assertSame(underTest.getMetadata(), response.getEntity());
+  }
+
+  private List<FieldMetadata> metadata(String label) {
+    return Collections.singletonList(new FieldMetadata("log_message", label, true, true));
+  }
+}
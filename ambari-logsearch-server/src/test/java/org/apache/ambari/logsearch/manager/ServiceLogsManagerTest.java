@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.manager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.ambari.logsearch.dao.ServiceLogsSolrDao;
+import org.apache.ambari.logsearch.model.request.impl.query.ServiceLogExportQueryRequest;
+import org.apache.ambari.logsearch.model.request.impl.query.ServiceLogQueryRequest;
+import org.apache.ambari.logsearch.model.response.ServiceLogResponse;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.commons.io.IOUtils;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.util.NamedList;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.solr.core.query.SimpleQuery;
+import org.springframework.data.solr.core.query.SimpleStringCriteria;
+
+public class ServiceLogsManagerTest {
+
+  private static final String EVENT = "/service/logs";
+
+  private ServiceLogsSolrDao serviceLogsSolrDao;
+  private ConversionService conversionService;
+  private ServiceLogsManager underTest;
+  private Capture<SolrQuery> processedQueries;
+
+  @Before
+  public void setUp() throws Exception {
+    serviceLogsSolrDao = EasyMock.strictMock(ServiceLogsSolrDao.class);
+    conversionService = EasyMock.mock(ConversionService.class);
+    EasyMock.expect(conversionService.convert(EasyMock.anyObject(), EasyMock.eq(SimpleQuery.class)))
+      .andAnswer(() -> new SimpleQuery(new SimpleStringCriteria("*:*")).setRows(2)).anyTimes();
+    processedQueries = EasyMock.newCapture(CaptureType.ALL);
+
+    underTest = new ServiceLogsManager();
+    setField("serviceLogsSolrDao", serviceLogsSolrDao);
+    setField("conversionService", conversionService);
+  }
+
+  @Test
+  public void testNextKeywordSeeksFromTheLastLogOfTheCurrentPage() {
+    ServiceLogQueryRequest request = createKeywordRequest("1", "1");
+    // boundary: the 4th log of the listing, the last log of the current page
+    expectProcess(queryResponse(log("d", 4000, 6)));
+    expectProcess(queryResponse(log("e", 6000, 3)));
+    EasyMock.expect(serviceLogsSolrDao.count(EasyMock.capture(processedQueries), EasyMock.eq(EVENT))).andReturn(7L);
+    expectProcess(queryResponse(log("e", 6000, 3)));
+    EasyMock.replay(serviceLogsSolrDao, conversionService);
+
+    ServiceLogResponse response = underTest.searchLogs(request);
+
+    EasyMock.verify(serviceLogsSolrDao);
+    Assert.assertEquals("3", request.getPage());
+    Assert.assertEquals(1, response.getLogList().size());
+    List<SolrQuery> queries = processedQueries.getValues();
+    SolrQuery boundaryQuery = queries.get(0);
+    Assert.assertEquals(3, boundaryQuery.getStart().intValue());
+    Assert.assertEquals(1, boundaryQuery.getRows().intValue());
+    Assert.assertEquals("logtime,seq_num", boundaryQuery.getFields());
+    Assert.assertEquals("logtime asc,seq_num desc", boundaryQuery.getSortField());
+    SolrQuery keywordQuery = queries.get(1);
+    Assert.assertEquals(0, keywordQuery.getStart().intValue());
+    Assert.assertEquals("logtime asc,seq_num desc", keywordQuery.getSortField());
+    Assert.assertTrue(Arrays.asList(keywordQuery.getFilterQueries()).contains(
+      "logtime:{1970-01-01T00:00:04.000Z TO *] OR (logtime:\"1970-01-01T00:00:04.000Z\" AND seq_num:[* TO 6})"));
+    SolrQuery countQuery = queries.get(2);
+    Assert.assertTrue(Arrays.asList(countQuery.getFilterQueries()).contains(
+      "logtime:[* TO 1970-01-01T00:00:06.000Z} OR (logtime:\"1970-01-01T00:00:06.000Z\" AND seq_num:{3 TO *])"));
+  }
+
+  @Test
+  public void testPreviousKeywordSeeksFromTheSourceLog() {
+    ServiceLogQueryRequest request = createKeywordRequest("2", "0");
+    request.setSourceLogId("host1:log 5");
+    expectProcess(queryResponse(log("host1:log 5", 5000, 5)));
+    expectProcess(queryResponse(log("b", 2000, 8)));
+    EasyMock.expect(serviceLogsSolrDao.count(EasyMock.capture(processedQueries), EasyMock.eq(EVENT))).andReturn(1L);
+    expectProcess(queryResponse(log("a", 1000, 9), log("b", 2000, 8)));
+    EasyMock.replay(serviceLogsSolrDao, conversionService);
+
+    underTest.searchLogs(request);
+
+    EasyMock.verify(serviceLogsSolrDao);
+    Assert.assertEquals("0", request.getPage());
+    List<SolrQuery> queries = processedQueries.getValues();
+    SolrQuery sourceLogQuery = queries.get(0);
+    Assert.assertEquals(1, sourceLogQuery.getRows().intValue());
+    Assert.assertTrue(Arrays.asList(sourceLogQuery.getFilterQueries()).contains("id:host1\\:log\\ 5"));
+    SolrQuery keywordQuery = queries.get(1);
+    Assert.assertEquals("logtime desc,seq_num asc", keywordQuery.getSortField());
+    Assert.assertTrue(Arrays.asList(keywordQuery.getFilterQueries()).contains(
+      "logtime:[* TO 1970-01-01T00:00:05.000Z} OR (logtime:\"1970-01-01T00:00:05.000Z\" AND seq_num:{5 TO *])"));
+  }
+
+  @Test
+  public void testBoundaryOfADeepPageIsReadWithOneQuery() {
+    ServiceLogQueryRequest request = createKeywordRequest("500", "0");
+    request.setPageSize("1000");
+    request.setSortType("desc");
+    expectProcess(queryResponse(log("boundary", 500000, 42)));
+    expectProcess(queryResponse());
+    EasyMock.replay(serviceLogsSolrDao, conversionService);
+
+    try {
+      underTest.searchLogs(request);
+      Assert.fail("The keyword should not be found");
+    } catch (NotFoundException e) {
+      // expected
+    }
+
+    EasyMock.verify(serviceLogsSolrDao);
+    List<SolrQuery> queries = processedQueries.getValues();
+    Assert.assertEquals(2, queries.size());
+    Assert.assertEquals(500000, queries.get(0).getStart().intValue());
+    Assert.assertEquals(1, queries.get(0).getRows().intValue());
+    Assert.assertEquals("logtime desc,seq_num desc", queries.get(0).getSortField());
+    Assert.assertEquals("logtime asc,seq_num asc", queries.get(1).getSortField());
+    Assert.assertTrue(Arrays.asList(queries.get(1).getFilterQueries()).contains(
+      "logtime:{1970-01-01T00:08:20.000Z TO *] OR (logtime:\"1970-01-01T00:08:20.000Z\" AND seq_num:{42 TO *])"));
+  }
+
+  @Test(expected = NotFoundException.class)
+  public void testPreviousKeywordOnTheFirstPage() {
+    EasyMock.replay(serviceLogsSolrDao, conversionService);
+    underTest.searchLogs(createKeywordRequest("0", "0"));
+  }
+
+  @Test(expected = NotFoundException.class)
+  public void testNextKeywordAfterTheLastPage() {
+    expectProcess(queryResponse());
+    EasyMock.replay(serviceLogsSolrDao, conversionService);
+    underTest.searchLogs(createKeywordRequest("0", "1"));
+  }
+
+  @Test
+  public void testJsonExportPagesWithCursorMarkUntilItRepeats() throws Exception {
+    List<String> cursorMarks = new ArrayList<>();
+    expectExportBatch(cursorMarks, queryResponse("AoE1", log("a", 1000, 9), log("b", 2000, 8)));
+    expectExportBatch(cursorMarks, queryResponse("AoE2", log("c", 3000, 7)));
+    expectExportBatch(cursorMarks, queryResponse("AoE2"));
+    EasyMock.replay(serviceLogsSolrDao, conversionService);
+
+    Response response = underTest.export(createExportRequest("json", false));
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(outputStream);
+
+    EasyMock.verify(serviceLogsSolrDao);
+    Assert.assertEquals(Arrays.asList(CursorMarkParams.CURSOR_MARK_START, "AoE1", "AoE2"), cursorMarks);
+    String content = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    Assert.assertTrue(content.startsWith("[{"));
+    Assert.assertTrue(content.endsWith("}]"));
+    Assert.assertTrue(content.contains("\"id\":\"a\""));
+    Assert.assertTrue(content.contains("},{\"id\":\"c\""));
+    Assert.assertTrue(response.getHeaderString("Content-Disposition").endsWith(".json"));
+  }
+
+  @Test
+  public void testJsonExportIsGzipped() throws Exception {
+    List<String> cursorMarks = new ArrayList<>();
+    expectExportBatch(cursorMarks, queryResponse(CursorMarkParams.CURSOR_MARK_START));
+    EasyMock.replay(serviceLogsSolrDao, conversionService);
+
+    Response response = underTest.export(createExportRequest("json", true));
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(outputStream);
+
+    EasyMock.verify(serviceLogsSolrDao);
+    Assert.assertEquals(1, cursorMarks.size());
+    try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+      Assert.assertEquals("[]", IOUtils.toString(gzipInputStream, StandardCharsets.UTF_8));
+    }
+    Assert.assertTrue(response.getHeaderString("Content-Disposition").endsWith(".json.gz"));
+  }
+
+  private ServiceLogExportQueryRequest createExportRequest(String format, boolean compress) {
+    ServiceLogExportQueryRequest request = new ServiceLogExportQueryRequest();
+    request.setFormat(format);
+    request.setCompress(compress);
+    return request;
+  }
+
+  private void expectExportBatch(List<String> cursorMarks, QueryResponse response) {
+    EasyMock.expect(serviceLogsSolrDao.process(EasyMock.anyObject(SolrQuery.class), EasyMock.eq("/service/logs/export"))).andAnswer(() -> {
+      SolrQuery batchQuery = (SolrQuery) EasyMock.getCurrentArguments()[0];
+      Assert.assertEquals(1000, batchQuery.getRows().intValue());
+      cursorMarks.add(batchQuery.get(CursorMarkParams.CURSOR_MARK_PARAM));
+      return response;
+    });
+  }
+
+  private ServiceLogQueryRequest createKeywordRequest(String page, String keywordType) {
+    ServiceLogQueryRequest request = new ServiceLogQueryRequest();
+    request.setKeyWord("full");
+    request.setKeywordType(keywordType);
+    request.setPage(page);
+    request.setPageSize("2");
+    request.setSortType("asc");
+    return request;
+  }
+
+  private void expectProcess(QueryResponse response) {
+    EasyMock.expect(serviceLogsSolrDao.process(EasyMock.capture(processedQueries), EasyMock.eq(EVENT))).andReturn(response);
+  }
+
+  private static SolrDocument log(String id, long logTime, long seqNum) {
+    SolrDocument document = new SolrDocument();
+    document.setField("id", id);
+    document.setField("logtime", new Date(logTime));
+    document.setField("seq_num", seqNum);
+    return document;
+  }
+
+  private static QueryResponse queryResponse(SolrDocument... documents) {
+    return queryResponse(null, documents);
+  }
+
+  private static QueryResponse queryResponse(String nextCursorMark, SolrDocument... documents) {
+    SolrDocumentList documentList = new SolrDocumentList();
+    documentList.addAll(Arrays.asList(documents));
+    documentList.setNumFound(documents.length);
+    NamedList<Object> namedList = new NamedList<>();
+    namedList.add("response", documentList);
+    if (nextCursorMark != null) {
+      namedList.add(CursorMarkParams.CURSOR_MARK_NEXT, nextCursorMark);
+    }
+    QueryResponse response = new QueryResponse();
+    response.setResponse(namedList);
+    return response;
+  }
+
+  private void setField(String name, Object value) throws Exception {
+    Field field = ServiceLogsManager.class.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(underTest, value);
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.rest.cache;
+
+import static org.easymock.EasyMock.aryEq;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.isNull;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EntityTagResponseFilterTest {
+
+  private static final String ENTITY = "{\"version\":\"2.0\"}";
+  private static final EntityTag ENTITY_TAG = new EntityTag(DigestUtils.sha256Hex(ENTITY.getBytes(StandardCharsets.UTF_8)));
+  private static final Annotation[] ANNOTATIONS = new Annotation[0];
+
+  private ContainerRequestContext requestContext;
+  private ContainerResponseContext responseContext;
+  private Request request;
+  private MultivaluedMap<String, Object> headers;
+  private EntityTagResponseFilter underTest;
+
+  @Before
+  public void setUp() throws Exception {
+    requestContext = createMock(ContainerRequestContext.class);
+    responseContext = createMock(ContainerResponseContext.class);
+    request = createMock(Request.class);
+    headers = new MultivaluedHashMap<>();
+
+    ResourceInfo resourceInfo = createMock(ResourceInfo.class);
+    expect(resourceInfo.getResourceMethod()).andReturn(getClass().getDeclaredMethod("resource")).anyTimes();
+    Providers providers = createMock(Providers.class);
+    expect(providers.getMessageBodyWriter(String.class, String.class, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE))
+      .andReturn(new StringWriter()).anyTimes();
+    replay(resourceInfo, providers);
+    underTest = new EntityTagResponseFilter(resourceInfo, providers);
+  }
+
+  @Test
+  public void testFilterAddsEntityTagAndSendsTheSerializedEntity() throws Exception {
+    expectGetResponse();
+    expect(request.evaluatePreconditions(ENTITY_TAG)).andReturn(null);
+    responseContext.setEntity(aryEq(ENTITY.getBytes(StandardCharsets.UTF_8)), eq(ANNOTATIONS), eq(MediaType.APPLICATION_JSON_TYPE));
+    expectLastCall();
+    replay(requestContext, responseContext, request);
+
+    underTest.filter(requestContext, responseContext);
+
+    verify(requestContext, responseContext, request);
+    Assert.assertEquals(ENTITY_TAG, headers.getFirst(HttpHeaders.ETAG));
+    CacheControl cacheControl = (CacheControl) headers.getFirst(HttpHeaders.CACHE_CONTROL);
+    Assert.assertTrue(cacheControl.isPrivate());
+    Assert.assertEquals(60, cacheControl.getMaxAge());
+  }
+
+  @Test
+  public void testFilterReturnsNotModifiedIfTheEntityTagMatches() throws Exception {
+    expectGetResponse();
+    expect(request.evaluatePreconditions(ENTITY_TAG)).andReturn(Response.notModified());
+    responseContext.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+    expectLastCall();
+    responseContext.setEntity(isNull());
+    expectLastCall();
+    replay(requestContext, responseContext, request);
+
+    underTest.filter(requestContext, responseContext);
+
+    verify(requestContext, responseContext, request);
+    Assert.assertEquals(ENTITY_TAG, headers.getFirst(HttpHeaders.ETAG));
+  }
+
+  @Test
+  public void testFilterSkipsResponsesWithEntityTag() throws Exception {
+    headers.putSingle(HttpHeaders.ETAG, new EntityTag("tag"));
+    expect(requestContext.getMethod()).andReturn(HttpMethod.GET).anyTimes();
+    expect(responseContext.getStatus()).andReturn(Response.Status.OK.getStatusCode()).anyTimes();
+    expect(responseContext.hasEntity()).andReturn(true).anyTimes();
+    expect(responseContext.getHeaders()).andReturn(headers).anyTimes();
+    replay(requestContext, responseContext, request);
+
+    underTest.filter(requestContext, responseContext);
+
+    verify(requestContext, responseContext, request);
+    Assert.assertEquals(new EntityTag("tag"), headers.getFirst(HttpHeaders.ETAG));
+    Assert.assertNull(headers.getFirst(HttpHeaders.CACHE_CONTROL));
+  }
+
+  @Test
+  public void testFilterSkipsNonGetRequests() throws Exception {
+    expect(requestContext.getMethod()).andReturn(HttpMethod.POST).anyTimes();
+    replay(requestContext, responseContext, request);
+
+    underTest.filter(requestContext, responseContext);
+
+    verify(requestContext, responseContext, request);
+    Assert.assertTrue(headers.isEmpty());
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void expectGetResponse() {
+    expect(requestContext.getMethod()).andReturn(HttpMethod.GET).anyTimes();
+    expect(requestContext.getRequest()).andReturn(request).anyTimes();
+    expect(responseContext.getStatus()).andReturn(Response.Status.OK.getStatusCode()).anyTimes();
+    expect(responseContext.hasEntity()).andReturn(true).anyTimes();
+    expect(responseContext.getHeaders()).andReturn(headers).anyTimes();
+    expect(responseContext.getEntity()).andReturn(ENTITY).anyTimes();
+    expect(responseContext.getEntityClass()).andReturn((Class) String.class).anyTimes();
+    expect(responseContext.getEntityType()).andReturn(String.class).anyTimes();
+    expect(responseContext.getEntityAnnotations()).andReturn(ANNOTATIONS).anyTimes();
+    expect(responseContext.getMediaType()).andReturn(MediaType.APPLICATION_JSON_TYPE).anyTimes();
+  }
+
+  @EntityTagged(maxAge = 60)
+  private void resource() {
+  }
+
+  private static class StringWriter implements MessageBodyWriter<String> {
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+      return true;
+    }
+
+    @Override
+    public long getSize(String s, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+      return -1;
+    }
+
+    @Override
+    public void writeTo(String s, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+      entityStream.write(s.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
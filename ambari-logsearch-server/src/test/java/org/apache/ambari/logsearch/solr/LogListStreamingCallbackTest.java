@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.solr;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.ambari.logsearch.model.response.ServiceLogData;
+import org.apache.ambari.logsearch.model.response.ServiceLogResponse;
+import org.apache.ambari.logsearch.solr.model.SolrServiceLogData;
+import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.util.NamedList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class LogListStreamingCallbackTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void testPageIsStreamedAsTheResponseBean() throws Exception {
+    // GIVEN
+    List<SolrDocument> documents = Arrays.asList(document("1", 10L), document("2", 9L));
+    // WHEN
+    JsonNode result = stream(false, 20, documents, queryResponse(42, null, true), 25);
+    // THEN
+    ServiceLogResponse expected = new ServiceLogResponse();
+    expected.setLogList(toBeans(documents));
+    expected.setTotalCount(42);
+    expected.setStartIndex(20);
+    expected.setPageSize(25);
+    expected.setQueryTimeMS(15);
+    expected.setPartialResults(true);
+    Assert.assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(expected)), result);
+    Assert.assertEquals(15, result.get("queryTimeMS").asLong());
+    Assert.assertEquals(2, result.get("listSize").asInt());
+  }
+
+  @Test
+  public void testEmptyPageIsStreamedAsTheResponseBean() throws Exception {
+    // GIVEN
+    // WHEN
+    JsonNode result = stream(false, 0, new ArrayList<>(), queryResponse(0, null, false), 25);
+    // THEN
+    ServiceLogResponse expected = new ServiceLogResponse();
+    expected.setQueryTimeMS(15);
+    Assert.assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(expected)), result);
+    Assert.assertTrue(result.get("logList").isNull());
+  }
+
+  @Test
+  public void testCursorPageIsStreamedAsTheResponseBean() throws Exception {
+    // GIVEN
+    List<SolrDocument> documents = Arrays.asList(document("1", 10L));
+    // WHEN
+    JsonNode result = stream(true, 0, documents, queryResponse(42, "AoE1", false), 25);
+    // THEN
+    ServiceLogResponse expected = new ServiceLogResponse();
+    expected.setLogList(toBeans(documents));
+    expected.setTotalCount(42);
+    expected.setPageSize(25);
+    expected.setQueryTimeMS(15);
+    expected.setNextCursorMark("AoE1");
+    Assert.assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(expected)), result);
+  }
+
+  @Test
+  public void testLastCursorPageHasEmptyLogList() throws Exception {
+    // GIVEN
+    // WHEN
+    JsonNode result = stream(true, 0, new ArrayList<>(), queryResponse(42, "AoE1", false), 25);
+    // THEN
+    Assert.assertTrue(result.get("logList").isArray());
+    Assert.assertEquals(0, result.get("logList").size());
+    Assert.assertEquals(0, result.get("listSize").asInt());
+    Assert.assertEquals("AoE1", result.get("nextCursorMark").asText());
+  }
+
+  private JsonNode stream(boolean cursorPaging, long start, List<SolrDocument> documents, QueryResponse response, Integer rows) throws Exception {
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+      LogListStreamingCallback callback = new LogListStreamingCallback(objectMapper, generator,
+        SolrDocumentJsonWriter.forBean(SolrServiceLogData.class), cursorPaging);
+      callback.streamDocListInfo(response.getResults().getNumFound(), start, null);
+      for (SolrDocument document : documents) {
+        callback.streamSolrDocument(document);
+      }
+      callback.finish(response, rows, new ServiceLogResponse());
+    }
+    return objectMapper.readTree(writer.toString());
+  }
+
+  private List<ServiceLogData> toBeans(List<SolrDocument> documents) {
+    return new ArrayList<>(new DocumentObjectBinder().getBeans(SolrServiceLogData.class, toDocumentList(documents)));
+  }
+
+  private static SolrDocumentList toDocumentList(List<SolrDocument> documents) {
+    SolrDocumentList documentList = new SolrDocumentList();
+    documentList.addAll(documents);
+    return documentList;
+  }
+
+  private static SolrDocument document(String id, long seqNum) {
+    SolrDocument document = new SolrDocument();
+    document.setField("id", id);
+    document.setField("level", "ERROR");
+    document.setField("logtime", new Date(1509537600000L));
+    document.setField("seq_num", seqNum);
+    document.setField("log_message", "disk full");
+    return document;
+  }
+
+  private static QueryResponse queryResponse(long numFound, String nextCursorMark, boolean partialResults) {
+    SolrDocumentList documentList = new SolrDocumentList();
+    documentList.setNumFound(numFound);
+    NamedList<Object> responseHeader = new NamedList<>();
+    if (partialResults) {
+      responseHeader.add("partialResults", true);
+    }
+    NamedList<Object> namedList = new NamedList<>();
+    namedList.add("responseHeader", responseHeader);
+    namedList.add("response", documentList);
+    if (nextCursorMark != null) {
+      namedList.add("nextCursorMark", nextCursorMark);
+    }
+    QueryResponse response = new QueryResponse();
+    response.setResponse(namedList);
+    response.setElapsedTime(15);
+    return response;
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.solr;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.ambari.logsearch.solr.model.SolrAuditLogData;
+import org.apache.ambari.logsearch.solr.model.SolrServiceLogData;
+import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.common.SolrDocument;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class SolrDocumentJsonWriterTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void testWriteServiceLogDocumentAsBean() throws Exception {
+    // GIVEN
+    SolrDocument document = new SolrDocument();
+    document.setField("id", "1");
+    document.setField("cluster", "cl1");
+    document.setField("level", "ERROR");
+    document.setField("type", "hdfs_namenode");
+    document.setField("host", "c6401.ambari.apache.org");
+    document.setField("logtime", new Date(1509537600000L));
+    document.setField("seq_num", 10L);
+    document.setField("log_message", "java.lang.NullPointerException\n\tat org.apache.Foo.bar(Foo.java:10)");
+    document.setField("ws_custom", "custom");
+    document.setField("count_i", 5);
+    document.setField("text", "not mapped");
+    // WHEN
+    String result = write(document, SolrServiceLogData.class);
+    // THEN
+    SolrServiceLogData bean = new DocumentObjectBinder().getBean(SolrServiceLogData.class, document);
+    Assert.assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(bean)), objectMapper.readTree(result));
+  }
+
+  @Test
+  public void testWriteAuditLogDocumentAsBean() throws Exception {
+    // GIVEN
+    SolrDocument document = new SolrDocument();
+    document.setField("id", "1");
+    document.setField("repo", "hdfs");
+    document.setField("reqUser", "admin");
+    document.setField("evtTime", new Date(1509537600000L));
+    document.addField("tags", "tag1");
+    document.addField("tags", "tag2");
+    // WHEN
+    String result = write(document, SolrAuditLogData.class);
+    // THEN
+    SolrAuditLogData bean = new DocumentObjectBinder().getBean(SolrAuditLogData.class, document);
+    Assert.assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(bean)), objectMapper.readTree(result));
+    Assert.assertEquals(Arrays.asList("tag1", "tag2"), bean.getTags());
+  }
+
+  private String write(SolrDocument document, Class<?> beanClass) throws Exception {
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+      SolrDocumentJsonWriter.forBean(beanClass).write(document, generator);
+    }
+    return writer.toString();
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.solr.common.SolrDocument;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DownloadUtilTest {
+
+  @Test
+  public void testCreateExportOutputWritesPlainContent() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    DownloadUtil.createExportOutput(false, writer -> writer.write("first line\nsecond line ü")).write(outputStream);
+
+    Assert.assertEquals("first line\nsecond line ü", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testCreateExportOutputWritesGzippedContent() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    DownloadUtil.createExportOutput(true, writer -> {
+      writer.write("first line\n");
+      writer.flush();
+      writer.write("second line ü");
+    }).write(outputStream);
+
+    byte[] content = outputStream.toByteArray();
+    Assert.assertEquals((byte) 0x1f, content[0]);
+    Assert.assertEquals((byte) 0x8b, content[1]);
+    try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(content))) {
+      Assert.assertEquals("first line\nsecond line ü", IOUtils.toString(gzipInputStream, StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void testGetExportFileName() {
+    Assert.assertEquals("Component_Logs.json.gz", DownloadUtil.getExportFileName("Component_Logs.json", true));
+    Assert.assertEquals("Component_Logs.txt", DownloadUtil.getExportFileName("Component_Logs.txt", false));
+  }
+
+  @Test
+  public void testFormatLogLineWithAllFields() {
+    SolrDocument doc = new SolrDocument();
+    doc.setField("logtime", "2016-03-10T14:09:38.278Z");
+    doc.setField("level", "ERROR");
+    doc.setField("thread_name", " main ");
+    doc.setField("logger_name", " org.apache.ambari.DataNode ");
+    doc.setField("file", "DataNode.java");
+    doc.setField("line_number", 2610);
+    doc.setField("log_message", "disk full");
+
+    Assert.assertEquals("2016-03-10T14:09:38.278Z ERROR main org.apache.ambari.DataNode DataNode.java:2610 - disk full",
+      DownloadUtil.formatLogLine(doc));
+  }
+
+  @Test
+  public void testFormatLogLineSkipsMissingFields() {
+    SolrDocument doc = new SolrDocument();
+    doc.setField("level", "WARN");
+    doc.setField("file", "DataNode.java");
+    doc.setField("log_message", "shutting down");
+
+    Assert.assertEquals("WARN - shutting down", DownloadUtil.formatLogLine(doc));
+  }
+}
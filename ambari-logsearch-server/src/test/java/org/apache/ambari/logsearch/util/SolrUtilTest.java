@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.ambari.logsearch.util;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SolrUtilTest {
+
+  @Test
+  public void testIsDocumentListQuery() {
+    Assert.assertTrue(SolrUtil.isDocumentListQuery(new SolrQuery("*:*")));
+    Assert.assertTrue(SolrUtil.isDocumentListQuery(new SolrQuery("*:*").setRows(25)));
+  }
+
+  @Test
+  public void testIsDocumentListQueryForCountAndFacetQueries() {
+    Assert.assertFalse(SolrUtil.isDocumentListQuery(new SolrQuery("*:*").setRows(0)));
+    Assert.assertFalse(SolrUtil.isDocumentListQuery(new SolrQuery("*:*").setRows(10).addFacetField("level")));
+    SolrQuery statsQuery = new SolrQuery("*:*");
+    statsQuery.setGetFieldStatistics("logtime");
+    Assert.assertFalse(SolrUtil.isDocumentListQuery(statsQuery));
+    SolrQuery jsonFacetQuery = new SolrQuery("*:*");
+    jsonFacetQuery.set("json.facet", "{levels:{type:terms,field:level}}");
+    Assert.assertFalse(SolrUtil.isDocumentListQuery(jsonFacetQuery));
+  }
+}
@@ -27,6 +27,8 @@ import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertSame;
 import static junit.framework.Assert.assertTrue;
@@ -185,4 +187,43 @@ public class LogsearchExternalServerAuthenticationProviderTest {
     
     verify(mockAuthPropsConfig, mockExternalServerClient);
   }
+
+  @Test
+  public void testSuccessfulAuthenticationIsCached() throws Exception {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    Field meterRegistryField = LogsearchExternalServerAuthenticationProvider.class.getDeclaredField("meterRegistry");
+    meterRegistryField.setAccessible(true);
+    meterRegistryField.set(provider, meterRegistry);
+    expect(mockAuthPropsConfig.getExternalAuthCacheTtlSeconds()).andReturn(60);
+    expect(mockAuthPropsConfig.getExternalAuthCacheMaxSize()).andReturn(10L);
+    expect(mockAuthPropsConfig.getExternalAuthCacheTtlSeconds()).andReturn(60);
+    expect(mockAuthPropsConfig.isAuthExternalEnabled()).andReturn(true);
+    expect(mockAuthPropsConfig.getExternalAuthLoginUrl()).andReturn("http://server.com?userName=$USERNAME");
+    expect(mockAuthPropsConfig.getAllowedRoles()).andReturn(Arrays.asList("AMBARI.ADMINISTRATOR"));
+    expect(mockExternalServerClient.sendGETRequest("http://server.com?userName=principal", String.class, "principal", "credentials"))
+      .andReturn("{\"permission_name\": \"AMBARI.ADMINISTRATOR\" }");
+    expect(mockAuthPropsConfig.isAuthExternalEnabled()).andReturn(true);
+    expect(mockAuthPropsConfig.isAuthExternalEnabled()).andReturn(true);
+    expect(mockAuthPropsConfig.getExternalAuthLoginUrl()).andReturn("http://server.com?userName=$USERNAME");
+    expect(mockExternalServerClient.sendGETRequest("http://server.com?userName=principal", String.class, "principal", "other"))
+      .andThrow(new Exception("Invalid credentials"));
+
+    replay(mockAuthPropsConfig, mockExternalServerClient);
+
+    provider.init();
+    provider.authenticate(new TestingAuthenticationToken("principal", "credentials"));
+    Authentication cachedResult = provider.authenticate(new TestingAuthenticationToken("principal", "credentials"));
+    assertEquals("principal", cachedResult.getName());
+    assertEquals(new SimpleGrantedAuthority("ROLE_USER"), cachedResult.getAuthorities().iterator().next());
+    try {
+      provider.authenticate(new TestingAuthenticationToken("principal", "other"));
+      assertTrue("Should have thrown BadCredentialsException", false);
+    } catch (BadCredentialsException e) {
+      assertEquals("Bad credentials", e.getMessage());
+    }
+
+    verify(mockAuthPropsConfig, mockExternalServerClient);
+    assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "logsearch.auth.external.cache").tag("result", "hit")
+      .functionCounter().count(), 0.0);
+  }
 }